@@ -16,6 +16,12 @@
                     <xsl:with-param name="directory" select="'actions'"/>
                     <xsl:with-param name="type" select="'action'"/>
                 </xsl:call-template>
+
+                <xsl:call-template name="corrected-timer-table">
+                    <xsl:with-param name="elements" select="actions/*"/>
+                    <xsl:with-param name="tableRowHeader" select="'Action Name'"/>
+                    <xsl:with-param name="type" select="'action'"/>
+                </xsl:call-template>
             </div>
         </div>
 
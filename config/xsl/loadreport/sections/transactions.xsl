@@ -16,6 +16,12 @@
                     <xsl:with-param name="directory" select="'transactions'"/>
                     <xsl:with-param name="type" select="'transaction'"/>
                 </xsl:call-template>
+
+                <xsl:call-template name="corrected-timer-table">
+                    <xsl:with-param name="elements" select="transactions/*"/>
+                    <xsl:with-param name="tableRowHeader" select="'Transaction Name'"/>
+                    <xsl:with-param name="type" select="'transaction'"/>
+                </xsl:call-template>
             </div>
         </div>
 
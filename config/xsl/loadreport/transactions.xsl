@@ -25,6 +25,7 @@
 <xsl:include href="util/timer-chart.xsl" />
 <xsl:include href="util/timer-section.xsl" />
 <xsl:include href="util/timer-table.xsl" />
+<xsl:include href="util/corrected-timer-table.xsl" />
 
 <xsl:include href="text/descriptions.xsl" />
 
@@ -0,0 +1,116 @@
+<?xml version="1.0"?>
+<xsl:stylesheet xmlns:xsl="http://www.w3.org/1999/XSL/Transform" version="1.0">
+
+    <!-- Compares the raw runtime statistics of the given timers with the statistics corrected for coordinated omission. -->
+    <xsl:template name="corrected-timer-table">
+        <xsl:param name="elements"/>
+        <xsl:param name="tableRowHeader"/>
+        <xsl:param name="type"/>
+
+        <xsl:variable name="correctedElements" select="$elements[correctedRunTime]"/>
+
+        <xsl:if test="count($correctedElements) &gt; 0">
+            <h3 id="{$type}-corrected-runtime">Corrected Runtime</h3>
+            <div class="description">
+                <p>
+                    The arrival rate scheduled the start of each <xsl:value-of select="$type"/>, but a start may have been
+                    delayed because no test user was available in time, for example because the system under test stalled.
+                    The raw runtime does not include this start delay. The corrected runtime adds the start delay to the
+                    runtime and therefore reflects what a user arriving at the scheduled time would have experienced. A large difference between raw and corrected values indicates that the test could not keep
+                    up with the configured arrival rate.
+                </p>
+            </div>
+
+            <table class="table-autosort:0">
+                <thead>
+                    <tr>
+                        <th rowspan="2" class="table-sortable:alphanumeric colgroup1">
+                            <xsl:value-of select="$tableRowHeader"/>
+                        </th>
+                        <th rowspan="2" class="table-sortable:numeric" title="The number of values with a scheduled start time.">Scheduled</th>
+                        <th colspan="2" class="colgroup1">Start Delay [ms]</th>
+                        <th colspan="2">Mean [ms]</th>
+                        <th colspan="2" class="colgroup1">Max. [ms]</th>
+                        <xsl:for-each select="/testreport/testReportConfig/runtimePercentiles/string">
+                            <th colspan="2">
+                                <xsl:if test="position() mod 2 = 0">
+                                    <xsl:attribute name="class">colgroup1</xsl:attribute>
+                                </xsl:if>
+                                <xsl:text>P</xsl:text>
+                                <xsl:value-of select="current()"/>
+                                <xsl:text> [ms]</xsl:text>
+                            </th>
+                        </xsl:for-each>
+                    </tr>
+                    <tr>
+                        <th class="table-sortable:numeric colgroup1">Mean</th>
+                        <th class="table-sortable:numeric colgroup1">Max.</th>
+                        <th class="table-sortable:numeric">Raw</th>
+                        <th class="table-sortable:numeric">Corrected</th>
+                        <th class="table-sortable:numeric colgroup1">Raw</th>
+                        <th class="table-sortable:numeric colgroup1">Corrected</th>
+                        <xsl:for-each select="/testreport/testReportConfig/runtimePercentiles/string">
+                            <xsl:variable name="classNames">
+                                <xsl:text>table-sortable:numeric</xsl:text>
+                                <xsl:if test="position() mod 2 = 0">
+                                    <xsl:text> colgroup1</xsl:text>
+                                </xsl:if>
+                            </xsl:variable>
+                            <th class="{$classNames}">Raw</th>
+                            <th class="{$classNames}">Corrected</th>
+                        </xsl:for-each>
+                    </tr>
+                </thead>
+                <tbody>
+                    <xsl:for-each select="$correctedElements">
+                        <xsl:sort select="name"/>
+                        <tr>
+                            <td class="key colgroup1 forcewordbreak">
+                                <xsl:value-of select="name"/>
+                            </td>
+                            <td class="value number">
+                                <xsl:value-of select="format-number(correctedRunTime/count, '#,##0')"/>
+                            </td>
+                            <td class="value number colgroup1">
+                                <xsl:value-of select="format-number(correctedRunTime/meanLag, '#,##0')"/>
+                            </td>
+                            <td class="value number colgroup1">
+                                <xsl:value-of select="format-number(correctedRunTime/maxLag, '#,##0')"/>
+                            </td>
+                            <td class="value number">
+                                <xsl:value-of select="format-number(mean, '#,##0')"/>
+                            </td>
+                            <td class="value number">
+                                <xsl:value-of select="format-number(correctedRunTime/mean, '#,##0')"/>
+                            </td>
+                            <td class="value number colgroup1">
+                                <xsl:value-of select="format-number(max, '#,##0')"/>
+                            </td>
+                            <td class="value number colgroup1">
+                                <xsl:value-of select="format-number(correctedRunTime/max, '#,##0')"/>
+                            </td>
+                            <xsl:variable name="timer" select="."/>
+                            <xsl:for-each select="percentiles/*">
+                                <xsl:variable name="id" select="name()"/>
+                                <xsl:variable name="classNames">
+                                    <xsl:text>value number</xsl:text>
+                                    <xsl:if test="position() mod 2 = 0">
+                                        <xsl:text> colgroup1</xsl:text>
+                                    </xsl:if>
+                                </xsl:variable>
+                                <td class="{$classNames}">
+                                    <xsl:value-of select="format-number(current(), '#,##0')"/>
+                                </td>
+                                <td class="{$classNames}">
+                                    <xsl:value-of select="format-number($timer/correctedRunTime/percentiles/*[name() = $id], '#,##0')"/>
+                                </td>
+                            </xsl:for-each>
+                        </tr>
+                    </xsl:for-each>
+                </tbody>
+            </table>
+        </xsl:if>
+
+    </xsl:template>
+
+</xsl:stylesheet>
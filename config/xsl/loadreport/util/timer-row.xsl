@@ -194,6 +194,15 @@
 						</xsl:call-template>
 					</xsl:if>
 
+					<!-- confidence interval if runtime values have been sampled -->
+					<xsl:variable name="lowerBound" select="../../percentilesLowerBound/*[name() = $id]" />
+					<xsl:variable name="upperBound" select="../../percentilesUpperBound/*[name() = $id]" />
+					<xsl:if test="$lowerBound and $upperBound">
+						<xsl:attribute name="title">
+							<xsl:value-of select="concat('95% confidence interval: ', format-number($lowerBound, '#,##0'), ' - ', format-number($upperBound, '#,##0'), ' (sample of ', format-number(../../sampleSize, '#,##0'), ' values)')" />
+						</xsl:attribute>
+					</xsl:if>
+
 					<xsl:value-of select="format-number(current(), '#,##0')" />
 				</td>
 			</xsl:for-each>
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.common.util.ssl;
+
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * A cache of {@link SSLContext} instances that can be shared by many clients.
+ * <p>
+ * The JSSE keeps the TLS sessions (including TLS 1.3 session tickets) of a client in the {@link SSLSessionContext} of
+ * the {@link SSLContext} that created the connection. So if clients use their own SSL context, each of them has to do
+ * a full handshake for its first connection to a server. If clients share a context from this cache instead, any
+ * client can resume a session previously established by another one, which is much cheaper.
+ * <p>
+ * Contexts are cached by their configuration, i.e. by the trust mode, the protocol, and the key and trust stores used.
+ * Note that key and trust stores are compared by identity.
+ * <p>
+ * Note: This class is thread-safe.
+ */
+public class SharedSSLContextCache
+{
+    /**
+     * The cached contexts, keyed by their configuration.
+     */
+    private final Map<ContextKey, Context> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum number of sessions in the client session cache of each context.
+     */
+    private final int sessionCacheSize;
+
+    /**
+     * The maximum time [s] a session remains in the client session cache of each context.
+     */
+    private final int sessionTimeout;
+
+    /**
+     * Constructor.
+     *
+     * @param sessionCacheSize
+     *            the maximum number of sessions to cache per context (0 for no limit)
+     * @param sessionTimeout
+     *            the maximum time [s] a session is cached (0 for no limit)
+     */
+    public SharedSSLContextCache(final int sessionCacheSize, final int sessionTimeout)
+    {
+        this.sessionCacheSize = Math.max(0, sessionCacheSize);
+        this.sessionTimeout = Math.max(0, sessionTimeout);
+    }
+
+    /**
+     * Returns a shared context that accepts any server certificate.
+     *
+     * @param protocol
+     *            the SSL protocol (family)
+     * @param keyStore
+     *            the key store with the client certificate (may be <code>null</code>)
+     * @param keyStorePassword
+     *            the password of the key store
+     * @return the shared context
+     * @throws GeneralSecurityException
+     *             if the context could not be created
+     */
+    public Context getInsecureContext(final String protocol, @Nullable final KeyStore keyStore, @Nullable final char[] keyStorePassword)
+        throws GeneralSecurityException
+    {
+        return getContext(new ContextKey(true, protocol, keyStore, null), keyStorePassword);
+    }
+
+    /**
+     * Returns a shared context that validates server certificates against the given trust store.
+     *
+     * @param keyStore
+     *            the key store with the client certificate (may be <code>null</code>)
+     * @param keyStorePassword
+     *            the password of the key store
+     * @param trustStore
+     *            the trust store (may be <code>null</code> to use the system-default trust store)
+     * @return the shared context
+     * @throws GeneralSecurityException
+     *             if the context could not be created
+     */
+    public Context getContext(@Nullable final KeyStore keyStore, @Nullable final char[] keyStorePassword,
+                              @Nullable final KeyStore trustStore)
+        throws GeneralSecurityException
+    {
+        return getContext(new ContextKey(false, "TLS", keyStore, trustStore), keyStorePassword);
+    }
+
+    /**
+     * Returns the cached context for the given configuration. Creates the context if necessary.
+     */
+    private Context getContext(final ContextKey key, final char[] keyStorePassword) throws GeneralSecurityException
+    {
+        Context context = contexts.get(key);
+        if (context == null)
+        {
+            synchronized (contexts)
+            {
+                context = contexts.get(key);
+                if (context == null)
+                {
+                    context = createContext(key, keyStorePassword);
+                    contexts.put(key, context);
+                }
+            }
+        }
+
+        return context;
+    }
+
+    /**
+     * Creates and configures a new context.
+     */
+    private Context createContext(final ContextKey key, final char[] keyStorePassword) throws GeneralSecurityException
+    {
+        // key material
+        KeyManager[] keyManagers = null;
+        if (key.keyStore != null)
+        {
+            final KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(key.keyStore, keyStorePassword);
+            keyManagers = keyManagerFactory.getKeyManagers();
+        }
+
+        // trust material
+        final X509TrustManager trustManager;
+        if (key.insecure)
+        {
+            trustManager = new InsecureTrustManager();
+        }
+        else
+        {
+            final TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(key.trustStore);
+            trustManager = getX509TrustManager(trustManagerFactory.getTrustManagers());
+        }
+
+        final SSLContext sslContext = SSLContext.getInstance(key.protocol);
+        sslContext.init(keyManagers, new TrustManager[]
+            {
+                trustManager
+            }, null);
+
+        // configure the session cache
+        final SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        sessionContext.setSessionCacheSize(sessionCacheSize);
+        sessionContext.setSessionTimeout(sessionTimeout);
+
+        return new Context(sslContext, trustManager);
+    }
+
+    /**
+     * Returns the first X.509 trust manager from the given list.
+     */
+    private static X509TrustManager getX509TrustManager(final TrustManager[] trustManagers) throws GeneralSecurityException
+    {
+        for (final TrustManager trustManager : trustManagers)
+        {
+            if (trustManager instanceof X509TrustManager)
+            {
+                return (X509TrustManager) trustManager;
+            }
+        }
+
+        throw new GeneralSecurityException("No X.509 trust manager available");
+    }
+
+    /**
+     * The configuration a context is cached for.
+     */
+    private record ContextKey(boolean insecure, String protocol, KeyStore keyStore, KeyStore trustStore)
+    {
+    }
+
+    /**
+     * A trust manager that accepts any certificate. Since it is an {@link X509ExtendedTrustManager}, the JSSE does not
+     * apply any additional checks (host name, algorithm constraints) either.
+     */
+    private static final class InsecureTrustManager extends X509ExtendedTrustManager
+    {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void checkClientTrusted(final X509Certificate[] chain, final String authType)
+        {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void checkServerTrusted(final X509Certificate[] chain, final String authType)
+        {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void checkClientTrusted(final X509Certificate[] chain, final String authType, final Socket socket)
+        {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void checkServerTrusted(final X509Certificate[] chain, final String authType, final Socket socket)
+        {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void checkClientTrusted(final X509Certificate[] chain, final String authType, final SSLEngine engine)
+        {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void checkServerTrusted(final X509Certificate[] chain, final String authType, final SSLEngine engine)
+        {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public X509Certificate[] getAcceptedIssuers()
+        {
+            return new X509Certificate[0];
+        }
+    }
+
+    /**
+     * A shared {@link SSLContext} together with the trust manager it was initialized with and its socket factory.
+     */
+    public static final class Context
+    {
+        private final SSLContext sslContext;
+
+        private final X509TrustManager trustManager;
+
+        /**
+         * The socket factory. Created once since {@link SSLContext#getSocketFactory()} returns a new instance on each
+         * call, and HTTP clients typically reuse pooled connections only if they were created by the same factory.
+         */
+        private final SSLSocketFactory socketFactory;
+
+        private Context(final SSLContext sslContext, final X509TrustManager trustManager)
+        {
+            this.sslContext = sslContext;
+            this.trustManager = trustManager;
+
+            socketFactory = sslContext.getSocketFactory();
+        }
+
+        /**
+         * Returns the SSL context.
+         *
+         * @return the SSL context
+         */
+        public SSLContext getSSLContext()
+        {
+            return sslContext;
+        }
+
+        /**
+         * Returns the trust manager the SSL context was initialized with.
+         *
+         * @return the trust manager
+         */
+        public X509TrustManager getTrustManager()
+        {
+            return trustManager;
+        }
+
+        /**
+         * Returns the socket factory of the SSL context. Always returns the same instance.
+         *
+         * @return the socket factory
+         */
+        public SSLSocketFactory getSocketFactory()
+        {
+            return socketFactory;
+        }
+    }
+}
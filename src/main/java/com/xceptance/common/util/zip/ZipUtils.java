@@ -22,7 +22,9 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.function.Predicate;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
@@ -317,6 +319,29 @@ public final class ZipUtils
      *             if an I/O error occurs
      */
     public static void unzipFile(final File zipFile, final File directory, final boolean compressedTimerFiles) throws IOException
+    {
+        unzipFile(zipFile, directory, compressedTimerFiles, entryName -> true);
+    }
+
+    /**
+     * Unzips those entries of the given ZIP file that are accepted by the given filter to the specified directory. If
+     * the directory does not exist yet, it will be created. Depending on the parameter, timers files are stored to disk
+     * either in plain or in compressed form (gzipped).
+     * 
+     * @param zipFile
+     *            the zip file
+     * @param directory
+     *            the target directory
+     * @param compressedTimerFiles
+     *            do we want to keep the timers in a compressed form
+     * @param entryFilter
+     *            the filter that decides, by entry name, whether a file entry is to be extracted
+     * @throws java.io.IOException
+     *             if an I/O error occurs
+     */
+    public static void unzipFile(final File zipFile, final File directory, final boolean compressedTimerFiles,
+                                 final Predicate<String> entryFilter)
+        throws IOException
     {
         ParameterCheckUtils.isReadableFile(zipFile, "zipFile");
         ParameterCheckUtils.isNotNull(directory, "directory");
@@ -339,42 +364,77 @@ public final class ZipUtils
                 {
                     FileUtils.forceMkdir(file);
                 }
-                else
+                else if (entryFilter.test(entry.getName()))
                 {
-                    // do we want to store the timers compressed
-                    File compressedFile = null;
-                    boolean compressIt = false;
-
-                    // shall we compress timers?
-                    if (compressedTimerFiles)
-                    {
-                        // we need the name of the file, without any path element
-                        final String fileName = file.getName();
-
-                        boolean b1 = XltConstants.TIMER_FILENAME_PATTERNS.stream().anyMatch(p -> p.asPredicate().test(fileName));
-                        boolean b2 = XltConstants.CPT_TIMER_FILENAME_PATTERNS.stream().anyMatch(p -> p.asPredicate().test(fileName));
-
-                        // one pattern matched
-                        if (b1 || b2)
-                        {
-                            // determine the new name
-                            compressedFile = new File(directory, entry.getName() + ".gz");
-                            compressIt = true; // indicate the need for compression
-                        }
-                    }
-
-                    try (final OutputStream out = compressIt ? new GZIPOutputStream(new FileOutputStream(compressedFile))
-                                                             : new FileOutputStream(file))
-                    {
-                        // cannot use this as it DOES close the input stream
-                        // FileUtils.copyToFile(in, file);
-
-                        IOUtils.copy(in, out);
-                    }
+                    extractRegularFile(in, directory, entry.getName(), compressedTimerFiles);
                 }
 
                 in.closeEntry();
             }
         }
     }
+
+    /**
+     * Writes the content of an archive entry to a file in the specified directory. Depending on the parameter, timers
+     * files are stored to disk either in plain or in compressed form (gzipped). Any existing file is overwritten. The
+     * input stream is not closed.
+     * 
+     * @param in
+     *            the stream to read the entry content from
+     * @param directory
+     *            the target directory
+     * @param entryName
+     *            the name of the entry, i.e. the path of the file relative to the target directory
+     * @param compressedTimerFiles
+     *            do we want to keep the timers in a compressed form
+     * @throws java.io.IOException
+     *             if an I/O error occurs
+     */
+    public static void extractRegularFile(final InputStream in, final File directory, final String entryName,
+                                          final boolean compressedTimerFiles)
+        throws IOException
+    {
+        final File file = new File(directory, entryName);
+
+        // do we want to store the timers compressed
+        File compressedFile = null;
+        boolean compressIt = false;
+
+        // shall we compress timers?
+        if (compressedTimerFiles)
+        {
+            // we need the name of the file, without any path element
+            final String fileName = file.getName();
+
+            // one pattern matched
+            if (isTimerFile(fileName))
+            {
+                // determine the new name
+                compressedFile = new File(directory, entryName + ".gz");
+                compressIt = true; // indicate the need for compression
+            }
+        }
+
+        try (final OutputStream out = compressIt ? new GZIPOutputStream(new FileOutputStream(compressedFile))
+                                                 : new FileOutputStream(file))
+        {
+            // cannot use this as it DOES close the input stream
+            // FileUtils.copyToFile(in, file);
+
+            IOUtils.copy(in, out);
+        }
+    }
+
+    /**
+     * Determines whether the given file name is the name of a (regular or client performance) timer file.
+     * 
+     * @param fileName
+     *            the name of the file, without any path element
+     * @return <code>true</code> if it is a timer file, <code>false</code> otherwise
+     */
+    public static boolean isTimerFile(final String fileName)
+    {
+        return XltConstants.TIMER_FILENAME_PATTERNS.stream().anyMatch(p -> p.asPredicate().test(fileName)) ||
+               XltConstants.CPT_TIMER_FILENAME_PATTERNS.stream().anyMatch(p -> p.asPredicate().test(fileName));
+    }
 }
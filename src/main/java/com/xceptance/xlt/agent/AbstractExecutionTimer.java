@@ -32,6 +32,12 @@ import com.xceptance.xlt.engine.SessionImpl;
  */
 public abstract class AbstractExecutionTimer
 {
+    /**
+     * The value returned by {@link #waitForNextExecution()} if the execution was not scheduled for a certain point in
+     * time.
+     */
+    public static final long NO_SCHEDULED_START = -1;
+
     /**
      * Whether or not the execution timer has been stopped.
      */
@@ -84,10 +90,11 @@ public abstract class AbstractExecutionTimer
     /**
      * Suspends the calling thread until the time for the next test case invocation has come.
      * 
+     * @return the time [ms] the invocation was scheduled for, or {@link #NO_SCHEDULED_START} if not applicable
      * @throws InterruptedException
      *             if the load test thread should immediately quit
      */
-    protected abstract void executeWait() throws InterruptedException;
+    protected abstract long executeWait() throws InterruptedException;
 
     /**
      * Returns the collection of threads that have registered with this execution timer so far.
@@ -127,6 +134,33 @@ public abstract class AbstractExecutionTimer
         waitingThreads.remove(Thread.currentThread());
     }
 
+    /**
+     * Registers the calling thread with this execution timer as a thread that executes a test case without having
+     * waited for it, so it is stopped together with the other threads. Threads registered this way must unregister
+     * themselves via {@link #unregisterActiveThread()} when done.
+     * 
+     * @return <code>true</code> if the thread was registered, <code>false</code> if the timer has been stopped already
+     */
+    synchronized boolean registerActiveThread()
+    {
+        if (stopped)
+        {
+            return false;
+        }
+
+        sessions.putIfAbsent(Thread.currentThread(), SessionImpl.getCurrent());
+
+        return true;
+    }
+
+    /**
+     * Unregisters the calling thread previously registered via {@link #registerActiveThread()}.
+     */
+    synchronized void unregisterActiveThread()
+    {
+        sessions.remove(Thread.currentThread());
+    }
+
     /**
      * Stops the execution timer. This method may be called multiple times, however, only the first invocation will have
      * an effect.
@@ -141,10 +175,11 @@ public abstract class AbstractExecutionTimer
      * Suspends the calling thread until the time for the next test case invocation has come. If the timer has been
      * stopped already, the calling thread is interrupted immediately.
      * 
+     * @return the time [ms] the invocation was scheduled for, or {@link #NO_SCHEDULED_START} if not applicable
      * @throws InterruptedException
      *             if the load test thread should quit immediately
      */
-    public final void waitForNextExecution() throws InterruptedException
+    public final long waitForNextExecution() throws InterruptedException
     {
         synchronized (this)
         {
@@ -161,7 +196,7 @@ public abstract class AbstractExecutionTimer
 
         try
         {
-            executeWait();
+            return executeWait();
         }
         finally
         {
@@ -23,6 +23,7 @@ import com.xceptance.xlt.agentcontroller.AgentController;
 import com.xceptance.xlt.agentcontroller.AgentStatus;
 import com.xceptance.xlt.agentcontroller.TestUserStatus;
 import com.xceptance.xlt.api.engine.GlobalClock;
+import com.xceptance.xlt.engine.metrics.IntervalStatisticsCollector;
 
 /**
  * Class description.
@@ -93,6 +94,7 @@ public class AgentStatusPusher extends Thread
         while (true)
         {
             updateElapsedTimeAndProgress();
+            updateIntervalStatistics();
             pushStatus();
             checkMaxErrors();
 
@@ -117,6 +119,15 @@ public class AgentStatusPusher extends Thread
         }
     }
 
+    private void updateIntervalStatistics()
+    {
+        final IntervalStatisticsCollector collector = IntervalStatisticsCollector.getInstance();
+        if (collector.isEnabled())
+        {
+            agentStatus.setIntervalStatistics(collector.getIntervalStatistics());
+        }
+    }
+
     private void updateElapsedTimeAndProgress()
     {
         final long now = GlobalClock.get().millis();
@@ -15,12 +15,18 @@
  */
 package com.xceptance.xlt.agent;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
+import com.xceptance.xlt.agent.PeriodicExecutionTimer.ArrivalDistribution;
 import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
+import com.xceptance.xlt.api.util.XltException;
+import com.xceptance.xlt.common.XltConstants;
+import com.xceptance.xlt.util.XltPropertiesImpl;
 
 /**
  * The ExecutionTimerFactory creates different ExecutionTimer instances depending on the creation parameters. Note that
@@ -33,6 +39,11 @@ import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
  */
 public abstract class ExecutionTimerFactory
 {
+    /**
+     * XLT property that defines how the arrivals of one second are distributed within that second.
+     */
+    private static final String PROP_ARRIVAL_DISTRIBUTION = XltConstants.XLT_PACKAGE_PATH + ".arrivalRate.distribution";
+
     /**
      * Maps a test case case name to its corresponding execution timer.
      */
@@ -81,8 +92,14 @@ public abstract class ExecutionTimerFactory
             }
             else
             {
+                final String arrivalDistribution = XltPropertiesImpl.getInstance()
+                                                                    .getProperty(config.getTestCaseClassName(), userTypeName,
+                                                                                 PROP_ARRIVAL_DISTRIBUTION)
+                                                                    .orElse(ArrivalDistribution.BURST.name());
+
                 executionTimer = new PeriodicExecutionTimer(userTypeName, initialDelay, duration, shutdownPeriod, arrivalRates, agentIndex,
-                                                            config.getWeightFunction());
+                                                            config.getWeightFunction(),
+                                                            parseArrivalDistribution(arrivalDistribution));
             }
 
             timers.put(userTypeName, executionTimer);
@@ -90,4 +107,26 @@ public abstract class ExecutionTimerFactory
 
         return executionTimer;
     }
+
+    /**
+     * Parses the given arrival distribution value.
+     * 
+     * @param value
+     *            the configured value
+     * @return the arrival distribution
+     * @throws XltException
+     *             if the value does not denote a known arrival distribution
+     */
+    static ArrivalDistribution parseArrivalDistribution(final String value)
+    {
+        try
+        {
+            return ArrivalDistribution.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            throw new XltException(String.format("Invalid value '%s' for property '%s'. Allowed values are: %s", value,
+                                                 PROP_ARRIVAL_DISTRIBUTION, Arrays.toString(ArrivalDistribution.values())));
+        }
+    }
 }
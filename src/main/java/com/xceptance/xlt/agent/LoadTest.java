@@ -16,7 +16,9 @@
 package com.xceptance.xlt.agent;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TimerTask;
 
 import com.xceptance.common.util.TimerUtils;
@@ -25,6 +27,10 @@ import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
 import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.engine.XltThreadFactory;
+import com.xceptance.xlt.engine.htmlunit.okhttp3.OkHttp3WebConnection;
+import com.xceptance.xlt.engine.resultbrowser.AsyncDumpWriter;
+import com.xceptance.xlt.engine.resultbrowser.ContentBlobStore;
+import com.xceptance.xlt.util.XltPropertiesImpl;
 
 /**
  * Class responsible for running a load test.
@@ -38,6 +44,22 @@ public class LoadTest
      */
     private static final long DEFAULT_GRACE_PERIOD = 30 * 1000;
 
+    /**
+     * XLT property that defines whether arrival-rate driven user types run according to an open workload model.
+     */
+    private static final String PROP_OPEN_MODEL = XltConstants.XLT_PACKAGE_PATH + ".arrivalRate.openModel";
+
+    /**
+     * The maximum time [ms] to wait for the result browsers still being written in the background.
+     */
+    private static final long DUMP_WRITER_SHUTDOWN_TIMEOUT = 60_000;
+
+    /**
+     * XLT property that defines whether the number of concurrent users in the open workload model is limited to the
+     * number of configured users.
+     */
+    private static final String PROP_OPEN_MODEL_LIMIT_USERS = PROP_OPEN_MODEL + ".limitUsers";
+
     /**
      * The thread factory that creates either virtual threads or platform threads for the {@link LoadTestRunner}
      * instances.
@@ -68,6 +90,11 @@ public class LoadTest
      */
     private final List<LoadTestRunner> testRunners = new ArrayList<LoadTestRunner>();
 
+    /**
+     * List of test runners for user types running according to an open workload model.
+     */
+    private final List<OpenModelLoadTestRunner> openModelTestRunners = new ArrayList<>();
+
     /**
      * Create a new load test using the given configurations and agent status.
      * 
@@ -92,11 +119,19 @@ public class LoadTest
         }, agentTimeout);
 
         // process configurations
+        final Map<String, List<TestUserConfiguration>> openModelConfigs = new LinkedHashMap<>();
         for (final TestUserConfiguration config : configs)
         {
             // get/create the responsible execution timer
             final AbstractExecutionTimer timer = ExecutionTimerFactory.createTimer(config);
 
+            // collect the users of open model user types, they are handled together
+            if (isOpenModel(config))
+            {
+                openModelConfigs.computeIfAbsent(config.getUserName(), k -> new ArrayList<>()).add(config);
+                continue;
+            }
+
             // create runner for configuration
             final LoadTestRunner runner = new LoadTestRunner(config, agentInfo, timer, xltThreadFactory);
 
@@ -106,6 +141,37 @@ public class LoadTest
             // add agent status
             agentStatus.addTestUserStatus(runner.getTestUserStatus());
         }
+
+        for (final List<TestUserConfiguration> userTypeConfigs : openModelConfigs.values())
+        {
+            final TestUserConfiguration config = userTypeConfigs.get(0);
+            final boolean limitUsers = XltPropertiesImpl.getInstance()
+                                                        .getProperty(config.getTestCaseClassName(), config.getUserName(),
+                                                                     PROP_OPEN_MODEL_LIMIT_USERS)
+                                                        .map(Boolean::valueOf).orElse(true);
+
+            final OpenModelLoadTestRunner runner = new OpenModelLoadTestRunner(userTypeConfigs, agentInfo,
+                                                                               ExecutionTimerFactory.createTimer(config), limitUsers,
+                                                                               xltThreadFactory);
+            openModelTestRunners.add(runner);
+
+            runner.getTestUserStatusList().forEach(agentStatus::addTestUserStatus);
+        }
+    }
+
+    /**
+     * Returns whether the users of the given configuration are to be run according to an open workload model. This
+     * requires an arrival rate and a time period, not a fixed number of iterations.
+     *
+     * @param config
+     *            the user configuration
+     * @return whether to use the open workload model
+     */
+    private static boolean isOpenModel(final TestUserConfiguration config)
+    {
+        return config.getArrivalRates() != null && config.getNumberOfIterations() == 0 &&
+               XltPropertiesImpl.getInstance().getProperty(config.getTestCaseClassName(), config.getUserName(), PROP_OPEN_MODEL)
+                                .map(Boolean::valueOf).orElse(false);
     }
 
     /**
@@ -118,6 +184,10 @@ public class LoadTest
         {
             testRunner.setAborted();
         }
+        for (final OpenModelLoadTestRunner testRunner : openModelTestRunners)
+        {
+            testRunner.setAborted();
+        }
 
         // now stop all execution timers which will in turn stop their test runners
         for (final AbstractExecutionTimer timer : ExecutionTimerFactory.getTimers())
@@ -136,9 +206,33 @@ public class LoadTest
         {
             testRunner.start();
         }
+        for (final OpenModelLoadTestRunner testRunner : openModelTestRunners)
+        {
+            testRunner.start();
+        }
 
         // wait for their completion
         waitForCompletion(testRunners);
+        for (final OpenModelLoadTestRunner testRunner : openModelTestRunners)
+        {
+            try
+            {
+                testRunner.join();
+            }
+            catch (final InterruptedException ex)
+            {
+                // ignore
+            }
+        }
+
+        // wait for the result browsers still being written in the background
+        AsyncDumpWriter.get().shutdown(DUMP_WRITER_SHUTDOWN_TIMEOUT);
+
+        // the result browsers keep their links to the shared content, so the blob store itself is not needed anymore
+        ContentBlobStore.deleteAll();
+
+        // close the connection pools that outlive the users
+        OkHttp3WebConnection.shutdownConnectionPools();
     }
 
     /**
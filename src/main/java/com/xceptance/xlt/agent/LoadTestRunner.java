@@ -16,6 +16,7 @@
 package com.xceptance.xlt.agent;
 
 import java.lang.reflect.Method;
+import java.util.Queue;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -26,6 +27,8 @@ import org.slf4j.LoggerFactory;
 
 import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
 import com.xceptance.xlt.agentcontroller.TestUserStatus;
+import com.xceptance.xlt.api.engine.CustomValue;
+import com.xceptance.xlt.api.engine.Data;
 import com.xceptance.xlt.api.engine.DataManager;
 import com.xceptance.xlt.api.engine.GlobalClock;
 import com.xceptance.xlt.engine.DataManagerImpl;
@@ -74,7 +77,8 @@ public class LoadTestRunner
     private volatile boolean aborted;
 
     /**
-     * The main thread of this runner.
+     * The main thread of this runner, or <code>null</code> if this runner is used by an
+     * {@link OpenModelLoadTestRunner}.
      */
     private final Thread thread;
 
@@ -105,6 +109,29 @@ public class LoadTestRunner
         thread.setName(config.getUserId());
     }
 
+    /**
+     * Creates a new LoadTestRunner object that does not have a thread of its own. Such a runner only serves as a user
+     * slot of an {@link OpenModelLoadTestRunner}, which executes arrivals via {@link #runOnce(Class, long, long, Queue)}.
+     *
+     * @param config
+     *            the load test configuration
+     * @param agentInfo
+     *            load test agent information
+     * @param timer
+     *            the execution timer that controls this load test runner
+     */
+    LoadTestRunner(final TestUserConfiguration config, final AgentInfo agentInfo, final AbstractExecutionTimer timer)
+    {
+        this.config = config;
+        this.agentInfo = agentInfo;
+        this.timer = timer;
+
+        status = new TestUserStatus();
+        status.setUserName(config.getUserId());
+
+        thread = null;
+    }
+
     /**
      * Returns the thread this runner is using under the hood.
      * <p>
@@ -143,6 +170,26 @@ public class LoadTestRunner
         return status;
     }
 
+    /**
+     * Returns the configuration of this runner.
+     *
+     * @return the configuration
+     */
+    TestUserConfiguration getConfig()
+    {
+        return config;
+    }
+
+    /**
+     * Returns whether this runner has been aborted.
+     *
+     * @return whether this runner has been aborted
+     */
+    boolean isAborted()
+    {
+        return aborted;
+    }
+
     /**
      * Runs the test case as configured in the test case configuration.
      */
@@ -153,20 +200,7 @@ public class LoadTestRunner
             final long now = GlobalClock.get().millis();
 
             // get and check the test case class
-            Class<?> testCaseClass = null;
-            try
-            {
-                // try to get the corresponding Java class
-                testCaseClass = Class.forName(config.getTestCaseClassName());
-                // class found -> validate it
-                checkTestCaseClass(testCaseClass);
-            }
-            // no such Java class
-            catch (final ClassNotFoundException cnf)
-            {
-                // failed to get resource URL -> indicate error
-                throw new RuntimeException("Could not find java class '" + config.getTestCaseClassName() + "'.");
-            }
+            final Class<?> testCaseClass = loadTestCaseClass(config.getTestCaseClassName());
 
             // get the other test case parameters
             final int iterations = config.getNumberOfIterations();
@@ -180,21 +214,7 @@ public class LoadTestRunner
             status.setEndDate(now + initialDelay + duration);
 
             // initialize the session
-            final SessionImpl session = SessionImpl.getCurrent();
-            session.setUserCount(config.getNumberOfUsers());
-            session.setUserName(config.getUserName());
-            session.setUserNumber(config.getInstance());
-            session.setAbsoluteUserNumber(config.getAbsoluteUserNumber());
-            session.setTotalUserCount(config.getTotalUserCount());
-            session.setLoadTest(true);
-            session.setAgentID(agentInfo.getAgentID());
-            session.setAgentNumber(agentInfo.getAgentNumber());
-            session.setTotalAgentCount(agentInfo.getTotalAgentCount());
-
-            // set the logging window
-            final DataManager dataMgr = session.getDataManager();
-            dataMgr.setStartOfLoggingPeriod(now + initialDelay + warmUpPeriod);
-            dataMgr.setEndOfLoggingPeriod(now + initialDelay + warmUpPeriod + measurementPeriod);
+            final SessionImpl session = initializeSession(config, agentInfo, now);
 
             // run the test
             if (iterations != 0)
@@ -238,6 +258,143 @@ public class LoadTestRunner
         }
     }
 
+    /**
+     * Initializes the session of the calling thread for the given user.
+     *
+     * @param config
+     *            the user configuration
+     * @param agentInfo
+     *            load test agent information
+     * @param startTime
+     *            the time the load test was started on this agent
+     * @return the session
+     */
+    static SessionImpl initializeSession(final TestUserConfiguration config, final AgentInfo agentInfo, final long startTime)
+    {
+        final SessionImpl session = SessionImpl.getCurrent();
+        session.setUserCount(config.getNumberOfUsers());
+        session.setUserName(config.getUserName());
+        session.setUserNumber(config.getInstance());
+        session.setAbsoluteUserNumber(config.getAbsoluteUserNumber());
+        session.setTotalUserCount(config.getTotalUserCount());
+        session.setLoadTest(true);
+        session.setAgentID(agentInfo.getAgentID());
+        session.setAgentNumber(agentInfo.getAgentNumber());
+        session.setTotalAgentCount(agentInfo.getTotalAgentCount());
+
+        // set the logging window
+        final long startOfLoggingPeriod = startTime + config.getInitialDelay() + config.getWarmUpPeriod();
+
+        final DataManager dataMgr = session.getDataManager();
+        dataMgr.setStartOfLoggingPeriod(startOfLoggingPeriod);
+        dataMgr.setEndOfLoggingPeriod(startOfLoggingPeriod + config.getMeasurementPeriod());
+
+        return session;
+    }
+
+    /**
+     * Loads and checks the test case class with the given name.
+     *
+     * @param testCaseClassName
+     *            the name of the test case class
+     * @return the test case class
+     * @throws RuntimeException
+     *             if the class cannot be found or is not acceptable
+     */
+    static Class<?> loadTestCaseClass(final String testCaseClassName)
+    {
+        try
+        {
+            // try to get the corresponding Java class
+            final Class<?> testCaseClass = Class.forName(testCaseClassName);
+            // class found -> validate it
+            checkTestCaseClass(testCaseClass);
+
+            return testCaseClass;
+        }
+        // no such Java class
+        catch (final ClassNotFoundException cnf)
+        {
+            // failed to get resource URL -> indicate error
+            throw new RuntimeException("Could not find java class '" + testCaseClassName + "'.");
+        }
+    }
+
+    /**
+     * Runs the test case exactly once on the calling thread using a fresh session. The session is discarded afterwards.
+     * This is used in the open workload model, where each arrival is executed by a new thread.
+     *
+     * @param testCaseClass
+     *            the test case to execute
+     * @param startTime
+     *            the time the load test was started on this agent
+     * @param scheduledStart
+     *            the time [ms] the execution was scheduled for, or {@link AbstractExecutionTimer#NO_SCHEDULED_START}
+     * @param pendingData
+     *            data records to log on behalf of the caller before the test case is executed
+     */
+    void runOnce(final Class<?> testCaseClass, final long startTime, final long scheduledStart, final Queue<? extends Data> pendingData)
+    {
+        final SessionImpl session = initializeSession(config, agentInfo, startTime);
+        logPendingData(session, pendingData);
+
+        try
+        {
+            // make sure the user can be stopped at the end of the load test
+            if (timer.registerActiveThread())
+            {
+                try
+                {
+                    status.setState(TestUserStatus.State.Running);
+                    runTestCase(testCaseClass, status, scheduledStart);
+                }
+                catch (final InterruptedException ex)
+                {
+                    // the load test is over
+                }
+                finally
+                {
+                    timer.unregisterActiveThread();
+                }
+            }
+
+            final long duration = config.getWarmUpPeriod() + config.getMeasurementPeriod();
+            if (duration > 0)
+            {
+                final long elapsed = GlobalClock.millis() - status.getStartDate();
+                status.setPercentageComplete((int) Math.max(0, Math.min(100, elapsed * 100 / duration)));
+            }
+        }
+        catch (final Exception ex)
+        {
+            log.error("Failed to run test as user: " + config.getUserId(), ex);
+        }
+        finally
+        {
+            status.setState(TestUserStatus.State.Waiting);
+
+            session.getDataManager().close();
+            SessionImpl.removeCurrent();
+        }
+    }
+
+    /**
+     * Logs (and removes) the given pending data records using the data manager of the given session.
+     *
+     * @param session
+     *            the session
+     * @param pendingData
+     *            the data records to log
+     */
+    static void logPendingData(final SessionImpl session, final Queue<? extends Data> pendingData)
+    {
+        Data data;
+        while ((data = pendingData.poll()) != null)
+        {
+            session.getDataManager().logDataRecord(data);
+        }
+    }
+
     /**
      * Marks this load test runner as aborted.
      */
@@ -256,7 +413,7 @@ public class LoadTestRunner
      * @throws RuntimeException
      *             if there is *not* exactly one active test method in this class
      */
-    private void checkTestCaseClass(final Class<?> testCaseClass)
+    private static void checkTestCaseClass(final Class<?> testCaseClass)
     {
         // check whether the test case class is annotated with @Ignore
         if (testCaseClass.isAnnotationPresent(Ignore.class))
@@ -300,9 +457,9 @@ public class LoadTestRunner
             try
             {
                 status.setState(TestUserStatus.State.Waiting);
-                timer.waitForNextExecution();
+                final long scheduledStart = timer.waitForNextExecution();
                 status.setState(TestUserStatus.State.Running);
-                runTestCase(testCaseClass, status);
+                runTestCase(testCaseClass, status, scheduledStart);
             }
             catch (final InterruptedException ex)
             {
@@ -336,9 +493,9 @@ public class LoadTestRunner
             try
             {
                 status.setState(TestUserStatus.State.Waiting);
-                timer.waitForNextExecution();
+                final long scheduledStart = timer.waitForNextExecution();
                 status.setState(TestUserStatus.State.Running);
-                runTestCase(testCaseClass, status);
+                runTestCase(testCaseClass, status, scheduledStart);
             }
             catch (final InterruptedException ex)
             {
@@ -362,6 +519,23 @@ public class LoadTestRunner
      *            the test case status
      */
     protected void runTestCase(final Class<?> testCaseClass, final TestUserStatus status) throws InterruptedException
+    {
+        runTestCase(testCaseClass, status, AbstractExecutionTimer.NO_SCHEDULED_START);
+    }
+
+    /**
+     * Runs the passed test case *once*. Depending on the test result, the test case status is updated accordingly
+     * (errors, iterations, runtime, etc.).
+     *
+     * @param testCaseClass
+     *            the test case to execute
+     * @param status
+     *            the test case status
+     * @param scheduledStart
+     *            the time [ms] the execution was scheduled for, or {@link AbstractExecutionTimer#NO_SCHEDULED_START}
+     */
+    protected void runTestCase(final Class<?> testCaseClass, final TestUserStatus status, final long scheduledStart)
+        throws InterruptedException
     {
         // check whether we have to quit before attempting a new iteration
         final SessionImpl session = SessionImpl.getCurrent();
@@ -370,10 +544,23 @@ public class LoadTestRunner
             throw new InterruptedException("User aborted as the load test is over");
         }
 
+        // record how late we are
+        if (scheduledStart != AbstractExecutionTimer.NO_SCHEDULED_START)
+        {
+            final long now = GlobalClock.millis();
+
+            final CustomValue lag = new CustomValue(PeriodicExecutionTimer.ARRIVAL_LAG_VALUE_NAME);
+            lag.setTime(now);
+            lag.setValue(Math.max(0, now - scheduledStart));
+
+            session.getDataManager().logDataRecord(lag);
+        }
+
         // remember start time
         final long startTime = TimerUtils.get().getStartTime();
 
         // make sure transaction data recording is initiated even if XltTestRunner is not used by the test
+        session.setScheduledStartTime(scheduledStart);
         session.startTransaction();
 
         // execute the test via JUnit
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
+import com.xceptance.xlt.agentcontroller.TestUserStatus;
+import com.xceptance.xlt.api.engine.CustomValue;
+import com.xceptance.xlt.api.engine.GlobalClock;
+import com.xceptance.xlt.engine.SessionImpl;
+import com.xceptance.xlt.engine.XltThreadFactory;
+
+/**
+ * Runs the users of one user type according to an open workload model. In contrast to the {@link LoadTestRunner},
+ * where a fixed set of threads waits for their next turn, each arrival is executed by a fresh virtual thread using a
+ * fresh session. This way, the arrival rate is maintained even if the system under test slows down.
+ * <p>
+ * The configured users of this type serve as slots that determine user number, result directory, and status of the
+ * thread that executes an arrival. By default, the number of concurrently running arrivals is limited to the number of
+ * configured users. If all users are busy, the arrival is dropped and recorded as custom value
+ * {@value #MISSED_ARRIVAL_VALUE_NAME} by the next user that executes an arrival. If the limit is disabled, additional users are created on demand instead. Note
+ * that these additional users do not show up in the agent status.
+ */
+public class OpenModelLoadTestRunner
+{
+    /**
+     * The name of the custom value that records an arrival that could not be executed.
+     */
+    public static final String MISSED_ARRIVAL_VALUE_NAME = "MissedArrival";
+
+    /**
+     * Class logger instance.
+     */
+    private static final Logger log = LoggerFactory.getLogger(OpenModelLoadTestRunner.class);
+
+    /**
+     * The number of additional users created so far on this agent across all user types.
+     */
+    private static final AtomicInteger additionalUsersOnAgent = new AtomicInteger();
+
+    /**
+     * The configured users.
+     */
+    private final List<LoadTestRunner> runners;
+
+    /**
+     * The users currently not executing an arrival.
+     */
+    private final Queue<LoadTestRunner> idleRunners = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The missed arrivals not logged yet.
+     */
+    private final Queue<CustomValue> missedArrivals = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The threads currently executing an arrival.
+     */
+    private final Set<Thread> activeThreads = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The execution timer that controls the arrivals.
+     */
+    private final AbstractExecutionTimer timer;
+
+    /**
+     * Some information about this and other agents.
+     */
+    private final AgentInfo agentInfo;
+
+    /**
+     * Whether to limit the number of concurrently running arrivals to the number of configured users.
+     */
+    private final boolean limitUsers;
+
+    /**
+     * The thread factory that creates the threads executing the arrivals.
+     */
+    private final XltThreadFactory userThreadFactory = new XltThreadFactory(true, false);
+
+    /**
+     * The thread that waits for arrivals and dispatches them.
+     */
+    private final Thread dispatcherThread;
+
+    /**
+     * The number of additional users of this user type created so far.
+     */
+    private int additionalUsers;
+
+    /**
+     * Whether this runner has been aborted.
+     */
+    private volatile boolean aborted;
+
+    /**
+     * Constructor.
+     *
+     * @param configs
+     *            the configurations of the users of one user type on this agent
+     * @param agentInfo
+     *            load test agent information
+     * @param timer
+     *            the execution timer that controls the arrivals
+     * @param limitUsers
+     *            whether to limit the number of concurrently running arrivals to the number of configured users
+     * @param xltThreadFactory
+     *            the thread factory to create the dispatcher thread
+     */
+    public OpenModelLoadTestRunner(final List<TestUserConfiguration> configs, final AgentInfo agentInfo,
+                                   final AbstractExecutionTimer timer, final boolean limitUsers, final XltThreadFactory xltThreadFactory)
+    {
+        this.agentInfo = agentInfo;
+        this.timer = timer;
+        this.limitUsers = limitUsers;
+
+        runners = new ArrayList<>(configs.size());
+        for (final TestUserConfiguration config : configs)
+        {
+            runners.add(new LoadTestRunner(config, agentInfo, timer));
+        }
+        idleRunners.addAll(runners);
+
+        dispatcherThread = xltThreadFactory.newThread(this::run);
+        dispatcherThread.setName(configs.get(0).getUserName() + "-Dispatcher");
+    }
+
+    /**
+     * Returns the status of the configured users.
+     *
+     * @return the status list
+     */
+    public List<TestUserStatus> getTestUserStatusList()
+    {
+        final List<TestUserStatus> statusList = new ArrayList<>(runners.size());
+        for (final LoadTestRunner runner : runners)
+        {
+            statusList.add(runner.getTestUserStatus());
+        }
+
+        return statusList;
+    }
+
+    /**
+     * Starts this runner.
+     */
+    public void start()
+    {
+        dispatcherThread.start();
+    }
+
+    /**
+     * Waits until this runner is finished.
+     */
+    public void join() throws InterruptedException
+    {
+        dispatcherThread.join();
+    }
+
+    /**
+     * Marks this load test runner as aborted.
+     */
+    public void setAborted()
+    {
+        aborted = true;
+    }
+
+    /**
+     * Waits for arrivals and starts a new user thread for each of them.
+     */
+    private void run()
+    {
+        final TestUserConfiguration config = runners.get(0).getConfig();
+        final long now = GlobalClock.millis();
+
+        try
+        {
+            final Class<?> testCaseClass = LoadTestRunner.loadTestCaseClass(config.getTestCaseClassName());
+
+            // initialize the master controller status
+            final int duration = config.getWarmUpPeriod() + config.getMeasurementPeriod();
+            for (final LoadTestRunner runner : runners)
+            {
+                final TestUserStatus status = runner.getTestUserStatus();
+                status.setStartDate(now + config.getInitialDelay());
+                status.setEndDate(now + config.getInitialDelay() + duration);
+                status.setMode(TestUserStatus.Mode.TIME_PERIOD);
+                status.setState(TestUserStatus.State.Waiting);
+            }
+
+            log.info("Open workload model dispatcher started (" + config.getTestCaseClassName() + " / " + duration / 1000 + " s)");
+
+            while (true)
+            {
+                final long scheduledStart;
+                try
+                {
+                    scheduledStart = timer.waitForNextExecution();
+                }
+                catch (final InterruptedException ex)
+                {
+                    break;
+                }
+
+                LoadTestRunner runner = idleRunners.poll();
+                if (runner == null)
+                {
+                    if (limitUsers)
+                    {
+                        // all users busy -> remember the missed arrival, the next user to run will log it
+                        final CustomValue missedArrival = new CustomValue(MISSED_ARRIVAL_VALUE_NAME);
+                        missedArrival.setTime(scheduledStart != AbstractExecutionTimer.NO_SCHEDULED_START ? scheduledStart
+                                                                                                          : GlobalClock.millis());
+                        missedArrival.setValue(1);
+                        missedArrivals.add(missedArrival);
+
+                        continue;
+                    }
+
+                    runner = new LoadTestRunner(copyConfig(config, nextUserNumber(config), nextAbsoluteUserNumber(config)), agentInfo,
+                                                timer);
+                }
+
+                startUser(runner, testCaseClass, now, scheduledStart);
+            }
+
+            // wait for the running users
+            for (final Thread thread : activeThreads)
+            {
+                thread.join();
+            }
+
+            // all users are done now, so log the remaining missed arrivals on behalf of the first user
+            if (!missedArrivals.isEmpty())
+            {
+                final SessionImpl session = LoadTestRunner.initializeSession(config, agentInfo, now);
+                try
+                {
+                    LoadTestRunner.logPendingData(session, missedArrivals);
+                }
+                finally
+                {
+                    session.getDataManager().close();
+                    SessionImpl.removeCurrent();
+                }
+            }
+
+            log.info("Open workload model dispatcher finished.");
+        }
+        catch (final Exception ex)
+        {
+            log.error("Failed to run open workload model for user type: " + config.getUserName(), ex);
+
+            for (final LoadTestRunner runner : runners)
+            {
+                runner.getTestUserStatus().setState(TestUserStatus.State.Failed);
+                runner.getTestUserStatus().setException(ex);
+            }
+
+            return;
+        }
+
+        // set the final state
+        for (final LoadTestRunner runner : runners)
+        {
+            final TestUserStatus status = runner.getTestUserStatus();
+            if (aborted)
+            {
+                status.setState(TestUserStatus.State.Aborted);
+            }
+            else
+            {
+                status.setPercentageComplete(100);
+                status.setState(TestUserStatus.State.Finished);
+            }
+        }
+    }
+
+    /**
+     * Executes one arrival on a new thread as the given user.
+     */
+    private void startUser(final LoadTestRunner runner, final Class<?> testCaseClass, final long startTime, final long scheduledStart)
+    {
+        final Thread thread = userThreadFactory.newThread(() -> {
+            try
+            {
+                runner.runOnce(testCaseClass, startTime, scheduledStart, missedArrivals);
+            }
+            finally
+            {
+                activeThreads.remove(Thread.currentThread());
+                idleRunners.add(runner);
+            }
+        });
+        thread.setName(runner.getConfig().getUserId());
+
+        activeThreads.add(thread);
+        thread.start();
+    }
+
+    /**
+     * Returns the next user number not used by any configured user. User numbers are unique per agent and user type.
+     * As the configured users have the numbers 0..n-1 across all agents, we use n + agentNumber + k * agentCount.
+     */
+    private int nextUserNumber(final TestUserConfiguration config)
+    {
+        final int agentCount = Math.max(1, agentInfo.getTotalAgentCount());
+
+        return config.getNumberOfUsers() + agentInfo.getAgentNumber() + additionalUsers++ * agentCount;
+    }
+
+    /**
+     * Returns the next absolute user number not used by any other user. Absolute user numbers are unique across all
+     * agents and user types. As the configured users have the numbers 0..n-1 across all agents and user types, we use
+     * n + agentNumber + k * agentCount, where k counts the additional users of all user types on this agent.
+     */
+    private int nextAbsoluteUserNumber(final TestUserConfiguration config)
+    {
+        final int agentCount = Math.max(1, agentInfo.getTotalAgentCount());
+
+        return config.getTotalUserCount() + agentInfo.getAgentNumber() + additionalUsersOnAgent.getAndIncrement() * agentCount;
+    }
+
+    /**
+     * Creates a copy of the given user configuration with a different user number.
+     */
+    private static TestUserConfiguration copyConfig(final TestUserConfiguration config, final int instance, final int absoluteUserNumber)
+    {
+        final TestUserConfiguration copy = new TestUserConfiguration();
+
+        copy.setAgentIndex(config.getAgentIndex());
+        copy.setArrivalRates(config.getArrivalRates());
+        copy.setInitialDelay(config.getInitialDelay());
+        copy.setMeasurementPeriod(config.getMeasurementPeriod());
+        copy.setNumberOfIterations(config.getNumberOfIterations());
+        copy.setNumberOfUsers(config.getNumberOfUsers());
+        copy.setShutdownPeriod(config.getShutdownPeriod());
+        copy.setTestCaseClassName(config.getTestCaseClassName());
+        copy.setTotalUserCount(config.getTotalUserCount());
+        copy.setUserName(config.getUserName());
+        copy.setUsers(config.getUsers());
+        copy.setWarmUpPeriod(config.getWarmUpPeriod());
+        copy.setWeightFunction(config.getWeightFunction());
+
+        copy.setInstance(instance);
+        copy.setAbsoluteUserNumber(absoluteUserNumber);
+
+        return copy;
+    }
+}
@@ -15,13 +15,20 @@
  */
 package com.xceptance.xlt.agent;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.PriorityQueue;
+import java.util.SplittableRandom;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import com.xceptance.xlt.agent.unipro.CompositeFunction;
 import com.xceptance.xlt.agent.unipro.Function;
+import com.xceptance.xlt.api.engine.GlobalClock;
 import com.xceptance.xlt.engine.util.TimerUtils;
 
 /**
@@ -29,11 +36,43 @@ import com.xceptance.xlt.engine.util.TimerUtils;
  * constant rate. If all threads are busy when a new period begins, the arrival event is not lost but stored, so that
  * the next free thread commences test execution immediately. However, the number of outstanding executions is limited
  * to the number of registered threads.
+ * <p>
+ * By default, all arrivals of a second are released at the beginning of that second. Alternatively, the arrivals can
+ * be spread over the second, either evenly or like a Poisson process (see {@link ArrivalDistribution}). In any case,
+ * {@link #waitForNextExecution()} returns the time the arrival was scheduled for (in burst mode, the beginning of the
+ * second that released it), so the lag between the scheduled and the actual start of an iteration can be recorded as
+ * custom value {@value #ARRIVAL_LAG_VALUE_NAME} [ms].
  *
  * @author Jörg Werner (Xceptance Software Technologies GmbH)
  */
 public class PeriodicExecutionTimer extends AbstractExecutionTimer
 {
+    /**
+     * The name of the custom value that records the lag between scheduled and actual start of an iteration.
+     */
+    public static final String ARRIVAL_LAG_VALUE_NAME = "ArrivalLag";
+
+    /**
+     * How the arrivals of one second are distributed within that second.
+     */
+    public enum ArrivalDistribution
+    {
+        /**
+         * All arrivals are released at the beginning of the second.
+         */
+        BURST,
+
+        /**
+         * The arrivals are spaced evenly over the second.
+         */
+        EVEN,
+
+        /**
+         * The arrivals are placed randomly within the second, as if generated by a Poisson process.
+         */
+        POISSON
+    }
+
     /**
      * The timer task that periodically recalculates the current arrival rate and controls the users accordingly.
      */
@@ -56,11 +95,30 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
      */
     public PeriodicExecutionTimer(final String userTypeName, final long initialDelay, final long duration, final int shutdownPeriod,
                                   final int[][] arrivalRates, final int agentIndex, final double[] agentWeights)
+    {
+        this(userTypeName, initialDelay, duration, shutdownPeriod, arrivalRates, agentIndex, agentWeights, ArrivalDistribution.BURST);
+    }
+
+    /**
+     * Creates a new PeriodicExecutionTimer instance.
+     *
+     * @param shutdownPeriod
+     *            the shutdown period
+     * @param agentIndex
+     * @param agentCount
+     * @param period
+     *            the period between two executions
+     * @param arrivalDistribution
+     *            how to distribute the arrivals within a second
+     */
+    public PeriodicExecutionTimer(final String userTypeName, final long initialDelay, final long duration, final int shutdownPeriod,
+                                  final int[][] arrivalRates, final int agentIndex, final double[] agentWeights,
+                                  final ArrivalDistribution arrivalDistribution)
     {
         super(userTypeName, initialDelay, duration, shutdownPeriod);
 
         // start the arrival rate recalculation task
-        timerTask = new ArrivalRateControllerTimerTask(arrivalRates, agentIndex, agentWeights, this, initialDelay);
+        timerTask = new ArrivalRateControllerTimerTask(arrivalRates, agentIndex, agentWeights, this, initialDelay, arrivalDistribution);
 
         timer = new Timer("PeriodicExecutionTimer-" + userTypeName, true);
         timer.scheduleAtFixedRate(timerTask, initialDelay, 1000);
@@ -70,9 +128,18 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
      * {@inheritDoc}
      */
     @Override
-    protected void executeWait() throws InterruptedException
+    protected long executeWait() throws InterruptedException
     {
-        timerTask.semaphore.acquire();
+        if (timerTask.arrivals == null)
+        {
+            timerTask.semaphore.acquire();
+
+            return timerTask.takeReleasedSlot();
+        }
+        else
+        {
+            return timerTask.arrivals.take().getScheduledTime();
+        }
     }
 
     /**
@@ -105,6 +172,26 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
          */
         private final Semaphore semaphore = new Semaphore(0, true);
 
+        /**
+         * The seconds that released the currently available permits (burst mode only), oldest first.
+         */
+        private final ArrayDeque<ReleasedSlot> releasedSlots = new ArrayDeque<>();
+
+        /**
+         * The scheduled arrivals if arrivals are to be spread over the second, <code>null</code> otherwise.
+         */
+        private final DelayQueue<Arrival> arrivals;
+
+        /**
+         * How to distribute the arrivals within a second.
+         */
+        private final ArrivalDistribution arrivalDistribution;
+
+        /**
+         * The random number generator used to place Poisson-distributed arrivals.
+         */
+        private final SplittableRandom random = new SplittableRandom();
+
         /**
          * The periodic execution timer that owns this timer task.
          */
@@ -160,6 +247,30 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
         public ArrivalRateControllerTimerTask(final int[][] arrivalRates, final int agentIndex, final double[] agentWeights,
                                               final PeriodicExecutionTimer timer, final long initialDelay)
         {
+            this(arrivalRates, agentIndex, agentWeights, timer, initialDelay, ArrivalDistribution.BURST);
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param arrivalRates
+         *            the arrival rates
+         * @param agentIndex
+         *            the agent index
+         * @param agentWeights
+         *            the agent weights
+         * @param timer
+         *            the period execution timer owning this timer task
+         * @param arrivalDistribution
+         *            how to distribute the arrivals within a second
+         */
+        public ArrivalRateControllerTimerTask(final int[][] arrivalRates, final int agentIndex, final double[] agentWeights,
+                                              final PeriodicExecutionTimer timer, final long initialDelay,
+                                              final ArrivalDistribution arrivalDistribution)
+        {
+            this.arrivalDistribution = arrivalDistribution;
+            arrivals = arrivalDistribution == ArrivalDistribution.BURST ? null : new DelayQueue<>();
+
             this.agentIndex = agentIndex;
             arrivalRateFunction = new CompositeFunction(arrivalRates);
             samplingPoints = new int[arrivalRates.length];
@@ -192,6 +303,10 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
             // compute upper limit of permits for this second, but allow at least one permit per registered thread
             final int maxPermits = Math.max(releases, timer.getThreads().size());
 
+            // the number of outstanding executions (from this and the previous second)
+            int permits = arrivals == null ? semaphore.availablePermits() : arrivals.size();
+            int myReleases = 0;
+
             // release users one by one
             for (int i = 0; i < releases; i++)
             {
@@ -204,9 +319,10 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
 
                     // release one thread, but limit the outstanding executions (from this and the previous second) to
                     // the maximum number of permits for this second
-                    if (semaphore.availablePermits() < maxPermits)
+                    if (permits < maxPermits)
                     {
-                        semaphore.release();
+                        permits++;
+                        myReleases++;
                     }
                 }
                 else
@@ -220,9 +336,99 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
                 agents.add(agentEntry);
             }
 
+            // now actually release the users of this agent
+            if (arrivals == null)
+            {
+                if (myReleases > 0)
+                {
+                    synchronized (releasedSlots)
+                    {
+                        releasedSlots.add(new ReleasedSlot(GlobalClock.millis(), myReleases));
+                    }
+                    semaphore.release(myReleases);
+                }
+            }
+            else
+            {
+                final long now = System.nanoTime();
+                final long nowMillis = GlobalClock.millis();
+                for (final long offset : computeArrivalOffsets(arrivalDistribution, myReleases, random))
+                {
+                    arrivals.add(new Arrival(now + offset, nowMillis + TimeUnit.NANOSECONDS.toMillis(offset)));
+                }
+            }
+
             // System.err.printf(", lastReleased[new]: %f, releases: %d\n", lastReleaseTime, releases);
         }
 
+        /**
+         * Consumes a permit of the oldest second that still has permits available and returns the beginning of that
+         * second. Must be called once for each permit acquired from the semaphore.
+         *
+         * @return the time [ms] the second began
+         */
+        long takeReleasedSlot()
+        {
+            synchronized (releasedSlots)
+            {
+                final ReleasedSlot slot = releasedSlots.peek();
+                if (slot == null)
+                {
+                    return NO_SCHEDULED_START;
+                }
+
+                if (--slot.remainingPermits == 0)
+                {
+                    releasedSlots.poll();
+                }
+
+                return slot.startTime;
+            }
+        }
+
+        /**
+         * Computes the offsets [ns] of the given number of arrivals relative to the beginning of the current second.
+         *
+         * @param arrivalDistribution
+         *            how to distribute the arrivals within the second
+         * @param count
+         *            the number of arrivals
+         * @param random
+         *            the random number generator to use
+         * @return the offsets in ascending order, each in the range [0, 1 s)
+         */
+        static long[] computeArrivalOffsets(final ArrivalDistribution arrivalDistribution, final int count, final SplittableRandom random)
+        {
+            final long second = TimeUnit.SECONDS.toNanos(1);
+            final long[] offsets = new long[count];
+
+            switch (arrivalDistribution)
+            {
+                case EVEN:
+                    for (int i = 0; i < count; i++)
+                    {
+                        offsets[i] = second * i / count;
+                    }
+                    break;
+
+                case POISSON:
+                    // given the number of arrivals in an interval, the arrival times of a Poisson process are
+                    // distributed uniformly within this interval
+                    for (int i = 0; i < count; i++)
+                    {
+                        offsets[i] = random.nextLong(second);
+                    }
+                    Arrays.sort(offsets);
+                    break;
+
+                default:
+                    // all at once
+                    break;
+            }
+
+            return offsets;
+        }
+
         /**
          * Computes the number of users to release. The last release time is adjusted accordingly.
          *
@@ -338,6 +544,83 @@ public class PeriodicExecutionTimer extends AbstractExecutionTimer
         }
     }
 
+    /**
+     * The permits released at the beginning of a certain second in burst mode.
+     */
+    private static final class ReleasedSlot
+    {
+        /**
+         * The time [ms] the second began.
+         */
+        private final long startTime;
+
+        /**
+         * The number of permits of this second not yet taken.
+         */
+        private int remainingPermits;
+
+        ReleasedSlot(final long startTime, final int permits)
+        {
+            this.startTime = startTime;
+            remainingPermits = permits;
+        }
+    }
+
+    /**
+     * A scheduled arrival, i.e. the point in time when an iteration is supposed to start.
+     */
+    static final class Arrival implements Delayed
+    {
+        /**
+         * The scheduled start time as obtained from {@link System#nanoTime()}.
+         */
+        private final long deadline;
+
+        /**
+         * The scheduled start time [ms] as obtained from {@link GlobalClock}.
+         */
+        private final long scheduledTime;
+
+        Arrival(final long deadline, final long scheduledTime)
+        {
+            this.deadline = deadline;
+            this.scheduledTime = scheduledTime;
+        }
+
+        /**
+         * Returns the scheduled start time [ms] as obtained from {@link GlobalClock}.
+         *
+         * @return the scheduled start time
+         */
+        long getScheduledTime()
+        {
+            return scheduledTime;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long getDelay(final TimeUnit unit)
+        {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(final Delayed other)
+        {
+            if (other instanceof Arrival)
+            {
+                return Long.compare(deadline, ((Arrival) other).deadline);
+            }
+
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
     /**
      * An entry in the agent priority queue representing one agent in the cluster.
      */
@@ -98,7 +98,7 @@ public class RandomExecutionTimer extends AbstractExecutionTimer
      * {@inheritDoc}
      */
     @Override
-    protected void executeWait() throws InterruptedException
+    protected long executeWait() throws InterruptedException
     {
         // simulate inter-transaction think time
         final long resultingThinkTime = Math.max(0, XltRandom.nextIntWithDeviation(thinkTime, thinkTimeDeviation));
@@ -140,6 +140,8 @@ public class RandomExecutionTimer extends AbstractExecutionTimer
         {
             timerTask.semaphore.acquire();
         }
+
+        return NO_SCHEDULED_START;
     }
 
     /**
@@ -276,7 +276,7 @@ public class AgentControllerImpl implements AgentController
         Runtime.getRuntime().addShutdownHook(new ShutdownHook());
 
         // create file manager (for embedded use only)
-        fileManager = new FileManagerImpl(transferDirectory);
+        fileManager = new FileManagerImpl(transferDirectory, this::getAgentResultsDirectory);
 
         final File updateManagerDirectory = new File(getTransferDirectory(), "xltUpdate_" + UUID.randomUUID().toString());
         agentFileManager = new AgentFileManager(updateManagerDirectory);
@@ -348,6 +348,9 @@ public class AgentControllerImpl implements AgentController
         final FileManagerServlet fileManagerServlet = new FileManagerServlet(transferDirectory);
         context.addServlet(new ServletHolder(fileManagerServlet), FileManagerServlet.SERVLET_MAPPING);
 
+        final AgentResultsServlet agentResultsServlet = new AgentResultsServlet(this::getAgentResultsDirectory);
+        context.addServlet(new ServletHolder(agentResultsServlet), AgentResultsServlet.SERVLET_MAPPING);
+
         final HessianServlet hessianServlet = new HessianServlet();
         hessianServlet.setHome(this);
         context.addServlet(new ServletHolder(hessianServlet), "/" + AgentController.class.getName());
@@ -731,6 +734,7 @@ public class AgentControllerImpl implements AgentController
             {
                 final Integer exitCode = isAgentRunning ? null : agentStatus.getErrorExitCode();
                 agentStatusInfo = new AgentStatusInfo(agentId, agentStatus.getHostName(), isAgentRunning, exitCode);
+                agentStatusInfo.setIntervalStatistics(agentStatus.getIntervalStatistics());
 
                 // collect all user status objects for later processing
                 userStatusList.addAll(agentStatus.getTestUserStatusList());
@@ -926,6 +930,25 @@ public class AgentControllerImpl implements AgentController
         }
     }
 
+    /**
+     * Returns the results directory of the agent with the given ID. The agent does not need to be known to this agent
+     * controller, which is the case after a restart.
+     *
+     * @param agentID
+     *            the agent ID
+     * @return the results directory, or <code>null</code> if the agent ID is not a valid directory name
+     */
+    File getAgentResultsDirectory(final String agentID)
+    {
+        // the agent directory is named after the agent ID (see #setupAgentManagers())
+        if (StringUtils.containsAny(agentID, '/', '\\') || agentID.equals(".") || agentID.equals(".."))
+        {
+            return null;
+        }
+
+        return new File(new File(agentsDirectory, agentID), AgentInfo.NAME_RESULTS_DIR);
+    }
+
     private File getTempFile(final String coreName) throws IOException
     {
         return File.createTempFile(AGENT_RESULTS_FILE_PREFIX + coreName + "_", AGENT_RESULTS_FILE_EXTENSION, tempDir);
@@ -26,6 +26,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.filefilter.FileFilterUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.NameFileFilter;
+import org.apache.commons.io.filefilter.RegexFileFilter;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +35,7 @@ import com.xceptance.common.io.FileUtils;
 import com.xceptance.common.lang.ThreadUtils;
 import com.xceptance.common.util.zip.ZipUtils;
 import com.xceptance.xlt.agent.AgentInfo;
+import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.util.FileReplicationIndex;
 import com.xceptance.xlt.util.FileReplicationUtils;
 
@@ -55,15 +57,21 @@ public class AgentManagerImpl implements AgentManager, AgentListener
      */
     private static final IOFileFilter NO_RESULTBROWSER_FILTER = FileFilterUtils.notFileFilter(FileFilterUtils.makeDirectoryOnly(new NameFileFilter("output")));
 
+    /**
+     * A file filter that ignores the result browser blob store, as the result browsers hold their own links to the
+     * blobs.
+     */
+    private static final IOFileFilter NO_BLOB_STORE_FILTER = FileFilterUtils.notFileFilter(FileFilterUtils.makeDirectoryOnly(new NameFileFilter(XltConstants.DUMP_BLOB_STORE_DIR)));
+
     /**
      * A file filter that ignores agent log files.
      */
     private static final IOFileFilter NO_AGENTLOG_FILTER = FileFilterUtils.notFileFilter(FileFilterUtils.makeFileOnly(new WildcardFileFilter("agent*.log")));
 
     /**
-     * A file filter that ignores timer files.
+     * A file filter that ignores timer files, including rotated ones.
      */
-    private static final IOFileFilter NO_TIMERS_FILTER = FileFilterUtils.notFileFilter(FileFilterUtils.makeFileOnly(new NameFileFilter("timers.csv")));
+    private static final IOFileFilter NO_TIMERS_FILTER = FileFilterUtils.notFileFilter(FileFilterUtils.makeFileOnly(new RegexFileFilter("^timers\\.csv(\\.[0-9]+)?$")));
 
     /**
      * A file filter that ignores both agent log files and result browser directories.
@@ -195,31 +203,7 @@ public class AgentManagerImpl implements AgentManager, AgentListener
             log.info(marker + ": Prepare zipping");
 
             // choose a file filter depending on the download mode
-            final IOFileFilter fileFilter;
-            switch (testResultAmount)
-            {
-                case MEASUREMENTS_AND_RESULTBROWSER:
-                    fileFilter = NO_AGENTLOG_FILTER;
-                    break;
-                case MEASUREMENTS_ONLY:
-                    fileFilter = NO_AGENTLOG_NO_RESULTBROWSER_FILTER;
-                    break;
-                case MEASUREMENTS_AND_LOGS:
-                    fileFilter = NO_RESULTBROWSER_FILTER;
-                    break;
-                case RESULTBROWSER_AND_LOGS:
-                    fileFilter = NO_TIMERS_FILTER;
-                    break;
-                case RESULTBROWSER_ONLY:
-                    fileFilter = NO_AGENTLOG_NO_TIMERS_FILTER;
-                    break;
-                case LOGS_ONLY:
-                    fileFilter = NO_RESULTBROWSER_NO_TIMERS_FILTER;
-                    break;
-                default:
-                    fileFilter = null;
-                    break;
-            }
+            final IOFileFilter fileFilter = getResultFileFilter(testResultAmount);
 
             if (directory.exists())
             {
@@ -238,6 +222,44 @@ public class AgentManagerImpl implements AgentManager, AgentListener
         return wasSuccessful;
     }
 
+    /**
+     * Returns the file filter that selects the result files to download for the given test result amount.
+     * 
+     * @param testResultAmount
+     *            what amount to download
+     * @return the file filter
+     */
+    static IOFileFilter getResultFileFilter(final TestResultAmount testResultAmount)
+    {
+        final IOFileFilter fileFilter;
+        switch (testResultAmount)
+        {
+            case MEASUREMENTS_AND_RESULTBROWSER:
+                fileFilter = NO_AGENTLOG_FILTER;
+                break;
+            case MEASUREMENTS_ONLY:
+                fileFilter = NO_AGENTLOG_NO_RESULTBROWSER_FILTER;
+                break;
+            case MEASUREMENTS_AND_LOGS:
+                fileFilter = NO_RESULTBROWSER_FILTER;
+                break;
+            case RESULTBROWSER_AND_LOGS:
+                fileFilter = NO_TIMERS_FILTER;
+                break;
+            case RESULTBROWSER_ONLY:
+                fileFilter = NO_AGENTLOG_NO_TIMERS_FILTER;
+                break;
+            case LOGS_ONLY:
+                fileFilter = NO_RESULTBROWSER_NO_TIMERS_FILTER;
+                break;
+            default:
+                fileFilter = null;
+                break;
+        }
+
+        return fileFilter == null ? NO_BLOB_STORE_FILTER : FileFilterUtils.and(fileFilter, NO_BLOB_STORE_FILTER);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agentcontroller;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.xceptance.xlt.engine.httprequest.HttpResponseHeaders;
+
+/**
+ * The AgentResultsServlet streams the results of an agent as a ZIP archive that is created on the fly from the
+ * agent's results directory. The request path is the agent ID, the query parameter {@value #PARAM_AMOUNT} specifies
+ * the {@link TestResultAmount}.
+ * <p>
+ * To fetch only what is new, the client may POST a manifest of the files it has received already (see
+ * {@link ResultStreamUtils#writeManifest(Map, java.io.OutputStream)}). An interrupted transfer is resumed the same way:
+ * the client sends the manifest again, updated with the files received completely in the meantime. Resuming by file
+ * rather than by entry index keeps working if the set of files to send has changed in between. The response always
+ * carries a Content-Range header in the custom unit "entries" that tells the total number of entries, so the client
+ * can tell a complete archive from a truncated one. Additionally, the query parameter
+ * {@value #PARAM_COMPLETED_ONLY} restricts the archive to those files that will not change any longer while the test
+ * is still running.
+ */
+public class AgentResultsServlet extends HttpServlet
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * class logger
+     */
+    private static final Logger log = LoggerFactory.getLogger(AgentResultsServlet.class);
+
+    /**
+     * servlet path
+     */
+    static final String SERVLET_PATH = "/agentResults/";
+
+    /**
+     * servlet mapping
+     */
+    static final String SERVLET_MAPPING = SERVLET_PATH + "*";
+
+    /**
+     * The name of the query parameter that specifies the test result amount.
+     */
+    static final String PARAM_AMOUNT = "amount";
+
+    /**
+     * The name of the query parameter that specifies whether to send completed files only.
+     */
+    static final String PARAM_COMPLETED_ONLY = "completedOnly";
+
+    /**
+     * Maps an agent ID to the results directory of that agent.
+     */
+    private final transient Function<String, File> resultsDirectoryResolver;
+
+    /**
+     * Creates a new AgentResultsServlet object.
+     *
+     * @param resultsDirectoryResolver
+     *            maps an agent ID to the results directory of that agent, returns <code>null</code> for unknown agents
+     */
+    public AgentResultsServlet(final Function<String, File> resultsDirectoryResolver)
+    {
+        this.resultsDirectoryResolver = resultsDirectoryResolver;
+    }
+
+    /**
+     * Handles all download requests.
+     *
+     * @param req
+     *            the servlet request
+     * @param resp
+     *            the servlet response
+     */
+    @Override
+    protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException
+    {
+        sendResults(req, resp, Map.of());
+    }
+
+    /**
+     * Handles all download requests that come with a manifest of the files received so far.
+     *
+     * @param req
+     *            the servlet request
+     * @param resp
+     *            the servlet response
+     */
+    @Override
+    protected void doPost(final HttpServletRequest req, final HttpServletResponse resp) throws ServletException, IOException
+    {
+        final Map<String, Long> receivedFiles;
+        try
+        {
+            receivedFiles = ResultStreamUtils.readManifest(req.getInputStream());
+        }
+        catch (final IOException e)
+        {
+            log.warn("Failed to read manifest: {}", e.toString());
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        sendResults(req, resp, receivedFiles);
+    }
+
+    /**
+     * Streams the requested results, skipping the files the client has received already.
+     */
+    private void sendResults(final HttpServletRequest req, final HttpServletResponse resp, final Map<String, Long> receivedFiles)
+        throws IOException
+    {
+        final String agentID = StringUtils.removeStart(req.getPathInfo(), "/");
+
+        // validate the parameters
+        final TestResultAmount testResultAmount;
+        try
+        {
+            testResultAmount = TestResultAmount.valueOf(StringUtils.defaultString(req.getParameter(PARAM_AMOUNT),
+                                                                                  TestResultAmount.ALL.name()));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        final File resultsDirectory = StringUtils.isBlank(agentID) ? null : resultsDirectoryResolver.apply(agentID);
+        if (resultsDirectory == null)
+        {
+            resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // determine the files to send, an agent that did not produce any results simply has none
+        final boolean completedOnly = Boolean.parseBoolean(req.getParameter(PARAM_COMPLETED_ONLY));
+        final List<String> fileNames = resultsDirectory.isDirectory() ? ResultStreamUtils.listResultFiles(resultsDirectory, testResultAmount,
+                                                                                                          receivedFiles, completedOnly,
+                                                                                                          System.currentTimeMillis())
+                                                                      : List.of();
+        resp.setHeader(HttpResponseHeaders.CONTENT_RANGE, PartialGetUtils.formatEntriesContentRangeHeader(0, fileNames.size()));
+
+        if (fileNames.isEmpty())
+        {
+            resp.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        // stream the archive
+        log.debug("Streaming {} result files of agent '{}' ...", fileNames.size(), agentID);
+
+        resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        resp.setContentType("application/zip");
+
+        try
+        {
+            ResultStreamUtils.writeArchive(resultsDirectory, fileNames, resp.getOutputStream());
+        }
+        catch (final IOException e)
+        {
+            // most likely the client went away, the response is committed already anyway
+            log.warn("Failed to stream results of agent '{}': {}", agentID, e.toString());
+        }
+    }
+}
@@ -37,6 +37,8 @@ public class AgentStatus implements Serializable
 
     private int errorExitCode;
 
+    private List<IntervalStatistics> intervalStatistics;
+
     /**
      * @return the agentName
      */
@@ -95,6 +97,27 @@ public class AgentStatus implements Serializable
         return errorExitCode;
     }
 
+    /**
+     * Returns the statistics of the most recently completed intervals, oldest first.
+     *
+     * @return the interval statistics, or <code>null</code> if not available
+     */
+    public List<IntervalStatistics> getIntervalStatistics()
+    {
+        return intervalStatistics;
+    }
+
+    /**
+     * Sets the statistics of the most recently completed intervals, oldest first.
+     *
+     * @param intervalStatistics
+     *            the interval statistics
+     */
+    public void setIntervalStatistics(final List<IntervalStatistics> intervalStatistics)
+    {
+        this.intervalStatistics = intervalStatistics;
+    }
+
     /**
      * {@inheritDoc}
      */
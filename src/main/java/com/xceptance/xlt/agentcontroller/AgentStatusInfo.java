@@ -16,6 +16,7 @@
 package com.xceptance.xlt.agentcontroller;
 
 import java.io.Serializable;
+import java.util.List;
 
 public class AgentStatusInfo implements Serializable
 {
@@ -35,6 +36,11 @@ public class AgentStatusInfo implements Serializable
      */
     private final Integer exitCode;
 
+    /**
+     * The statistics of the most recently completed intervals reported by the agent, oldest first.
+     */
+    private List<IntervalStatistics> intervalStatistics;
+
     public AgentStatusInfo(final String agentID, final String hostName, final boolean running, final Integer exitCode)
     {
         this.agentID = agentID;
@@ -63,6 +69,27 @@ public class AgentStatusInfo implements Serializable
         return exitCode;
     }
 
+    /**
+     * Returns the statistics of the most recently completed intervals reported by the agent, oldest first.
+     *
+     * @return the interval statistics, or <code>null</code> if not available
+     */
+    public List<IntervalStatistics> getIntervalStatistics()
+    {
+        return intervalStatistics;
+    }
+
+    /**
+     * Sets the statistics of the most recently completed intervals reported by the agent.
+     *
+     * @param intervalStatistics
+     *            the interval statistics
+     */
+    public void setIntervalStatistics(final List<IntervalStatistics> intervalStatistics)
+    {
+        this.intervalStatistics = intervalStatistics;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +17,7 @@ package com.xceptance.xlt.agentcontroller;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
 
 /**
  * The AgentManager interface represents the (remote) file manager and defines its API.
@@ -62,4 +63,30 @@ public interface FileManager
 
     public void deleteFile(String remoteFileName) throws IOException;
 
+    /**
+     * Downloads the results of the agent with the given ID from the agent controller and stores them in the specified
+     * directory. The results are transferred as a stream that is extracted while it is being received, so no archive
+     * files are created on either side.
+     * 
+     * @param agentID
+     *            the agent ID
+     * @param testResultAmount
+     *            what amount to download
+     * @param localDirectory
+     *            the directory to store the results in
+     * @param compressedTimerFiles
+     *            whether to store timer files in compressed form
+     * @param receivedFiles
+     *            the sizes of the files received so far, keyed by their path relative to the agent's results directory;
+     *            such files are not transferred again unless their size has changed, and the map is updated with each
+     *            file received
+     * @param completedOnly
+     *            whether to download only those files that will not change any longer while the test is running
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public void downloadAgentResults(String agentID, TestResultAmount testResultAmount, File localDirectory, boolean compressedTimerFiles,
+                                     Map<String, Long> receivedFiles, boolean completedOnly)
+        throws IOException;
+
 }
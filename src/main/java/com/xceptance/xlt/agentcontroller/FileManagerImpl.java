@@ -16,7 +16,10 @@
 package com.xceptance.xlt.agentcontroller;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.apache.commons.io.FileUtils;
 
@@ -29,9 +32,20 @@ public class FileManagerImpl implements FileManager
 {
     private final File rootDirectory;
 
+    /**
+     * Maps an agent ID to the results directory of that agent.
+     */
+    private final Function<String, File> agentResultsDirectoryResolver;
+
     public FileManagerImpl(final File rootDirectory)
+    {
+        this(rootDirectory, null);
+    }
+
+    public FileManagerImpl(final File rootDirectory, final Function<String, File> agentResultsDirectoryResolver)
     {
         this.rootDirectory = rootDirectory;
+        this.agentResultsDirectoryResolver = agentResultsDirectoryResolver;
     }
 
     /**
@@ -69,4 +83,27 @@ public class FileManagerImpl implements FileManager
 
         FileUtils.copyFile(localFile, remoteFile);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void downloadAgentResults(final String agentID, final TestResultAmount testResultAmount, final File localDirectory,
+                                     final boolean compressedTimerFiles, final Map<String, Long> receivedFiles,
+                                     final boolean completedOnly)
+        throws IOException
+    {
+        final File resultsDirectory = agentResultsDirectoryResolver != null ? agentResultsDirectoryResolver.apply(agentID) : null;
+        if (resultsDirectory == null)
+        {
+            throw new FileNotFoundException("Invalid agent ID: " + agentID);
+        }
+
+        // an agent that did not produce any results simply has none
+        if (resultsDirectory.isDirectory())
+        {
+            ResultStreamUtils.copyResults(resultsDirectory, testResultAmount, localDirectory, compressedTimerFiles, receivedFiles,
+                                          completedOnly);
+        }
+    }
 }
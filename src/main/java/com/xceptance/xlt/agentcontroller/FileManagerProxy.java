@@ -25,6 +25,8 @@ import java.io.RandomAccessFile;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -65,8 +67,18 @@ public class FileManagerProxy implements FileManager
 
     private static final Logger log = LoggerFactory.getLogger(FileManagerProxy.class);
 
+    /**
+     * The status code "Range Not Satisfiable", which is not defined in {@link HttpURLConnection}.
+     */
+    private static final int HTTP_RANGE_NOT_SATISFIABLE = 416;
+
     private final URL url;
 
+    /**
+     * The base URL of the agent results servlet.
+     */
+    private final URL agentResultsUrl;
+
     private final UrlConnectionFactory urlConnectionFactory;
 
     /**
@@ -98,6 +110,7 @@ public class FileManagerProxy implements FileManager
         throws MalformedURLException
     {
         this.url = new URL(url + FileManagerServlet.SERVLET_PATH);
+        this.agentResultsUrl = new URL(url + AgentResultsServlet.SERVLET_PATH);
         this.urlConnectionFactory = urlConnectionFactory;
         this.downloadChunkSize = downloadChunkSize;
         this.downloadMaxRetries = downloadMaxRetries;
@@ -217,6 +230,96 @@ public class FileManagerProxy implements FileManager
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void downloadAgentResults(final String agentID, final TestResultAmount testResultAmount, final File localDirectory,
+                                     final boolean compressedTimerFiles, final Map<String, Long> receivedFiles,
+                                     final boolean completedOnly)
+        throws IOException
+    {
+        final URL downloadUrl = new URL(agentResultsUrl + agentID + "?" + AgentResultsServlet.PARAM_AMOUNT + "=" + testResultAmount.name() +
+                                        "&" + AgentResultsServlet.PARAM_COMPLETED_ONLY + "=" + completedOnly);
+
+        log.debug("Streaming agent results from '{}' to '{}' ...", downloadUrl, localDirectory);
+
+        FileUtils.forceMkdir(localDirectory);
+
+        // prepare retry handling in case of I/O errors, any retry sends the updated manifest, so the agent controller
+        // sends only the files not received completely so far
+        final IoActionHandler ioActionHandler = new IoActionHandler(downloadMaxRetries);
+
+        ioActionHandler.run(() -> downloadAgentResultEntries(downloadUrl, localDirectory, compressedTimerFiles, receivedFiles));
+    }
+
+    /**
+     * Downloads an archive of the agent results not received so far and extracts it on the fly.
+     *
+     * @param downloadUrl
+     *            the URL to download the archive from
+     * @param localDirectory
+     *            the directory to store the results in
+     * @param compressedTimerFiles
+     *            whether to store timer files in compressed form
+     * @param receivedFiles
+     *            the sizes of the files received, sent as manifest and updated while extracting
+     * @return always <code>null</code>
+     * @throws IOException
+     *             if anything went wrong, including a stream that ended prematurely
+     */
+    private Void downloadAgentResultEntries(final URL downloadUrl, final File localDirectory, final boolean compressedTimerFiles,
+                                            final Map<String, Long> receivedFiles)
+        throws IOException
+    {
+        final HttpURLConnection conn = (HttpURLConnection) urlConnectionFactory.open(downloadUrl);
+        conn.setDoOutput(true);
+        conn.setRequestMethod("POST");
+        conn.setRequestProperty(HttpRequestHeaders.CONTENT_TYPE, "text/plain; charset=UTF-8");
+
+        try (final OutputStream out = conn.getOutputStream())
+        {
+            ResultStreamUtils.writeManifest(receivedFiles, out);
+        }
+
+        final AtomicLong entriesReceived = new AtomicLong();
+
+        final int statusCode = conn.getResponseCode();
+
+        final String contentRangeHeaderValue = conn.getHeaderField(HttpResponseHeaders.CONTENT_RANGE);
+        final ContentRangeHeaderData contentRangeHeaderData = PartialGetUtils.parseEntriesContentRangeHeader(contentRangeHeaderValue);
+
+        if (statusCode == HttpURLConnection.HTTP_PARTIAL && contentRangeHeaderData != null)
+        {
+            log.debug("Receiving entries {}-{} from '{}' ...", contentRangeHeaderData.startPos, contentRangeHeaderData.endPos, downloadUrl);
+
+            try (final InputStream in = conn.getInputStream())
+            {
+                ResultStreamUtils.extractArchive(in, localDirectory, compressedTimerFiles, entry -> {
+                    receivedFiles.put(entry.getName(), entry.getSize());
+                    entriesReceived.incrementAndGet();
+                });
+            }
+
+            // the stream may have ended cleanly, but too early
+            if (entriesReceived.get() < contentRangeHeaderData.totalBytes)
+            {
+                throw new IOException(String.format("Expected %d entries but got %d entries", contentRangeHeaderData.totalBytes,
+                                                    entriesReceived.get()));
+            }
+        }
+        else if (statusCode == HTTP_RANGE_NOT_SATISFIABLE && contentRangeHeaderData != null && contentRangeHeaderData.totalBytes == 0)
+        {
+            // nothing (left) to receive
+        }
+        else
+        {
+            throw new XltException("Received unexpected status code: " + statusCode);
+        }
+
+        return null;
+    }
+
     /**
      * Truncates the given file to the given size.
      *
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agentcontroller;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The statistics of all timers for a certain time interval. Agents create these objects periodically and pass them on
+ * to the master controller via the agent status, where the statistics of all agents for the same interval are merged.
+ */
+public class IntervalStatistics implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The start time of the interval [ms].
+     */
+    private final long startTime;
+
+    /**
+     * The end time of the interval [ms].
+     */
+    private final long endTime;
+
+    /**
+     * The statistics per timer.
+     */
+    private final List<TimerStatistics> timerStatistics;
+
+    /**
+     * Constructor.
+     *
+     * @param startTime
+     *            the start time of the interval [ms]
+     * @param endTime
+     *            the end time of the interval [ms]
+     * @param timerStatistics
+     *            the statistics per timer
+     */
+    public IntervalStatistics(final long startTime, final long endTime, final List<TimerStatistics> timerStatistics)
+    {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.timerStatistics = timerStatistics;
+    }
+
+    /**
+     * Merges the given statistics, which must all be for the same interval, into a new statistics object. The timer
+     * statistics of the result are sorted by type and name.
+     *
+     * @param intervalStatistics
+     *            the statistics to merge
+     * @return the merged statistics
+     */
+    public static IntervalStatistics merge(final Collection<IntervalStatistics> intervalStatistics)
+    {
+        long startTime = Long.MAX_VALUE;
+        long endTime = 0;
+        final Map<String, TimerStatistics> mergedStatistics = new TreeMap<>();
+
+        for (final IntervalStatistics stats : intervalStatistics)
+        {
+            startTime = Math.min(startTime, stats.startTime);
+            endTime = Math.max(endTime, stats.endTime);
+
+            for (final TimerStatistics timerStats : stats.timerStatistics)
+            {
+                final String key = timerStats.getType() + '\n' + timerStats.getName();
+
+                final TimerStatistics mergedTimerStats = mergedStatistics.get(key);
+                if (mergedTimerStats == null)
+                {
+                    mergedStatistics.put(key, timerStats.copy());
+                }
+                else
+                {
+                    mergedTimerStats.merge(timerStats);
+                }
+            }
+        }
+
+        return new IntervalStatistics(Math.min(startTime, endTime), endTime, new ArrayList<>(mergedStatistics.values()));
+    }
+
+    /**
+     * Returns the start time of the interval.
+     *
+     * @return the start time [ms]
+     */
+    public long getStartTime()
+    {
+        return startTime;
+    }
+
+    /**
+     * Returns the end time of the interval.
+     *
+     * @return the end time [ms]
+     */
+    public long getEndTime()
+    {
+        return endTime;
+    }
+
+    /**
+     * Returns the length of the interval.
+     *
+     * @return the duration [ms]
+     */
+    public long getDuration()
+    {
+        return endTime - startTime;
+    }
+
+    /**
+     * Returns the statistics per timer.
+     *
+     * @return the timer statistics
+     */
+    public List<TimerStatistics> getTimerStatistics()
+    {
+        return timerStatistics;
+    }
+
+    /**
+     * Returns the number of events per second for the given timer statistics in this interval.
+     *
+     * @param timerStatistics
+     *            the timer statistics
+     * @return the throughput [1/s]
+     */
+    public double getThroughput(final TimerStatistics timerStatistics)
+    {
+        final long duration = getDuration();
+
+        return duration > 0 ? timerStatistics.getCount() * 1000.0 / duration : 0.0;
+    }
+}
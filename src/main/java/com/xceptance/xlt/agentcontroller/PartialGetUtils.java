@@ -37,6 +37,12 @@ class PartialGetUtils
      */
     private static final Pattern CONTENT_RANGE_PATTERN = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
 
+    /**
+     * A pattern to validate a Content-Range response header in the custom unit "entries" (for example,
+     * <code>entries 42-99/100</code> or <code>entries *&#47;100</code>) and extract values from it.
+     */
+    private static final Pattern ENTRIES_CONTENT_RANGE_PATTERN = Pattern.compile("entries (?:(\\d+)-(\\d+)|\\*)/(\\d+)");
+
     /**
      * The values passed in a Range request header value.
      */
@@ -155,4 +161,52 @@ class PartialGetUtils
 
         return null;
     }
+
+    /**
+     * Formats the given values as a valid Content-Range response header value in the unit "entries". If the start
+     * position is beyond the last entry, the unsatisfied form <code>entries *&#47;total</code> is returned.
+     *
+     * @param startPos
+     *            the index of the first entry returned
+     * @param totalEntries
+     *            the total number of entries
+     * @return the formatted header value
+     */
+    static String formatEntriesContentRangeHeader(final long startPos, final long totalEntries)
+    {
+        return startPos < totalEntries ? "entries " + startPos + "-" + (totalEntries - 1) + "/" + totalEntries
+                                       : "entries */" + totalEntries;
+    }
+
+    /**
+     * Parses the given header value as a Content-Range header in the unit "entries" and returns the extracted data.
+     * For the unsatisfied form, start and end position are both <code>-1</code>.
+     *
+     * @param contentRangeHeaderValue
+     *            the header value to parse
+     * @return the extracted data if the header could be parsed successfully, <code>null</code> otherwise
+     */
+    static ContentRangeHeaderData parseEntriesContentRangeHeader(final String contentRangeHeaderValue)
+    {
+        if (contentRangeHeaderValue != null)
+        {
+            final Matcher matcher = ENTRIES_CONTENT_RANGE_PATTERN.matcher(contentRangeHeaderValue);
+            if (matcher.matches())
+            {
+                final long totalEntries = ParseNumbers.parseLong(matcher.group(3));
+
+                if (matcher.group(1) == null)
+                {
+                    return new ContentRangeHeaderData(-1, -1, totalEntries);
+                }
+
+                final long startPos = ParseNumbers.parseLong(matcher.group(1));
+                final long endPos = ParseNumbers.parseLong(matcher.group(2));
+
+                return new ContentRangeHeaderData(startPos, endPos, totalEntries);
+            }
+        }
+
+        return null;
+    }
 }
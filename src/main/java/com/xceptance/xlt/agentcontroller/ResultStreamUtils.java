@@ -0,0 +1,511 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agentcontroller;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+import com.xceptance.common.util.zip.ZipUtils;
+import com.xceptance.xlt.common.XltConstants;
+
+/**
+ * Helper methods to stream the results of an agent as a ZIP archive directly from the results directory, i.e. without
+ * creating an archive file first, and to extract such a stream while it is being received.
+ * <p>
+ * The archive contains regular files only. An interrupted transfer is resumed by creating a new archive of the files
+ * not yet received completely, as listed by a manifest of the files received so far.
+ * <p>
+ * Result browser files that share their content via hard links (see
+ * {@link com.xceptance.xlt.engine.resultbrowser.ContentBlobStore}) are transferred only once per archive. Any further
+ * link to the same content is written as an empty entry that names the file sent before in the same archive in an
+ * extra field, and is restored as a link to (or a copy of) that file on the receiving side. This way, an entry never
+ * refers to a file the receiving side does not have.
+ */
+final class ResultStreamUtils
+{
+    /**
+     * The time [ms] a result browser file must not have been modified to be considered complete.
+     */
+    private static final long COMPLETION_GRACE_PERIOD = 10_000;
+
+    /**
+     * The pattern of the names of rotated timer files, which do not change any longer.
+     */
+    private static final Pattern ROTATED_TIMER_FILENAME_PATTERN = Pattern.compile("^" + Pattern.quote(XltConstants.TIMER_FILENAME) +
+                                                                                  "\\.[0-9]+$");
+
+    /**
+     * The ID of the ZIP extra field that marks an entry as link to a file sent before. The field's data is the path
+     * of that file, encoded in UTF-8.
+     */
+    private static final int LINK_EXTRA_FIELD_ID = 0x584C;
+
+    /**
+     * Default constructor. Declared private to prevent external instantiation.
+     */
+    private ResultStreamUtils()
+    {
+    }
+
+    /**
+     * Returns the paths of all result files to transfer for the given test result amount, relative to the results
+     * directory and sorted by name.
+     *
+     * @param resultsDirectory
+     *            the results directory of an agent
+     * @param testResultAmount
+     *            what amount to transfer
+     * @return the relative file paths (using forward slashes)
+     */
+    static List<String> listResultFiles(final File resultsDirectory, final TestResultAmount testResultAmount)
+    {
+        final List<String> fileNames = new ArrayList<>();
+        addFiles(resultsDirectory, AgentManagerImpl.getResultFileFilter(testResultAmount), "", fileNames);
+
+        return fileNames;
+    }
+
+    /**
+     * Returns the paths of the result files to transfer for the given test result amount, but skips the files the
+     * client has received already and, if so requested, the files that may still change.
+     *
+     * @param resultsDirectory
+     *            the results directory of an agent
+     * @param testResultAmount
+     *            what amount to transfer
+     * @param receivedFiles
+     *            the sizes of the files the client has received already, keyed by relative path
+     * @param completedOnly
+     *            whether to return only files that will not change any longer, i.e. rotated timer files and result
+     *            browser files that have not been modified recently
+     * @param now
+     *            the current time
+     * @return the relative file paths (using forward slashes)
+     */
+    static List<String> listResultFiles(final File resultsDirectory, final TestResultAmount testResultAmount,
+                                        final Map<String, Long> receivedFiles, final boolean completedOnly, final long now)
+    {
+        final List<String> fileNames = listResultFiles(resultsDirectory, testResultAmount);
+
+        fileNames.removeIf(fileName -> {
+            final File file = new File(resultsDirectory, fileName);
+
+            final Long receivedSize = receivedFiles.get(fileName);
+            if (receivedSize != null && receivedSize == file.length())
+            {
+                return true;
+            }
+
+            return completedOnly && !isCompleted(fileName, file, now);
+        });
+
+        return fileNames;
+    }
+
+    /**
+     * Checks whether the given result file will not change any longer while the test is running.
+     */
+    private static boolean isCompleted(final String fileName, final File file, final long now)
+    {
+        if (ROTATED_TIMER_FILENAME_PATTERN.matcher(file.getName()).matches())
+        {
+            return true;
+        }
+
+        // result browser files are written once, but maybe not yet completely
+        return isResultBrowserFile(fileName) && file.lastModified() <= now - COMPLETION_GRACE_PERIOD;
+    }
+
+    /**
+     * Checks whether the given result file belongs to a result browser.
+     */
+    private static boolean isResultBrowserFile(final String fileName)
+    {
+        return ("/" + fileName).contains("/" + XltConstants.DUMP_OUTPUT_DIR + "/");
+    }
+
+    /**
+     * Returns the key that identifies the content of the given result browser file, i.e. the same key is returned for
+     * all hard links to the same content. Returns <code>null</code> for any other file or if the file system does not
+     * provide such a key.
+     */
+    private static Object getContentKey(final String fileName, final File file) throws IOException
+    {
+        return isResultBrowserFile(fileName) ? Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey() : null;
+    }
+
+    /**
+     * Makes the given file a hard link to the target file, or a copy of it if hard links are not supported.
+     */
+    private static void linkOrCopy(final File file, final File target) throws IOException
+    {
+        try
+        {
+            Files.createLink(file.toPath(), target.toPath());
+        }
+        catch (final UnsupportedOperationException | IOException e)
+        {
+            Files.copy(target.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Writes the sizes of the files received so far as a simple text manifest, one "&lt;size&gt; &lt;path&gt;" line
+     * per file.
+     *
+     * @param receivedFiles
+     *            the sizes of the files received, keyed by relative path
+     * @param out
+     *            the target stream, which is flushed but not closed
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    static void writeManifest(final Map<String, Long> receivedFiles, final OutputStream out) throws IOException
+    {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        for (final Map.Entry<String, Long> entry : receivedFiles.entrySet())
+        {
+            writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Reads a manifest as written by {@link #writeManifest(Map, OutputStream)}.
+     *
+     * @param in
+     *            the stream to read from
+     * @return the sizes of the files received, keyed by relative path
+     * @throws IOException
+     *             if an I/O error occurs or the manifest is malformed
+     */
+    static Map<String, Long> readManifest(final InputStream in) throws IOException
+    {
+        final Map<String, Long> receivedFiles = new HashMap<>();
+
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+            if (line.isEmpty())
+            {
+                continue;
+            }
+
+            final int separatorIndex = line.indexOf(' ');
+            if (separatorIndex <= 0)
+            {
+                throw new IOException("Invalid manifest line: " + line);
+            }
+
+            try
+            {
+                receivedFiles.put(line.substring(separatorIndex + 1), Long.parseLong(line.substring(0, separatorIndex)));
+            }
+            catch (final NumberFormatException e)
+            {
+                throw new IOException("Invalid manifest line: " + line, e);
+            }
+        }
+
+        return receivedFiles;
+    }
+
+    /**
+     * Adds the files in the given directory and its sub-directories to the list, sorted by name.
+     */
+    private static void addFiles(final File directory, final FileFilter fileFilter, final String relativePath, final List<String> fileNames)
+    {
+        final File[] files = directory.listFiles(fileFilter);
+        if (files != null)
+        {
+            Arrays.sort(files);
+
+            for (final File file : files)
+            {
+                final String relativeFileName = relativePath + file.getName();
+
+                if (file.isDirectory())
+                {
+                    addFiles(file, fileFilter, relativeFileName + "/", fileNames);
+                }
+                else
+                {
+                    fileNames.add(relativeFileName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the given result files as a ZIP archive to the output stream. Since the data is sent over the network,
+     * speed is favored over compression ratio.
+     *
+     * @param resultsDirectory
+     *            the results directory of an agent
+     * @param fileNames
+     *            the relative paths of the result files to write as returned by
+     *            {@link #listResultFiles(File, TestResultAmount, Map, boolean, long)}
+     * @param out
+     *            the target stream, which is finished but not closed
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    static void writeArchive(final File resultsDirectory, final List<String> fileNames, final OutputStream out) throws IOException
+    {
+        final ZipOutputStream zipOut = new ZipOutputStream(new BufferedOutputStream(out));
+        zipOut.setLevel(Deflater.BEST_SPEED);
+
+        // the files sent in this archive, keyed by content
+        final Map<Object, String> sentFiles = new HashMap<>();
+
+        for (final String fileName : fileNames)
+        {
+            final File file = new File(resultsDirectory, fileName);
+
+            final ZipEntry entry = new ZipEntry(fileName);
+            entry.setTime(file.lastModified());
+
+            final Object contentKey = getContentKey(fileName, file);
+            final String linkTarget = contentKey != null ? sentFiles.putIfAbsent(contentKey, fileName) : null;
+            if (linkTarget != null)
+            {
+                entry.setExtra(createLinkExtraField(linkTarget));
+                zipOut.putNextEntry(entry);
+            }
+            else
+            {
+                zipOut.putNextEntry(entry);
+                try (final InputStream in = new FileInputStream(file))
+                {
+                    IOUtils.copyLarge(in, zipOut);
+                }
+            }
+            zipOut.closeEntry();
+        }
+
+        zipOut.finish();
+        zipOut.flush();
+    }
+
+    /**
+     * Extracts the files from a ZIP archive stream to the given directory while the stream is being read. Files that
+     * are extracted only partly because the stream breaks are overwritten when the transfer is resumed.
+     *
+     * @param in
+     *            the stream to read the archive from
+     * @param directory
+     *            the target directory
+     * @param compressedTimerFiles
+     *            do we want to keep the timers in a compressed form
+     * @param listener
+     *            notified with each entry that was extracted completely, the entry's size is set at that time
+     * @throws IOException
+     *             if an I/O error occurs or the archive contains an entry that would be placed outside the target
+     *             directory
+     */
+    static void extractArchive(final InputStream in, final File directory, final boolean compressedTimerFiles,
+                               final Consumer<ZipEntry> listener)
+        throws IOException
+    {
+        final String directoryPath = directory.getCanonicalPath() + File.separator;
+
+        final ZipInputStream zipIn = new ZipInputStream(new BufferedInputStream(in));
+
+        ZipEntry entry;
+        while ((entry = zipIn.getNextEntry()) != null)
+        {
+            final File file = new File(directory, entry.getName());
+            if (!file.getCanonicalPath().startsWith(directoryPath))
+            {
+                throw new IOException("Archive entry is outside of the target directory: " + entry.getName());
+            }
+
+            if (entry.isDirectory())
+            {
+                FileUtils.forceMkdir(file);
+            }
+            else
+            {
+                FileUtils.forceMkdirParent(file);
+
+                // never write to an existing file as it may be a link that shares its content with other files
+                Files.deleteIfExists(file.toPath());
+
+                final String linkTarget = getLinkTarget(entry);
+                if (linkTarget != null)
+                {
+                    final File targetFile = new File(directory, linkTarget);
+                    if (!targetFile.getCanonicalPath().startsWith(directoryPath))
+                    {
+                        throw new IOException("Archive entry links to a file outside of the target directory: " + entry.getName());
+                    }
+
+                    linkOrCopy(file, targetFile);
+                }
+                else
+                {
+                    ZipUtils.extractRegularFile(zipIn, directory, entry.getName(), compressedTimerFiles);
+                }
+            }
+
+            zipIn.closeEntry();
+
+            if (getLinkTarget(entry) != null)
+            {
+                // report the size of the file, not the size of the empty entry
+                entry.setSize(file.length());
+            }
+
+            listener.accept(entry);
+        }
+    }
+
+    /**
+     * Creates the ZIP extra field that marks an entry as link to the given file.
+     */
+    private static byte[] createLinkExtraField(final String linkTarget)
+    {
+        final byte[] data = linkTarget.getBytes(StandardCharsets.UTF_8);
+
+        final ByteBuffer extra = ByteBuffer.allocate(4 + data.length).order(ByteOrder.LITTLE_ENDIAN);
+        extra.putShort((short) LINK_EXTRA_FIELD_ID);
+        extra.putShort((short) data.length);
+        extra.put(data);
+
+        return extra.array();
+    }
+
+    /**
+     * Returns the path of the file the given entry links to, or <code>null</code> if the entry is a regular one.
+     */
+    private static String getLinkTarget(final ZipEntry entry)
+    {
+        final byte[] extra = entry.getExtra();
+        if (extra != null)
+        {
+            final ByteBuffer buffer = ByteBuffer.wrap(extra).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.remaining() >= 4)
+            {
+                final int id = Short.toUnsignedInt(buffer.getShort());
+                final int length = Short.toUnsignedInt(buffer.getShort());
+                if (length > buffer.remaining())
+                {
+                    break;
+                }
+
+                if (id == LINK_EXTRA_FIELD_ID)
+                {
+                    return new String(extra, buffer.position(), length, StandardCharsets.UTF_8);
+                }
+
+                buffer.position(buffer.position() + length);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Copies the result files of an agent directly to the given directory. Used if master controller and agent
+     * controller run in the same process.
+     *
+     * @param resultsDirectory
+     *            the results directory of an agent
+     * @param testResultAmount
+     *            what amount to copy
+     * @param directory
+     *            the target directory
+     * @param compressedTimerFiles
+     *            do we want to keep the timers in a compressed form
+     * @param receivedFiles
+     *            the sizes of the files copied already, keyed by relative path, updated for each file copied
+     * @param completedOnly
+     *            whether to copy only files that will not change any longer
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    static void copyResults(final File resultsDirectory, final TestResultAmount testResultAmount, final File directory,
+                            final boolean compressedTimerFiles, final Map<String, Long> receivedFiles, final boolean completedOnly)
+        throws IOException
+    {
+        // the files copied so far, keyed by content
+        final Map<Object, File> copiedFiles = new HashMap<>();
+
+        for (final String fileName : listResultFiles(resultsDirectory, testResultAmount, receivedFiles, completedOnly,
+                                                     System.currentTimeMillis()))
+        {
+            final File targetFile = new File(directory, fileName);
+            FileUtils.forceMkdirParent(targetFile);
+
+            // never write to an existing file as it may be a link that shares its content with other files
+            Files.deleteIfExists(targetFile.toPath());
+
+            final File file = new File(resultsDirectory, fileName);
+            final long size = file.length();
+
+            final Object contentKey = getContentKey(fileName, file);
+            final File linkTarget = contentKey != null ? copiedFiles.putIfAbsent(contentKey, targetFile) : null;
+            if (linkTarget != null)
+            {
+                linkOrCopy(targetFile, linkTarget);
+            }
+            else
+            {
+                try (final InputStream in = new FileInputStream(file))
+                {
+                    ZipUtils.extractRegularFile(in, directory, fileName, compressedTimerFiles);
+                }
+            }
+
+            receivedFiles.put(fileName, size);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agentcontroller;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import com.xceptance.xlt.engine.metrics.ValueHistogram;
+
+/**
+ * The statistics of a single timer (transaction or action) for a certain time interval. Apart from the number of
+ * events and errors, it holds the runtime histogram in a compact, sparse form, so that statistics from different agents
+ * can be merged exactly and percentiles can be derived from the merged histogram.
+ */
+public class TimerStatistics implements Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The timer type, for example "Transaction" or "Action".
+     */
+    private final String type;
+
+    /**
+     * The timer name.
+     */
+    private final String name;
+
+    /**
+     * The number of events.
+     */
+    private long count;
+
+    /**
+     * The number of failed events.
+     */
+    private long errors;
+
+    /**
+     * The indexes of all non-empty histogram buckets in ascending order.
+     */
+    private int[] buckets;
+
+    /**
+     * The value count for each non-empty histogram bucket.
+     */
+    private long[] bucketCounts;
+
+    /**
+     * Constructor.
+     *
+     * @param type
+     *            the timer type
+     * @param name
+     *            the timer name
+     * @param errors
+     *            the number of failed events
+     * @param counts
+     *            the value count per histogram bucket as returned by {@link ValueHistogram#getCountsAndClear()}
+     */
+    public TimerStatistics(final String type, final String name, final long errors, final long[] counts)
+    {
+        this.type = type;
+        this.name = name;
+        this.errors = errors;
+
+        int nonEmptyBuckets = 0;
+        for (final long c : counts)
+        {
+            if (c != 0)
+            {
+                nonEmptyBuckets++;
+            }
+        }
+
+        buckets = new int[nonEmptyBuckets];
+        bucketCounts = new long[nonEmptyBuckets];
+
+        for (int i = 0, j = 0; i < counts.length; i++)
+        {
+            if (counts[i] != 0)
+            {
+                buckets[j] = i;
+                bucketCounts[j] = counts[i];
+                count += counts[i];
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Copy constructor.
+     */
+    private TimerStatistics(final TimerStatistics other)
+    {
+        type = other.type;
+        name = other.name;
+        count = other.count;
+        errors = other.errors;
+        buckets = other.buckets.clone();
+        bucketCounts = other.bucketCounts.clone();
+    }
+
+    /**
+     * Returns a copy of this object.
+     *
+     * @return the copy
+     */
+    public TimerStatistics copy()
+    {
+        return new TimerStatistics(this);
+    }
+
+    /**
+     * Adds the data of the given statistics to this statistics.
+     *
+     * @param other
+     *            the statistics to merge
+     */
+    public void merge(final TimerStatistics other)
+    {
+        count += other.count;
+        errors += other.errors;
+
+        // merge-join the sorted bucket lists
+        final int[] mergedBuckets = new int[buckets.length + other.buckets.length];
+        final long[] mergedCounts = new long[mergedBuckets.length];
+
+        int i = 0, j = 0, k = 0;
+        while (i < buckets.length || j < other.buckets.length)
+        {
+            if (j == other.buckets.length || (i < buckets.length && buckets[i] < other.buckets[j]))
+            {
+                mergedBuckets[k] = buckets[i];
+                mergedCounts[k] = bucketCounts[i++];
+            }
+            else if (i == buckets.length || other.buckets[j] < buckets[i])
+            {
+                mergedBuckets[k] = other.buckets[j];
+                mergedCounts[k] = other.bucketCounts[j++];
+            }
+            else
+            {
+                mergedBuckets[k] = buckets[i];
+                mergedCounts[k] = bucketCounts[i++] + other.bucketCounts[j++];
+            }
+
+            k++;
+        }
+
+        buckets = Arrays.copyOf(mergedBuckets, k);
+        bucketCounts = Arrays.copyOf(mergedCounts, k);
+    }
+
+    /**
+     * Returns the timer type.
+     *
+     * @return the type
+     */
+    public String getType()
+    {
+        return type;
+    }
+
+    /**
+     * Returns the timer name.
+     *
+     * @return the name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Returns the number of events.
+     *
+     * @return the event count
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Returns the number of failed events.
+     *
+     * @return the error count
+     */
+    public long getErrors()
+    {
+        return errors;
+    }
+
+    /**
+     * Returns the percentage of failed events.
+     *
+     * @return the error rate (0..100)
+     */
+    public double getErrorRate()
+    {
+        return count > 0 ? errors * 100.0 / count : 0.0;
+    }
+
+    /**
+     * Returns the runtime at the given percentile. The value returned is the upper bound of the histogram bucket the
+     * exact value falls into.
+     *
+     * @param percentile
+     *            the percentile (0..100)
+     * @return the runtime [ms], or 0 if there were no events
+     */
+    public int getPercentile(final double percentile)
+    {
+        if (count <= 0)
+        {
+            return 0;
+        }
+
+        final double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long rank = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+
+        long cumulativeCount = 0;
+        for (int i = 0; i < buckets.length; i++)
+        {
+            cumulativeCount += bucketCounts[i];
+            if (cumulativeCount >= rank)
+            {
+                return ValueHistogram.getHighestValueInBucket(buckets[i]);
+            }
+        }
+
+        return ValueHistogram.getHighestValueInBucket(buckets[buckets.length - 1]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return type + " '" + name + "' [count=" + count + ", errors=" + errors + "]";
+    }
+}
@@ -424,6 +424,7 @@ public abstract class AbstractAction
         {
             final boolean failed = t != null;
             actionData.setFailed(failed);
+            actionData.setScheduledStartTime(session.getScheduledTime(actionData.getTime()));
 
             // only log data when thread was not interrupted to prevent inconsistencies
             if (!interrupted)
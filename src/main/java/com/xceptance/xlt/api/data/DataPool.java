@@ -15,12 +15,17 @@
  */
 package com.xceptance.xlt.api.data;
 
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.xceptance.xlt.api.util.XltRandom;
 
 /**
  * This is a utility class that stores a limited amount of data objects and provides a way to reuse it later.
+ * <p>
+ * The pool does not use any locks, so it can be shared by a large number of test users without becoming a point of
+ * contention. As a consequence, the pool may briefly hold more than the maximum number of elements while elements are
+ * being added concurrently. Note that <code>null</code> elements are not supported.
  * 
  * @author René Schwietzke (Xceptance Software Technologies GmbH)
  */
@@ -39,7 +44,12 @@ public class DataPool<T>
     /**
      * Static structure for data.
      */
-    private final LinkedList<T> dataPool = new LinkedList<T>();
+    private final ConcurrentLinkedQueue<T> dataPool = new ConcurrentLinkedQueue<T>();
+
+    /**
+     * The number of elements in the pool. Maintained separately as determining the size of the queue is expensive.
+     */
+    private final AtomicInteger size = new AtomicInteger();
 
     /**
      * Constructor
@@ -71,9 +81,15 @@ public class DataPool<T>
      * 
      * @return a data row or null, if none available
      */
-    public synchronized T getDataElement()
+    public T getDataElement()
     {
-        return dataPool.poll();
+        final T element = dataPool.poll();
+        if (element != null)
+        {
+            size.decrementAndGet();
+        }
+
+        return element;
     }
 
     /**
@@ -96,9 +112,9 @@ public class DataPool<T>
      *            the rate to use (will be compared to the set expiration rate)
      * @return true if data was stored, false otherwise
      */
-    public synchronized boolean add(final T element, final int rate)
+    public boolean add(final T element, final int rate)
     {
-        if (expirationRate == 100)
+        if (element == null || expirationRate == 100)
         {
             // do not store o
             return false;
@@ -116,12 +132,11 @@ public class DataPool<T>
         // in case of failure, we will lose it anyway
         if (expirationRate == 0 || rate > expirationRate)
         {
-            // remove the first, add a new one at the end
-            if (dataPool.size() >= max)
-            {
-                dataPool.poll();
-            }
+            // add the new one at the end, remove the first ones if the pool became too large
             dataPool.offer(element);
+            size.incrementAndGet();
+
+            shrink();
 
             return true;
         }
@@ -176,9 +191,9 @@ public class DataPool<T>
      * 
      * @return the current size of the data pool
      */
-    public synchronized int getSize()
+    public int getSize()
     {
-        return dataPool.size();
+        return Math.max(0, size.get());
     }
 
     /**
@@ -187,21 +202,32 @@ public class DataPool<T>
      * @param max
      *            the new maximum size of the pool, will be set to 1 if argument is equal to or less than zero
      */
-    public synchronized void setMax(final int max)
+    public void setMax(final int max)
     {
         this.max = Math.max(1, max);
 
-        while (this.max < dataPool.size())
+        shrink();
+    }
+
+    /**
+     * Clear the content
+     */
+    public void clear()
+    {
+        while (getDataElement() != null)
         {
-            dataPool.poll();
+            // just drain the pool
         }
     }
 
     /**
-     * Clear the content
+     * Removes the first elements until the pool does not exceed its maximum size any longer.
      */
-    public synchronized void clear()
+    private void shrink()
     {
-        dataPool.clear();
+        while (size.get() > max && getDataElement() != null)
+        {
+            // just drop the element
+        }
     }
 }
@@ -18,7 +18,7 @@ package com.xceptance.xlt.api.data;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -49,6 +49,10 @@ import com.xceptance.xlt.common.XltConstants;
  * Typically, data providers can/should be shared among test users, so you should have to create just one instance. A
  * simple way to ensure that there will be only one instance is to use the provided {@link #getInstance(String)} factory
  * method. But you are free to create (using the constructors) and manage the instances on your own.
+ * <p>
+ * Reading rows does not involve any locking, so a data provider can be shared by a large number of test users without
+ * becoming a point of contention. The rows are held in an immutable array, which is replaced as a whole when rows are
+ * added or removed. Hence, modifying the data set is comparatively expensive and should be done rarely, if at all.
  * 
  * @see GeneralDataProvider
  * @author René Schwietzke (Xceptance Software Technologies GmbH)
@@ -112,9 +116,9 @@ public class DataProvider
     }
 
     /**
-     * The list of data lines.
+     * The data lines. The array is never modified, but replaced with a modified copy.
      */
-    private final List<String> dataRows;
+    private volatile String[] dataRows;
 
     /**
      * The string that starts a line comment.
@@ -184,7 +188,7 @@ public class DataProvider
         // load the data
         final File file = new File(XltProperties.getInstance().getDataDirectory().toFile(), fileName);
 
-        dataRows = loadData(file, encoding);
+        dataRows = loadData(file, encoding).toArray(new String[0]);
     }
 
     /**
@@ -192,9 +196,9 @@ public class DataProvider
      * 
      * @return all rows or an empty list, if no data is available
      */
-    public synchronized List<String> getAllRows()
+    public List<String> getAllRows()
     {
-        return Collections.unmodifiableList(new ArrayList<>(dataRows));
+        return Collections.unmodifiableList(Arrays.asList(dataRows));
     }
 
     /**
@@ -214,11 +218,15 @@ public class DataProvider
      *            whether all whitespace is to be removed from the data
      * @return a row, or <code>null</code> if the data set is empty
      */
-    public synchronized String getRandomRow(final boolean removeWhitespace)
+    public String getRandomRow(final boolean removeWhitespace)
     {
-        final int r = XltRandom.nextInt(dataRows.size());
+        final String[] rows = dataRows;
+        if (rows.length == 0)
+        {
+            return null;
+        }
 
-        return getRow(removeWhitespace, r);
+        return getRow(rows, removeWhitespace, XltRandom.nextInt(rows.length));
     }
 
     /**
@@ -230,14 +238,22 @@ public class DataProvider
      *            the number of the row to read
      * @return the row, or <code>null</code> if the specified row number exceeds the size of the data set
      */
-    public synchronized String getRow(final boolean removeWhitespace, final int rowNumber)
+    public String getRow(final boolean removeWhitespace, final int rowNumber)
     {
-        if (rowNumber < 0 || rowNumber >= dataRows.size())
+        return getRow(dataRows, removeWhitespace, rowNumber);
+    }
+
+    /**
+     * Returns the specified row from the given rows.
+     */
+    private static String getRow(final String[] rows, final boolean removeWhitespace, final int rowNumber)
+    {
+        if (rowNumber < 0 || rowNumber >= rows.length)
         {
             return null;
         }
 
-        final String s = dataRows.get(rowNumber);
+        final String s = rows[rowNumber];
 
         return removeWhitespace ? StringUtils.deleteWhitespace(s) : s;
     }
@@ -264,7 +280,18 @@ public class DataProvider
      */
     public synchronized void addRow(final int rowNumber, String row)
     {
-        dataRows.add(rowNumber, row);
+        final String[] rows = dataRows;
+        if (rowNumber < 0 || rowNumber > rows.length)
+        {
+            throw new IndexOutOfBoundsException("Index: " + rowNumber + ", Size: " + rows.length);
+        }
+
+        final String[] newRows = new String[rows.length + 1];
+        System.arraycopy(rows, 0, newRows, 0, rowNumber);
+        newRows[rowNumber] = row;
+        System.arraycopy(rows, rowNumber, newRows, rowNumber + 1, rows.length - rowNumber);
+
+        dataRows = newRows;
     }
 
     /**
@@ -275,7 +302,11 @@ public class DataProvider
      */
     public synchronized void addRow(final String row)
     {
-        dataRows.add(row);
+        final String[] rows = dataRows;
+        final String[] newRows = Arrays.copyOf(rows, rows.length + 1);
+        newRows[rows.length] = row;
+
+        dataRows = newRows;
     }
 
     /**
@@ -287,12 +318,19 @@ public class DataProvider
      */
     public synchronized String removeRow(final int rowNumber)
     {
-        if (rowNumber < 0 || rowNumber >= dataRows.size())
+        final String[] rows = dataRows;
+        if (rowNumber < 0 || rowNumber >= rows.length)
         {
             return null;
         }
 
-        return dataRows.remove(rowNumber);
+        final String[] newRows = new String[rows.length - 1];
+        System.arraycopy(rows, 0, newRows, 0, rowNumber);
+        System.arraycopy(rows, rowNumber + 1, newRows, rowNumber, rows.length - rowNumber - 1);
+
+        dataRows = newRows;
+
+        return rows[rowNumber];
     }
 
     /**
@@ -304,7 +342,15 @@ public class DataProvider
      */
     public synchronized boolean removeRow(final String row)
     {
-        return dataRows.remove(row);
+        final int rowNumber = Arrays.asList(dataRows).indexOf(row);
+        if (rowNumber < 0)
+        {
+            return false;
+        }
+
+        removeRow(rowNumber);
+
+        return true;
     }
 
     /**
@@ -314,7 +360,7 @@ public class DataProvider
      */
     public int getSize()
     {
-        return dataRows.size();
+        return dataRows.length;
     }
 
     /**
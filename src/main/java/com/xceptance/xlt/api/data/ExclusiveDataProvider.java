@@ -17,10 +17,12 @@ package com.xceptance.xlt.api.data;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -31,6 +33,12 @@ import com.xceptance.xlt.util.LineProvider;
 /**
  * Provides exclusive data access. The given file is partitioned so that every agent has an exclusive set of lines.
  * These lines get parsed into the dates to manage by this provider.
+ * <p>
+ * The items are spread over several segments, each guarded by its own lock, which is held only for a few array
+ * operations. This way, an exclusive data provider can be shared by a large number of test users without becoming a
+ * point of contention. Still, {@link #get()} hands out the items in the order they were added or released, and
+ * {@link #getRandom()} picks any of the available items with the same probability. Note that <code>null</code> items
+ * are not supported.
  *
  * @param <T>
  *            type of managed data
@@ -54,8 +62,24 @@ public class ExclusiveDataProvider<T>
         }
     };
 
+    /**
+     * The number of segments, a power of two.
+     */
+    private static final int SEGMENT_COUNT = Math.min(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2));
+
     /** Managed items */
-    private final List<T> dataItems;
+    private final Segment<T>[] segments;
+
+    /**
+     * The number of available items. Maintained separately so that empty segments need not be visited.
+     */
+    private final AtomicInteger dataItemCount = new AtomicInteger();
+
+    /**
+     * The sequence number of the next item added. Determines both the segment to add the item to and the order in which
+     * the items are handed out.
+     */
+    private final AtomicLong sequence = new AtomicLong();
 
     /**
      * Creates a new {@link ExclusiveDataProvider} instance for String data and initializes it with the agent's
@@ -192,8 +216,25 @@ public class ExclusiveDataProvider<T>
     {
         super();
 
+        segments = newSegments();
+
         final List<T> lines = loadData(fileName, encoding, filterLineComments, parser);
-        dataItems = new ArrayList<T>(lines);
+        lines.stream().filter(Objects::nonNull).forEach(this::add);
+    }
+
+    /**
+     * Creates the empty segments.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Segment<T>[] newSegments()
+    {
+        final Segment<T>[] segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < segments.length; i++)
+        {
+            segments[i] = new Segment<>();
+        }
+
+        return segments;
     }
 
     /**
@@ -470,11 +511,35 @@ public class ExclusiveDataProvider<T>
      *
      * @return the first item or <code>null</code> if no item is available
      */
-    public synchronized T get()
+    public T get()
     {
-        if (!dataItems.isEmpty())
+        while (dataItemCount.get() > 0)
         {
-            return dataItems.remove(0);
+            // find the segment that holds the oldest item
+            Segment<T> oldestSegment = null;
+            long oldestSequenceNumber = Long.MAX_VALUE;
+            for (final Segment<T> segment : segments)
+            {
+                final long sequenceNumber = segment.headSequenceNumber;
+                if (sequenceNumber < oldestSequenceNumber)
+                {
+                    oldestSegment = segment;
+                    oldestSequenceNumber = sequenceNumber;
+                }
+            }
+
+            if (oldestSegment == null)
+            {
+                break;
+            }
+
+            // take it unless another thread was faster, retry otherwise
+            final T item = oldestSegment.poll(oldestSequenceNumber);
+            if (item != null)
+            {
+                dataItemCount.decrementAndGet();
+                return item;
+            }
         }
 
         return null;
@@ -485,26 +550,57 @@ public class ExclusiveDataProvider<T>
      *
      * @return a random item or <code>null</code> if no item is available
      */
-    public synchronized T getRandom()
+    public T getRandom()
     {
-        final int size = dataItems.size();
-        if (size > 0)
+        final int[] sizes = new int[SEGMENT_COUNT];
+        while (dataItemCount.get() > 0)
         {
-            return dataItems.remove(XltRandom.nextInt(size));
+            int totalSize = 0;
+            for (int i = 0; i < SEGMENT_COUNT; i++)
+            {
+                sizes[i] = segments[i].size;
+                totalSize += sizes[i];
+            }
+
+            if (totalSize == 0)
+            {
+                break;
+            }
+
+            // draw the index of an item over all segments and take a random item from the segment it falls into
+            int index = XltRandom.nextInt(totalSize);
+            int segmentIndex = 0;
+            while (index >= sizes[segmentIndex])
+            {
+                index -= sizes[segmentIndex++];
+            }
+
+            // the segment may have been emptied by another thread in the meantime, retry then
+            final T item = segments[segmentIndex].pollRandom();
+            if (item != null)
+            {
+                dataItemCount.decrementAndGet();
+                return item;
+            }
         }
 
         return null;
     }
 
     /**
-     * Add a new or release a previously received exclusive item.
+     * Add a new or release a previously received exclusive item. <code>null</code> items are ignored.
      *
      * @param item
      *            the item to add
      */
-    public synchronized void add(final T item)
+    public void add(final T item)
     {
-        dataItems.add(item);
+        if (item != null)
+        {
+            final long sequenceNumber = sequence.getAndIncrement();
+            segments[(int) sequenceNumber & (SEGMENT_COUNT - 1)].add(item, sequenceNumber);
+            dataItemCount.incrementAndGet();
+        }
     }
 
     /**
@@ -512,9 +608,9 @@ public class ExclusiveDataProvider<T>
      *
      * @return number of available items
      */
-    public synchronized int size()
+    public int size()
     {
-        return dataItems.size();
+        return Math.max(0, dataItemCount.get());
     }
 
     /**
@@ -538,6 +634,141 @@ public class ExclusiveDataProvider<T>
         public abstract List<T> parse(final List<String> data);
     }
 
+    /**
+     * A part of the managed items, kept in a growable ring buffer in the order of their sequence numbers. Items are taken
+     * from the head, or from a random position, which leaves a gap that is skipped when reaching the head and closed
+     * when the buffer is compacted.
+     */
+    private static final class Segment<T>
+    {
+        private Object[] items = new Object[16];
+
+        private long[] sequenceNumbers = new long[16];
+
+        private int head;
+
+        /**
+         * The number of slots in use, including gaps.
+         */
+        private int span;
+
+        /**
+         * The number of items, readable without holding the lock.
+         */
+        volatile int size;
+
+        /**
+         * The sequence number of the item at the head, or {@link Long#MAX_VALUE} if the segment is empty, readable
+         * without holding the lock.
+         */
+        volatile long headSequenceNumber = Long.MAX_VALUE;
+
+        synchronized void add(final T item, final long sequenceNumber)
+        {
+            if (span == items.length)
+            {
+                // close the gaps, and grow if they would not free enough space
+                compact(size * 2 > items.length ? items.length * 2 : items.length);
+            }
+
+            final int index = (head + span) & (items.length - 1);
+            items[index] = item;
+            sequenceNumbers[index] = sequenceNumber;
+            span++;
+            size++;
+
+            if (size == 1)
+            {
+                headSequenceNumber = sequenceNumber;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized T poll(final long sequenceNumber)
+        {
+            if (size == 0 || sequenceNumbers[head] != sequenceNumber)
+            {
+                return null;
+            }
+
+            final T item = (T) items[head];
+            remove(head);
+
+            return item;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized T pollRandom()
+        {
+            if (size == 0)
+            {
+                return null;
+            }
+
+            // keep at least every other slot occupied so that a random slot is an item after two tries on average
+            if (span - size > size)
+            {
+                compact(items.length);
+            }
+
+            int index;
+            do
+            {
+                index = (head + XltRandom.nextInt(span)) & (items.length - 1);
+            }
+            while (items[index] == null);
+
+            final T item = (T) items[index];
+            remove(index);
+
+            return item;
+        }
+
+        private void remove(final int index)
+        {
+            final int mask = items.length - 1;
+
+            items[index] = null;
+            size--;
+
+            // trim the gaps at both ends
+            while (span > 0 && items[head] == null)
+            {
+                head = (head + 1) & mask;
+                span--;
+            }
+            while (span > 0 && items[(head + span - 1) & mask] == null)
+            {
+                span--;
+            }
+
+            headSequenceNumber = size > 0 ? sequenceNumbers[head] : Long.MAX_VALUE;
+        }
+
+        private void compact(final int length)
+        {
+            final Object[] newItems = new Object[length];
+            final long[] newSequenceNumbers = new long[length];
+
+            int newSize = 0;
+            for (int i = 0; i < span; i++)
+            {
+                final int index = (head + i) & (items.length - 1);
+                if (items[index] != null)
+                {
+                    newItems[newSize] = items[index];
+                    newSequenceNumbers[newSize] = sequenceNumbers[index];
+                    newSize++;
+                }
+            }
+
+            items = newItems;
+            sequenceNumbers = newSequenceNumbers;
+            head = 0;
+            span = newSize;
+        }
+    }
+
     /**
      * Combined key for file name and parser.
      */
@@ -0,0 +1,663 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.api.data;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.xceptance.common.util.ParameterCheckUtils;
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.api.util.XltRandom;
+import com.xceptance.xlt.common.XltConstants;
+import com.xceptance.xlt.util.ExclusiveUtils;
+
+/**
+ * The {@link MappedDataProvider} class provides access to the lines of a potentially very large data file without
+ * loading the file into memory. Each line in the data file represents exactly one data item. Lines that start with the
+ * configured line comment marker are filtered out.
+ * <p>
+ * The data file is memory-mapped and, on first use, indexed. The index holds just the start offset of each line, so
+ * its memory footprint is only 4 bytes per line (8 bytes for files larger than 2 GB). A row is decoded from the mapped
+ * file each time it is requested. Hence, only the rows actually in use occupy the heap, and all the agents running on
+ * the same machine share the file content via the operating system's page cache.
+ * <p>
+ * Rows can be accessed randomly ({@link #getRandomRow()}), sequentially ({@link #getNextRow()}), or by row number
+ * ({@link #getRow(int)}). To give each agent an exclusive part of the data, use {@link #getExclusiveAgentPart()},
+ * which returns a provider for the agent's part of the rows (as determined by
+ * {@link ExclusiveUtils#getExclusiveAgentPartView(List)}). Note that the exclusive part is exclusive to the current
+ * agent, but not to the test users running in that agent.
+ * <p>
+ * The specified data file is searched for in the XLT data directory, which is
+ * {@value XltConstants#DEFAULT_DATA_DIR_PATH} in the test suite's home directory by default. You may change this
+ * directory by setting the XLT property {@value XltConstants#PROP_DATA_DIRECTORY} to an appropriate value.
+ * <p>
+ * The data file must use an encoding that represents line breaks and the line comment marker as single-byte ASCII
+ * characters, for example "UTF-8" or "ISO-8859-1". The data set is read-only and the data file must not be modified
+ * while in use.
+ * <p>
+ * Note: This class is thread-safe and does not use any locks when providing rows, so a single instance can be shared
+ * by a large number of test users. A simple way to ensure that there will be only one instance per data file is to use
+ * the provided {@link #getInstance(String)} factory method.
+ *
+ * @see DataProvider
+ */
+public class MappedDataProvider
+{
+    /**
+     * The global set of data providers, keyed by the data file names.
+     */
+    private static final Map<String, MappedDataProvider> dataProviders = new ConcurrentHashMap<String, MappedDataProvider>();
+
+    /**
+     * The maximum size of a single mapped region of the data file.
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * Returns the data provider responsible for the given file name. If a data provider has not been requested yet for
+     * this file name, then a new data provider is created, otherwise the previously created provider will be returned.
+     * Note that the data providers will be initialized using {@link DataProvider#DEFAULT_FILE_ENCODING} and
+     * {@link DataProvider#DEFAULT_LINE_COMMENT_MARKER}.
+     *
+     * @param fileName
+     *            the file name/path of the data file
+     * @return the data provider
+     * @throws FileNotFoundException
+     *             if the data file cannot be found
+     * @throws IOException
+     *             if the data file cannot be opened or read
+     */
+    public static MappedDataProvider getInstance(final String fileName) throws FileNotFoundException, IOException
+    {
+        MappedDataProvider dataProvider = dataProviders.get(fileName);
+        if (dataProvider == null)
+        {
+            synchronized (dataProviders)
+            {
+                // check again!
+                dataProvider = dataProviders.get(fileName);
+                if (dataProvider == null)
+                {
+                    dataProvider = new MappedDataProvider(fileName);
+                    dataProviders.put(fileName, dataProvider);
+                }
+            }
+        }
+
+        return dataProvider;
+    }
+
+    /**
+     * The rows, decoded on demand.
+     */
+    private final List<String> rows;
+
+    /**
+     * The number of the row to return next when reading sequentially.
+     */
+    private final AtomicInteger nextRowNumber = new AtomicInteger();
+
+    /**
+     * Creates a new {@link MappedDataProvider} instance for the given data file. The data file is expected to be saved
+     * using {@link DataProvider#DEFAULT_FILE_ENCODING}. Lines in the data file that start with the
+     * {@link DataProvider#DEFAULT_LINE_COMMENT_MARKER} are considered as comment lines.
+     *
+     * @param fileName
+     *            the name/path of the data file
+     * @throws FileNotFoundException
+     *             if the data file cannot be found
+     * @throws IOException
+     *             if the data file cannot be opened or read
+     */
+    public MappedDataProvider(final String fileName) throws FileNotFoundException, IOException
+    {
+        this(fileName, DataProvider.DEFAULT_FILE_ENCODING, DataProvider.DEFAULT_LINE_COMMENT_MARKER);
+    }
+
+    /**
+     * Creates a new {@link MappedDataProvider} instance for the given data file. The data file is expected to be saved
+     * using the passed encoding, for example "UTF-8" or "ISO-8859-1". Lines in the data file that start with the given
+     * line comment marker are considered as comment lines.
+     *
+     * @param fileName
+     *            the name/path of the data file
+     * @param encoding
+     *            the data file encoding
+     * @param lineCommentMarker
+     *            the line comment marker to be used (may be <code>null</code>)
+     * @throws FileNotFoundException
+     *             if the data file cannot be found
+     * @throws IOException
+     *             if the data file cannot be opened or read
+     * @throws IllegalArgumentException
+     *             if the encoding is not supported
+     */
+    public MappedDataProvider(final String fileName, final String encoding, final String lineCommentMarker)
+        throws FileNotFoundException, IOException
+    {
+        this(new File(XltProperties.getInstance().getDataDirectory().toFile(), checkFileName(fileName)), encoding, lineCommentMarker,
+             DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a new {@link MappedDataProvider} instance for the given data file.
+     *
+     * @param file
+     *            the data file
+     * @param encoding
+     *            the data file encoding
+     * @param lineCommentMarker
+     *            the line comment marker to be used (may be <code>null</code>)
+     * @param segmentSize
+     *            the maximum size of a single mapped region of the data file
+     * @throws FileNotFoundException
+     *             if the data file cannot be found
+     * @throws IOException
+     *             if the data file cannot be opened or read
+     */
+    MappedDataProvider(final File file, final String encoding, final String lineCommentMarker, final int segmentSize)
+        throws FileNotFoundException, IOException
+    {
+        ParameterCheckUtils.isNotNullOrEmpty(encoding, "encoding");
+
+        if (!file.isFile())
+        {
+            throw new FileNotFoundException("Data file not found: " + file.getAbsolutePath());
+        }
+
+        rows = new MappedLines(file, Charset.forName(encoding), lineCommentMarker, segmentSize);
+    }
+
+    /**
+     * Creates a new {@link MappedDataProvider} instance that provides the given rows.
+     *
+     * @param rows
+     *            the rows
+     */
+    private MappedDataProvider(final List<String> rows)
+    {
+        this.rows = rows;
+    }
+
+    /**
+     * Checks the file name and returns it.
+     */
+    private static String checkFileName(final String fileName)
+    {
+        ParameterCheckUtils.isNotNullOrEmpty(fileName, "fileName");
+
+        return fileName;
+    }
+
+    /**
+     * Returns a data provider for the part of the rows exclusively available to the current agent. The returned
+     * provider shares the data file and the index with this provider.
+     *
+     * @return the data provider for the agent's exclusive part of the rows
+     * @see ExclusiveUtils#getExclusiveAgentPartView(List)
+     */
+    public MappedDataProvider getExclusiveAgentPart()
+    {
+        return new MappedDataProvider(ExclusiveUtils.getExclusiveAgentPartView(rows));
+    }
+
+    /**
+     * Returns all rows as an unmodifiable list. The rows are decoded from the data file each time they are accessed, so
+     * this list does not occupy any memory.
+     *
+     * @return all rows
+     */
+    public List<String> getAllRows()
+    {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Returns a randomly-chosen data row.
+     *
+     * @return a row, or <code>null</code> if the data set is empty
+     */
+    public String getRandomRow()
+    {
+        return getRandomRow(false);
+    }
+
+    /**
+     * Returns a randomly-chosen data row.
+     *
+     * @param removeWhitespace
+     *            whether all whitespace is to be removed from the data
+     * @return a row, or <code>null</code> if the data set is empty
+     */
+    public String getRandomRow(final boolean removeWhitespace)
+    {
+        final int size = rows.size();
+
+        return size == 0 ? null : getRow(removeWhitespace, XltRandom.nextInt(size));
+    }
+
+    /**
+     * Returns the next data row. Rows are returned in the order they appear in the data file, starting over with the
+     * first row after the last row has been returned. The position is shared by all users of this provider.
+     *
+     * @return a row, or <code>null</code> if the data set is empty
+     */
+    public String getNextRow()
+    {
+        return getNextRow(false);
+    }
+
+    /**
+     * Returns the next data row. Rows are returned in the order they appear in the data file, starting over with the
+     * first row after the last row has been returned. The position is shared by all users of this provider.
+     *
+     * @param removeWhitespace
+     *            whether all whitespace is to be removed from the data
+     * @return a row, or <code>null</code> if the data set is empty
+     */
+    public String getNextRow(final boolean removeWhitespace)
+    {
+        final int size = rows.size();
+
+        return size == 0 ? null : getRow(removeWhitespace, Math.floorMod(nextRowNumber.getAndIncrement(), size));
+    }
+
+    /**
+     * Returns the specified data row.
+     *
+     * @param rowNumber
+     *            the number of the row to read
+     * @return the row, or <code>null</code> if the specified row number exceeds the size of the data set
+     */
+    public String getRow(final int rowNumber)
+    {
+        return getRow(false, rowNumber);
+    }
+
+    /**
+     * Returns the specified data row.
+     *
+     * @param removeWhitespace
+     *            whether all whitespace is to be removed from the data
+     * @param rowNumber
+     *            the number of the row to read
+     * @return the row, or <code>null</code> if the specified row number exceeds the size of the data set
+     */
+    public String getRow(final boolean removeWhitespace, final int rowNumber)
+    {
+        if (rowNumber < 0 || rowNumber >= rows.size())
+        {
+            return null;
+        }
+
+        final String s = rows.get(rowNumber);
+
+        return removeWhitespace ? StringUtils.deleteWhitespace(s) : s;
+    }
+
+    /**
+     * Returns the size of the data set.
+     *
+     * @return the data set size
+     */
+    public int getSize()
+    {
+        return rows.size();
+    }
+
+    /**
+     * The lines of a memory-mapped data file. The lines are indexed on first use and decoded on demand.
+     */
+    private static final class MappedLines extends AbstractList<String> implements RandomAccess
+    {
+        private static final byte LF = '\n';
+
+        private static final byte CR = '\r';
+
+        private final File file;
+
+        private final Charset charset;
+
+        /**
+         * The encoded line comment marker, or <code>null</code> if comment lines are not filtered out.
+         */
+        private final byte[] lineCommentMarker;
+
+        /**
+         * The maximum size of a single mapped region.
+         */
+        private final int segmentSize;
+
+        /**
+         * The mapped regions of the data file.
+         */
+        private final MappedByteBuffer[] segments;
+
+        /**
+         * The total size of the data file.
+         */
+        private final long fileSize;
+
+        /**
+         * The line index, created on first use.
+         */
+        private volatile LineIndex index;
+
+        private MappedLines(final File file, final Charset charset, final String lineCommentMarker, final int segmentSize)
+            throws IOException
+        {
+            this.file = file;
+            this.charset = charset;
+            this.segmentSize = segmentSize;
+            this.lineCommentMarker = StringUtils.isEmpty(lineCommentMarker) ? null : encode(lineCommentMarker);
+
+            // make sure line breaks can be found in the raw data
+            encode("\r\n");
+
+            try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+            {
+                fileSize = channel.size();
+
+                final int segmentCount = (int) ((fileSize + segmentSize - 1) / segmentSize);
+                segments = new MappedByteBuffer[segmentCount];
+                for (int i = 0; i < segmentCount; i++)
+                {
+                    final long position = (long) i * segmentSize;
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, fileSize - position));
+                }
+            }
+        }
+
+        /**
+         * Encodes the given text and checks that each character is represented as a single byte with the same value as
+         * in ASCII, so it can be searched for in the raw data.
+         */
+        private byte[] encode(final String s)
+        {
+            final byte[] bytes = s.getBytes(charset);
+            if (bytes.length != s.length() || !Arrays.equals(bytes, s.getBytes(StandardCharsets.US_ASCII)))
+            {
+                throw new IllegalArgumentException("Encoding not supported by " + MappedDataProvider.class.getSimpleName() + ": " +
+                                                   charset.name());
+            }
+
+            return bytes;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String get(final int index)
+        {
+            final long start = getIndex().getOffset(index);
+
+            // find the end of the line
+            long end = start;
+            while (end < fileSize && getByte(end) != LF)
+            {
+                end++;
+            }
+            if (end > start && getByte(end - 1) == CR)
+            {
+                end--;
+            }
+
+            return new String(getBytes(start, (int) (end - start)), charset);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size()
+        {
+            return getIndex().size();
+        }
+
+        /**
+         * Returns the line index. Builds the index if necessary.
+         */
+        private LineIndex getIndex()
+        {
+            LineIndex result = index;
+            if (result == null)
+            {
+                synchronized (this)
+                {
+                    result = index;
+                    if (result == null)
+                    {
+                        index = result = buildIndex();
+                    }
+                }
+            }
+
+            return result;
+        }
+
+        /**
+         * Scans the data file for lines and records the start offset of each non-comment line.
+         */
+        private LineIndex buildIndex()
+        {
+            if (XltLogger.runTimeLogger.isDebugEnabled())
+            {
+                XltLogger.runTimeLogger.debug("Indexing data file " + file.getAbsolutePath());
+            }
+
+            final LineIndex lineIndex = new LineIndex(fileSize);
+
+            if (fileSize > 0)
+            {
+                addLine(lineIndex, 0);
+            }
+
+            for (int s = 0; s < segments.length; s++)
+            {
+                final MappedByteBuffer segment = segments[s];
+                final long segmentStart = (long) s * segmentSize;
+                final int limit = segment.limit();
+
+                for (int i = 0; i < limit; i++)
+                {
+                    if (segment.get(i) == LF)
+                    {
+                        final long lineStart = segmentStart + i + 1;
+                        if (lineStart < fileSize)
+                        {
+                            addLine(lineIndex, lineStart);
+                        }
+                    }
+                }
+            }
+
+            lineIndex.trim();
+
+            return lineIndex;
+        }
+
+        /**
+         * Adds the line starting at the given offset to the index unless it is a comment line.
+         */
+        private void addLine(final LineIndex lineIndex, final long lineStart)
+        {
+            if (!isCommentLine(lineStart))
+            {
+                lineIndex.add(lineStart);
+            }
+        }
+
+        /**
+         * Checks whether the line starting at the given offset is a comment line. Leading whitespace is ignored.
+         */
+        private boolean isCommentLine(final long lineStart)
+        {
+            if (lineCommentMarker == null)
+            {
+                return false;
+            }
+
+            // skip leading whitespace, but not the line end
+            long pos = lineStart;
+            byte b;
+            while (pos < fileSize && (b = getByte(pos)) != LF && b != CR && (b & 0xFF) <= ' ')
+            {
+                pos++;
+            }
+
+            if (pos + lineCommentMarker.length > fileSize)
+            {
+                return false;
+            }
+
+            for (int i = 0; i < lineCommentMarker.length; i++)
+            {
+                if (getByte(pos + i) != lineCommentMarker[i])
+                {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private byte getByte(final long offset)
+        {
+            return segments[(int) (offset / segmentSize)].get((int) (offset % segmentSize));
+        }
+
+        /**
+         * Copies the given range of the data file, which may span several mapped regions.
+         */
+        private byte[] getBytes(final long offset, final int length)
+        {
+            final byte[] bytes = new byte[length];
+
+            int copied = 0;
+            while (copied < length)
+            {
+                final long pos = offset + copied;
+                final MappedByteBuffer segment = segments[(int) (pos / segmentSize)];
+                final int segmentOffset = (int) (pos % segmentSize);
+                final int count = Math.min(length - copied, segment.limit() - segmentOffset);
+
+                segment.get(segmentOffset, bytes, copied, count);
+                copied += count;
+            }
+
+            return bytes;
+        }
+    }
+
+    /**
+     * The start offsets of the lines in a data file. Offsets are stored as ints unless the file is too large.
+     */
+    private static final class LineIndex
+    {
+        private int[] intOffsets;
+
+        private long[] longOffsets;
+
+        private int size;
+
+        private LineIndex(final long fileSize)
+        {
+            // guess an initial capacity, the index will grow as needed
+            final int capacity = (int) Math.min(Math.max(16, fileSize / 64), 1 << 20);
+            if (fileSize <= Integer.MAX_VALUE)
+            {
+                intOffsets = new int[capacity];
+            }
+            else
+            {
+                longOffsets = new long[capacity];
+            }
+        }
+
+        private void add(final long offset)
+        {
+            if (size == Integer.MAX_VALUE - 8)
+            {
+                throw new IllegalStateException("Too many lines in data file");
+            }
+
+            if (intOffsets != null)
+            {
+                if (size == intOffsets.length)
+                {
+                    intOffsets = Arrays.copyOf(intOffsets, newCapacity(size));
+                }
+                intOffsets[size++] = (int) offset;
+            }
+            else
+            {
+                if (size == longOffsets.length)
+                {
+                    longOffsets = Arrays.copyOf(longOffsets, newCapacity(size));
+                }
+                longOffsets[size++] = offset;
+            }
+        }
+
+        private static int newCapacity(final int size)
+        {
+            return (int) Math.min((long) size + (size >> 1) + 16, Integer.MAX_VALUE - 8);
+        }
+
+        private void trim()
+        {
+            if (intOffsets != null)
+            {
+                intOffsets = Arrays.copyOf(intOffsets, size);
+            }
+            else
+            {
+                longOffsets = Arrays.copyOf(longOffsets, size);
+            }
+        }
+
+        private long getOffset(final int index)
+        {
+            Objects.checkIndex(index, size);
+
+            return intOffsets != null ? intOffsets[index] : longOffsets[index];
+        }
+
+        private int size()
+        {
+            return size;
+        }
+    }
+}
@@ -56,6 +56,12 @@ public abstract class AbstractData implements Data
      */
     private String agentName;
 
+    /**
+     * The ID of the name in the report generator's symbol table, or -1 if none has been assigned. Only used during
+     * report generation.
+     */
+    private int nameId = -1;
+
     /**
      * Creates a new AbstractData object and gives it the specified name and type code.
      *
@@ -181,6 +187,32 @@ public abstract class AbstractData implements Data
     public void setName(final String name)
     {
         this.name = name;
+        nameId = -1;
+    }
+
+    /**
+     * Returns the ID of this record's name in the report generator's symbol table. Only used during report generation.
+     *
+     * @return the name ID, or -1 if none has been assigned
+     */
+    public int getNameId()
+    {
+        return nameId;
+    }
+
+    /**
+     * Sets the name of this record together with the ID of the name in the report generator's symbol table. Only used
+     * during report generation.
+     *
+     * @param name
+     *            the name (the canonical instance from the symbol table)
+     * @param nameId
+     *            the ID of the name
+     */
+    public void setName(final String name, final int nameId)
+    {
+        this.name = name;
+        this.nameId = nameId;
     }
 
     /**
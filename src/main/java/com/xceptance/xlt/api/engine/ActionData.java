@@ -15,6 +15,11 @@
  */
 package com.xceptance.xlt.api.engine;
 
+import java.util.List;
+
+import com.xceptance.common.lang.ParseNumbers;
+import com.xceptance.xlt.api.util.XltCharBuffer;
+
 /**
  * <p>
  * The {@link ActionData} class holds any data measured for an action. Typically, an action represents one
@@ -41,6 +46,11 @@ public class ActionData extends TimerData
      */
     private static final char TYPE_CODE = 'A';
 
+    /**
+     * The time the action was scheduled to start, or -1 if no such time is known.
+     */
+    private long scheduledStartTime = -1;
+
     /**
      * Creates a new ActionData object.
      */
@@ -60,4 +70,59 @@ public class ActionData extends TimerData
     {
         super(name, TYPE_CODE);
     }
+
+    /**
+     * Returns the time the action was scheduled to start. This value is known only if the enclosing transaction was
+     * started by an arrival-rate timer. In this case, it is the action's start time shifted by the time the transaction
+     * started late.
+     *
+     * @return the scheduled start time, or -1 if not known
+     */
+    public long getScheduledStartTime()
+    {
+        return scheduledStartTime;
+    }
+
+    /**
+     * Sets the time the action was scheduled to start.
+     *
+     * @param scheduledStartTime
+     *            the scheduled start time, or -1 if not known
+     */
+    public void setScheduledStartTime(final long scheduledStartTime)
+    {
+        this.scheduledStartTime = scheduledStartTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> toList()
+    {
+        final List<String> fields = super.toList();
+
+        // the scheduled start time is written only if known to keep the records of closed workloads short
+        if (scheduledStartTime >= 0)
+        {
+            fields.add(Long.toString(scheduledStartTime));
+        }
+
+        return fields;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setRemainingValues(final List<XltCharBuffer> values)
+    {
+        super.setRemainingValues(values);
+
+        // scheduled start time (optional)
+        if (values.size() > 5 && values.get(5).length() > 0)
+        {
+            scheduledStartTime = ParseNumbers.parseLong(values.get(5));
+        }
+    }
 }
@@ -65,6 +65,16 @@ public class RequestData extends TimerData
      */
     public final static XltCharBuffer NO_RESPONSE_CODE = XltCharBuffer.valueOf("0");
 
+    /**
+     * The TLS handshake code for a full handshake.
+     */
+    public final static String TLS_HANDSHAKE_FULL = "F";
+
+    /**
+     * The TLS handshake code for an abbreviated handshake that resumed a previously established TLS session.
+     */
+    public final static String TLS_HANDSHAKE_RESUMED = "R";
+
     /**
      * The size of the response message in bytes.
      */
@@ -180,6 +190,13 @@ public class RequestData extends TimerData
      */
     private XltCharBuffer usedIpAddress;
 
+    /**
+     * The kind of TLS handshake performed when establishing the connection for the request (see
+     * {@link #TLS_HANDSHAKE_FULL} and {@link #TLS_HANDSHAKE_RESUMED}). Will not be set if no handshake took place, for
+     * example, in case of keep-alive or plain connections.
+     */
+    private String tlsHandshake;
+
     /**
      * Creates a new RequestData object.
      */
@@ -421,6 +438,37 @@ public class RequestData extends TimerData
         return usedIpAddress;
     }
 
+    /**
+     * Returns the kind of TLS handshake performed when establishing the connection for the request.
+     *
+     * @return the TLS handshake code, or <code>null</code> if no handshake took place
+     */
+    public String getTlsHandshake()
+    {
+        return tlsHandshake;
+    }
+
+    /**
+     * Returns whether a full TLS handshake was performed when establishing the connection for the request.
+     *
+     * @return whether there was a full TLS handshake
+     */
+    public boolean isFullTlsHandshake()
+    {
+        return TLS_HANDSHAKE_FULL.equals(tlsHandshake);
+    }
+
+    /**
+     * Returns whether a previously established TLS session was resumed when establishing the connection for the
+     * request.
+     *
+     * @return whether there was an abbreviated TLS handshake
+     */
+    public boolean isResumedTlsHandshake()
+    {
+        return TLS_HANDSHAKE_RESUMED.equals(tlsHandshake);
+    }
+
     /**
      * Sets the size of the response message
      *
@@ -798,6 +846,18 @@ public class RequestData extends TimerData
         this.usedIpAddress = XltCharBuffer.valueOf(ipAddress);
     }
 
+    /**
+     * Sets the kind of TLS handshake performed when establishing the connection for the request.
+     *
+     * @param tlsHandshake
+     *            the TLS handshake code (see {@link #TLS_HANDSHAKE_FULL} and {@link #TLS_HANDSHAKE_RESUMED}), or
+     *            <code>null</code>/empty if no handshake took place
+     */
+    public void setTlsHandshake(final String tlsHandshake)
+    {
+        this.tlsHandshake = StringUtils.isEmpty(tlsHandshake) ? null : tlsHandshake;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -830,6 +890,8 @@ public class RequestData extends TimerData
 
         fields.add(XltCharBuffer.emptyWhenNull(usedIpAddress).toString());
 
+        fields.add(StringUtils.defaultString(tlsHandshake));
+
         return fields;
     }
 
@@ -873,6 +935,12 @@ public class RequestData extends TimerData
 
             // XLT 7.0.0
             setUsedIpAddress(values.get(23));
+
+            // XLT 10.0.0
+            if (values.size() > 24)
+            {
+                setTlsHandshake(values.get(24).toString());
+            }
         }
         else
         {
@@ -20,6 +20,7 @@ import java.util.regex.Matcher;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.xceptance.common.lang.ParseNumbers;
 import com.xceptance.common.lang.ThrowableUtils;
 import com.xceptance.common.util.RegExUtils;
 import com.xceptance.xlt.api.util.XltCharBuffer;
@@ -77,6 +78,11 @@ public class TransactionData extends TimerData
      */
     private String testUserNumber;
 
+    /**
+     * The time the transaction was scheduled to start by an arrival-rate timer, or -1 if no such time is known.
+     */
+    private long scheduledStartTime = -1;
+
     /**
      * Creates a new TransactionData object.
      */
@@ -161,6 +167,29 @@ public class TransactionData extends TimerData
         this.failedActionName = actionName;
     }
 
+    /**
+     * Returns the time the transaction was scheduled to start. This value is known only if the transaction was started
+     * by an arrival-rate timer. The difference to the actual start time is the time the transaction had to wait for a
+     * free test user, which is not included in the run time.
+     *
+     * @return the scheduled start time, or -1 if not known
+     */
+    public long getScheduledStartTime()
+    {
+        return scheduledStartTime;
+    }
+
+    /**
+     * Sets the time the transaction was scheduled to start.
+     *
+     * @param scheduledStartTime
+     *            the scheduled start time, or -1 if not known
+     */
+    public void setScheduledStartTime(final long scheduledStartTime)
+    {
+        this.scheduledStartTime = scheduledStartTime;
+    }
+
     /**
      * Returns the path to the directory where dumped pages can be found if this transaction failed. The path is meant
      * to be relative to the results directory of the respective load test. Typically, it looks like
@@ -267,6 +296,12 @@ public class TransactionData extends TimerData
         fields.add(StringUtils.defaultString(testUserNumber));
         fields.add(StringUtils.defaultString(directoryName));
 
+        // the scheduled start time is written only if known to keep the records of closed workloads short
+        if (scheduledStartTime >= 0)
+        {
+            fields.add(Long.toString(scheduledStartTime));
+        }
+
         return fields;
     }
 
@@ -304,6 +339,12 @@ public class TransactionData extends TimerData
         {
             setTestUserNumber(values.get(7).toString());
             setDirectoryName(values.get(8).toString());
+
+            // scheduled start time (optional)
+            if (length > 9 && values.get(9).length() > 0)
+            {
+                setScheduledStartTime(ParseNumbers.parseLong(values.get(9)));
+            }
         }
         else
         {
@@ -169,7 +169,8 @@ public final class XltConstants
      */
     public static final List<Pattern> TIMER_FILENAME_PATTERNS = Stream.of("^timers\\.csv$", "^timers\\.csv\\.gz$",
                                                                           "^timers\\.csv\\.[0-9]{4}-[0-9]{2}-[0-9]{2}$",
-                                                                          "^timers\\.csv\\.[0-9]{4}-[0-9]{2}-[0-9]{2}\\.gz$")
+                                                                          "^timers\\.csv\\.[0-9]{4}-[0-9]{2}-[0-9]{2}\\.gz$",
+                                                                          "^timers\\.csv\\.[0-9]+$", "^timers\\.csv\\.[0-9]+\\.gz$")
                                                                       .map(Pattern::compile).collect(Collectors.toList());
 
     /**
@@ -180,6 +181,12 @@ public final class XltConstants
     public static final List<Pattern> CPT_TIMER_FILENAME_PATTERNS = Stream.of("^timer-wd-.+\\.csv$", "^timer-wd-.+\\.csv\\.gz$")
                                                                           .map(Pattern::compile).collect(Collectors.toList());
 
+    /**
+     * The name of the archive in an agent's result directory that holds the agent's timer files if they have not been
+     * extracted after download.
+     */
+    public static final String AGENT_RESULTS_ARCHIVE_FILENAME = "results.zip";
+
     /**
      * The prefix of custom log files.
      */
@@ -295,6 +302,12 @@ public final class XltConstants
      */
     public static final String DUMP_OUTPUT_DIR = "output";
 
+    /**
+     * The name of the directory below the results root directory that holds the content-addressed blobs shared by the
+     * result browsers of all sessions.
+     */
+    public static final String DUMP_BLOB_STORE_DIR = ".blobs";
+
     /**
      * The property name for line number type.
      */
@@ -362,6 +375,11 @@ public final class XltConstants
      */
     public static final String LOAD_REPORT_XML_FILENAME = "testreport.xml";
 
+    /**
+     * The name of the summary file created next to the xml data file of load test reports
+     */
+    public static final String LOAD_REPORT_SUMMARY_FILENAME = "testreport-summary.json";
+
     /**
      * The path of the directory with all xsl files for load report rendering
      */
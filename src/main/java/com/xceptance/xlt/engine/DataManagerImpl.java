@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.Optional;
@@ -79,6 +80,23 @@ public class DataManagerImpl implements DataManager
      */
     private Map<String, DataLogger> dataLoggers = new ConcurrentHashMap<String, DataLogger>();
 
+    /**
+     * The interval [ms] after which the timer file is rotated, or 0 if the timer file is not to be rotated.
+     */
+    private final long timerFileRotationInterval;
+
+    /**
+     * The time when the timer file is to be rotated next, or 0 if not yet determined.
+     */
+    private long nextTimerFileRotation;
+
+    /**
+     * The times when the timer files are to be rotated next, keyed by timer file. Shared by all data managers, because in
+     * the open workload model, each arrival runs with a new session and data manager, but writes to the timer file of
+     * the user it runs as. This way, the rotation deadline of a timer file outlives the data manager that has set it.
+     */
+    private static final Map<Path, Long> NEXT_TIMER_FILE_ROTATIONS = new ConcurrentHashMap<>();
+
     /**
      * Our metrics provider.
      */
@@ -101,9 +119,25 @@ public class DataManagerImpl implements DataManager
      *            a metrics target for real time logging
      */
     protected DataManagerImpl(final Session session, final Supplier<Metrics> metrics)
+    {
+        this(session, metrics, 0);
+    }
+
+    /**
+     * Creates a new data manager for the given session that rotates the timer file in the given interval.
+     *
+     * @param session
+     *            the session that should use this data manager
+     * @param metrics
+     *            a metrics target for real time logging
+     * @param timerFileRotationInterval
+     *            the interval [ms] after which the timer file is rotated, or 0 to disable rotation
+     */
+    protected DataManagerImpl(final Session session, final Supplier<Metrics> metrics, final long timerFileRotationInterval)
     {
         this.session = session;
         this.metrics = metrics;
+        this.timerFileRotationInterval = Math.max(0, timerFileRotationInterval);
     }
 
     /**
@@ -156,15 +190,6 @@ public class DataManagerImpl implements DataManager
 
         if (loggingEnabled && startOfLoggingPeriod <= time && time <= endOfLoggingPeriod)
         {
-            // get the statistics logger, avoid the method call
-            final BufferedWriter timerWriter = logger != null ? logger : getTimerLogger();
-
-            // no statistics logger configured -> exit here
-            if (timerWriter == null)
-            {
-                return;
-            }
-
             // write the log line
             try
             {
@@ -173,9 +198,27 @@ public class DataManagerImpl implements DataManager
                 final StringBuilder s = removeLineSeparators(csv, ' ');
                 s.append(LINE_SEPARATOR);
 
-                // this safes us from synchronization, the writer is already synchronized
-                timerWriter.write(s.toString());
-                timerWriter.flush();
+                final boolean written;
+                if (timerFileRotationInterval > 0)
+                {
+                    // rotating the file replaces the writer, so writing has to be synchronized with rotating
+                    synchronized (this)
+                    {
+                        rotateTimerFileIfNecessary();
+                        written = writeTimerLine(s.toString());
+                    }
+                }
+                else
+                {
+                    // this safes us from synchronization, the writer is already synchronized
+                    written = writeTimerLine(s.toString());
+                }
+
+                // no statistics logger configured -> exit here
+                if (!written)
+                {
+                    return;
+                }
             }
             catch (final IOException ex)
             {
@@ -197,6 +240,71 @@ public class DataManagerImpl implements DataManager
         }
     }
 
+    /**
+     * Writes the given line to the timer file.
+     *
+     * @param line
+     *            the line to write, including the line separator
+     * @return whether the line could be written, <code>false</code> if there is no timer file
+     * @throws IOException
+     *             if writing failed
+     */
+    private boolean writeTimerLine(final String line) throws IOException
+    {
+        // get the statistics logger, avoid the method call
+        final BufferedWriter timerWriter = logger != null ? logger : getTimerLogger();
+        if (timerWriter == null)
+        {
+            return false;
+        }
+
+        timerWriter.write(line);
+        timerWriter.flush();
+
+        return true;
+    }
+
+    /**
+     * Rotates the timer file if the current rotation interval has elapsed. The current timer file is closed and renamed
+     * to "timers.csv.&lt;timestamp&gt;", so it will not change any longer. Subsequent data records go to a new timer
+     * file. Must be called while holding the lock of this data manager.
+     * <p>
+     * The rotation intervals are aligned to the agent clock. When entering a new interval, the deadline recorded for the
+     * timer file by any data manager is checked, so a timer file written by an earlier session of the same user is
+     * rotated as well.
+     */
+    private void rotateTimerFileIfNecessary()
+    {
+        final long now = GlobalClock.millis();
+
+        if (now >= nextTimerFileRotation)
+        {
+            nextTimerFileRotation = (now / timerFileRotationInterval + 1) * timerFileRotationInterval;
+
+            final Path file = getTimerFile();
+            final Long previousRotation = NEXT_TIMER_FILE_ROTATIONS.put(file, nextTimerFileRotation);
+            if (previousRotation == null || now < previousRotation)
+            {
+                // the timer file has not been written in an earlier interval
+                return;
+            }
+
+            close();
+
+            try
+            {
+                if (Files.isRegularFile(file) && Files.size(file) > 0)
+                {
+                    Files.move(file, file.resolveSibling(XltConstants.TIMER_FILENAME + "." + now), StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            catch (final IOException e)
+            {
+                XltLogger.runTimeLogger.error("Failed to rotate timer file: " + file, e);
+            }
+        }
+    }
+
     /**
      * Returns the output logger. The logger is created if necessary.
      *
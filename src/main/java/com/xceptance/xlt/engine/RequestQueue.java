@@ -17,8 +17,10 @@ package com.xceptance.xlt.engine;
 
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 
 import com.xceptance.common.util.SynchronizingCounter;
@@ -29,6 +31,11 @@ import com.xceptance.xlt.api.util.XltLogger;
  * The {@link RequestQueue} aids in managing the parallel download of resources. The goal is to better simulate the
  * download behavior of real browsers. The number of threads working in parallel is controlled by configuration. Note
  * that there is no differentiation between requests to different domains.
+ * <p>
+ * Alternatively, the queue can run in multiplexed mode. In this mode, each request gets its own (typically virtual)
+ * thread and only the number of concurrent requests per host is limited. This mode is meant for HTTP/2, where the
+ * HTTP client multiplexes all concurrent requests to a host over a single connection anyway, so there is no need to
+ * keep a pool of threads per user that mostly wait for their connection.
  * 
  * @author Jörg Werner (Xceptance Software Technologies GmbH)
  */
@@ -40,8 +47,8 @@ public class RequestQueue
     private static final int WAIT_TIMEOUT = 5 * 60 * 1000;
 
     /**
-     * The executor service running RequestHandler instances. The service's thread pool is unbounded, but shrinks
-     * automatically if possible.
+     * The executor service running RequestHandler instances. Either a fixed thread pool or, in multiplexed mode, an
+     * executor that starts a new thread for each request.
      */
     private final ExecutorService executorService;
 
@@ -60,6 +67,16 @@ public class RequestQueue
      */
     private final int threadCount;
 
+    /**
+     * The maximum number of concurrent requests per host in multiplexed mode, or 0 if not in multiplexed mode.
+     */
+    private final int maxRequestsPerHost;
+
+    /**
+     * The permits for concurrent requests per host (multiplexed mode only), keyed by host and port.
+     */
+    private final ConcurrentHashMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
     /**
      * The web client to use when loading URLs.
      */
@@ -77,14 +94,35 @@ public class RequestQueue
      *            whether to use virtual threads instead of platform threads
      */
     public RequestQueue(final XltWebClient webClient, final int threadCount, final boolean useVirtualThreads)
+    {
+        this(webClient, threadCount, useVirtualThreads, 0);
+    }
+
+    /**
+     * Creates a new RequestQueue object and initializes it with the given web client. If the maximum number of requests
+     * per host is positive, the queue runs in multiplexed mode and the thread count is ignored.
+     * 
+     * @param webClient
+     *            the web client to use
+     * @param threadCount
+     *            the number of threads
+     * @param useVirtualThreads
+     *            whether to use virtual threads instead of platform threads
+     * @param maxRequestsPerHost
+     *            the maximum number of concurrent requests per host in multiplexed mode, or 0 to use a fixed number of
+     *            threads instead
+     */
+    public RequestQueue(final XltWebClient webClient, final int threadCount, final boolean useVirtualThreads, final int maxRequestsPerHost)
     {
         this.webClient = webClient;
         this.threadCount = threadCount;
+        this.maxRequestsPerHost = Math.max(0, maxRequestsPerHost);
         parallelModeEnabled = true;
 
         final ThreadFactory threadFactory = new XltThreadFactory(useVirtualThreads, true, Session.getCurrent().getUserID() + "-pool-");
 
-        executorService = Executors.newFixedThreadPool(threadCount, threadFactory);
+        executorService = isMultiplexed() ? Executors.newThreadPerTaskExecutor(threadFactory)
+                                          : Executors.newFixedThreadPool(threadCount, threadFactory);
         ongoingRequestsCount = new SynchronizingCounter(0);
     }
 
@@ -107,7 +145,7 @@ public class RequestQueue
         if (isParallelModeEnabled())
         {
             // handle the request asynchronously
-            requestHandler = new RequestHandler(url, referrerUrl, RequestStack.getCurrent().clone(), charset);
+            requestHandler = new RequestHandler(url, referrerUrl, RequestStack.getCurrent().clone(), charset, getHostPermits(url));
             executorService.execute(requestHandler);
 
             // debug
@@ -120,7 +158,7 @@ public class RequestQueue
         else
         {
             // handle the request synchronously
-            requestHandler = new RequestHandler(url, referrerUrl, RequestStack.getCurrent(), charset);
+            requestHandler = new RequestHandler(url, referrerUrl, RequestStack.getCurrent(), charset, null);
             requestHandler.run();
         }
     }
@@ -132,7 +170,18 @@ public class RequestQueue
      */
     public boolean isParallelModeEnabled()
     {
-        return parallelModeEnabled && threadCount > 1;
+        return parallelModeEnabled && (threadCount > 1 || isMultiplexed());
+    }
+
+    /**
+     * Indicates whether or not this queue runs in multiplexed mode, i.e. whether it uses a separate thread for each
+     * request and limits the number of concurrent requests per host only.
+     * 
+     * @return whether multiplexed mode is on
+     */
+    public boolean isMultiplexed()
+    {
+        return maxRequestsPerHost > 0;
     }
 
     /**
@@ -146,6 +195,26 @@ public class RequestQueue
         parallelModeEnabled = value;
     }
 
+    /**
+     * Returns the permits that limit the number of concurrent requests to the host of the given URL.
+     * 
+     * @param url
+     *            the URL
+     * @return the permits, or <code>null</code> if not in multiplexed mode
+     */
+    private Semaphore getHostPermits(final URL url)
+    {
+        if (!isMultiplexed())
+        {
+            return null;
+        }
+
+        final int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        final String hostKey = url.getProtocol() + "://" + url.getHost() + ":" + port;
+
+        return hostPermits.computeIfAbsent(hostKey, k -> new Semaphore(maxRequestsPerHost));
+    }
+
     /**
      * Shuts this request queue down. Any background thread is terminated.
      */
@@ -202,6 +271,11 @@ public class RequestQueue
          */
         private final Charset charset;
 
+        /**
+         * The permits limiting the concurrent requests to the target host, or <code>null</code> if there is no limit.
+         */
+        private final Semaphore hostPermits;
+
         /**
          * Creates a new RequestHandler object.
          * 
@@ -211,13 +285,19 @@ public class RequestQueue
          *            the referrer URL
          * @param requestStack
          *            the request stack to use
+         * @param charset
+         *            the document's character encoding
+         * @param hostPermits
+         *            the permits limiting the concurrent requests to the target host (may be <code>null</code>)
          */
-        public RequestHandler(final URL url, final URL referrerUrl, final RequestStack requestStack, final Charset charset)
+        public RequestHandler(final URL url, final URL referrerUrl, final RequestStack requestStack, final Charset charset,
+                              final Semaphore hostPermits)
         {
             this.url = url;
             this.referrerUrl = referrerUrl;
             this.requestStack = requestStack;
             this.charset = charset;
+            this.hostPermits = hostPermits;
         }
 
         /**
@@ -229,16 +309,34 @@ public class RequestQueue
             // first set the configured request stack
             RequestStack.setCurrent(requestStack);
 
+            boolean permitAcquired = false;
             try
             {
+                // wait until the target host accepts another request from us
+                if (hostPermits != null)
+                {
+                    hostPermits.acquire();
+                    permitAcquired = true;
+                }
+
                 webClient.loadStaticContentFromUrl(url, referrerUrl, charset);
             }
+            catch (final InterruptedException e)
+            {
+                // queue was shut down -> don't load the URL anymore
+                Thread.currentThread().interrupt();
+            }
             catch (final Exception e)
             {
                 XltLogger.runTimeLogger.error("Failed to load static content from: " + url, e);
             }
             finally
             {
+                if (permitAcquired)
+                {
+                    hostPermits.release();
+                }
+
                 // request is done
                 ongoingRequestsCount.decrement();
             }
@@ -62,6 +62,11 @@ public class SessionImpl extends Session
      */
     private static final String PROP_MAX_TRANSACTION_TIMEOUT = XltConstants.XLT_PACKAGE_PATH + ".maximumTransactionRunTime";
 
+    /**
+     * The name of the property that specifies the interval [s] after which the timer file is rotated.
+     */
+    private static final String PROP_TIMER_FILE_ROTATION_INTERVAL = XltConstants.XLT_PACKAGE_PATH + ".timerFile.rotationInterval";
+
     /**
      * The default transaction timeout [ms], currently 15 minutes.
      */
@@ -199,6 +204,11 @@ public class SessionImpl extends Session
      */
     private Path resultDir;
 
+    /**
+     * The root directory of the results of all sessions.
+     */
+    private Path resultRootDir;
+
     /**
      * The registered shutdown listeners.
      */
@@ -312,7 +322,9 @@ public class SessionImpl extends Session
         totalAgentCount = 1;
 
         // create the session-specific helper objects
-        dataManagerImpl = new DataManagerImpl(this, Metrics::getInstance);
+        final int timerFileRotationInterval = properties.getProperty(this, PROP_TIMER_FILE_ROTATION_INTERVAL)
+                                                        .flatMap(ParseNumbers::parseOptionalInt).orElse(0);
+        dataManagerImpl = new DataManagerImpl(this, Metrics::getInstance, timerFileRotationInterval * 1000L);
         shutdownListeners = new ArrayList<SessionShutdownListener>();
         networkDataManagerImpl = new NetworkDataManagerImpl();
 
@@ -374,6 +386,7 @@ public class SessionImpl extends Session
             failed = false;
             t = null;
             resultDir = null;
+            resultRootDir = null;
             actionDirector = null;
             actionName = null;
             // failedActionName = null;
@@ -448,16 +461,15 @@ public class SessionImpl extends Session
     }
 
     /**
-     * Returns the session's results directory.
+     * Returns the root directory of the results of all sessions, i.e. the directory the session's results directory is
+     * located in (two levels up).
      *
-     * @return the result directory
-     * @throws IOException
-     * @throws
+     * @return the results root directory
      */
-    public Path getResultsDirectory()
+    public Path getResultsRootDirectory()
     {
-        // no result defined yet
-        if (resultDir == null)
+        // no result root defined yet
+        if (resultRootDir == null)
         {
             // get result-dir property value
             String resultDirName = XltConstants.RESULT_ROOT_DIR;
@@ -475,6 +487,26 @@ public class SessionImpl extends Session
                 }
             }
 
+            resultRootDir = Path.of(resultDirName);
+        }
+
+        return resultRootDir;
+    }
+
+    /**
+     * Returns the session's results directory.
+     *
+     * @return the result directory
+     * @throws IOException
+     * @throws
+     */
+    public Path getResultsDirectory()
+    {
+        // no result defined yet
+        if (resultDir == null)
+        {
+            final Path resultRootDir = getResultsRootDirectory();
+
             // convert illegal characters potentially contained in user name
             final String cleanUserName = FileUtils.replaceIllegalCharsInFileName(userName);
 
@@ -482,7 +514,7 @@ public class SessionImpl extends Session
             // user name directory which itself is rooted at the configured
             // result dir
             // resultDir = new File(new File(resultDirName, cleanUserName), String.valueOf(userNumber));
-            resultDir = Path.of(resultDirName, cleanUserName, String.valueOf(userNumber));
+            resultDir = resultRootDir.resolve(cleanUserName).resolve(String.valueOf(userNumber));
 
             if (!Files.exists(resultDir))
             {
@@ -1075,6 +1107,41 @@ public class SessionImpl extends Session
      */
     private TransactionTimer transactionTimer = null;
 
+    /**
+     * The time the next/current transaction was scheduled to start by an arrival-rate timer, or -1 if not known.
+     */
+    private long scheduledStartTime = -1;
+
+    /**
+     * The time [ms] the current transaction started later than scheduled, or -1 if not known.
+     */
+    private long arrivalLag = -1;
+
+    /**
+     * Sets the time the next transaction was scheduled to start by an arrival-rate timer. To be called before
+     * {@link #startTransaction()}. The value is valid for one transaction only.
+     *
+     * @param scheduledStartTime
+     *            the scheduled start time, or -1 if not known
+     */
+    public void setScheduledStartTime(final long scheduledStartTime)
+    {
+        this.scheduledStartTime = scheduledStartTime;
+    }
+
+    /**
+     * Returns the time an operation of the current transaction that actually started at the given time was scheduled
+     * to start. This is the actual start time shifted by the time the transaction started late.
+     *
+     * @param time
+     *            the actual start time
+     * @return the scheduled start time, or -1 if the current transaction has no scheduled start time
+     */
+    public long getScheduledTime(final long time)
+    {
+        return arrivalLag < 0 ? -1 : time - arrivalLag;
+    }
+
     /**
      * Starts transaction data recording. This will clear any recorded failure information and start a new stop-watch
      * for the transaction.
@@ -1086,6 +1153,9 @@ public class SessionImpl extends Session
         clearFailedActionName();
 
         transactionTimer = new TransactionTimer();
+
+        // compute how late we are, if we know when to start
+        arrivalLag = scheduledStartTime < 0 ? -1 : Math.max(0, transactionTimer.getStartTime() - scheduledStartTime);
     }
 
     /**
@@ -1115,6 +1185,7 @@ public class SessionImpl extends Session
             transactionData.setFailed(hasFailed());
             transactionData.setFailureStackTrace(extractFirstFailure(getFailReason()));
             transactionData.setFailedActionName(getFailedActionName());
+            transactionData.setScheduledStartTime(getScheduledTime(transactionData.getTime()));
 
             if (hasFailed())
             {
@@ -1123,6 +1194,8 @@ public class SessionImpl extends Session
             }
 
             transactionTimer = null;
+            scheduledStartTime = -1;
+            arrivalLag = -1;
 
             if (!wasMarkedAsExpired())
             {
@@ -122,6 +122,7 @@ public class WebDriverActionDirector
 
             actionData.setRunTime((int) (TimerUtils.get().getElapsedTime(actionStartTime)));
             actionData.setFailed(session.hasFailed());
+            actionData.setScheduledStartTime(SessionImpl.getCurrent().getScheduledTime(actionData.getTime()));
 
             // log the action measurements
             session.getDataManager().logDataRecord(actionData);
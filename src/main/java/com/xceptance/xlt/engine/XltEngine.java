@@ -18,6 +18,7 @@ package com.xceptance.xlt.engine;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 
+import com.xceptance.xlt.engine.resultbrowser.AsyncDumpWriter;
 import com.xceptance.xlt.engine.resultbrowser.ErrorCounter;
 import com.xceptance.xlt.util.XltPropertiesImpl;
 
@@ -38,6 +39,7 @@ public class XltEngine
 
     public final XltPropertiesImpl xltProperties;
     public final ErrorCounter errorCounter;
+    public final AsyncDumpWriter dumpWriter;
 
     static
     {
@@ -70,6 +72,7 @@ public class XltEngine
     {
         this.xltProperties = properties;
         this.errorCounter = ErrorCounter.createInstance(this.xltProperties);
+        this.dumpWriter = AsyncDumpWriter.createInstance(this.xltProperties);
     }
 
     /**
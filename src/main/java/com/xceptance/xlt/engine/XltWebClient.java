@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -50,6 +51,7 @@ import org.htmlunit.Page;
 import org.htmlunit.ProxyConfig;
 import org.htmlunit.ScriptException;
 import org.htmlunit.WebClient;
+import org.htmlunit.WebClientOptions;
 import org.htmlunit.WebConnection;
 import org.htmlunit.WebRequest;
 import org.htmlunit.WebResponse;
@@ -80,6 +82,7 @@ import com.xceptance.common.collection.ConcurrentLRUCache;
 import com.xceptance.common.util.ProductInformation;
 import com.xceptance.common.util.RegExUtils;
 import com.xceptance.common.util.StringMatcher;
+import com.xceptance.common.util.ssl.SharedSSLContextCache;
 import com.xceptance.xlt.api.engine.Session;
 import com.xceptance.xlt.api.engine.SessionShutdownListener;
 import com.xceptance.xlt.api.htmlunit.LightWeightPage;
@@ -137,6 +140,17 @@ public class XltWebClient extends WebClient implements SessionShutdownListener,
      */
     private static final ConcurrentHashMap<String, KeyStore> storeCache;
 
+    /**
+     * The global cache for SSL contexts, or <code>null</code> if SSL contexts (and hence TLS sessions) are not to be
+     * shared among all {@link XltWebClient} instances.
+     */
+    private static final SharedSSLContextCache sslContextCache;
+
+    /**
+     * The shared SSL context used by this web client, or <code>null</code> if the web client uses its own context.
+     */
+    private SharedSSLContextCache.Context sharedSSLContext;
+
     /**
      * Holds the URLs and responses of static resources that have been loaded so far for a page.
      */
@@ -236,6 +250,19 @@ public class XltWebClient extends WebClient implements SessionShutdownListener,
         globalCache = new XltCache(jsCacheSize, cssCacheSize);
         storeCache = new ConcurrentHashMap<>();
 
+        // setup the shared SSL context cache if so configured
+        if (props.getProperty("com.xceptance.xlt.tls.sessionCache.shared", false))
+        {
+            final int sessionCacheSize = props.getProperty("com.xceptance.xlt.tls.sessionCache.size", 20480);
+            final int sessionTimeout = props.getProperty("com.xceptance.xlt.tls.sessionCache.timeout", 86400);
+
+            sslContextCache = new SharedSSLContextCache(sessionCacheSize, sessionTimeout);
+        }
+        else
+        {
+            sslContextCache = null;
+        }
+
         // configure the XPath engine to use
         final String xpathEngine = props.getProperty("com.xceptance.xlt.xpath.engine", "jaxen");
         XPathHelper.useJaxen = xpathEngine.equalsIgnoreCase("jaxen");
@@ -293,7 +320,19 @@ public class XltWebClient extends WebClient implements SessionShutdownListener,
         final boolean useVirtualThreads = props.getProperty(XltConstants.PROP_VIRTUAL_THREADS_ENABLED,
                                                             XltConstants.PROP_VIRTUAL_THREADS_ENABLED_DEFAULT);
 
-        requestQueue = new RequestQueue(this, threadCount, useVirtualThreads);
+        // in multiplexed mode, each static content request gets its own thread and is limited per host only
+        int maxRequestsPerHost = 0;
+        if (props.getProperty("com.xceptance.xlt.staticContent.multiplexed", false))
+        {
+            maxRequestsPerHost = props.getProperty("com.xceptance.xlt.staticContent.multiplexed.maxRequestsPerHost", 6);
+            if (maxRequestsPerHost <= 0)
+            {
+                XltLogger.runTimeLogger.warn("Property 'com.xceptance.xlt.staticContent.multiplexed.maxRequestsPerHost' is set to an invalid value. Will use 1 instead.");
+                maxRequestsPerHost = 1;
+            }
+        }
+
+        requestQueue = new RequestQueue(this, threadCount, useVirtualThreads, maxRequestsPerHost);
 
         /*
          * Configure the super class.
@@ -429,6 +468,9 @@ public class XltWebClient extends WebClient implements SessionShutdownListener,
         // load key/trust material for client/server authentication
         configureKeyStore(props);
         configureTrustStore(props);
+
+        // use an SSL context shared with other web clients if so configured
+        configureSharedSSLContext();
     }
 
     /**
@@ -2137,6 +2179,48 @@ public class XltWebClient extends WebClient implements SessionShutdownListener,
         }
     }
 
+    /**
+     * Sets up the SSL context shared with all other web clients that use the same key/trust material, so TLS sessions
+     * established by one web client can be resumed by any other. Does nothing if SSL contexts are not to be shared.
+     */
+    private void configureSharedSSLContext()
+    {
+        if (sslContextCache != null)
+        {
+            final WebClientOptions options = getOptions();
+            final KeyStore keyStore = options.getSSLClientCertificateStore();
+            final char[] keyStorePassword = keyStore == null ? null : options.getSSLClientCertificatePassword();
+
+            try
+            {
+                if (options.isUseInsecureSSL())
+                {
+                    sharedSSLContext = sslContextCache.getInsecureContext(options.getSSLInsecureProtocol(), keyStore, keyStorePassword);
+                }
+                else
+                {
+                    sharedSSLContext = sslContextCache.getContext(keyStore, keyStorePassword, options.getSSLTrustStore());
+                }
+            }
+            catch (final GeneralSecurityException e)
+            {
+                throw new XltException("Failed to create shared SSL context", e);
+            }
+
+            options.setSSLContext(sharedSSLContext.getSSLContext());
+        }
+    }
+
+    /**
+     * Returns the SSL context shared with other web clients.
+     *
+     * @return the shared SSL context, or <code>null</code> if this web client does not use a shared context
+     */
+    public SharedSSLContextCache.Context getSharedSSLContext()
+    {
+        return sharedSSLContext;
+    }
+
     /**
      * Returns the given password string as a char array.
      *
@@ -20,9 +20,9 @@ import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -102,7 +102,8 @@ public class XltDnsResolver implements HostNameResolver
 
     /**
      * The address resolution cache. The cache does not expire. It lives as long as this {@link XltDnsResolver}
-     * instance, which typically lives as long as the web client of a virtual user.
+     * instance, which typically lives as long as the web client of a virtual user, or as long as the connection pool
+     * shared by a cohort of users.
      */
     private final Map<String, InetAddress[]> addressesByHostName;
 
@@ -132,7 +133,7 @@ public class XltDnsResolver implements HostNameResolver
         }
 
         cacheAddresses = props.getProperty(PROP_CACHE_ADDRESSES, false);
-        addressesByHostName = cacheAddresses ? new HashMap<>() : null;
+        addressesByHostName = cacheAddresses ? new ConcurrentHashMap<>() : null;
 
         final String providerName = StringUtils.defaultIfBlank(props.getProperty(PROP_PROVIDER), PlatformHostNameResolver.PROVIDER_NAME);
         resolver = new DnsOverrideResolver(createResolver(providerName));
@@ -15,6 +15,10 @@
  */
 package com.xceptance.xlt.engine.har;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
@@ -25,44 +29,78 @@ import com.xceptance.xlt.engine.har.model.HarCreator;
 import com.xceptance.xlt.engine.har.model.HarEntry;
 import com.xceptance.xlt.engine.har.model.HarPage;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.List;
-
+/**
+ * Writes a HAR file entry by entry, so that the entries do not have to be held in memory all at once. The log fields
+ * and the pages are written when the writer is created, the entries are appended one by one, and the file is completed
+ * by {@link #closeHar()}.
+ */
 public class HarStreamWriter
 {
+    /**
+     * The object mapper used to serialize the model objects. Thread-safe once configured.
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
     private final JsonGenerator jsonGenerator;
 
-    private HarStreamWriter(File harFile, String version, HarCreator creator, HarBrowser browser, List<HarPage> pages,
-                                   String comment, boolean usePrettyPrint)
+    /**
+     * Creates a new writer and writes the HAR log fields to the given file.
+     *
+     * @param harFile
+     *            the target file
+     * @param version
+     *            the HAR format version
+     * @param creator
+     *            the creator
+     * @param browser
+     *            the browser (may be <code>null</code>)
+     * @param pages
+     *            the pages (may be <code>null</code>)
+     * @param comment
+     *            the comment (may be <code>null</code>)
+     * @param usePrettyPrint
+     *            whether to indent the output
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public HarStreamWriter(final File harFile, final String version, final HarCreator creator, final HarBrowser browser,
+                           final List<HarPage> pages, final String comment, final boolean usePrettyPrint)
         throws IOException
     {
         jsonGenerator = new JsonFactory().createGenerator(harFile, JsonEncoding.UTF8);
-        final ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        jsonGenerator.setCodec(objectMapper);
+        jsonGenerator.setCodec(OBJECT_MAPPER);
         if (usePrettyPrint)
         {
             jsonGenerator.useDefaultPrettyPrinter();
         }
 
-        jsonGenerator.writeStartObject();
-        writeHarLogFields(version, creator, browser, pages, comment);
-        jsonGenerator.writeFieldName("entries");
-        jsonGenerator.writeStartArray();
+        try
+        {
+            jsonGenerator.writeStartObject();
+            writeHarLogFields(version, creator, browser, pages, comment);
+            jsonGenerator.writeFieldName("entries");
+            jsonGenerator.writeStartArray();
+        }
+        catch (final IOException e)
+        {
+            jsonGenerator.close();
+            throw e;
+        }
     }
 
-    private void writeHarLogFields(String version, HarCreator creator, HarBrowser browser, List<HarPage> pages, String comment)
+    private void writeHarLogFields(final String version, final HarCreator creator, final HarBrowser browser, final List<HarPage> pages,
+                                   final String comment)
         throws IOException
     {
         jsonGenerator.writeFieldName("log");
         jsonGenerator.writeStartObject();
 
+        jsonGenerator.writeFieldName("version");
+        jsonGenerator.writeObject(version);
+        jsonGenerator.writeFieldName("creator");
+        jsonGenerator.writeObject(creator);
+
         // Add optional fields if they are not null
-        if (comment != null)
-        {
-            jsonGenerator.writeFieldName("comment");
-            jsonGenerator.writeObject(comment);
-        }
         if (browser != null)
         {
             jsonGenerator.writeFieldName("browser");
@@ -73,23 +111,43 @@ public class HarStreamWriter
             jsonGenerator.writeFieldName("pages");
             jsonGenerator.writeObject(pages);
         }
-
-        jsonGenerator.writeFieldName("creator");
-        jsonGenerator.writeObject(creator);
-        jsonGenerator.writeFieldName("version");
-        jsonGenerator.writeObject(version);
+        if (comment != null)
+        {
+            jsonGenerator.writeFieldName("comment");
+            jsonGenerator.writeObject(comment);
+        }
     }
 
-    public void addEntry(HarEntry harEntry) throws IOException
+    /**
+     * Appends the given entry.
+     *
+     * @param harEntry
+     *            the entry
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public void addEntry(final HarEntry harEntry) throws IOException
     {
         jsonGenerator.writeObject(harEntry);
-        jsonGenerator.flush();
     }
 
+    /**
+     * Completes and closes the HAR file.
+     *
+     * @throws IOException
+     *             if an I/O error occurs
+     */
     public void closeHar() throws IOException
     {
-        jsonGenerator.writeEndArray();
-        jsonGenerator.writeEndObject();
-        jsonGenerator.close();
+        try
+        {
+            jsonGenerator.writeEndArray();
+            jsonGenerator.writeEndObject();
+            jsonGenerator.writeEndObject();
+        }
+        finally
+        {
+            jsonGenerator.close();
+        }
     }
 }
@@ -26,7 +26,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
  */
 @JsonPropertyOrder(
     {
-        "size", "compression", "mimeType", "text", "comment"
+        "size", "compression", "mimeType", "text", "_file", "comment"
     })
 public class HarContent
 {
@@ -38,16 +38,28 @@ public class HarContent
 
     private final String text;
 
+    /**
+     * Custom field: the path of the file holding the full content, relative to the HAR file.
+     */
+    private final String file;
+
     private final String comment;
 
+    public HarContent(Long size, Long compression, String mimeType, String text, String comment)
+    {
+        this(size, compression, mimeType, text, null, comment);
+    }
+
     @JsonCreator
     public HarContent(@JsonProperty("size") Long size, @JsonProperty("compression") Long compression,
-                      @JsonProperty("mimeType") String mimeType, @JsonProperty("text") String text, @JsonProperty("comment") String comment)
+                      @JsonProperty("mimeType") String mimeType, @JsonProperty("text") String text, @JsonProperty("_file") String file,
+                      @JsonProperty("comment") String comment)
     {
         this.size = size;
         this.compression = compression;
         this.mimeType = mimeType;
         this.text = text;
+        this.file = file;
         this.comment = comment;
     }
 
@@ -56,6 +68,12 @@ public class HarContent
         return text;
     }
 
+    @JsonProperty("_file")
+    public String getFile()
+    {
+        return file;
+    }
+
     public String getComment()
     {
         return comment;
@@ -93,6 +111,8 @@ public class HarContent
 
         private String text;
 
+        private String file;
+
         private String comment;
 
         public Builder withSize(long size)
@@ -119,6 +139,12 @@ public class HarContent
             return this;
         }
 
+        public Builder withFile(String file)
+        {
+            this.file = file;
+            return this;
+        }
+
         public Builder withComment(String comment)
         {
             this.comment = comment;
@@ -127,7 +153,7 @@ public class HarContent
 
         public HarContent build()
         {
-            return new HarContent(size, compression, mimeType, text, comment);
+            return new HarContent(size, compression, mimeType, text, file, comment);
         }
     }
 }
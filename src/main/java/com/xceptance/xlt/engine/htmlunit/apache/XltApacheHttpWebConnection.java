@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import javax.net.ssl.SSLSession;
+
 import org.apache.http.Header;
 import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpException;
@@ -28,6 +30,7 @@ import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpRequestRetryHandler;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.ManagedHttpClientConnection;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpRequestExecutor;
@@ -194,7 +197,14 @@ public class XltApacheHttpWebConnection extends HttpWebConnection
                     final String hostAddress = ((HttpInetConnection) conn).getRemoteAddress().getHostAddress();
                     RequestExecutionContext.getCurrent().setTargetAddress(hostAddress);
                 }
-                
+
+                // remember the kind of TLS handshake if the connection was newly established
+                if (conn instanceof ManagedHttpClientConnection)
+                {
+                    final SSLSession sslSession = ((ManagedHttpClientConnection) conn).getSSLSession();
+                    RequestExecutionContext.getCurrent().getSocketMonitor().tlsSessionUsed(sslSession);
+                }
+
                 return super.doSendRequest(request, conn, context);
             }
         });
@@ -0,0 +1,640 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.htmlunit.okhttp3;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.htmlunit.ProxyConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.xceptance.xlt.api.engine.Session;
+import com.xceptance.xlt.api.util.XltProperties;
+import com.xceptance.xlt.common.XltConstants;
+import com.xceptance.xlt.engine.XltThreadFactory;
+import com.xceptance.xlt.engine.dns.XltDnsResolver;
+import com.xceptance.xlt.engine.metrics.Metrics;
+
+import okhttp3.Authenticator;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+
+/**
+ * Hands out the connection pools and dispatchers used by {@link OkHttp3WebConnection} instances.
+ * <p>
+ * By default, each web connection gets its own private connection pool and dispatcher, just like a real browser.
+ * Optionally, connection pools and dispatchers can be shared agent-wide by all users of the same cohort. A cohort is
+ * formed by the users running the same scenario, which can be split further into groups of a configurable size. This
+ * is useful for API-style tests where connection reuse across users is desired.
+ * <p>
+ * OkHttp reuses a pooled connection only if the requesting client uses the very same DNS resolver, proxy authenticator,
+ * and SSL socket factory as the client that opened the connection. That's why these components are part of the pool
+ * resources, too. As a consequence, users sharing a pool also share the DNS cache and, unless configured otherwise, the
+ * TLS session cache. The proxy authenticator of a shared pool knows only the proxy credentials the pool was created
+ * with. Since a connection authenticated with a proxy must not be used with other credentials, a user with different
+ * proxy credentials gets a private pool instead.
+ * <p>
+ * If real-time reporting is enabled, the size of the pools, the number of idle connections, and the connection reuse
+ * ratio (as percentage) are exported periodically via {@link Metrics}.
+ */
+final class ConnectionPoolManager
+{
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolManager.class);
+
+    private static final String PROP_PREFIX = "com.xceptance.xlt.http.client.okhttp3.";
+
+    private static final String PROP_POOL_PREFIX = PROP_PREFIX + "connectionPool.";
+
+    private static final String PROP_POOL_MAX_IDLE_CONNECTIONS = PROP_POOL_PREFIX + "maxIdleConnections";
+
+    private static final String PROP_POOL_KEEP_ALIVE_DURATION = PROP_POOL_PREFIX + "keepAliveDuration";
+
+    private static final String PROP_POOL_SHARED = PROP_POOL_PREFIX + "shared";
+
+    private static final String PROP_POOL_USERS_PER_COHORT = PROP_POOL_PREFIX + "shared.usersPerCohort";
+
+    private static final String PROP_DISPATCHER_MAX_REQUESTS = PROP_PREFIX + "dispatcher.maxRequests";
+
+    private static final String PROP_DISPATCHER_MAX_REQUESTS_PER_HOST = PROP_PREFIX + "dispatcher.maxRequestsPerHost";
+
+    /**
+     * The name of the pseudo cohort all private pools are accounted for.
+     */
+    private static final String PRIVATE_POOLS_NAME = "private";
+
+    private static final String METRIC_NAME_PREFIX = "okhttp3.connectionPool.";
+
+    private static class LazySingletonHolder
+    {
+        /**
+         * The {@link ConnectionPoolManager} singleton.
+         */
+        private static final ConnectionPoolManager instance = new ConnectionPoolManager(XltProperties.getInstance());
+    }
+
+    /**
+     * Returns the {@link ConnectionPoolManager} singleton.
+     */
+    static ConnectionPoolManager getInstance()
+    {
+        return LazySingletonHolder.instance;
+    }
+
+    private final int maxIdleConnections;
+
+    private final long keepAliveDuration;
+
+    private final boolean shared;
+
+    private final int usersPerCohort;
+
+    private final int maxRequests;
+
+    private final int maxRequestsPerHost;
+
+    private final boolean useVirtualThreads;
+
+    /**
+     * The shared pools, keyed by cohort name.
+     */
+    private final Map<String, PoolResources> sharedPools = new ConcurrentHashMap<>();
+
+    /**
+     * The private pools currently in use.
+     */
+    private final Set<PoolResources> privatePools = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The statistics of all private pools.
+     */
+    private final ConnectionReuseListener privatePoolStatistics = new ConnectionReuseListener();
+
+    /**
+     * The scheduler that periodically reports the pool metrics, or <code>null</code> if not running.
+     */
+    private volatile ScheduledExecutorService metricsScheduler;
+
+    /**
+     * Whether a user with proxy credentials different from those of the shared pool has been reported already.
+     */
+    private final AtomicBoolean proxyCredentialsMismatchReported = new AtomicBoolean();
+
+    /**
+     * Constructor.
+     *
+     * @param props
+     *            the configuration
+     */
+    ConnectionPoolManager(final XltProperties props)
+    {
+        maxIdleConnections = Math.max(0, props.getProperty(PROP_POOL_MAX_IDLE_CONNECTIONS, 6));
+        keepAliveDuration = Math.max(1, props.getProperty(PROP_POOL_KEEP_ALIVE_DURATION, 60));
+        shared = props.getProperty(PROP_POOL_SHARED, false);
+        usersPerCohort = Math.max(0, props.getProperty(PROP_POOL_USERS_PER_COHORT, 0));
+        maxRequests = Math.max(1, props.getProperty(PROP_DISPATCHER_MAX_REQUESTS, 64));
+        maxRequestsPerHost = Math.max(1, props.getProperty(PROP_DISPATCHER_MAX_REQUESTS_PER_HOST, 6));
+        useVirtualThreads = props.getProperty(XltConstants.PROP_VIRTUAL_THREADS_ENABLED, XltConstants.PROP_VIRTUAL_THREADS_ENABLED_DEFAULT);
+    }
+
+    /**
+     * Returns the connection pool and dispatcher to be used by the web connection of the given session. Depending on
+     * the configuration, these are either private to the caller or shared with the other users of the same cohort.
+     *
+     * @param session
+     *            the current session
+     * @param credentialsProvider
+     *            the credentials provider to take the proxy credentials from
+     * @param proxyConfig
+     *            the proxy configuration of the caller (may be <code>null</code>)
+     * @return the pool resources
+     */
+    PoolResources acquire(final Session session, final CredentialsProvider credentialsProvider, final ProxyConfig proxyConfig)
+    {
+        if (metricsScheduler == null && Metrics.getInstance().isEnabled())
+        {
+            startMetricsReporting();
+        }
+
+        if (shared)
+        {
+            final Credentials proxyCredentials = getProxyCredentials(credentialsProvider, proxyConfig);
+            final PoolResources poolResources = sharedPools.computeIfAbsent(getCohortName(session),
+                                                                            (cohortName) -> createSharedPoolResources(cohortName, proxyConfig,
+                                                                                                                      proxyCredentials));
+            if (isSameCredentials(poolResources.getProxyCredentials(), proxyCredentials))
+            {
+                return poolResources;
+            }
+
+            if (proxyCredentialsMismatchReported.compareAndSet(false, true))
+            {
+                log.warn("User {} uses other proxy credentials than the connection pool shared by its cohort and gets a private pool instead",
+                         session.getUserID());
+            }
+        }
+
+        final PoolResources poolResources = createPoolResources(session.getUserID() + "-okhttp3-", false,
+                                                                new AuthenticatorImpl(credentialsProvider), null);
+        privatePools.add(poolResources);
+
+        return poolResources;
+    }
+
+    /**
+     * Returns the credentials for the configured proxy, if any.
+     *
+     * @param credentialsProvider
+     *            the credentials provider
+     * @param proxyConfig
+     *            the proxy configuration (may be <code>null</code>)
+     * @return the proxy credentials, or <code>null</code> if no proxy or no credentials are configured
+     */
+    private static Credentials getProxyCredentials(final CredentialsProvider credentialsProvider, final ProxyConfig proxyConfig)
+    {
+        if (proxyConfig == null || proxyConfig.getProxyHost() == null)
+        {
+            return null;
+        }
+
+        return credentialsProvider.getCredentials(new AuthScope(proxyConfig.getProxyHost(), proxyConfig.getProxyPort()));
+    }
+
+    /**
+     * Checks whether the given credentials have the same user name and password.
+     */
+    private static boolean isSameCredentials(final Credentials credentials, final Credentials otherCredentials)
+    {
+        if (credentials == null || otherCredentials == null)
+        {
+            return credentials == otherCredentials;
+        }
+
+        return Objects.equals(getUserName(credentials), getUserName(otherCredentials)) &&
+               Objects.equals(credentials.getPassword(), otherCredentials.getPassword());
+    }
+
+    private static String getUserName(final Credentials credentials)
+    {
+        return credentials.getUserPrincipal() != null ? credentials.getUserPrincipal().getName() : null;
+    }
+
+    /**
+     * Releases the given pool resources. Private resources are shut down, while shared ones remain untouched.
+     *
+     * @param poolResources
+     *            the pool resources
+     */
+    void release(final PoolResources poolResources)
+    {
+        if (!poolResources.isShared())
+        {
+            privatePools.remove(poolResources);
+
+            close(poolResources);
+
+            if (privatePools.isEmpty() && sharedPools.isEmpty())
+            {
+                stopMetricsReporting();
+            }
+        }
+    }
+
+    /**
+     * Closes all pool resources, including the shared ones, and stops reporting metrics.
+     */
+    void shutdown()
+    {
+        sharedPools.values().forEach(ConnectionPoolManager::close);
+        sharedPools.clear();
+
+        privatePools.forEach(ConnectionPoolManager::close);
+        privatePools.clear();
+
+        stopMetricsReporting();
+    }
+
+    private static void close(final PoolResources poolResources)
+    {
+        poolResources.getConnectionPool().evictAll();
+        poolResources.getDispatcher().executorService().shutdown();
+    }
+
+    /**
+     * Starts reporting pool metrics if metrics are enabled and reporting is not running yet. Callers should check the
+     * latter before, so the lock is taken only when reporting is about to be started.
+     */
+    private synchronized void startMetricsReporting()
+    {
+        final Metrics metrics = Metrics.getInstance();
+        if (metricsScheduler == null && metrics.isEnabled())
+        {
+            final int interval = metrics.getReportingInterval();
+
+            metricsScheduler = Executors.newSingleThreadScheduledExecutor(new XltThreadFactory(false, false, "OkHttp3-PoolMetrics-"));
+            metricsScheduler.scheduleAtFixedRate(this::reportMetrics, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stops reporting pool metrics.
+     */
+    private synchronized void stopMetricsReporting()
+    {
+        if (metricsScheduler != null)
+        {
+            metricsScheduler.shutdownNow();
+            metricsScheduler = null;
+        }
+    }
+
+    /**
+     * Returns whether pool metrics are currently reported.
+     */
+    synchronized boolean isReportingMetrics()
+    {
+        return metricsScheduler != null;
+    }
+
+    /**
+     * Determines the name of the cohort the user of the given session belongs to.
+     *
+     * @param session
+     *            the session
+     * @return the cohort name
+     */
+    String getCohortName(final Session session)
+    {
+        final String userName = session.getUserName();
+
+        return (usersPerCohort > 0) ? userName + "-" + (session.getUserNumber() / usersPerCohort) : userName;
+    }
+
+    /**
+     * Creates new pool resources to be shared by the given cohort. The proxy authenticator is restricted to the given
+     * proxy credentials, so it does not depend on the credentials provider of any particular user.
+     *
+     * @param cohortName
+     *            the name of the cohort
+     * @param proxyConfig
+     *            the proxy configuration (may be <code>null</code>)
+     * @param proxyCredentials
+     *            the credentials for the configured proxy (may be <code>null</code>)
+     * @return the pool resources
+     */
+    private PoolResources createSharedPoolResources(final String cohortName, final ProxyConfig proxyConfig,
+                                                    final Credentials proxyCredentials)
+    {
+        final BasicCredentialsProvider proxyCredentialsProvider = new BasicCredentialsProvider();
+        if (proxyCredentials != null)
+        {
+            proxyCredentialsProvider.setCredentials(new AuthScope(proxyConfig.getProxyHost(), proxyConfig.getProxyPort()),
+                                                    proxyCredentials);
+        }
+
+        return createPoolResources("OkHttp3-" + cohortName + "-", true, new AuthenticatorImpl(proxyCredentialsProvider),
+                                   proxyCredentials);
+    }
+
+    /**
+     * Creates new pool resources.
+     *
+     * @param threadNamePrefix
+     *            the name prefix of the dispatcher threads
+     * @param isShared
+     *            whether the resources are shared by a cohort of users
+     * @param proxyAuthenticator
+     *            the authenticator to use for proxies
+     * @param proxyCredentials
+     *            the proxy credentials the proxy authenticator is restricted to, <code>null</code> if none
+     * @return the pool resources
+     */
+    private PoolResources createPoolResources(final String threadNamePrefix, final boolean isShared, final Authenticator proxyAuthenticator,
+                                              final Credentials proxyCredentials)
+    {
+        final ConnectionPool connectionPool = new ConnectionPool(maxIdleConnections, keepAliveDuration, TimeUnit.SECONDS);
+
+        // let the dispatcher run asynchronous calls in (virtual) threads which are created on demand
+        final ExecutorService executorService = Executors.newThreadPerTaskExecutor(new XltThreadFactory(useVirtualThreads, true,
+                                                                                                        threadNamePrefix));
+
+        final Dispatcher dispatcher = new Dispatcher(executorService);
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        final ConnectionReuseListener statistics = isShared ? new ConnectionReuseListener() : privatePoolStatistics;
+
+        return new PoolResources(connectionPool, dispatcher, statistics, isShared, new DnsImpl(new XltDnsResolver()), proxyAuthenticator,
+                                 proxyCredentials);
+    }
+
+    /**
+     * Exports the current pool statistics to the metrics sub-system.
+     */
+    private void reportMetrics()
+    {
+        try
+        {
+            final Metrics metrics = Metrics.getInstance();
+
+            // shared pools
+            sharedPools.forEach((cohortName, poolResources) -> {
+                final ConnectionPool pool = poolResources.getConnectionPool();
+                reportMetrics(metrics, cohortName, pool.connectionCount(), pool.idleConnectionCount(), poolResources.getStatistics());
+            });
+
+            // all private pools as one
+            if (!privatePools.isEmpty())
+            {
+                int connectionCount = 0;
+                int idleConnectionCount = 0;
+                for (final PoolResources poolResources : privatePools)
+                {
+                    connectionCount += poolResources.getConnectionPool().connectionCount();
+                    idleConnectionCount += poolResources.getConnectionPool().idleConnectionCount();
+                }
+
+                reportMetrics(metrics, PRIVATE_POOLS_NAME, connectionCount, idleConnectionCount, privatePoolStatistics);
+            }
+        }
+        catch (final Exception e)
+        {
+            log.error("Failed to report connection pool metrics", e);
+        }
+    }
+
+    private static void reportMetrics(final Metrics metrics, final String name, final int connectionCount, final int idleConnectionCount,
+                                      final ConnectionReuseListener statistics)
+    {
+        final String metricNamePrefix = METRIC_NAME_PREFIX + name + ".";
+
+        metrics.updateGauge(metricNamePrefix + "connections", connectionCount);
+        metrics.updateGauge(metricNamePrefix + "idleConnections", idleConnectionCount);
+
+        final double reuseRatio = statistics.getReuseRatioAndClear();
+        if (reuseRatio >= 0)
+        {
+            metrics.updateGauge(metricNamePrefix + "reuseRatio", reuseRatio * 100);
+        }
+    }
+
+    /**
+     * The connection pool and the dispatcher to be used by a web connection, plus the statistics collected while using
+     * them. Also holds the components that must be identical for all clients using the pool, as otherwise pooled
+     * connections could not be reused.
+     */
+    static final class PoolResources
+    {
+        private final ConnectionPool connectionPool;
+
+        private final Dispatcher dispatcher;
+
+        private final ConnectionReuseListener statistics;
+
+        private final boolean shared;
+
+        private final Dns dns;
+
+        private final Authenticator proxyAuthenticator;
+
+        private final Credentials proxyCredentials;
+
+        /**
+         * The default SSL socket factory and trust manager, created on first use.
+         */
+        private volatile DefaultTls defaultTls;
+
+        private PoolResources(final ConnectionPool connectionPool, final Dispatcher dispatcher, final ConnectionReuseListener statistics,
+                              final boolean shared, final Dns dns, final Authenticator proxyAuthenticator,
+                              final Credentials proxyCredentials)
+        {
+            this.connectionPool = connectionPool;
+            this.dispatcher = dispatcher;
+            this.statistics = statistics;
+            this.shared = shared;
+            this.dns = dns;
+            this.proxyAuthenticator = proxyAuthenticator;
+            this.proxyCredentials = proxyCredentials;
+        }
+
+        ConnectionPool getConnectionPool()
+        {
+            return connectionPool;
+        }
+
+        Dispatcher getDispatcher()
+        {
+            return dispatcher;
+        }
+
+        ConnectionReuseListener getStatistics()
+        {
+            return statistics;
+        }
+
+        boolean isShared()
+        {
+            return shared;
+        }
+
+        Dns getDns()
+        {
+            return dns;
+        }
+
+        Authenticator getProxyAuthenticator()
+        {
+            return proxyAuthenticator;
+        }
+
+        /**
+         * Returns the proxy credentials the proxy authenticator of shared resources is restricted to, or
+         * <code>null</code> if none.
+         */
+        Credentials getProxyCredentials()
+        {
+            return proxyCredentials;
+        }
+
+        /**
+         * Returns the SSL socket factory and trust manager to use if neither insecure SSL nor a shared SSL context is
+         * configured. These validate server certificates against the system-default trust store.
+         */
+        DefaultTls getDefaultTls() throws GeneralSecurityException
+        {
+            DefaultTls tls = defaultTls;
+            if (tls == null)
+            {
+                synchronized (this)
+                {
+                    tls = defaultTls;
+                    if (tls == null)
+                    {
+                        defaultTls = tls = DefaultTls.create();
+                    }
+                }
+            }
+
+            return tls;
+        }
+    }
+
+    /**
+     * An SSL socket factory together with the trust manager of its SSL context.
+     */
+    record DefaultTls(SSLSocketFactory socketFactory, X509TrustManager trustManager)
+    {
+        private static DefaultTls create() throws GeneralSecurityException
+        {
+            final TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init((KeyStore) null);
+
+            X509TrustManager trustManager = null;
+            for (final TrustManager tm : trustManagerFactory.getTrustManagers())
+            {
+                if (tm instanceof X509TrustManager)
+                {
+                    trustManager = (X509TrustManager) tm;
+                    break;
+                }
+            }
+            if (trustManager == null)
+            {
+                throw new GeneralSecurityException("No X.509 trust manager available");
+            }
+
+            final SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]
+                {
+                    trustManager
+                }, null);
+
+            return new DefaultTls(sslContext.getSocketFactory(), trustManager);
+        }
+    }
+
+    /**
+     * An {@link EventListener} that counts how many connections were acquired by calls and how many of them had to be
+     * newly established.
+     * <p>
+     * Note: This class is thread-safe.
+     */
+    static final class ConnectionReuseListener extends EventListener
+    {
+        private final LongAdder acquiredConnections = new LongAdder();
+
+        private final LongAdder newConnections = new LongAdder();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void connectEnd(final Call call, final InetSocketAddress inetSocketAddress, final Proxy proxy, final Protocol protocol)
+        {
+            newConnections.increment();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void connectionAcquired(final Call call, final Connection connection)
+        {
+            acquiredConnections.increment();
+        }
+
+        /**
+         * Returns the ratio of reused connections to all acquired connections since the last call and resets the
+         * internal counters.
+         *
+         * @return the reuse ratio [0..1], or -1 if no connection was acquired at all
+         */
+        double getReuseRatioAndClear()
+        {
+            final long acquired = acquiredConnections.sumThenReset();
+            final long created = newConnections.sumThenReset();
+
+            return (acquired == 0) ? -1 : Math.max(0, acquired - created) / (double) acquired;
+        }
+    }
+}
@@ -28,7 +28,6 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
 import javax.net.ssl.SSLContext;
@@ -48,12 +47,14 @@ import org.htmlunit.util.NameValuePair;
 
 import com.xceptance.common.util.ssl.EasyHostnameVerifier;
 import com.xceptance.common.util.ssl.EasyX509TrustManager;
+import com.xceptance.common.util.ssl.SharedSSLContextCache;
+import com.xceptance.xlt.api.engine.Session;
 import com.xceptance.xlt.api.util.XltException;
-import com.xceptance.xlt.engine.dns.XltDnsResolver;
+import com.xceptance.xlt.engine.XltWebClient;
 import com.xceptance.xlt.engine.htmlunit.AbstractWebConnection;
+import com.xceptance.xlt.engine.htmlunit.okhttp3.ConnectionPoolManager.DefaultTls;
+import com.xceptance.xlt.engine.htmlunit.okhttp3.ConnectionPoolManager.PoolResources;
 
-import okhttp3.ConnectionPool;
-import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -85,9 +86,15 @@ public class OkHttp3WebConnection extends AbstractWebConnection<OkHttpClient, Re
 
     private final AuthenticatorImpl authenticator;
 
-    private final ConnectionPool connectionPool;
+    /**
+     * The connection pool and dispatcher to use, either private to this connection or shared with other users.
+     */
+    private final PoolResources poolResources;
 
-    private final DnsImpl dns;
+    /**
+     * The manager the pool resources were obtained from.
+     */
+    private final ConnectionPoolManager connectionPoolManager;
 
     private final List<Protocol> protocols;
 
@@ -107,14 +114,33 @@ public class OkHttp3WebConnection extends AbstractWebConnection<OkHttpClient, Re
      *            whether to collect the target IP address that was used to make the request
      */
     public OkHttp3WebConnection(final WebClient webClient, final boolean http2Enabled, final boolean collectTargetIpAddress)
+    {
+        this(webClient, http2Enabled, collectTargetIpAddress, ConnectionPoolManager.getInstance());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param webClient
+     *            the owning web client
+     * @param http2Enabled
+     *            whether or not HTTP/2 is enabled at all
+     * @param collectTargetIpAddress
+     *            whether to collect the target IP address that was used to make the request
+     * @param connectionPoolManager
+     *            the manager to obtain the connection pool from
+     */
+    OkHttp3WebConnection(final WebClient webClient, final boolean http2Enabled, final boolean collectTargetIpAddress,
+                         final ConnectionPoolManager connectionPoolManager)
     {
         super(webClient);
 
         this.collectTargetIpAddress = collectTargetIpAddress;
+        this.connectionPoolManager = connectionPoolManager;
 
         authenticator = new AuthenticatorImpl(webClient.getCredentialsProvider());
-        connectionPool = new ConnectionPool(6, 60, TimeUnit.SECONDS);
-        dns = new DnsImpl(new XltDnsResolver());
+        poolResources = connectionPoolManager.acquire(Session.getCurrent(), webClient.getCredentialsProvider(),
+                                                      webClient.getOptions().getProxyConfig());
         protocols = http2Enabled ? HTTP_2_AND_1_1 : HTTP_1_1_ONLY;
     }
 
@@ -130,9 +156,11 @@ public class OkHttp3WebConnection extends AbstractWebConnection<OkHttpClient, Re
 
         // basic settings and components
         httpClientBuilder.authenticator(authenticator);
-        httpClientBuilder.connectionPool(connectionPool);
+        httpClientBuilder.connectionPool(poolResources.getConnectionPool());
+        httpClientBuilder.dispatcher(poolResources.getDispatcher());
+        httpClientBuilder.eventListener(poolResources.getStatistics());
         httpClientBuilder.cookieJar(new CookieJarImpl(webClient.getCookieManager()));
-        httpClientBuilder.dns(dns);
+        httpClientBuilder.dns(poolResources.getDns());
         httpClientBuilder.protocols(protocols);
         httpClientBuilder.retryOnConnectionFailure(true);
 
@@ -147,7 +175,7 @@ public class OkHttp3WebConnection extends AbstractWebConnection<OkHttpClient, Re
             final InetSocketAddress proxyHostAddress = new InetSocketAddress(proxyHost, webRequest.getProxyPort());
             final Proxy proxy = new Proxy(webRequest.isSocksProxy() ? Proxy.Type.SOCKS : Proxy.Type.HTTP, proxyHostAddress);
             httpClientBuilder.proxy(proxy);
-            httpClientBuilder.proxyAuthenticator(authenticator);
+            httpClientBuilder.proxyAuthenticator(poolResources.getProxyAuthenticator());
         }
 
         // timeouts
@@ -162,22 +190,32 @@ public class OkHttp3WebConnection extends AbstractWebConnection<OkHttpClient, Re
         httpClientBuilder.readTimeout(timeoutMS);
         httpClientBuilder.writeTimeout(timeoutMS);
 
-        // dispatcher
-        final Dispatcher dispatcher = new Dispatcher();
-        dispatcher.setMaxRequests(64);
-        dispatcher.setMaxRequestsPerHost(6);
-        httpClientBuilder.dispatcher(dispatcher);
+        // SSL (always use the same socket factory instance as otherwise pooled connections won't be reused)
+        final SharedSSLContextCache.Context sharedSSLContext = webClient instanceof XltWebClient ? ((XltWebClient) webClient).getSharedSSLContext()
+                                                                                                  : null;
+        if (sharedSSLContext != null)
+        {
+            httpClientBuilder.sslSocketFactory(sharedSSLContext.getSocketFactory(), sharedSSLContext.getTrustManager());
+        }
+        else if (webClientOptions.isUseInsecureSSL())
+        {
+            httpClientBuilder.sslSocketFactory(INSECURE_SSL_SOCKET_FACTORY, INSECURE_TRUST_MANAGER);
+        }
+        else
+        {
+            final DefaultTls defaultTls = poolResources.getDefaultTls();
+            httpClientBuilder.sslSocketFactory(defaultTls.socketFactory(), defaultTls.trustManager());
+        }
 
-        // SSL
         if (webClientOptions.isUseInsecureSSL())
         {
-            httpClientBuilder.sslSocketFactory(INSECURE_SSL_SOCKET_FACTORY, INSECURE_TRUST_MANAGER);
             httpClientBuilder.hostnameVerifier(INSECURE_HOSTNAME_VERIFIER);
         }
 
         // interceptors
         httpClientBuilder.addNetworkInterceptor(new AuthorizationHeaderInterceptor(authenticator));
         httpClientBuilder.addNetworkInterceptor(new RetrieveFinalRequestHeadersInterceptor(webRequest));
+        httpClientBuilder.addNetworkInterceptor(new RecordTlsHandshakeInterceptor());
 
         if (collectTargetIpAddress)
         {
@@ -188,13 +226,32 @@ public class OkHttp3WebConnection extends AbstractWebConnection<OkHttpClient, Re
         return httpClientBuilder.build();
     }
 
+    /**
+     * Returns the connection pool resources used by this web connection.
+     *
+     * @return the pool resources
+     */
+    PoolResources getPoolResources()
+    {
+        return poolResources;
+    }
+
+    /**
+     * Closes all connection pools, including those shared by cohorts of users, and stops reporting pool metrics. To be
+     * called when the load test is finished.
+     */
+    public static void shutdownConnectionPools()
+    {
+        ConnectionPoolManager.getInstance().shutdown();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void close() throws IOException
     {
-        connectionPool.evictAll();
+        connectionPoolManager.release(poolResources);
     }
 
     /**
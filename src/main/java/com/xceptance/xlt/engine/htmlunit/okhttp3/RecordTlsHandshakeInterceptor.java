@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.htmlunit.okhttp3;
+
+import java.io.IOException;
+import java.net.Socket;
+
+import javax.net.ssl.SSLSocket;
+
+import com.xceptance.xlt.engine.RequestExecutionContext;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that passes the TLS session of the connection used to the socket monitor so it can determine
+ * whether a full or an abbreviated TLS handshake took place.
+ */
+class RecordTlsHandshakeInterceptor implements Interceptor
+{
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Response intercept(final Chain chain) throws IOException
+    {
+        final Socket socket = chain.connection().socket();
+        if (socket instanceof SSLSocket)
+        {
+            RequestExecutionContext.getCurrent().getSocketMonitor().tlsSessionUsed(((SSLSocket) socket).getSession());
+        }
+
+        return chain.proceed(chain.request());
+    }
+}
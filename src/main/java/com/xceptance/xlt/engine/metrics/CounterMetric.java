@@ -15,9 +15,13 @@
  */
 package com.xceptance.xlt.engine.metrics;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * A metric for count values. All reported counts are added to the total count.
  * <p>
+ * Updates are lock-free and hardly contend, even if many threads update the same metric.
+ * <p>
  * Note: This class is thread-safe.
  */
 public class CounterMetric implements Metric
@@ -25,21 +29,21 @@ public class CounterMetric implements Metric
     /**
      * The total count (the sum of all values added).
      */
-    private long sum;
+    private final LongAdder sum = new LongAdder();
 
     /**
-     * Whether this metric has unreported data.
+     * The number of updates, needed to know whether this metric has unreported data.
      */
-    private boolean hasData;
+    private final LongAdder updates = new LongAdder();
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void update(final int value)
+    public void update(final int value)
     {
-        sum += value;
-        hasData = true;
+        sum.add(value);
+        updates.increment();
     }
 
     /**
@@ -47,23 +51,9 @@ public class CounterMetric implements Metric
      *
      * @return the total count, or <code>null</code> if no values have been added to this metric since last call
      */
-    public synchronized Long getCountAndClear()
+    public Long getCountAndClear()
     {
-        final Long count;
-
-        if (hasData)
-        {
-            count = sum;
-
-            // reset internal state
-            sum = 0;
-            hasData = false;
-        }
-        else
-        {
-            count = null;
-        }
-
-        return count;
+        // reset the update counter first so a concurrent update is never reported without its value
+        return updates.sumThenReset() > 0 ? Long.valueOf(sum.sumThenReset()) : null;
     }
 }
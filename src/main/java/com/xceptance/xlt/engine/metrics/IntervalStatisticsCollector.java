@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.xceptance.xlt.agentcontroller.IntervalStatistics;
+import com.xceptance.xlt.agentcontroller.TimerStatistics;
+import com.xceptance.xlt.api.engine.ActionData;
+import com.xceptance.xlt.api.engine.Data;
+import com.xceptance.xlt.api.engine.GlobalClock;
+import com.xceptance.xlt.api.engine.TimerData;
+import com.xceptance.xlt.api.engine.TransactionData;
+import com.xceptance.xlt.api.util.XltProperties;
+
+/**
+ * Collects mergeable runtime histograms, event counts, and error counts per transaction and action for consecutive
+ * time intervals. The agent passes the statistics of the most recent intervals on to the master controller as part of
+ * its status, so the master controller can show near real-time percentiles, throughput, and error rates without the
+ * need for an external reporting system.
+ * <p>
+ * Interval boundaries are aligned to multiples of the interval length, so the intervals of different agents match as
+ * long as their clocks are in sync. A record is assigned to an interval by its end time, and the first record that ends
+ * after the current interval completes that interval. Records that arrive after their interval was completed already
+ * are counted in the current interval. Without any records, the current interval is completed by the next query for
+ * the interval statistics instead.
+ * <p>
+ * Records are added under a shared lock, while an interval is completed under an exclusive lock, so no record can go
+ * to an interval that was completed already and get lost.
+ * <p>
+ * Note: This class is thread-safe.
+ */
+public class IntervalStatisticsCollector implements MetricsReporter
+{
+    private static final String PROP_PREFIX = Metrics.PROP_REP_PREFIX + "master.";
+
+    private static final String PROP_ENABLED = PROP_PREFIX + "enabled";
+
+    private static final String PROP_INTERVAL = PROP_PREFIX + "interval";
+
+    /**
+     * The number of completed intervals to keep.
+     */
+    static final int HISTORY_SIZE = 3;
+
+    private static final String TYPE_TRANSACTION = "Transaction";
+
+    private static final String TYPE_ACTION = "Action";
+
+    private static class LazySingletonHolder
+    {
+        /**
+         * The {@link IntervalStatisticsCollector} singleton.
+         */
+        private static final IntervalStatisticsCollector collector;
+
+        static
+        {
+            final XltProperties props = XltProperties.getInstance();
+
+            final boolean enabled = props.getProperty(PROP_ENABLED, false);
+            final int interval = props.getProperty(PROP_INTERVAL, 5);
+
+            collector = new IntervalStatisticsCollector(enabled, Math.max(1, interval) * 1000L);
+        }
+    }
+
+    /**
+     * Returns the {@link IntervalStatisticsCollector} singleton.
+     *
+     * @return the collector
+     */
+    public static IntervalStatisticsCollector getInstance()
+    {
+        return LazySingletonHolder.collector;
+    }
+
+    /**
+     * Whether statistics are to be collected at all.
+     */
+    private final boolean enabled;
+
+    /**
+     * The interval length [ms].
+     */
+    private final long interval;
+
+    /**
+     * The number of completed intervals to keep.
+     */
+    private final int historySize;
+
+    /**
+     * The most recently completed intervals, oldest first. Guarded by the write lock.
+     */
+    private final Deque<IntervalStatistics> history = new ArrayDeque<>();
+
+    /**
+     * The current interval, or <code>null</code> if there was neither a record nor a query yet.
+     */
+    private volatile Interval currentInterval;
+
+    /**
+     * Held shared while a record is added to the current interval and exclusively while the current interval is
+     * completed.
+     */
+    private final ReadWriteLock intervalLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor.
+     *
+     * @param enabled
+     *            whether statistics are to be collected
+     * @param interval
+     *            the interval length [ms]
+     */
+    IntervalStatisticsCollector(final boolean enabled, final long interval)
+    {
+        this(enabled, interval, HISTORY_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param enabled
+     *            whether statistics are to be collected
+     * @param interval
+     *            the interval length [ms]
+     * @param historySize
+     *            the number of completed intervals to keep
+     */
+    IntervalStatisticsCollector(final boolean enabled, final long interval, final int historySize)
+    {
+        this.enabled = enabled;
+        this.interval = interval;
+        this.historySize = historySize;
+    }
+
+    /**
+     * Returns whether statistics are collected.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> otherwise
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reportMetrics(final Data data)
+    {
+        if (data instanceof TransactionData)
+        {
+            update(TYPE_TRANSACTION, (TimerData) data);
+        }
+        else if (data instanceof ActionData)
+        {
+            update(TYPE_ACTION, (TimerData) data);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reportGauge(final String name, final double value)
+    {
+        // gauges are not passed on to the master controller
+    }
+
+    /**
+     * Returns the statistics of the most recently completed intervals, oldest first. Completes the current interval
+     * first if its end time has passed.
+     *
+     * @return the interval statistics (may be empty)
+     */
+    public List<IntervalStatistics> getIntervalStatistics()
+    {
+        return getIntervalStatistics(GlobalClock.get().millis());
+    }
+
+    /**
+     * Returns the statistics of the most recently completed intervals as of the given time, oldest first.
+     *
+     * @param now
+     *            the current time [ms]
+     * @return the interval statistics (may be empty)
+     */
+    List<IntervalStatistics> getIntervalStatistics(final long now)
+    {
+        final Lock writeLock = intervalLock.writeLock();
+        writeLock.lock();
+        try
+        {
+            if (enabled)
+            {
+                advance(now);
+            }
+
+            return new ArrayList<>(history);
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds the given timer data to the statistics of the interval it ended in.
+     */
+    private void update(final String type, final TimerData timerData)
+    {
+        final Lock readLock = intervalLock.readLock();
+        readLock.lock();
+        try
+        {
+            final Interval interval = currentInterval;
+            if (interval != null && timerData.getEndTime() < interval.endTime)
+            {
+                interval.update(type, timerData);
+                return;
+            }
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+
+        // the current interval needs to be completed first
+        final Lock writeLock = intervalLock.writeLock();
+        writeLock.lock();
+        try
+        {
+            advance(timerData.getEndTime()).update(type, timerData);
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Completes the current interval if the given time is past its end and starts the interval the given time falls
+     * into. Must be called with the write lock held.
+     *
+     * @param time
+     *            the time [ms]
+     * @return the current interval
+     */
+    private Interval advance(final long time)
+    {
+        final Interval interval = currentInterval;
+        if (interval != null && time < interval.endTime)
+        {
+            // still in the current interval (or already advanced by another thread)
+            return interval;
+        }
+
+        if (interval != null)
+        {
+            history.addLast(interval.complete());
+            while (history.size() > historySize)
+            {
+                history.removeFirst();
+            }
+        }
+
+        final long intervalStart = time - time % this.interval;
+        currentInterval = new Interval(intervalStart, intervalStart + this.interval);
+
+        return currentInterval;
+    }
+
+    /**
+     * The data of a single interval.
+     */
+    private static final class Interval
+    {
+        private final long startTime;
+
+        private final long endTime;
+
+        /**
+         * The data of this interval, keyed by timer type and name.
+         */
+        private final Map<String, TimerAccumulator> accumulators = new ConcurrentHashMap<>();
+
+        private Interval(final long startTime, final long endTime)
+        {
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        private void update(final String type, final TimerData timerData)
+        {
+            final String key = type + '\n' + timerData.getName();
+
+            TimerAccumulator accumulator = accumulators.get(key);
+            if (accumulator == null)
+            {
+                accumulator = accumulators.computeIfAbsent(key, k -> new TimerAccumulator(type, timerData.getName()));
+            }
+
+            accumulator.update(timerData);
+        }
+
+        /**
+         * Returns the statistics of the data accumulated in this interval.
+         */
+        private IntervalStatistics complete()
+        {
+            final List<TimerStatistics> timerStatistics = new ArrayList<>();
+            accumulators.values().forEach(a -> a.snapshot().ifPresent(timerStatistics::add));
+
+            return new IntervalStatistics(startTime, endTime, timerStatistics);
+        }
+    }
+
+    /**
+     * Accumulates the data of a single timer.
+     */
+    private static final class TimerAccumulator
+    {
+        private final String type;
+
+        private final String name;
+
+        private final ValueHistogram histogram = new ValueHistogram();
+
+        private final LongAdder errors = new LongAdder();
+
+        private TimerAccumulator(final String type, final String name)
+        {
+            this.type = type;
+            this.name = name;
+        }
+
+        private void update(final TimerData timerData)
+        {
+            histogram.update((int) Math.min(Integer.MAX_VALUE, timerData.getRunTime()));
+
+            if (timerData.hasFailed())
+            {
+                errors.increment();
+            }
+        }
+
+        /**
+         * Returns the data accumulated so far and resets this accumulator. Returns nothing if there was no data.
+         */
+        private Optional<TimerStatistics> snapshot()
+        {
+            final TimerStatistics statistics = new TimerStatistics(type, name, errors.sumThenReset(), histogram.getCountsAndClear());
+
+            return statistics.getCount() > 0 ? Optional.of(statistics) : Optional.empty();
+        }
+    }
+}
@@ -16,10 +16,13 @@
 package com.xceptance.xlt.engine.metrics;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
+
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +47,12 @@ public class Metrics
 
     private static final String PROP_REP_METRIC_NAME_PREFIX = PROP_REP_PREFIX + "metricNamePrefix";
 
+    private static final String PROP_REP_HISTOGRAMS_ENABLED = PROP_REP_PREFIX + "histograms.enabled";
+
+    private static final String PROP_REP_HISTOGRAMS_PERCENTILES = PROP_REP_PREFIX + "histograms.percentiles";
+
+    private static final String DEFAULT_PERCENTILES = "50, 95, 99";
+
     private static final String PROP_REP_PREFIX_GRAPHITE = PROP_REP_PREFIX + "graphite.";
 
     private static final String PROP_REP_GRAPHITE_SERVER = PROP_REP_PREFIX_GRAPHITE + "host";
@@ -72,6 +81,11 @@ public class Metrics
 
     private final List<MetricsReporter> _reporters;
 
+    /**
+     * The reporting interval [s].
+     */
+    private final int _reportingInterval;
+
     /**
      * Constructor.
      */
@@ -83,6 +97,7 @@ public class Metrics
         final boolean enabled = props.getProperty(PROP_REP_ENABLED, false);
         final int reportingInterval = props.getProperty(PROP_REP_INTERVAL, 5);
         final String metricsNamePrefix = props.getProperty(PROP_REP_METRIC_NAME_PREFIX, "");
+        final double[] percentiles = props.getProperty(PROP_REP_HISTOGRAMS_ENABLED, false) ? readPercentiles(props) : new double[0];
 
         // default to 'xlt.reporting.enabled' to ensure backward compatibility
         final boolean graphiteEnabled = props.getProperty(PROP_REP_PREFIX_GRAPHITE + "enabled", enabled);
@@ -98,13 +113,18 @@ public class Metrics
             if (graphiteEnabled)
             {
                 create("graphite", () -> new GraphiteMetricsReporter(reportingInterval, graphiteHost, graphitePort,
-                                                                     metricsNamePrefix)).ifPresent(reporters::add);
+                                                                     metricsNamePrefix, percentiles)).ifPresent(reporters::add);
             }
             if (otelEnabled)
             {
                 create("otel",
                        () -> new OtelMetricsReporter(OpenTelemetryFactory.create(props,
-                                                                                 (otelProps) -> Metrics.defaultOtelProps(otelProps)))).ifPresent(reporters::add);
+                                                                                 (otelProps) -> Metrics.defaultOtelProps(otelProps)),
+                                                     percentiles)).ifPresent(reporters::add);
+            }
+            if (IntervalStatisticsCollector.getInstance().isEnabled())
+            {
+                reporters.add(IntervalStatisticsCollector.getInstance());
             }
         }
         else
@@ -113,6 +133,27 @@ public class Metrics
         }
 
         this._reporters = List.copyOf(reporters);
+        this._reportingInterval = reportingInterval;
+    }
+
+    /**
+     * Returns whether at least one metrics reporter is active.
+     *
+     * @return <code>true</code> if metrics are reported, <code>false</code> otherwise
+     */
+    public boolean isEnabled()
+    {
+        return !this._reporters.isEmpty();
+    }
+
+    /**
+     * Returns the interval in which metrics are reported.
+     *
+     * @return the reporting interval [s]
+     */
+    public int getReportingInterval()
+    {
+        return this._reportingInterval;
     }
 
     /**
@@ -126,6 +167,70 @@ public class Metrics
         this._reporters.forEach((r) -> r.reportMetrics(data));
     }
 
+    /**
+     * Updates the gauge with the given name. Gauges represent sampled values that are not derived from data records,
+     * for example the current size of a connection pool.
+     *
+     * @param name
+     *            the name of the gauge
+     * @param value
+     *            the current value
+     */
+    public void updateGauge(final String name, final double value)
+    {
+        this._reporters.forEach((r) -> r.reportGauge(name, value));
+    }
+
+    /**
+     * Returns the name to use for the given percentile in metric names, for example "p95" or "p99_9".
+     *
+     * @param percentile
+     *            the percentile
+     * @return the name
+     */
+    public static String getPercentileName(final double percentile)
+    {
+        final String value = (percentile == Math.rint(percentile)) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+
+        return "p" + value.replace('.', '_');
+    }
+
+    /**
+     * Reads the percentiles to report for histogram metrics from the configuration.
+     *
+     * @param props
+     *            the configuration
+     * @return the percentiles
+     */
+    private static double[] readPercentiles(final XltProperties props)
+    {
+        final String value = props.getProperty(PROP_REP_HISTOGRAMS_PERCENTILES, DEFAULT_PERCENTILES);
+
+        try
+        {
+            final double[] percentiles = Arrays.stream(StringUtils.split(value, " ,;")).mapToDouble(Double::parseDouble).sorted().toArray();
+            for (final double percentile : percentiles)
+            {
+                if (percentile <= 0.0 || percentile > 100.0)
+                {
+                    throw new IllegalArgumentException(String.format("Value '%s' is not in range (0,100]", percentile));
+                }
+            }
+
+            return percentiles;
+        }
+        catch (final IllegalArgumentException e)
+        {
+            log.warn("Property '{}' is set to an invalid value '{}'. Will use '{}' instead.", PROP_REP_HISTOGRAMS_PERCENTILES, value,
+                     DEFAULT_PERCENTILES, e);
+
+            return new double[]
+                {
+                    50, 95, 99
+                };
+        }
+    }
+
     private static void defaultOtelProps(final Map<String, String> otelProps)
     {
         // add some default settings if not already present
@@ -20,4 +20,14 @@ import com.xceptance.xlt.api.engine.Data;
 public interface MetricsReporter
 {
     public void reportMetrics(final Data data);
+
+    /**
+     * Reports the current value of the gauge with the given name.
+     *
+     * @param name
+     *            the name of the gauge
+     * @param value
+     *            the current value
+     */
+    public void reportGauge(final String name, final double value);
 }
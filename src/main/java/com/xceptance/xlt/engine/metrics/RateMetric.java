@@ -15,10 +15,14 @@
  */
 package com.xceptance.xlt.engine.metrics;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * A metric for rate values. All reported counts are added to the total count and converted to the corresponding rate
  * value.
  * <p>
+ * Updates are lock-free and hardly contend, even if many threads update the same metric.
+ * <p>
  * Note: This class is thread-safe.
  */
 public class RateMetric implements Metric
@@ -26,7 +30,12 @@ public class RateMetric implements Metric
     /**
      * The total count (the sum of all values added).
      */
-    private long sum;
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The number of updates, needed to know whether this metric has unreported data.
+     */
+    private final LongAdder updates = new LongAdder();
 
     /**
      * The time the metric was reported the last time.
@@ -43,11 +52,6 @@ public class RateMetric implements Metric
      */
     private final long reportingInterval;
 
-    /**
-     * Whether this metric has unreported data.
-     */
-    private boolean hasData;
-
     /**
      * Constructor.
      *
@@ -66,10 +70,10 @@ public class RateMetric implements Metric
      * {@inheritDoc}
      */
     @Override
-    public synchronized void update(final int value)
+    public void update(final int value)
     {
-        sum += value;
-        hasData = true;
+        sum.add(value);
+        updates.increment();
     }
 
     /**
@@ -81,17 +85,16 @@ public class RateMetric implements Metric
     {
         final Double rate;
 
-        if (hasData)
+        // reset the update counter first so a concurrent update is never reported without its value
+        if (updates.sumThenReset() > 0)
         {
             // calculate rate
             final long now = System.nanoTime() / 1000000;
             final double duration = (time == 0) ? reportingInterval : now - time;
-            rate = (double) sum * rateInterval / duration;
+            rate = (double) sum.sumThenReset() * rateInterval / duration;
 
             // reset internal state
-            sum = 0;
             time = now;
-            hasData = false;
         }
         else
         {
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram for non-negative int values with log-linear buckets. Values up to 15 get a bucket of their
+ * own. Larger values are mapped to one of 16 sub-buckets per power of two, so the relative error of any percentile
+ * derived from this histogram is at most 1/16 (6.25%).
+ * <p>
+ * Updates only increment a single counter. Reading the bucket counts resets each counter atomically, so every value
+ * is reported exactly once, even if it is added while the counts are being read.
+ * <p>
+ * Note: This class is thread-safe.
+ */
+public class ValueHistogram
+{
+    /**
+     * The number of bits used for the sub-bucket index.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The total number of buckets needed to cover all non-negative int values.
+     */
+    static final int BUCKET_COUNT = getBucketIndex(Integer.MAX_VALUE) + 1;
+
+    /**
+     * The value count per bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Adds the given value to this histogram. Negative values are treated as 0.
+     *
+     * @param value
+     *            the value
+     */
+    public void update(final int value)
+    {
+        counts.incrementAndGet(getBucketIndex(Math.max(0, value)));
+    }
+
+    /**
+     * Returns the value count per bucket and resets the internal counters.
+     *
+     * @return the bucket counts
+     */
+    public long[] getCountsAndClear()
+    {
+        final long[] result = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++)
+        {
+            // avoid the write if there is nothing to reset
+            if (counts.get(i) != 0)
+            {
+                result[i] = counts.getAndSet(i, 0);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Determines the value at the given percentile from the given bucket counts. Returns the highest value that falls
+     * into the same bucket as the exact result.
+     *
+     * @param counts
+     *            the bucket counts as returned by {@link #getCountsAndClear()}
+     * @param totalCount
+     *            the sum of all bucket counts
+     * @param percentile
+     *            the percentile (0..100)
+     * @return the value at the percentile, or 0 if the histogram was empty
+     */
+    public static int getValueAtPercentile(final long[] counts, final long totalCount, final double percentile)
+    {
+        if (totalCount <= 0)
+        {
+            return 0;
+        }
+
+        final double p = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long rank = Math.max(1, (long) Math.ceil(p / 100.0 * totalCount));
+
+        long cumulativeCount = 0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= rank)
+            {
+                return getHighestValueInBucket(i);
+            }
+        }
+
+        return getHighestValueInBucket(counts.length - 1);
+    }
+
+    /**
+     * Returns the index of the bucket the given value belongs to.
+     *
+     * @param value
+     *            the non-negative value
+     * @return the bucket index
+     */
+    static int getBucketIndex(final int value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return value;
+        }
+
+        // the position of the highest bit set, at least SUB_BUCKET_BITS
+        final int exponent = 31 - Integer.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (value >>> shift) & (SUB_BUCKET_COUNT - 1);
+
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Returns the highest value that is mapped to the bucket with the given index.
+     *
+     * @param index
+     *            the bucket index
+     * @return the highest value in this bucket
+     */
+    public static int getHighestValueInBucket(final int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        final int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        final long lowestValue = (long) (SUB_BUCKET_COUNT + subBucket) << shift;
+
+        return (int) Math.min(Integer.MAX_VALUE, lowestValue + (1L << shift) - 1);
+    }
+}
@@ -15,63 +15,165 @@
  */
 package com.xceptance.xlt.engine.metrics;
 
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * A metric for fluctuating values. Maintains the minimum, the maximum, and the mean value calculated from all values
- * added.
+ * added. Optionally, it also maintains a histogram of the values to derive percentiles from.
+ * <p>
+ * Updates are lock-free and hardly contend, even if many threads update the same metric. Note that a snapshot is not
+ * an atomic view of the internal state: a value added while the snapshot is taken may contribute to some statistics of
+ * this interval and to the others of the next interval. No value gets lost, though.
  * <p>
  * Note: This class is thread-safe.
  */
 public class ValueMetric implements Metric
 {
     /**
-     * The current internal state.
+     * The number of values added.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of all values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The minimum value.
      */
-    private Snapshot snapshot = new Snapshot();
+    private final LongAccumulator minimum = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /**
+     * The maximum value.
+     */
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * The value histogram, or <code>null</code> if no percentiles are needed.
+     */
+    private final ValueHistogram histogram;
+
+    /**
+     * Creates a new value metric without a histogram.
+     */
+    public ValueMetric()
+    {
+        this(false);
+    }
+
+    /**
+     * Creates a new value metric.
+     *
+     * @param withHistogram
+     *            whether to maintain a histogram of the values as well
+     */
+    public ValueMetric(final boolean withHistogram)
+    {
+        histogram = withHistogram ? new ValueHistogram() : null;
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public synchronized void update(final int value)
+    public void update(final int value)
     {
-        snapshot.update(value);
+        sum.add(value);
+        minimum.accumulate(value);
+        maximum.accumulate(value);
+
+        if (histogram != null)
+        {
+            histogram.update(value);
+        }
+
+        // update the count last as it decides whether there is any data to report
+        count.increment();
     }
 
     /**
      * Returns a snapshot of the current internal state and resets the internal state.
      */
-    public synchronized Snapshot getSnapshotAndClear()
+    public Snapshot getSnapshotAndClear()
     {
-        final Snapshot oldSnapshot = snapshot;
-        snapshot = new Snapshot();
+        final long n = count.sumThenReset();
+        if (n == 0)
+        {
+            // leave the rest alone as a concurrent update may be in progress
+            return new Snapshot(0, 0, 0, 0, null);
+        }
+
+        final long[] histogramCounts = (histogram == null) ? null : histogram.getCountsAndClear();
+
+        long min = minimum.getThenReset();
+        long max = maximum.getThenReset();
+        if (min > max)
+        {
+            // only values whose minimum/maximum have already been reported with the previous snapshot
+            min = max = 0;
+        }
 
-        return oldSnapshot;
+        return new Snapshot(n, sum.sumThenReset(), (int) min, (int) max, histogramCounts);
     }
 
     /**
-     * Represents the current internal state.
+     * Represents the internal state at a certain point in time.
      */
     public static final class Snapshot
     {
         /**
          * The number of values added.
          */
-        private int count;
+        private final long count;
 
         /**
          * The maximum value.
          */
-        private int maximum = Integer.MIN_VALUE;
+        private final int maximum;
 
         /**
          * The minimum value.
          */
-        private int minimum = Integer.MAX_VALUE;
+        private final int minimum;
 
         /**
          * The sum of all values.
          */
-        private long sum;
+        private final long sum;
+
+        /**
+         * The histogram bucket counts, or <code>null</code> if there is no histogram.
+         */
+        private final long[] histogramCounts;
+
+        /**
+         * The sum of all histogram bucket counts.
+         */
+        private final long histogramCount;
+
+        /**
+         * Constructor.
+         */
+        private Snapshot(final long count, final long sum, final int minimum, final int maximum, final long[] histogramCounts)
+        {
+            this.count = count;
+            this.sum = sum;
+            this.minimum = minimum;
+            this.maximum = maximum;
+            this.histogramCounts = histogramCounts;
+
+            long total = 0;
+            if (histogramCounts != null)
+            {
+                for (final long c : histogramCounts)
+                {
+                    total += c;
+                }
+            }
+            histogramCount = total;
+        }
 
         /**
          * Returns the number of values added.
@@ -124,26 +226,25 @@ public class ValueMetric implements Metric
         }
 
         /**
-         * Updates the internal state with the given value.
+         * Returns whether percentiles are available for this snapshot.
          *
-         * @param value
-         *            the value
+         * @return <code>true</code> if the metric maintains a histogram and values have been added
          */
-        private void update(final int value)
+        public boolean hasPercentiles()
         {
-            count++;
-
-            if (value > maximum)
-            {
-                maximum = value;
-            }
-
-            if (value < minimum)
-            {
-                minimum = value;
-            }
+            return histogramCount > 0;
+        }
 
-            sum += value;
+        /**
+         * Returns the (approximated) value at the given percentile.
+         *
+         * @param percentile
+         *            the percentile (0..100)
+         * @return the value, or 0 if no percentiles are available
+         */
+        public int getPercentile(final double percentile)
+        {
+            return hasPercentiles() ? ValueHistogram.getValueAtPercentile(histogramCounts, histogramCount, percentile) : 0;
         }
     }
 }
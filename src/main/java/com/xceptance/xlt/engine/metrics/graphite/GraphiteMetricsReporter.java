@@ -32,6 +32,7 @@ import com.xceptance.xlt.api.engine.EventData;
 import com.xceptance.xlt.api.engine.PageLoadTimingData;
 import com.xceptance.xlt.api.engine.RequestData;
 import com.xceptance.xlt.api.engine.Session;
+import com.xceptance.xlt.api.engine.TimerData;
 import com.xceptance.xlt.api.engine.TransactionData;
 import com.xceptance.xlt.engine.metrics.CounterMetric;
 import com.xceptance.xlt.engine.metrics.Metric;
@@ -49,6 +50,11 @@ public class GraphiteMetricsReporter implements MetricsReporter
 
     private final int reportingInterval;
 
+    /**
+     * Whether runtime metrics maintain a histogram to report percentiles.
+     */
+    private final boolean histogramsEnabled;
+
     /**
      * The current agent's ID. All characters illegal for Graphite have been sanitized.
      */
@@ -59,10 +65,65 @@ public class GraphiteMetricsReporter implements MetricsReporter
      */
     private final Map<String, Metric> metricsRegistry = new ConcurrentHashMap<String, Metric>();
 
-    public GraphiteMetricsReporter(final int interval, final String host, final int port, String metricsNamePrefix)
+    /**
+     * The metrics per timer name, keyed by the unsanitized timer name. Caching them avoids building and sanitizing
+     * metric names each time a data record is reported.
+     */
+    private final Map<String, TimerMetrics> transactionMetrics = new ConcurrentHashMap<>();
+
+    private final Map<String, TimerMetrics> actionMetrics = new ConcurrentHashMap<>();
+
+    private final Map<String, TimerMetrics> requestMetrics = new ConcurrentHashMap<>();
+
+    private final Map<String, TimerMetrics> pageLoadTimingMetrics = new ConcurrentHashMap<>();
+
+    private final Map<String, TimerMetrics> customTimerMetrics = new ConcurrentHashMap<>();
+
+    /**
+     * The summary metrics per timer type.
+     */
+    private final TimerMetrics transactionSummaryMetrics;
+
+    private final TimerMetrics actionSummaryMetrics;
+
+    private final TimerMetrics requestSummaryMetrics;
+
+    private final TimerMetrics pageLoadTimingSummaryMetrics;
+
+    private final TimerMetrics customTimerSummaryMetrics;
+
+    private final Metric bytesSentSummaryMetric;
+
+    private final Metric bytesReceivedSummaryMetric;
+
+    private final Metric eventSummaryMetric;
+
+    public GraphiteMetricsReporter(final int interval, final String host, final int port, final String metricsNamePrefix)
+        throws UnknownHostException, IllegalArgumentException
+    {
+        this(interval, host, port, metricsNamePrefix, new double[0]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param interval
+     *            the reporting interval [s]
+     * @param host
+     *            the Graphite host
+     * @param port
+     *            the Graphite port
+     * @param metricsNamePrefix
+     *            the prefix to add to each metric name
+     * @param percentiles
+     *            the percentiles to report for runtime metrics (may be empty)
+     */
+    public GraphiteMetricsReporter(final int interval, final String host, final int port, String metricsNamePrefix,
+                                   final double[] percentiles)
         throws UnknownHostException, IllegalArgumentException
     {
         this.reportingInterval = interval * ONE_SEC;
+        this.histogramsEnabled = percentiles.length > 0;
 
         // sanitize the metric name prefix and add a trailing dot if not present yet
         metricsNamePrefix = sanitizeFullMetricName(metricsNamePrefix);
@@ -74,8 +135,23 @@ public class GraphiteMetricsReporter implements MetricsReporter
         // get and sanitize the current agent's ID now, we will need it often
         sanitizedAgentId = sanitizeMetricNamePart(Session.getCurrent().getAgentID());
 
+        // set up the summary metrics
+        final String summaryMetricPrefix = sanitizedAgentId + ".summary.";
+        transactionSummaryMetrics = new TimerMetrics(summaryMetricPrefix + "transactions.", true, true);
+        actionSummaryMetrics = new TimerMetrics(summaryMetricPrefix + "actions.", true, false);
+        requestSummaryMetrics = new TimerMetrics(summaryMetricPrefix + "requests.", true, false);
+        pageLoadTimingSummaryMetrics = new TimerMetrics(summaryMetricPrefix + "pageLoadTimings.", true, false);
+        customTimerSummaryMetrics = new TimerMetrics(summaryMetricPrefix + "custom.", true, false);
+
+        bytesSentSummaryMetric = getExistingOrAddNewMetric(summaryMetricPrefix + "requests.bytesSent_1s",
+                                                           new RateMetric(ONE_SEC, reportingInterval));
+        bytesReceivedSummaryMetric = getExistingOrAddNewMetric(summaryMetricPrefix + "requests.bytesReceived_1s",
+                                                               new RateMetric(ONE_SEC, reportingInterval));
+        eventSummaryMetric = getExistingOrAddNewMetric(summaryMetricPrefix + "events.count", new CounterMetric());
+
         final PlainTextCarbonClient carbonClient = new PlainTextCarbonClient(host, port);
-        final GraphiteReporter reporter = new GraphiteReporter(carbonClient, metricsRegistry, metricsNamePrefix, reportingInterval);
+        final GraphiteReporter reporter = new GraphiteReporter(carbonClient, metricsRegistry, metricsNamePrefix, reportingInterval,
+                                                               percentiles);
         reporter.start();
 
         if (log.isInfoEnabled())
@@ -94,23 +170,23 @@ public class GraphiteMetricsReporter implements MetricsReporter
         }
         else if (data instanceof ActionData)
         {
-            updateActionMetrics((ActionData) data);
+            updateTimerMetrics(actionMetrics, "actions", false, actionSummaryMetrics, (ActionData) data);
         }
         else if (data instanceof TransactionData)
         {
-            updateTransactionMetrics((TransactionData) data);
+            updateTimerMetrics(transactionMetrics, "transactions", true, transactionSummaryMetrics, (TransactionData) data);
         }
         else if (data instanceof PageLoadTimingData)
         {
-            updatePageLoadTimingMetrics((PageLoadTimingData) data);
+            updateTimerMetrics(pageLoadTimingMetrics, "pageLoadTimings", false, pageLoadTimingSummaryMetrics, (PageLoadTimingData) data);
         }
         else if (data instanceof CustomData)
         {
-            updateCustomTimerMetrics((CustomData) data);
+            updateTimerMetrics(customTimerMetrics, "custom", false, customTimerSummaryMetrics, (CustomData) data);
         }
         else if (data instanceof EventData)
         {
-            updateEventMetrics((EventData) data);
+            eventSummaryMetric.update(1);
         }
         else if (data instanceof JvmResourceUsageData)
         {
@@ -118,40 +194,11 @@ public class GraphiteMetricsReporter implements MetricsReporter
         }
     }
 
-    private void updateTransactionMetrics(final TransactionData transactionData)
+    @Override
+    public void reportGauge(final String name, final double value)
     {
-        // metrics per transaction name
-        final String sanitizedName = sanitizeMetricNamePart(transactionData.getName());
-        final String metricPrefix = sanitizedAgentId + ".transactions." + sanitizedName + ".";
-
-        updateValueMetric(metricPrefix + "runtime", (int) transactionData.getRunTime());
-        updateCounterMetric(metricPrefix + "errors", transactionData.hasFailed() ? 1 : 0);
-        updateRateMetric(metricPrefix + "arrivals_1h", 1, ONE_HOUR, reportingInterval);
-
-        // summary metrics
-        final String summaryMetricPrefix = sanitizedAgentId + ".summary.transactions.";
-
-        updateValueMetric(summaryMetricPrefix + "runtime", (int) transactionData.getRunTime());
-        updateCounterMetric(summaryMetricPrefix + "count", 1);
-        updateCounterMetric(summaryMetricPrefix + "errors", transactionData.hasFailed() ? 1 : 0);
-        updateRateMetric(summaryMetricPrefix + "arrivals_1h", 1, ONE_HOUR, reportingInterval);
-    }
-
-    private void updateActionMetrics(final ActionData actionData)
-    {
-        // metrics per action name
-        final String sanitizedName = sanitizeMetricNamePart(actionData.getName());
-        final String metricPrefix = sanitizedAgentId + ".actions." + sanitizedName + ".";
-
-        updateValueMetric(metricPrefix + "runtime", (int) actionData.getRunTime());
-        updateCounterMetric(metricPrefix + "errors", actionData.hasFailed() ? 1 : 0);
-
-        // summary metrics
-        final String summaryMetricPrefix = sanitizedAgentId + ".summary.actions.";
-
-        updateValueMetric(summaryMetricPrefix + "runtime", (int) actionData.getRunTime());
-        updateCounterMetric(summaryMetricPrefix + "count", 1);
-        updateCounterMetric(summaryMetricPrefix + "errors", actionData.hasFailed() ? 1 : 0);
+        // gauges are reported per agent
+        updateValueMetric(sanitizedAgentId + ".agent." + sanitizeFullMetricName(name), (int) Math.round(value));
     }
 
     private void updateRequestMetrics(final RequestData requestData)
@@ -159,63 +206,51 @@ public class GraphiteMetricsReporter implements MetricsReporter
         // first get rid of the sub request numbering ("Foo.1.1" -> "Foo")
         final String strippedRequestName = StringUtils.substringBefore(requestData.getName(), ".");
 
-        // metrics per request name
-        final String sanitizedName = sanitizeMetricNamePart(strippedRequestName);
-        final String metricPrefix = sanitizedAgentId + ".requests." + sanitizedName + ".";
-
-        updateValueMetric(metricPrefix + "runtime", (int) requestData.getRunTime());
-        updateCounterMetric(metricPrefix + "errors", requestData.hasFailed() ? 1 : 0);
-
-        // summary metrics
-        final String summaryMetricPrefix = sanitizedAgentId + ".summary.requests.";
+        updateTimerMetrics(requestMetrics, "requests", false, requestSummaryMetrics, strippedRequestName, requestData);
 
-        updateValueMetric(summaryMetricPrefix + "runtime", (int) requestData.getRunTime());
-        updateCounterMetric(summaryMetricPrefix + "count", 1);
-        updateCounterMetric(summaryMetricPrefix + "errors", requestData.hasFailed() ? 1 : 0);
-        updateRateMetric(summaryMetricPrefix + "bytesSent_1s", requestData.getBytesSent(), ONE_SEC, reportingInterval);
-        updateRateMetric(summaryMetricPrefix + "bytesReceived_1s", requestData.getBytesReceived(), ONE_SEC, reportingInterval);
+        bytesSentSummaryMetric.update(requestData.getBytesSent());
+        bytesReceivedSummaryMetric.update(requestData.getBytesReceived());
     }
 
-    private void updatePageLoadTimingMetrics(final PageLoadTimingData pageLoadTimingData)
+    /**
+     * Updates the metrics for the given timer data, both the metrics for the timer's name and the summary metrics.
+     *
+     * @param metricsByName
+     *            the metrics cache for the timer type
+     * @param category
+     *            the metric name part for the timer type
+     * @param withArrivals
+     *            whether to maintain an arrival rate as well
+     * @param summaryMetrics
+     *            the summary metrics for the timer type
+     * @param timerData
+     *            the timer data
+     */
+    private void updateTimerMetrics(final Map<String, TimerMetrics> metricsByName, final String category, final boolean withArrivals,
+                                    final TimerMetrics summaryMetrics, final TimerData timerData)
     {
-        // metrics per page load timing name
-        final String sanitizedName = sanitizeMetricNamePart(pageLoadTimingData.getName());
-        final String metricPrefix = sanitizedAgentId + ".pageLoadTimings." + sanitizedName + ".";
-
-        updateValueMetric(metricPrefix + "runtime", (int) pageLoadTimingData.getRunTime());
-        updateCounterMetric(metricPrefix + "errors", pageLoadTimingData.hasFailed() ? 1 : 0);
-
-        // summary metrics
-        final String summaryMetricPrefix = sanitizedAgentId + ".summary.pageLoadTimings.";
-
-        updateValueMetric(summaryMetricPrefix + "runtime", (int) pageLoadTimingData.getRunTime());
-        updateCounterMetric(summaryMetricPrefix + "count", 1);
-        updateCounterMetric(summaryMetricPrefix + "errors", pageLoadTimingData.hasFailed() ? 1 : 0);
+        updateTimerMetrics(metricsByName, category, withArrivals, summaryMetrics, timerData.getName(), timerData);
     }
 
-    private void updateCustomTimerMetrics(final CustomData customData)
+    /**
+     * Updates the metrics for the given timer data using the given name, both the metrics for this name and the summary
+     * metrics.
+     */
+    private void updateTimerMetrics(final Map<String, TimerMetrics> metricsByName, final String category, final boolean withArrivals,
+                                    final TimerMetrics summaryMetrics, final String name, final TimerData timerData)
     {
-        // metrics per custom timer name
-        final String sanitizedName = sanitizeMetricNamePart(customData.getName());
-        final String metricPrefix = sanitizedAgentId + ".custom." + sanitizedName + ".";
-
-        updateValueMetric(metricPrefix + "runtime", (int) customData.getRunTime());
-        updateCounterMetric(metricPrefix + "errors", customData.hasFailed() ? 1 : 0);
-
-        // summary metrics
-        final String summaryMetricPrefix = sanitizedAgentId + ".summary.custom.";
-
-        updateValueMetric(summaryMetricPrefix + "runtime", (int) customData.getRunTime());
-        updateCounterMetric(summaryMetricPrefix + "count", 1);
-        updateCounterMetric(summaryMetricPrefix + "errors", customData.hasFailed() ? 1 : 0);
-    }
+        TimerMetrics metrics = metricsByName.get(name);
+        if (metrics == null)
+        {
+            metrics = metricsByName.computeIfAbsent(name, n -> new TimerMetrics(sanitizedAgentId + "." + category + "." +
+                                                                                sanitizeMetricNamePart(n) + ".", false, withArrivals));
+        }
 
-    private void updateEventMetrics(final EventData eventData)
-    {
-        // summary metrics
-        final String summaryMetricPrefix = sanitizedAgentId + ".summary.events.";
+        final int runTime = (int) timerData.getRunTime();
+        final boolean failed = timerData.hasFailed();
 
-        updateCounterMetric(summaryMetricPrefix + "count", 1);
+        metrics.update(runTime, failed);
+        summaryMetrics.update(runTime, failed);
     }
 
     private void updateJvmMetrics(final JvmResourceUsageData jvmData)
@@ -227,48 +262,6 @@ public class GraphiteMetricsReporter implements MetricsReporter
         updateValueMetric(metricPrefix + "totalCpuUsage", (int) jvmData.getTotalCpuUsage());
     }
 
-    /**
-     * Updates the counter metric with the given name.
-     *
-     * @param metricName
-     *            the name of the metric
-     * @param value
-     *            the value to add to the counter
-     */
-    private void updateCounterMetric(final String metricName, final int value)
-    {
-        Metric metric = metricsRegistry.get(metricName);
-        if (metric == null)
-        {
-            metric = getExistingOrAddNewMetric(metricName, new CounterMetric());
-        }
-
-        metric.update(value);
-    }
-
-    /**
-     * Updates the rate metric with the given name.
-     *
-     * @param metricName
-     *            the name of the metric
-     * @param value
-     *            the value to add
-     * @param rateInterval
-     *            the rate interval [ms]
-     * @param reportingInterval
-     *            the reporting interval [ms]
-     */
-    private void updateRateMetric(final String metricName, final int value, final int rateInterval, final int reportingInterval)
-    {
-        Metric metric = metricsRegistry.get(metricName);
-        if (metric == null)
-        {
-            metric = getExistingOrAddNewMetric(metricName, new RateMetric(rateInterval, reportingInterval));
-        }
-
-        metric.update(value);
-    }
-
     /**
      * Updates the value metric with the given name.
      *
@@ -297,9 +290,10 @@ public class GraphiteMetricsReporter implements MetricsReporter
      * @param newMetric
      *            the metric to add in case there is no such metric yet
      */
-    private synchronized Metric getExistingOrAddNewMetric(final String metricName, final Metric newMetric)
+    private synchronized <T extends Metric> T getExistingOrAddNewMetric(final String metricName, final T newMetric)
     {
-        Metric metric = metricsRegistry.get(metricName);
+        @SuppressWarnings("unchecked")
+        T metric = (T) metricsRegistry.get(metricName);
         if (metric == null)
         {
             metric = newMetric;
@@ -367,4 +361,60 @@ public class GraphiteMetricsReporter implements MetricsReporter
         return new String(chars);
     }
 
+    /**
+     * The metrics maintained for a timer name or for all timers of a certain type.
+     */
+    private final class TimerMetrics
+    {
+        private final ValueMetric runtime;
+
+        private final CounterMetric errors;
+
+        private final CounterMetric count;
+
+        private final RateMetric arrivals;
+
+        /**
+         * Constructor. Registers all metrics.
+         *
+         * @param metricPrefix
+         *            the sanitized prefix of all metric names
+         * @param withCount
+         *            whether to maintain a count
+         * @param withArrivals
+         *            whether to maintain an arrival rate
+         */
+        private TimerMetrics(final String metricPrefix, final boolean withCount, final boolean withArrivals)
+        {
+            runtime = getExistingOrAddNewMetric(metricPrefix + "runtime", new ValueMetric(histogramsEnabled));
+            errors = getExistingOrAddNewMetric(metricPrefix + "errors", new CounterMetric());
+            count = withCount ? getExistingOrAddNewMetric(metricPrefix + "count", new CounterMetric()) : null;
+            arrivals = withArrivals ? getExistingOrAddNewMetric(metricPrefix + "arrivals_1h", new RateMetric(ONE_HOUR, reportingInterval))
+                                    : null;
+        }
+
+        /**
+         * Updates the metrics.
+         *
+         * @param runTime
+         *            the timer's runtime
+         * @param failed
+         *            whether the timer failed
+         */
+        private void update(final int runTime, final boolean failed)
+        {
+            runtime.update(runTime);
+            errors.update(failed ? 1 : 0);
+
+            if (count != null)
+            {
+                count.update(1);
+            }
+
+            if (arrivals != null)
+            {
+                arrivals.update(1);
+            }
+        }
+    }
 }
@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import com.xceptance.xlt.api.engine.GlobalClock;
 import com.xceptance.xlt.engine.metrics.CounterMetric;
 import com.xceptance.xlt.engine.metrics.Metric;
+import com.xceptance.xlt.engine.metrics.Metrics;
 import com.xceptance.xlt.engine.metrics.RateMetric;
 import com.xceptance.xlt.engine.metrics.ValueMetric;
 import com.xceptance.xlt.engine.metrics.ValueMetric.Snapshot;
@@ -50,6 +51,11 @@ public class GraphiteReporter
 
     private final long interval;
 
+    /**
+     * The percentiles to report for value metrics that maintain a histogram.
+     */
+    private final double[] percentiles;
+
     private volatile long lastReportingTime;
 
     /**
@@ -67,6 +73,27 @@ public class GraphiteReporter
     public GraphiteReporter(final PlainTextCarbonClient carbonClient, final Map<String, Metric> metrics, final String metricNamePrefix,
                             final int interval)
     {
+        this(carbonClient, metrics, metricNamePrefix, interval, new double[0]);
+    }
+
+    /**
+     * Creates the reporter.
+     *
+     * @param carbonClient
+     *            the Carbon client
+     * @param metrics
+     *            all the metrics keyed by metric name
+     * @param metricNamePrefix
+     *            the prefix to add to the metric's name before publishing the metric
+     * @param interval
+     *            the publishing interval [ms]
+     * @param percentiles
+     *            the percentiles to publish for value metrics that maintain a histogram
+     */
+    public GraphiteReporter(final PlainTextCarbonClient carbonClient, final Map<String, Metric> metrics, final String metricNamePrefix,
+                            final int interval, final double[] percentiles)
+    {
+        this.percentiles = percentiles.clone();
         this.metrics = metrics;
         this.carbonClient = carbonClient;
         this.metricNamePrefix = metricNamePrefix;
@@ -221,6 +248,17 @@ public class GraphiteReporter
             carbonClient.send(prefix(metricName, "min"), format(snapshot.getMinimum()), timestamp);
 
             metricCount += 3;
+
+            if (snapshot.hasPercentiles())
+            {
+                for (final double percentile : percentiles)
+                {
+                    carbonClient.send(prefix(metricName, Metrics.getPercentileName(percentile)), format(snapshot.getPercentile(percentile)),
+                                      timestamp);
+                }
+
+                metricCount += percentiles.length;
+            }
         }
     }
 
@@ -36,7 +36,9 @@ import com.xceptance.xlt.api.engine.RequestData;
 import com.xceptance.xlt.api.engine.Session;
 import com.xceptance.xlt.api.engine.TimerData;
 import com.xceptance.xlt.api.engine.TransactionData;
+import com.xceptance.xlt.engine.metrics.Metrics;
 import com.xceptance.xlt.engine.metrics.MetricsReporter;
+import com.xceptance.xlt.engine.metrics.ValueMetric;
 
 import io.opentelemetry.api.OpenTelemetry;
 import io.opentelemetry.api.common.AttributeKey;
@@ -80,6 +82,8 @@ public class OtelMetricsReporter implements MetricsReporter
         static final AttributeKey<String> REQUEST_HOST = AttributeKey.stringKey("xlt.request.target_host");
 
         static final AttributeKey<List<String>> REQUEST_IPS = AttributeKey.stringArrayKey("xlt.request.target_ip_address");
+
+        static final AttributeKey<String> PERCENTILE = AttributeKey.stringKey("xlt.percentile");
     }
 
     private static final String LOG_TYPE_ERROR = "error";
@@ -92,9 +96,34 @@ public class OtelMetricsReporter implements MetricsReporter
 
     private final Map<String, Object> instruments = new ConcurrentHashMap<>();
 
+    /**
+     * The percentiles to report for runtime values (empty if disabled).
+     */
+    private final double[] _percentiles;
+
+    /**
+     * The runtime histograms keyed by instrument name prefix and timer name (empty for totals). The histograms are
+     * updated lock-free when a data record is reported, and read and reset only when the metrics are exported.
+     */
+    private final Map<String, Map<String, ValueMetric>> runtimeHistograms = new ConcurrentHashMap<>();
+
     public OtelMetricsReporter(final OpenTelemetry otel)
+    {
+        this(otel, new double[0]);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param otel
+     *            the OpenTelemetry instance to use
+     * @param percentiles
+     *            the runtime percentiles to report per export interval (may be empty)
+     */
+    public OtelMetricsReporter(final OpenTelemetry otel, final double[] percentiles)
     {
         this._otel = otel;
+        this._percentiles = percentiles.clone();
     }
 
     @Override
@@ -130,6 +159,12 @@ public class OtelMetricsReporter implements MetricsReporter
         }
     }
 
+    @Override
+    public void reportGauge(final String name, final double value)
+    {
+        getOrCreateInstrument(name, (instrumentName) -> getMeter().gaugeBuilder(instrumentName).build()).set(value);
+    }
+
     @SuppressWarnings("unchecked")
     private <T> T getOrCreateInstrument(final String name, Function<String, T> instrumentCreator)
     {
@@ -225,6 +260,61 @@ public class OtelMetricsReporter implements MetricsReporter
 
         doUpdateTimerMetricInstruments(totalsInstrumentNamePrefix, timerFailed, timerRuntime, countUnitName, runtimeBuckets, null);
         doUpdateTimerMetricInstruments(instrumentNamePrefix, timerFailed, timerRuntime, countUnitName, runtimeBuckets, attributes);
+
+        if (_percentiles.length > 0)
+        {
+            updateRuntimeHistogram(totalsInstrumentNamePrefix, "", (int) data.getRunTime());
+            updateRuntimeHistogram(instrumentNamePrefix, data.getName(), (int) data.getRunTime());
+        }
+    }
+
+    private void updateRuntimeHistogram(final String prefix, final String timerName, final int runtime)
+    {
+        Map<String, ValueMetric> histograms = runtimeHistograms.get(prefix);
+        if (histograms == null)
+        {
+            histograms = runtimeHistograms.computeIfAbsent(prefix, this::createRuntimeHistograms);
+        }
+
+        ValueMetric histogram = histograms.get(timerName);
+        if (histogram == null)
+        {
+            histogram = histograms.computeIfAbsent(timerName, (name) -> new ValueMetric(true));
+        }
+
+        histogram.update(runtime);
+    }
+
+    /**
+     * Creates the map of runtime histograms for the given instrument name prefix and registers an observable gauge
+     * that reports the configured percentiles of each histogram whenever the metrics are exported.
+     */
+    private Map<String, ValueMetric> createRuntimeHistograms(final String prefix)
+    {
+        final Map<String, ValueMetric> histograms = new ConcurrentHashMap<>();
+
+        final String name = sanitizeInstrumentName(INSTRUMENT_NAME_PREFIX + prefix + ".runtime_percentiles");
+        getMeter().gaugeBuilder(name).setUnit(sanitizeInstrumentUnit("s")).buildWithCallback((measurement) -> {
+            histograms.forEach((timerName, histogram) -> {
+                final ValueMetric.Snapshot snapshot = histogram.getSnapshotAndClear();
+                if (snapshot.hasPercentiles())
+                {
+                    for (final double percentile : _percentiles)
+                    {
+                        final AttributesBuilder builder = Attributes.builder();
+                        if (!timerName.isEmpty())
+                        {
+                            builder.put(MetricDataAttributes.TIMER_NAME, timerName);
+                        }
+                        builder.put(MetricDataAttributes.PERCENTILE, Metrics.getPercentileName(percentile));
+
+                        measurement.record(snapshot.getPercentile(percentile) / 1000d, builder.build());
+                    }
+                }
+            });
+        });
+
+        return histograms;
     }
 
     private void doUpdateTimerMetricInstruments(final String prefix, final boolean hasFailed, final double runtime,
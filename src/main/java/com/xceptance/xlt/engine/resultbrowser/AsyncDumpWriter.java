@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.xceptance.common.lang.ParseNumbers;
+import com.xceptance.xlt.api.engine.CustomValue;
+import com.xceptance.xlt.api.engine.GlobalClock;
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.engine.SessionImpl;
+import com.xceptance.xlt.engine.XltEngine;
+import com.xceptance.xlt.engine.XltThreadFactory;
+import com.xceptance.xlt.util.XltPropertiesImpl;
+
+/**
+ * Writes result browser dumps in the background during load tests, so that the virtual users do not have to wait for
+ * DOM printing, CSS rewriting, and JSON/HAR generation when their session has failed.
+ * <p>
+ * The virtual user hands over a snapshot of its request history, which is then written by a fixed number of worker
+ * threads (the CPU budget). Pending dumps are held in a bounded queue. If the queue is full, a new dump is either
+ * dropped or the virtual user waits until there is room again. Once the dumps written so far have reached the
+ * configured maximum disk usage (the disk budget), any further dump is dropped. Each dropped dump and each wait is
+ * recorded as custom value of the session, so it shows up in the load test report:
+ * <ul>
+ * <li>{@value #DROPPED_DUMP_VALUE_NAME}: a dump was dropped (value: 1)</li>
+ * <li>{@value #BLOCKED_DUMP_VALUE_NAME}: the user had to wait for room in the queue (value: wait time [ms])</li>
+ * </ul>
+ * Note: This class is thread-safe.
+ */
+public class AsyncDumpWriter
+{
+    /**
+     * The property whether to write dumps in the background during load tests.
+     */
+    static final String ASYNC_PROPERTY = RequestHistory.OUTPUT2DISK_ERROR_PROPERTY + ".async";
+
+    /**
+     * The property for the number of worker threads.
+     */
+    static final String THREADS_PROPERTY = ASYNC_PROPERTY + ".threads";
+
+    /**
+     * The property for the maximum number of pending dumps.
+     */
+    static final String QUEUE_SIZE_PROPERTY = ASYNC_PROPERTY + ".queueSize";
+
+    /**
+     * The property whether to drop a dump or to let the user wait if the queue is full.
+     */
+    static final String BLOCK_WHEN_FULL_PROPERTY = ASYNC_PROPERTY + ".blockWhenFull";
+
+    /**
+     * The property for the maximum number of bytes all dumps may occupy on disk.
+     */
+    static final String MAX_DISK_USAGE_PROPERTY = ASYNC_PROPERTY + ".maxDiskUsage";
+
+    /**
+     * The name of the custom value recorded for a dropped dump.
+     */
+    public static final String DROPPED_DUMP_VALUE_NAME = "DroppedResultBrowserDump";
+
+    /**
+     * The name of the custom value recorded if a user had to wait to hand over its dump.
+     */
+    public static final String BLOCKED_DUMP_VALUE_NAME = "BlockedResultBrowserDump";
+
+    /**
+     * A dump task.
+     */
+    @FunctionalInterface
+    interface DumpTask
+    {
+        /**
+         * Writes the dump.
+         *
+         * @return the number of bytes written to disk
+         */
+        long write();
+
+        /**
+         * Releases any resources held by the dump if it was accepted, but cannot be written anymore.
+         */
+        default void discard()
+        {
+        }
+    }
+
+    /**
+     * The task that tells a worker thread to stop.
+     */
+    private static final DumpTask STOP = () -> 0;
+
+    /**
+     * Whether to write dumps in the background.
+     */
+    private final boolean enabled;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int threadCount;
+
+    /**
+     * Whether to let users wait if the queue is full.
+     */
+    private final boolean blockWhenFull;
+
+    /**
+     * The maximum number of bytes all dumps may occupy on disk (0 for no limit).
+     */
+    private final long maxDiskUsage;
+
+    /**
+     * The pending dumps.
+     */
+    private final BlockingQueue<DumpTask> queue;
+
+    /**
+     * The worker threads, started on demand.
+     */
+    private final List<Thread> workers = new ArrayList<>();
+
+    /**
+     * Whether the writer has been shut down.
+     */
+    private volatile boolean shutDown;
+
+    /**
+     * Guards the shut-down flag. Submitting a dump holds the read lock while checking the flag and enqueuing the dump,
+     * shutting down holds the write lock while setting the flag, so no dump is enqueued after the workers were told to
+     * stop.
+     */
+    private final ReadWriteLock shutDownLock = new ReentrantReadWriteLock();
+
+    /**
+     * The number of bytes written so far.
+     */
+    private final AtomicLong diskUsage = new AtomicLong();
+
+    /**
+     * The number of dumps written.
+     */
+    private final AtomicLong writtenDumps = new AtomicLong();
+
+    /**
+     * The number of dumps dropped.
+     */
+    private final AtomicLong droppedDumps = new AtomicLong();
+
+    /**
+     * The number of dumps for which the user had to wait.
+     */
+    private final AtomicLong blockedDumps = new AtomicLong();
+
+    /**
+     * Returns our centralized instance.
+     *
+     * @return the singleton instance
+     */
+    public static AsyncDumpWriter get()
+    {
+        return XltEngine.get().dumpWriter;
+    }
+
+    /**
+     * Returns a new instance configured from the given properties.
+     *
+     * @param properties
+     *            the properties
+     * @return the new instance
+     */
+    public static AsyncDumpWriter createInstance(final XltPropertiesImpl properties)
+    {
+        return new AsyncDumpWriter(properties.getPropertySessionLess(ASYNC_PROPERTY).map(Boolean::valueOf).orElse(true),
+                                   properties.getPropertySessionLess(THREADS_PROPERTY).flatMap(ParseNumbers::parseOptionalInt)
+                                             .orElse(1),
+                                   properties.getPropertySessionLess(QUEUE_SIZE_PROPERTY).flatMap(ParseNumbers::parseOptionalInt)
+                                             .orElse(8),
+                                   properties.getPropertySessionLess(BLOCK_WHEN_FULL_PROPERTY).map(Boolean::valueOf).orElse(false),
+                                   properties.getPropertySessionLess(MAX_DISK_USAGE_PROPERTY).flatMap(ParseNumbers::parseOptionalLong)
+                                             .orElse(0L));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param enabled
+     *            whether to write dumps in the background
+     * @param threadCount
+     *            the number of worker threads
+     * @param queueSize
+     *            the maximum number of pending dumps
+     * @param blockWhenFull
+     *            whether to let users wait if the queue is full
+     * @param maxDiskUsage
+     *            the maximum number of bytes all dumps may occupy on disk (0 for no limit)
+     */
+    AsyncDumpWriter(final boolean enabled, final int threadCount, final int queueSize, final boolean blockWhenFull,
+                    final long maxDiskUsage)
+    {
+        this.enabled = enabled;
+        this.threadCount = Math.max(1, threadCount);
+        this.blockWhenFull = blockWhenFull;
+        this.maxDiskUsage = Math.max(0, maxDiskUsage);
+
+        queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    }
+
+    /**
+     * Returns whether dumps are to be written in the background during load tests.
+     *
+     * @return whether to write dumps in the background
+     */
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Returns whether dumps of the given session are to be written in the background. This is the case for load tests
+     * only, as in development mode the dump is expected to be complete when the test ends.
+     *
+     * @param session
+     *            the session
+     * @return whether to write dumps in the background
+     */
+    public boolean isEnabled(final SessionImpl session)
+    {
+        return enabled && !shutDown && session.isLoadTest();
+    }
+
+    /**
+     * Hands the given dump over to the worker threads. The dump is dropped if the disk budget is exhausted or if the
+     * queue is full and users are not to wait.
+     *
+     * @param task
+     *            the dump task
+     * @param session
+     *            the session the dump belongs to, used to record dropped and blocked dumps
+     * @return whether the dump was accepted
+     */
+    public boolean submit(final DumpTask task, final SessionImpl session)
+    {
+        shutDownLock.readLock().lock();
+        try
+        {
+            if (!shutDown)
+            {
+                return enqueue(task, session);
+            }
+        }
+        finally
+        {
+            shutDownLock.readLock().unlock();
+        }
+
+        // too late for the workers
+        task.write();
+        return true;
+    }
+
+    /**
+     * Enqueues the given dump unless it is to be dropped.
+     */
+    private boolean enqueue(final DumpTask task, final SessionImpl session)
+    {
+        if (maxDiskUsage > 0 && diskUsage.get() >= maxDiskUsage)
+        {
+            return drop(session);
+        }
+
+        startWorkersIfNecessary();
+
+        if (queue.offer(task))
+        {
+            return true;
+        }
+
+        if (!blockWhenFull)
+        {
+            return drop(session);
+        }
+
+        // let the user wait
+        final long start = GlobalClock.millis();
+        try
+        {
+            queue.put(task);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return drop(session);
+        }
+
+        blockedDumps.incrementAndGet();
+        logCustomValue(session, BLOCKED_DUMP_VALUE_NAME, GlobalClock.millis() - start);
+
+        return true;
+    }
+
+    /**
+     * Records a dropped dump.
+     */
+    private boolean drop(final SessionImpl session)
+    {
+        droppedDumps.incrementAndGet();
+        logCustomValue(session, DROPPED_DUMP_VALUE_NAME, 1);
+
+        return false;
+    }
+
+    /**
+     * Records a custom value for the given session.
+     */
+    private static void logCustomValue(final SessionImpl session, final String name, final double value)
+    {
+        final CustomValue customValue = new CustomValue(name);
+        customValue.setValue(value);
+        session.getDataManager().logDataRecord(customValue);
+    }
+
+    /**
+     * Starts the worker threads if not done yet.
+     */
+    private synchronized void startWorkersIfNecessary()
+    {
+        if (workers.isEmpty())
+        {
+            final XltThreadFactory threadFactory = new XltThreadFactory(false, false, "ResultBrowserDumpWriter-");
+            for (int i = 0; i < threadCount; i++)
+            {
+                final Thread worker = threadFactory.newThread(this::work);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+    }
+
+    /**
+     * The main loop of a worker thread.
+     */
+    private void work()
+    {
+        while (true)
+        {
+            final DumpTask task;
+            try
+            {
+                task = queue.take();
+            }
+            catch (final InterruptedException e)
+            {
+                return;
+            }
+
+            if (task == STOP)
+            {
+                return;
+            }
+
+            try
+            {
+                diskUsage.addAndGet(task.write());
+                writtenDumps.incrementAndGet();
+            }
+            catch (final Throwable t)
+            {
+                XltLogger.runTimeLogger.error("Failed to write result browser dump", t);
+            }
+        }
+    }
+
+    /**
+     * Waits for all pending dumps to be written and stops the worker threads. Dumps submitted later are written by
+     * the calling thread. Dumps that could not be written in time are discarded.
+     *
+     * @param timeout
+     *            the maximum time [ms] to wait
+     */
+    public void shutdown(final long timeout)
+    {
+        final long deadline = GlobalClock.millis() + timeout;
+
+        final List<Thread> stoppedWorkers;
+        shutDownLock.writeLock().lock();
+        try
+        {
+            if (shutDown)
+            {
+                return;
+            }
+
+            shutDown = true;
+
+            synchronized (this)
+            {
+                stoppedWorkers = new ArrayList<>(workers);
+                workers.clear();
+            }
+        }
+        finally
+        {
+            shutDownLock.writeLock().unlock();
+        }
+
+        if (stoppedWorkers.isEmpty())
+        {
+            return;
+        }
+
+        // no dump can be enqueued anymore, so the workers see the stop tasks after all pending dumps
+        try
+        {
+            for (int i = 0; i < stoppedWorkers.size(); i++)
+            {
+                if (!queue.offer(STOP, Math.max(0, deadline - GlobalClock.millis()), TimeUnit.MILLISECONDS))
+                {
+                    break;
+                }
+            }
+
+            for (final Thread worker : stoppedWorkers)
+            {
+                worker.join(Math.max(1, deadline - GlobalClock.millis()));
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if (stoppedWorkers.stream().anyMatch(Thread::isAlive))
+        {
+            XltLogger.runTimeLogger.warn("Not all result browser dumps could be written within {} ms", timeout);
+            stoppedWorkers.forEach(Thread::interrupt);
+        }
+
+        // release what is left over
+        final List<DumpTask> pendingTasks = new ArrayList<>();
+        queue.drainTo(pendingTasks);
+        for (final DumpTask task : pendingTasks)
+        {
+            if (task != STOP)
+            {
+                task.discard();
+                droppedDumps.incrementAndGet();
+            }
+        }
+
+        XltLogger.runTimeLogger.info("Result browser dumps written in background: {} ({} bytes), dropped: {}, user waited: {}",
+                                     writtenDumps.get(), diskUsage.get(), droppedDumps.get(), blockedDumps.get());
+    }
+
+    /**
+     * Returns the number of dumps written so far.
+     *
+     * @return the number of dumps written
+     */
+    public long getWrittenDumps()
+    {
+        return writtenDumps.get();
+    }
+
+    /**
+     * Returns the number of dumps dropped so far.
+     *
+     * @return the number of dumps dropped
+     */
+    public long getDroppedDumps()
+    {
+        return droppedDumps.get();
+    }
+
+    /**
+     * Returns the number of dumps for which the user had to wait.
+     *
+     * @return the number of blocked dumps
+     */
+    public long getBlockedDumps()
+    {
+        return blockedDumps.get();
+    }
+
+    /**
+     * Returns the number of bytes written by the dumps so far.
+     *
+     * @return the disk usage
+     */
+    public long getDiskUsage()
+    {
+        return diskUsage.get();
+    }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.Strings;
+
+import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.common.XltConstants;
+
+/**
+ * An agent-wide store of result-browser files, addressed by the SHA-256 hash of their content.
+ * <p>
+ * The same static resources, for example JavaScript and CSS bundles, are typically dumped by many sessions. Instead of
+ * writing them again for each session, the content is stored once as a blob and each session directory gets a hard
+ * link to it. This way, the result browsers are laid out exactly as before and can be moved or archived
+ * independently, while the content is stored only once on disk. The file system's link count serves as the reference
+ * count of a blob: a blob that is linked from the store only is no longer used by any result browser and can be
+ * purged.
+ * <p>
+ * If a blob has reached the maximum number of links the file system allows, a new generation of that blob is started,
+ * i.e. a copy that takes the further links. If the file system does not support hard links at all, the store falls
+ * back to plain copies.
+ * <p>
+ * Note: This class is thread-safe.
+ */
+public class ContentBlobStore
+{
+    /**
+     * The stores, keyed by their directory.
+     */
+    private static final Map<Path, ContentBlobStore> STORES = new ConcurrentHashMap<>();
+
+    /**
+     * The directory of this store.
+     */
+    private final Path directory;
+
+    /**
+     * Whether hard links are supported.
+     */
+    private volatile boolean linksSupported = true;
+
+    /**
+     * The current generation of the blobs that have reached the maximum number of links, keyed by hash.
+     */
+    private final Map<String, Integer> generations = new ConcurrentHashMap<>();
+
+    /**
+     * A counter to create unique temporary file names.
+     */
+    private final AtomicLong tempFileCounter = new AtomicLong();
+
+    /**
+     * The number of files written as new blobs.
+     */
+    private final AtomicLong storedBlobs = new AtomicLong();
+
+    /**
+     * The number of files that reused an existing blob.
+     */
+    private final AtomicLong reusedBlobs = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param directory
+     *            the store directory
+     */
+    ContentBlobStore(final Path directory)
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the store for the given results root directory. The store is created if necessary, in which case any
+     * unreferenced blob left over from an earlier run is purged.
+     *
+     * @param resultsRootDirectory
+     *            the results root directory
+     * @return the store
+     */
+    public static ContentBlobStore getInstance(final Path resultsRootDirectory)
+    {
+        final Path directory = resultsRootDirectory.resolve(XltConstants.DUMP_BLOB_STORE_DIR).toAbsolutePath().normalize();
+
+        return STORES.computeIfAbsent(directory, d -> {
+            final ContentBlobStore store = new ContentBlobStore(d);
+            store.purgeUnreferenced();
+            return store;
+        });
+    }
+
+    /**
+     * Deletes all stores. Any result browser keeps its files since they are hard links or copies.
+     */
+    public static void deleteAll()
+    {
+        for (final ContentBlobStore store : STORES.values())
+        {
+            store.delete();
+        }
+
+        STORES.clear();
+    }
+
+    /**
+     * Writes the given content to the target file. If a blob with the same content exists already, the target becomes
+     * a link to it. Otherwise, the content becomes a new blob first. Any existing target file is replaced, but never
+     * written to, as it may be a link to a shared blob.
+     *
+     * @param content
+     *            the content
+     * @param target
+     *            the target file
+     * @return the number of bytes newly written to disk, which is 0 if the target is a link to an existing blob
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public long store(final InputStream content, final Path target) throws IOException
+    {
+        Files.createDirectories(target.getParent());
+        Files.deleteIfExists(target);
+
+        if (!linksSupported)
+        {
+            return Files.copy(content, target);
+        }
+
+        // write the content to a temporary file and hash it on the fly
+        Files.createDirectories(directory);
+        final Path tempFile = directory.resolve("tmp-" + ProcessHandle.current().pid() + "-" + tempFileCounter.incrementAndGet());
+
+        final MessageDigest digest = newDigest();
+        final long size;
+        try (final OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest))
+        {
+            size = content.transferTo(out);
+        }
+
+        final String hash = HexFormat.of().formatHex(digest.digest());
+        try
+        {
+            long written = 0;
+
+            int generation = generations.getOrDefault(hash, 0);
+            Path blob = getBlobPath(hash, generation);
+            if (moveToBlob(tempFile, blob))
+            {
+                storedBlobs.incrementAndGet();
+                written += size;
+            }
+            else
+            {
+                reusedBlobs.incrementAndGet();
+            }
+
+            long copied;
+            while ((copied = link(blob, target)) < 0)
+            {
+                // the blob is full -> continue with the next generation, which starts as a copy of this one
+                generation = generations.merge(hash, generation + 1, Math::max);
+
+                final Path nextBlob = getBlobPath(hash, generation);
+                if (!Files.exists(nextBlob))
+                {
+                    Files.copy(blob, tempFile, StandardCopyOption.REPLACE_EXISTING);
+                    if (moveToBlob(tempFile, nextBlob))
+                    {
+                        written += size;
+                    }
+                }
+
+                blob = nextBlob;
+            }
+
+            return written + copied;
+        }
+        finally
+        {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Moves the temporary file to the given blob path unless the blob exists already, in which case the temporary
+     * file is deleted.
+     *
+     * @return whether the temporary file became the blob
+     */
+    private boolean moveToBlob(final Path tempFile, final Path blob) throws IOException
+    {
+        if (!Files.exists(blob))
+        {
+            Files.createDirectories(blob.getParent());
+            try
+            {
+                Files.move(tempFile, blob, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            }
+            catch (final FileAlreadyExistsException e)
+            {
+                // stored by someone else in the meantime
+            }
+        }
+
+        Files.delete(tempFile);
+        return false;
+    }
+
+    /**
+     * Makes the target a hard link to the blob, or a copy of it if hard links are not supported.
+     *
+     * @return the number of bytes copied, which is 0 if the target became a link, or -1 if the blob has reached the
+     *         maximum number of links
+     */
+    private long link(final Path blob, final Path target) throws IOException
+    {
+        try
+        {
+            createLink(target, blob);
+            return 0;
+        }
+        catch (final FileAlreadyExistsException e)
+        {
+            throw e;
+        }
+        catch (final UnsupportedOperationException e)
+        {
+            XltLogger.runTimeLogger.warn("Hard links are not supported for the result browser blob store, will copy files instead: " +
+                                         e.getMessage());
+            linksSupported = false;
+        }
+        catch (final FileSystemException e)
+        {
+            if (isTooManyLinks(e))
+            {
+                return -1;
+            }
+
+            // copy just this file
+            XltLogger.runTimeLogger.debug("Failed to link result browser blob, will copy it instead: " + e.getMessage());
+        }
+
+        Files.copy(blob, target);
+
+        return Files.size(target);
+    }
+
+    /**
+     * Creates a hard link to the blob.
+     *
+     * @param link
+     *            the link to create
+     * @param blob
+     *            the existing blob
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    void createLink(final Path link, final Path blob) throws IOException
+    {
+        Files.createLink(link, blob);
+    }
+
+    /**
+     * Returns whether the given exception indicates that the maximum number of links to a file has been reached
+     * (EMLINK).
+     */
+    private static boolean isTooManyLinks(final FileSystemException e)
+    {
+        final String reason = e.getReason();
+
+        return Strings.CI.contains(reason, "too many links") || Strings.CI.contains(reason, "more links");
+    }
+
+    /**
+     * Deletes all blobs that are not referenced by any result browser anymore. Does nothing if the file system cannot
+     * tell the number of links to a file.
+     */
+    public void purgeUnreferenced()
+    {
+        if (!Files.isDirectory(directory))
+        {
+            return;
+        }
+
+        try (final DirectoryStream<Path> subDirectories = Files.newDirectoryStream(directory))
+        {
+            for (final Path subDirectory : subDirectories)
+            {
+                if (!Files.isDirectory(subDirectory))
+                {
+                    // left-over temporary file
+                    Files.deleteIfExists(subDirectory);
+                    continue;
+                }
+
+                try (final DirectoryStream<Path> blobs = Files.newDirectoryStream(subDirectory))
+                {
+                    for (final Path blob : blobs)
+                    {
+                        if (getLinkCount(blob) == 1)
+                        {
+                            Files.deleteIfExists(blob);
+                        }
+                    }
+                }
+            }
+        }
+        catch (final UnsupportedOperationException | IllegalArgumentException e)
+        {
+            // link count not available
+        }
+        catch (final IOException e)
+        {
+            XltLogger.runTimeLogger.warn("Failed to purge the result browser blob store: " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes this store.
+     */
+    void delete()
+    {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    /**
+     * Returns the number of files that were written as new blobs.
+     *
+     * @return the number of new blobs
+     */
+    public long getStoredBlobs()
+    {
+        return storedBlobs.get();
+    }
+
+    /**
+     * Returns the number of files that reused an existing blob.
+     *
+     * @return the number of reused blobs
+     */
+    public long getReusedBlobs()
+    {
+        return reusedBlobs.get();
+    }
+
+    /**
+     * Returns the path of the blob with the given hash and generation. Blobs are spread over sub-directories to keep
+     * directories small.
+     */
+    private Path getBlobPath(final String hash, final int generation)
+    {
+        return directory.resolve(hash.substring(0, 2)).resolve(generation == 0 ? hash : hash + "." + generation);
+    }
+
+    /**
+     * Returns the number of hard links to the given file.
+     */
+    private static int getLinkCount(final Path file) throws IOException
+    {
+        return ((Number) Files.getAttribute(file, "unix:nlink")).intValue();
+    }
+
+    /**
+     * Creates a new SHA-256 digest.
+     */
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (final NoSuchAlgorithmException e)
+        {
+            // every JVM supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
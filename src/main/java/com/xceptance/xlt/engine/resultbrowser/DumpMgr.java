@@ -16,6 +16,7 @@
 package com.xceptance.xlt.engine.resultbrowser;
 
 import java.awt.Desktop;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -27,8 +28,11 @@ import java.io.Writer;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.commons.io.FileUtils;
@@ -45,20 +49,13 @@ import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
-import com.thoughtworks.xstream.io.json.AbstractJsonWriter;
-import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
-import com.thoughtworks.xstream.io.json.JsonWriter;
 import com.xceptance.common.xml.HtmlDomPrinter;
-import com.xceptance.xlt.api.engine.Session;
 import com.xceptance.xlt.api.htmlunit.LightWeightPage;
 import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.api.util.XltProperties;
 import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.engine.LightWeightPageImpl;
 import com.xceptance.xlt.engine.SessionImpl;
-import com.xceptance.xlt.engine.har.HarWriter;
 import com.xceptance.xlt.engine.util.CssUtils;
 import com.xceptance.xlt.engine.util.URLCleaner;
 
@@ -135,6 +132,32 @@ class DumpMgr
      */
     private boolean harExportEnabled;
 
+    /**
+     * The maximum number of characters of a text response body to include in the HAR file (0 to include no bodies).
+     */
+    private int harMaxBodySize;
+
+    /**
+     * Whether or not to store the content of static responses only once for the result browsers of all sessions.
+     */
+    private boolean deduplicationEnabled;
+
+    /**
+     * The store that holds the content of static responses shared by all result browsers.
+     */
+    private ContentBlobStore blobStore;
+
+    /**
+     * The data of the session to dump if the dump is written by another thread, or <code>null</code> if the current
+     * session is to be used.
+     */
+    private SessionInfo frozenSession;
+
+    /**
+     * The number of bytes written to disk so far, not counting content that is shared with other dumps.
+     */
+    private long dumpSize;
+
     /**
      * Constructor.
      */
@@ -197,6 +220,38 @@ class DumpMgr
         this.harExportEnabled = enabled;
     }
 
+    void setHarMaxBodySize(final int maxBodySize)
+    {
+        this.harMaxBodySize = maxBodySize;
+    }
+
+    void setDeduplicationEnabled(final boolean enabled)
+    {
+        this.deduplicationEnabled = enabled;
+    }
+
+    /**
+     * Takes a snapshot of the data of the given session needed to write the dump, so that the dump can be written by
+     * another thread while the session goes on.
+     *
+     * @param session
+     *            the session
+     */
+    void freezeSession(final SessionImpl session)
+    {
+        frozenSession = SessionInfo.of(session);
+    }
+
+    /**
+     * Returns the data of the session to dump.
+     *
+     * @return the session data
+     */
+    private SessionInfo getSessionInfo()
+    {
+        return frozenSession != null ? frozenSession : SessionInfo.of(SessionImpl.getCurrent());
+    }
+
     /**
      * Returns the root directory to which responses as well as rendered HTML pages are dumped. If the directory does
      * not exist yet, it is created.
@@ -207,14 +262,29 @@ class DumpMgr
     {
         if (dumpDirectory == null)
         {
-            final SessionImpl session = SessionImpl.getCurrent();
-            dumpDirectory = new File(new File(session.getResultsDirectory().toFile(), XltConstants.DUMP_OUTPUT_DIR), session.getID());
+            final SessionInfo session = getSessionInfo();
+            dumpDirectory = new File(new File(session.resultsDirectory().toFile(), XltConstants.DUMP_OUTPUT_DIR), session.id());
             dumpDirectory.mkdirs();
         }
 
         return dumpDirectory;
     }
 
+    /**
+     * Returns the blob store for the results root directory the dump directory is located in.
+     *
+     * @return the blob store
+     */
+    private ContentBlobStore getBlobStore()
+    {
+        if (blobStore == null)
+        {
+            blobStore = ContentBlobStore.getInstance(getSessionInfo().resultsRootDirectory());
+        }
+
+        return blobStore;
+    }
+
     /**
      * Returns the cache directory.
      *
@@ -393,18 +463,19 @@ class DumpMgr
     private void dumpJson()
     {
         // generate the entry pages for the last failed test run
-        final Session session = Session.getCurrent();
-        if (!session.isLoadTest())
+        final SessionInfo session = getSessionInfo();
+        if (!session.loadTest())
         {
             // do not (re-)generate the entry pages during load tests -> might cause problems in case of parallel users
 
             // first entry page
             final File lastRunFile = new File(getDumpDirectory(), "../last.html");
-            final String lastRunFileContent = String.format(LAST_PAGE_FORMAT, session.getUserName(), session.getID());
+            final String lastRunFileContent = String.format(LAST_PAGE_FORMAT, session.userName(), session.id());
 
             try
             {
                 FileUtils.writeStringToFile(lastRunFile, lastRunFileContent, XltConstants.UTF8_ENCODING);
+                addToDumpSize(lastRunFile);
             }
             catch (final IOException e)
             {
@@ -413,13 +484,14 @@ class DumpMgr
 
             // second entry page
             // be aware of the assumptions made on the directory layout
-            final File shortcutFile = new File(getDumpDirectory(), "../../../../" + session.getUserName() + ".html");
+            final File shortcutFile = new File(getDumpDirectory(), "../../../../" + session.userName() + ".html");
             final String path = com.xceptance.common.io.FileUtils.computeRelativeUri(shortcutFile, dumpDirectory, false);
-            final String shortcutFileContent = String.format(LAST_PAGE_FORMAT, session.getUserName(), path);
+            final String shortcutFileContent = String.format(LAST_PAGE_FORMAT, session.userName(), path);
 
             try
             {
                 FileUtils.writeStringToFile(shortcutFile, shortcutFileContent, XltConstants.UTF8_ENCODING);
+                addToDumpSize(shortcutFile);
             }
             catch (final IOException e)
             {
@@ -446,6 +518,7 @@ class DumpMgr
             try
             {
                 FileUtils.copyURLToFile(url, file);
+                addToDumpSize(file);
             }
             catch (final Exception e)
             {
@@ -480,7 +553,8 @@ class DumpMgr
      */
     private void generateJsonFile()
     {
-        final TransactionInfo txn = dataMgr.generateTransaction();
+        final SessionInfo session = getSessionInfo();
+        final TransactionInfo txn = dataMgr.generateTransaction(session.userName(), session.valueLog());
         generateResultBrowserData(txn);
 
         if (harExportEnabled)
@@ -492,42 +566,32 @@ class DumpMgr
     private void generateResultBrowserData(final TransactionInfo transaction)
     {
         final File jsonFile = new File(getDumpDirectory(), "data.js");
-        try (final OutputStreamWriter osw = new OutputStreamWriter(new FileOutputStream(jsonFile), XltConstants.UTF8_ENCODING))
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(jsonFile), XltConstants.UTF8_ENCODING)))
         {
-            osw.write("var jsonData = ");
-
-            final XStream xstream = new XStream(new JsonHierarchicalStreamDriver()
-            {
-                @Override
-                public HierarchicalStreamWriter createWriter(final Writer writer)
-                {
-                    return new JsonWriter(writer, AbstractJsonWriter.DROP_ROOT_MODE);
-                }
-            });
-
-            xstream.setMode(XStream.NO_REFERENCES);
-
-            xstream.toXML(transaction, osw);
+            ResultBrowserDataWriter.write(transaction, writer);
         }
         catch (final Exception e)
         {
             XltLogger.runTimeLogger.error("Failed to generate file: " + jsonFile, e);
         }
+
+        addToDumpSize(jsonFile);
     }
 
     private void generateHar(final TransactionInfo transaction)
     {
         final File harFile = new File(getDumpDirectory(), "data.har");
-        final HarWriter harWriter = new HarWriter();
 
         try
         {
-            harWriter.writeHarLogToFile(new HarExporter(transaction).exportToHAR(), harFile);
+            new HarExporter(transaction, getDumpDirectory(), harMaxBodySize).exportToHAR(harFile);
         }
         catch (final Exception e)
         {
             XltLogger.runTimeLogger.error("Failed to generate HAR file: " + harFile, e);
         }
+
+        addToDumpSize(harFile);
     }
 
     /**
@@ -599,6 +663,7 @@ class DumpMgr
             // the document is complete now, dump it
             final String html = new HtmlDomPrinter().printNode(document);
             FileUtils.writeStringToFile(file, html, XltConstants.UTF8_ENCODING);
+            addToDumpSize(file);
         }
         catch (final IOException e)
         {
@@ -629,6 +694,7 @@ class DumpMgr
         try
         {
             FileUtils.writeStringToFile(file, new PageTransformer(lwPage).transformLW(urlMapping), XltConstants.UTF8_ENCODING);
+            addToDumpSize(file);
         }
         catch (final IOException ioe)
         {
@@ -649,6 +715,7 @@ class DumpMgr
         try
         {
             FileUtils.writeByteArrayToFile(file, image);
+            dumpSize += image.length;
         }
         catch (final IOException ioe)
         {
@@ -683,7 +750,19 @@ class DumpMgr
      */
     private static boolean isHtmlContent(final WebResponse webResponse)
     {
-        return ArrayUtils.contains(HTML_CONTENT_TYPES, webResponse.getContentType());
+        return isHtmlContentType(webResponse.getContentType());
+    }
+
+    /**
+     * Checks whether the given content type denotes HTML content. Such content is dumped in UTF-8 encoding.
+     *
+     * @param contentType
+     *            the content type to check
+     * @return whether the content is HTML
+     */
+    static boolean isHtmlContentType(final String contentType)
+    {
+        return ArrayUtils.contains(HTML_CONTENT_TYPES, contentType);
     }
 
     /**
@@ -720,6 +799,8 @@ class DumpMgr
             XltLogger.runTimeLogger.error("Cannot write page to file: " + file.getAbsolutePath(), e);
         }
 
+        addToDumpSize(file);
+
         return file.getName();
     }
 
@@ -743,7 +824,7 @@ class DumpMgr
 
             if (content != null)
             {
-                FileUtils.copyInputStreamToFile(content, file);
+                writeStaticContent(content, file);
             }
         }
         catch (final Exception e)
@@ -790,7 +871,7 @@ class DumpMgr
             {
                 try (final InputStream content = rewriteResponseIfCss(url, webResponse))
                 {
-                    FileUtils.copyInputStreamToFile(content, file);
+                    writeStaticContent(content, file);
                 }
                 catch (final Exception e)
                 {
@@ -800,6 +881,41 @@ class DumpMgr
         }
     }
 
+    /**
+     * Writes the given static content to the given file. If a blob store is configured, the file will share its
+     * content with any other file of the same content.
+     *
+     * @param content
+     *            the content
+     * @param file
+     *            the target file
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    private void writeStaticContent(final InputStream content, final File file) throws IOException
+    {
+        if (deduplicationEnabled)
+        {
+            dumpSize += getBlobStore().store(content, file.toPath());
+        }
+        else
+        {
+            FileUtils.copyInputStreamToFile(content, file);
+            addToDumpSize(file);
+        }
+    }
+
+    /**
+     * Adds the size of the given file, if any, to the number of bytes written so far.
+     *
+     * @param file
+     *            the file just written
+     */
+    private void addToDumpSize(final File file)
+    {
+        dumpSize += file.length();
+    }
+
     /**
      * Rewrites the content of the given response if its URL refers to a CSS file. Otherwise, the response's content
      * will be kept unmodified. Finally, the response's content will be returned as stream.
@@ -884,12 +1000,39 @@ class DumpMgr
     {
         pageCounter = 0;
         responseCounter = 0;
+        dumpSize = 0;
 
         dumpDirectory = null;
+        blobStore = null;
+        frozenSession = null;
         responseDirectory = null;
         pageDirectory = null;
         cacheDirectory = null;
 
         dataMgr.clear();
     }
+
+    /**
+     * Returns the number of bytes written to disk since the last reset. Static content that was linked to an existing
+     * blob of the shared blob store does not occupy any additional space and is therefore not counted.
+     *
+     * @return the size in bytes
+     */
+    synchronized long getDumpSize()
+    {
+        return dumpSize;
+    }
+
+    /**
+     * The data of a session needed to write its dump.
+     */
+    private record SessionInfo(Path resultsRootDirectory, Path resultsDirectory, String id, String userName, boolean loadTest,
+                               Map<String, Object> valueLog)
+    {
+        private static SessionInfo of(final SessionImpl session)
+        {
+            return new SessionInfo(session.getResultsRootDirectory(), session.getResultsDirectory(), session.getID(),
+                                   session.getUserName(), session.isLoadTest(), new HashMap<>(session.getValueLog()));
+        }
+    }
 }
@@ -15,20 +15,29 @@
  */
 package com.xceptance.xlt.engine.resultbrowser;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.htmlunit.HttpHeader;
+import org.htmlunit.util.EncodingSniffer;
 import org.htmlunit.util.NameValuePair;
 
 import com.xceptance.common.util.ProductInformation;
+import com.xceptance.xlt.engine.har.HarStreamWriter;
 import com.xceptance.xlt.engine.har.model.HarContent;
 import com.xceptance.xlt.engine.har.model.HarCreator;
 import com.xceptance.xlt.engine.har.model.HarEntry;
 import com.xceptance.xlt.engine.har.model.HarHeader;
-import com.xceptance.xlt.engine.har.model.HarLog;
 import com.xceptance.xlt.engine.har.model.HarPage;
 import com.xceptance.xlt.engine.har.model.HarPageTimings;
 import com.xceptance.xlt.engine.har.model.HarParam;
@@ -38,121 +47,190 @@ import com.xceptance.xlt.engine.har.model.HarResponse;
 import com.xceptance.xlt.engine.har.model.HarTimings;
 import com.xceptance.xlt.engine.resultbrowser.ActionInfo.PageLoadEventInfo;
 
+/**
+ * Exports a transaction as HAR file. The pages are determined up front, while the entries are created and written one
+ * by one, so the HAR model is never held in memory as a whole.
+ * <p>
+ * Response bodies are referenced by the path of the file they were dumped to (custom content field "_file"). Optionally,
+ * text bodies are included as well, truncated to a maximum size. Binary bodies are never included.
+ */
 class HarExporter
 {
+    /**
+     * The maximum size of the buffer used to read text response bodies.
+     */
+    private static final int MAX_BUFFER_SIZE = 8 * 1024;
+
     private final TransactionInfo transaction;
 
-    HarExporter(final TransactionInfo aTransaction)
+    /**
+     * The directory the HAR file and the dumped response bodies are located in.
+     */
+    private final File dumpDirectory;
+
+    /**
+     * The maximum number of characters of a text response body to include (0 to include no bodies).
+     */
+    private final int maxBodySize;
+
+    /**
+     * The buffer used to read all text response bodies, or <code>null</code> if no bodies are included.
+     */
+    private final char[] buffer;
+
+    HarExporter(final TransactionInfo aTransaction, final File aDumpDirectory, final int aMaxBodySize)
     {
         transaction = aTransaction;
+        dumpDirectory = aDumpDirectory;
+        maxBodySize = Math.max(0, aMaxBodySize);
+        buffer = maxBodySize > 0 ? new char[Math.min(maxBodySize, MAX_BUFFER_SIZE)] : null;
     }
 
-    HarLog exportToHAR()
+    /**
+     * Writes the transaction to the given HAR file.
+     *
+     * @param harFile
+     *            the target file
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    void exportToHAR(final File harFile) throws IOException
     {
         final List<HarPage> pages = new ArrayList<>();
-        final List<HarEntry> entries = new ArrayList<>();
-
         for (int pageNo = 0; pageNo < transaction.actions.size(); pageNo++)
         {
-            final String pageId = "page_" + pageNo;
-            final ActionInfo axn = transaction.actions.get(pageNo);
+            final HarPage page = page(transaction.actions.get(pageNo), getPageId(pageNo));
+            if (page != null)
+            {
+                pages.add(page);
+            }
+        }
 
-            final HarPage.Builder pageBuilder = new HarPage.Builder();
-            pageBuilder.withTitle(axn.name);
-            pageBuilder.withId(pageId);
+        final HarStreamWriter writer = new HarStreamWriter(harFile, "1.2", creator(), null, pages, null, false);
+        try
+        {
+            for (int pageNo = 0; pageNo < transaction.actions.size(); pageNo++)
+            {
+                final String pageId = getPageId(pageNo);
+                for (final RequestInfo req : transaction.actions.get(pageNo).requests)
+                {
+                    writer.addEntry(entry(req, pageId));
+                }
+            }
+        }
+        finally
+        {
+            writer.closeHar();
+        }
+    }
 
-            long startTime = -1L;
+    private static String getPageId(final int pageNo)
+    {
+        return "page_" + pageNo;
+    }
 
-            {
-                PageLoadEventInfo contentLoadEnd = null;
-                PageLoadEventInfo contentLoadStart = null;
-                PageLoadEventInfo domInteractive = null;
-                PageLoadEventInfo loadEnd = null;
+    /**
+     * Returns the HAR page for the given action, or <code>null</code> if the action has no start time.
+     */
+    private HarPage page(final ActionInfo axn, final String pageId)
+    {
+        final HarPage.Builder pageBuilder = new HarPage.Builder();
+        pageBuilder.withTitle(axn.name);
+        pageBuilder.withId(pageId);
 
-                PageLoadEventInfo firstPaint = null;
-                PageLoadEventInfo firstContentfulPaint = null;
+        long startTime = -1L;
 
-                for (final PageLoadEventInfo e : axn.events)
-                {
-                    String name = e.name;
-                    if ("DomContentLoadedEventEnd".equals(name))
-                    {
-                        contentLoadEnd = e;
-                    }
-                    else if ("DomContentLoadEventStart".equals(name))
-                    {
-                        contentLoadStart = e;
-                    }
-                    else if ("DomInteractive".equals(name))
-                    {
-                        domInteractive = e;
-                    }
-                    else if ("LoadEventEnd".equals(name))
-                    {
-                        loadEnd = e;
-                    }
-                    else if ("FirstPaint".equals(name))
-                    {
-                        firstPaint = e;
-                    }
-                    else if ("FirstContentfulPaint".equals(name))
-                    {
-                        firstContentfulPaint = e;
-                    }
+        {
+            PageLoadEventInfo contentLoadEnd = null;
+            PageLoadEventInfo contentLoadStart = null;
+            PageLoadEventInfo domInteractive = null;
+            PageLoadEventInfo loadEnd = null;
 
-                    if (e.startTime > 0L && (startTime < 0L || e.startTime < startTime))
-                    {
-                        startTime = e.startTime;
-                    }
-                }
+            PageLoadEventInfo firstPaint = null;
+            PageLoadEventInfo firstContentfulPaint = null;
 
-                final HarPageTimings.Builder timingsBuilder = new HarPageTimings.Builder();
-                PageLoadEventInfo contentLoaded = contentLoadEnd;
-                if (contentLoaded == null)
+            for (final PageLoadEventInfo e : axn.events)
+            {
+                String name = e.name;
+                if ("DomContentLoadedEventEnd".equals(name))
                 {
-                    contentLoaded = contentLoadStart;
+                    contentLoadEnd = e;
                 }
-                if (contentLoaded == null)
+                else if ("DomContentLoadEventStart".equals(name))
                 {
-                    contentLoaded = domInteractive;
+                    contentLoadStart = e;
+                }
+                else if ("DomInteractive".equals(name))
+                {
+                    domInteractive = e;
+                }
+                else if ("LoadEventEnd".equals(name))
+                {
+                    loadEnd = e;
+                }
+                else if ("FirstPaint".equals(name))
+                {
+                    firstPaint = e;
+                }
+                else if ("FirstContentfulPaint".equals(name))
+                {
+                    firstContentfulPaint = e;
                 }
 
-                timingsBuilder.withOnContentLoad(contentLoaded != null && contentLoaded.startTime > 0L ? contentLoaded.duration : -1L);
-                timingsBuilder.withOnLoad(loadEnd != null && loadEnd.startTime > 0L ? loadEnd.duration : -1L);
-
-                timingsBuilder.withFirstContentfulPaint(firstContentfulPaint != null &&
-                                                        firstContentfulPaint.startTime > 0L ? firstContentfulPaint.duration : null);
-                timingsBuilder.withFirstPaint(firstPaint != null && firstPaint.startTime > 0L ? firstPaint.duration : null);
-                pageBuilder.withPageTimings(timingsBuilder.build());
+                if (e.startTime > 0L && (startTime < 0L || e.startTime < startTime))
+                {
+                    startTime = e.startTime;
+                }
             }
 
-            for (final RequestInfo req : axn.requests)
+            final HarPageTimings.Builder timingsBuilder = new HarPageTimings.Builder();
+            PageLoadEventInfo contentLoaded = contentLoadEnd;
+            if (contentLoaded == null)
             {
-                if (startTime < 0L || req.startTime < startTime)
-                {
-                    startTime = req.startTime;
-                }
+                contentLoaded = contentLoadStart;
+            }
+            if (contentLoaded == null)
+            {
+                contentLoaded = domInteractive;
+            }
 
-                final HarEntry.Builder entryBuilder = new HarEntry.Builder();
-                entryBuilder.withPageref(pageId);
-                entryBuilder.withTime(req.loadTime);
-                entryBuilder.withStartedDateTime(new Date(req.startTime));
-                entryBuilder.withTimings(requestTimings(req.timings));
-                entryBuilder.withRequest(request(req));
-                entryBuilder.withResponse(response(req));
+            timingsBuilder.withOnContentLoad(contentLoaded != null && contentLoaded.startTime > 0L ? contentLoaded.duration : -1L);
+            timingsBuilder.withOnLoad(loadEnd != null && loadEnd.startTime > 0L ? loadEnd.duration : -1L);
 
-                entries.add(entryBuilder.build());
-            }
+            timingsBuilder.withFirstContentfulPaint(firstContentfulPaint != null &&
+                                                    firstContentfulPaint.startTime > 0L ? firstContentfulPaint.duration : null);
+            timingsBuilder.withFirstPaint(firstPaint != null && firstPaint.startTime > 0L ? firstPaint.duration : null);
+            pageBuilder.withPageTimings(timingsBuilder.build());
+        }
 
-            if (startTime > -1L)
+        for (final RequestInfo req : axn.requests)
+        {
+            if (startTime < 0L || req.startTime < startTime)
             {
-                pageBuilder.withStartedDateTime(new Date(startTime));
-                pages.add(pageBuilder.build());
+                startTime = req.startTime;
             }
+        }
 
+        if (startTime > -1L)
+        {
+            pageBuilder.withStartedDateTime(new Date(startTime));
+            return pageBuilder.build();
         }
 
-        return new HarLog("1.2", creator(), null, pages, entries, null);
+        return null;
+    }
+
+    private HarEntry entry(final RequestInfo req, final String pageId)
+    {
+        final HarEntry.Builder entryBuilder = new HarEntry.Builder();
+        entryBuilder.withPageref(pageId);
+        entryBuilder.withTime(req.loadTime);
+        entryBuilder.withStartedDateTime(new Date(req.startTime));
+        entryBuilder.withTimings(requestTimings(req.timings));
+        entryBuilder.withRequest(request(req));
+        entryBuilder.withResponse(response(req));
+
+        return entryBuilder.build();
     }
 
     private HarCreator creator()
@@ -254,8 +332,71 @@ class HarExporter
         }
 
         builder.withRedirectURL(StringUtils.defaultString(redirectUrl));
-        builder.withContent(new HarContent.Builder().withMimeType(request.mimeType).build());
+        builder.withContent(content(request));
 
         return builder.build();
     }
+
+    private HarContent content(final RequestInfo request)
+    {
+        final HarContent.Builder builder = new HarContent.Builder().withMimeType(request.mimeType);
+
+        final File file = request.fileName != null ? new File(dumpDirectory, request.fileName) : null;
+        if (file != null && file.isFile())
+        {
+            builder.withSize(file.length());
+            builder.withFile(request.fileName);
+
+            if (maxBodySize > 0 && ResponseContentStore.isCompressible(request.mimeType))
+            {
+                try (final Reader reader = new InputStreamReader(new FileInputStream(file), getCharset(request)))
+                {
+                    final StringBuilder text = new StringBuilder();
+
+                    int length;
+                    while (text.length() < maxBodySize &&
+                           (length = reader.read(buffer, 0, Math.min(buffer.length, maxBodySize - text.length()))) >= 0)
+                    {
+                        text.append(buffer, 0, length);
+                    }
+
+                    builder.withText(text.toString());
+                    if (reader.read() >= 0)
+                    {
+                        builder.withComment("truncated");
+                    }
+                }
+                catch (final IOException e)
+                {
+                    // leave it with the file reference
+                }
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the charset of the dumped response body. HTML bodies are dumped in UTF-8, while all other bodies are
+     * dumped as received, so their charset is taken from the response's content type, defaulting to UTF-8.
+     */
+    private static Charset getCharset(final RequestInfo request)
+    {
+        if (!DumpMgr.isHtmlContentType(request.mimeType))
+        {
+            for (final NameValuePair header : request.responseHeaders)
+            {
+                if (HttpHeader.CONTENT_TYPE.equalsIgnoreCase(header.getName()))
+                {
+                    final Charset charset = EncodingSniffer.extractEncodingFromContentType(header.getValue());
+                    if (charset != null)
+                    {
+                        return charset;
+                    }
+                }
+            }
+        }
+
+        return StandardCharsets.UTF_8;
+    }
 }
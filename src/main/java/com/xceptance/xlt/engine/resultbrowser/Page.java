@@ -145,6 +145,17 @@ class Page
         return (wrapper == null) ? null : wrapper.getHtmlPage();
     }
 
+    /**
+     * Takes a snapshot of the wrapped HTML page, so that the page can be dumped by another thread.
+     */
+    public final void freeze()
+    {
+        if (wrapper != null)
+        {
+            wrapper.freeze();
+        }
+    }
+
     /**
      * Returns the wrapped lightweight page.
      *
@@ -68,7 +68,7 @@ class PageWrapper
     /**
      * Wrapped HTML page. Only used if cloning process is delayed.
      */
-    private final HtmlPage htmlPage;
+    private HtmlPage htmlPage;
 
     /**
      * Creates a new page wrapper for a lightweight page.
@@ -115,6 +115,16 @@ class PageWrapper
         return lwPage == null;
     }
 
+    /**
+     * Clones the wrapped HTML page now if cloning was delayed. Afterwards, any later change to the live page does not
+     * affect this wrapper anymore.
+     */
+    public final void freeze()
+    {
+        getHtmlPage();
+        htmlPage = null;
+    }
+
     /**
      * Returns the wrapped HTML page.
      *
@@ -15,7 +15,7 @@
  */
 package com.xceptance.xlt.engine.resultbrowser;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -51,6 +51,11 @@ public class RequestHistory
      */
     private static final String OUTPUT2DISK_WRITEHAR_PROPERTY = OUTPUT2DISK_PROPERTY + ".writeHarFile";
 
+    /**
+     * The property for the maximum number of characters of a text response body to include in the HAR file.
+     */
+    private static final String OUTPUT2DISK_HAR_MAX_BODY_SIZE_PROPERTY = OUTPUT2DISK_WRITEHAR_PROPERTY + ".maxBodySize";
+
     /**
      * The property for the size of the output to disk
      */
@@ -61,6 +66,22 @@ public class RequestHistory
      */
     public static final String OUTPUT2DISK_ERROR_PROPERTY = OUTPUT2DISK_PROPERTY + ".onError";
 
+    /**
+     * The property whether to compress the response bodies held in memory in dump mode {@link DumpMode#ON_ERROR}.
+     */
+    private static final String OUTPUT2DISK_COMPRESS_PROPERTY = OUTPUT2DISK_ERROR_PROPERTY + ".compressResponses";
+
+    /**
+     * The property for the maximum size of the response bodies held in memory in dump mode {@link DumpMode#ON_ERROR}
+     * before older ones are spilled to disk.
+     */
+    private static final String OUTPUT2DISK_MAX_MEMORY_PROPERTY = OUTPUT2DISK_ERROR_PROPERTY + ".maxResponseMemory";
+
+    /**
+     * The property whether to store the content of static responses only once for the result browsers of all
+     * sessions.
+     */
+    private static final String OUTPUT2DISK_DEDUPLICATE_PROPERTY = OUTPUT2DISK_PROPERTY + ".deduplicate";
 
     /**
      * The possible dump mode values.
@@ -106,6 +127,37 @@ public class RequestHistory
      */
     private final List<Request> pendingRequests;
 
+    /**
+     * The store that keeps the response bodies of the requests in dump mode {@link DumpMode#ON_ERROR}, or
+     * <code>null</code> if the responses are to be kept as they are.
+     */
+    private ResponseContentStore responseContentStore;
+
+    /**
+     * Whether to compress the response bodies held in memory.
+     */
+    private final boolean compressResponses;
+
+    /**
+     * The maximum size of the response bodies held in memory before older ones are spilled to disk.
+     */
+    private final long maxResponseMemory;
+
+    /**
+     * Whether to write an HAR file as part of the result browser dump.
+     */
+    private final boolean harExportEnabled;
+
+    /**
+     * The maximum number of characters of a text response body to include in the HAR file.
+     */
+    private final int harMaxBodySize;
+
+    /**
+     * Whether to store the content of static responses only once for the result browsers of all sessions.
+     */
+    private final boolean deduplicationEnabled;
+
     /**
      * The configured dump mode.
      */
@@ -136,15 +188,47 @@ public class RequestHistory
         }
 
         pages = new LRUList<Page>(historySize);
-        pendingRequests = new LinkedList<Request>();
+        pendingRequests = new ArrayList<Request>();
 
         // get dump mode
         final String dumpModeValue = properties.getProperty(session, OUTPUT2DISK_PROPERTY).orElse("onError");
 
         dumpMode = DumpMode.valueFrom(dumpModeValue);
 
-        dumpMgr = new DumpMgr();
-        dumpMgr.setHarExportEnabled(properties.getProperty(session, OUTPUT2DISK_WRITEHAR_PROPERTY).map(Boolean::valueOf).orElse(false));
+        harExportEnabled = properties.getProperty(session, OUTPUT2DISK_WRITEHAR_PROPERTY).map(Boolean::valueOf).orElse(false);
+        harMaxBodySize = properties.getProperty(session, OUTPUT2DISK_HAR_MAX_BODY_SIZE_PROPERTY).flatMap(ParseNumbers::parseOptionalInt)
+                                   .orElse(0);
+        deduplicationEnabled = properties.getProperty(session, OUTPUT2DISK_DEDUPLICATE_PROPERTY).map(Boolean::valueOf).orElse(true);
+
+        dumpMgr = createDumpMgr();
+
+        // response body storage
+        compressResponses = properties.getProperty(session, OUTPUT2DISK_COMPRESS_PROPERTY).map(Boolean::valueOf).orElse(false);
+        maxResponseMemory = properties.getProperty(session, OUTPUT2DISK_MAX_MEMORY_PROPERTY).flatMap(ParseNumbers::parseOptionalLong)
+                                      .orElse(0L);
+
+        responseContentStore = createResponseContentStore();
+    }
+
+    /**
+     * Creates a new dump manager.
+     */
+    private DumpMgr createDumpMgr()
+    {
+        final DumpMgr mgr = new DumpMgr();
+        mgr.setHarExportEnabled(harExportEnabled);
+        mgr.setHarMaxBodySize(harMaxBodySize);
+        mgr.setDeduplicationEnabled(deduplicationEnabled);
+
+        return mgr;
+    }
+
+    /**
+     * Creates a new response content store, or returns <code>null</code> if the responses are to be kept as they are.
+     */
+    private ResponseContentStore createResponseContentStore()
+    {
+        return (compressResponses || maxResponseMemory > 0) ? new ResponseContentStore(compressResponses, maxResponseMemory) : null;
     }
 
     /**
@@ -173,8 +257,9 @@ public class RequestHistory
         }
         else if (dumpMode == DumpMode.ON_ERROR)
         {
-            // add a new pending request
-            pendingRequests.add(new Request(name, webRequest, webResponse, requestData));
+            // add a new pending request, keep its response body compact
+            final WebResponse storedResponse = responseContentStore == null ? webResponse : responseContentStore.store(webResponse);
+            pendingRequests.add(new Request(name, webRequest, storedResponse, requestData));
         }
         else if (dumpMode == DumpMode.ALWAYS)
         {
@@ -318,7 +403,6 @@ public class RequestHistory
         return false;
     }
 
-
     /**
      * Dump the requests to the file system.
      */
@@ -327,16 +411,110 @@ public class RequestHistory
         final List<Page> pagesCopy;
         final List<Request> requestsCopy;
 
+        final AsyncDumpWriter dumpWriter = AsyncDumpWriter.get();
+        final boolean async = dumpWriter.isEnabled(session);
+
+        final DumpMgr mgr;
+        ResponseContentStore store;
+
         synchronized (this)
         {
-            pagesCopy = new LinkedList<Page>(pages);
-            requestsCopy = new LinkedList<Request>(pendingRequests);
+            pagesCopy = new ArrayList<Page>(pages);
+            requestsCopy = new ArrayList<Request>(pendingRequests);
 
             pages.clear();
             pendingRequests.clear();
+
+            mgr = dumpMgr;
+            store = responseContentStore;
+
+            if (async)
+            {
+                // hand the dump manager and the stored response bodies over to the writer and go on with new ones
+                dumpMgr = createDumpMgr();
+                responseContentStore = createResponseContentStore();
+            }
         }
 
-        dumpMgr.dumpToDisk(pagesCopy, requestsCopy);
+        if (async)
+        {
+            // take a snapshot of everything that may change once the user goes on, including response bodies the web
+            // client keeps in files it may delete
+            if (store == null)
+            {
+                store = new ResponseContentStore(false, 0);
+            }
+
+            for (final Page page : pagesCopy)
+            {
+                page.freeze();
+                detachResponses(page.getRequests(), store);
+            }
+            detachResponses(requestsCopy, store);
+
+            mgr.freezeSession(session);
+
+            final ResponseContentStore asyncStore = store;
+            final boolean accepted = dumpWriter.submit(new AsyncDumpWriter.DumpTask()
+            {
+                @Override
+                public long write()
+                {
+                    try
+                    {
+                        mgr.dumpToDisk(pagesCopy, requestsCopy);
+                        return mgr.getDumpSize();
+                    }
+                    finally
+                    {
+                        clearResponseContentStore(asyncStore);
+                    }
+                }
+
+                @Override
+                public void discard()
+                {
+                    clearResponseContentStore(asyncStore);
+                }
+            }, session);
+
+            if (!accepted)
+            {
+                clearResponseContentStore(asyncStore);
+            }
+        }
+        else
+        {
+            mgr.dumpToDisk(pagesCopy, requestsCopy);
+
+            // the spilled response bodies are not needed anymore
+            clearResponseContentStore(store);
+        }
+    }
+
+    /**
+     * Replaces the given requests with equivalent ones whose responses no longer depend on the web client.
+     */
+    private static void detachResponses(final List<Request> requests, final ResponseContentStore store)
+    {
+        requests.replaceAll(request -> {
+            final WebResponse detachedResponse = store.detach(request.webResponse);
+
+            return detachedResponse == request.webResponse ? request
+                                                           : new Request(request.name, request.webRequest, detachedResponse,
+                                                                         request.requestData);
+        });
+    }
+
+    /**
+     * Clears the given response content store, if any.
+     */
+    private static void clearResponseContentStore(final ResponseContentStore store)
+    {
+        if (store != null)
+        {
+            store.clear();
+        }
     }
 
     /**
@@ -347,6 +525,11 @@ public class RequestHistory
         pages.clear();
         pendingRequests.clear();
 
+        if (responseContentStore != null)
+        {
+            responseContentStore.clear();
+        }
+
         dumpMgr.clear();
     }
 
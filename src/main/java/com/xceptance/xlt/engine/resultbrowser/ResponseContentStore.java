@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.htmlunit.DownloadedContent;
+import org.htmlunit.WebResponse;
+import org.htmlunit.WebResponseData;
+
+import com.xceptance.xlt.api.util.XltLogger;
+
+/**
+ * Keeps the response bodies of the requests held by a {@link RequestHistory} in a compact form until the history is
+ * either dumped or discarded.
+ * <p>
+ * Optionally, text-like bodies are compressed. If a memory limit is configured and the bodies kept in memory exceed it,
+ * the oldest bodies are moved to a temporary spill file. Bodies the web client keeps in a file are never read into
+ * memory. They are left as they are until a dump is handed over to another thread, which is when they are copied to
+ * the spill file directly (see {@link #detach(WebResponse)}). The responses handed out by this store read their content
+ * transparently from memory or from the spill file, so the {@link DumpMgr} streams spilled bodies directly from disk
+ * when dumping.
+ * <p>
+ * Note: This class is thread-safe.
+ */
+class ResponseContentStore
+{
+    /**
+     * The minimum size of a body to be compressed. Smaller bodies hardly shrink and are not worth the effort.
+     */
+    static final int MIN_COMPRESS_SIZE = 1024;
+
+    /**
+     * Whether or not to compress text-like response bodies.
+     */
+    private final boolean compress;
+
+    /**
+     * The maximum number of bytes to keep in memory before spilling to disk, or 0 for no limit.
+     */
+    private final long maxMemorySize;
+
+    /**
+     * The contents currently kept in memory, oldest first. Only maintained if there is a memory limit.
+     */
+    private final Deque<StoredContent> memoryContents = new ArrayDeque<>();
+
+    /**
+     * The number of bytes currently kept in memory.
+     */
+    private long memorySize;
+
+    /**
+     * The spill file, or <code>null</code> if nothing was spilled so far.
+     */
+    private Path spillFile;
+
+    /**
+     * The channel to the spill file, or <code>null</code> if nothing was spilled so far.
+     */
+    private FileChannel spillChannel;
+
+    /**
+     * The number of bytes written to the spill file so far.
+     */
+    private long spillSize;
+
+    /**
+     * Constructor.
+     *
+     * @param compress
+     *            whether or not to compress text-like response bodies
+     * @param maxMemorySize
+     *            the maximum number of bytes to keep in memory before spilling to disk, or 0 for no limit
+     */
+    ResponseContentStore(final boolean compress, final long maxMemorySize)
+    {
+        this.compress = compress;
+        this.maxMemorySize = Math.max(0, maxMemorySize);
+    }
+
+    /**
+     * Returns whether or not this store would handle the given response. If not, the response should be kept as is.
+     *
+     * @param webResponse
+     *            the response
+     * @return whether the response should be stored
+     */
+    boolean accepts(final WebResponse webResponse)
+    {
+        if (webResponse == null || webResponse.isContentOnFile())
+        {
+            // file-backed bodies do not occupy memory
+            return false;
+        }
+
+        return maxMemorySize > 0 ||
+               (compress && webResponse.getContentLength() >= MIN_COMPRESS_SIZE && isCompressible(webResponse.getContentType()));
+    }
+
+    /**
+     * Stores the body of the given response and returns an equivalent response that reads its body from this store.
+     * If the body cannot be read, the original response is returned.
+     *
+     * @param webResponse
+     *            the response
+     * @return the response backed by this store
+     */
+    WebResponse store(final WebResponse webResponse)
+    {
+        if (!accepts(webResponse))
+        {
+            return webResponse;
+        }
+
+        final StoredContent content = storeInMemory(webResponse);
+
+        return content == null ? webResponse : createStoredResponse(webResponse, content);
+    }
+
+    /**
+     * Makes the given response independent of the web client, which may delete the file a body is kept in once the
+     * user goes on. Such a body is copied to the spill file, while all other responses are returned as they are.
+     *
+     * @param webResponse
+     *            the response
+     * @return the response that no longer depends on the web client
+     */
+    WebResponse detach(final WebResponse webResponse)
+    {
+        if (webResponse == null || !webResponse.isContentOnFile())
+        {
+            return webResponse;
+        }
+
+        final StoredContent content = storeOnDisk(webResponse);
+
+        return content == null ? webResponse : createStoredResponse(webResponse, content);
+    }
+
+    /**
+     * Returns a response equivalent to the given one, but with the given stored content as body.
+     */
+    private static WebResponse createStoredResponse(final WebResponse webResponse, final StoredContent content)
+    {
+        final WebResponseData responseData = new WebResponseData(content, webResponse.getStatusCode(), webResponse.getStatusMessage(),
+                                                                 webResponse.getResponseHeaders());
+        final WebResponse storedResponse = new WebResponse(responseData, webResponse.getWebRequest(), webResponse.getLoadTime());
+        storedResponse.setRawSize(webResponse.getRawSize());
+        storedResponse.setProtocolVersion(webResponse.getProtocolVersion());
+
+        return storedResponse;
+    }
+
+    /**
+     * Reads the body of the given response into memory, compresses it if worthwhile, and spills older bodies if
+     * necessary.
+     *
+     * @return the stored content, or <code>null</code> if the body cannot be read
+     */
+    private StoredContent storeInMemory(final WebResponse webResponse)
+    {
+        final byte[] body;
+        try (final InputStream in = webResponse.getContentAsStream())
+        {
+            body = in == null ? ArrayUtils.EMPTY_BYTE_ARRAY : in.readAllBytes();
+        }
+        catch (final IOException e)
+        {
+            XltLogger.runTimeLogger.warn("Failed to read response body for the request history", e);
+            return null;
+        }
+
+        // compress if worthwhile
+        byte[] data = body;
+        boolean compressed = false;
+        if (compress && body.length >= MIN_COMPRESS_SIZE && isCompressible(webResponse.getContentType()))
+        {
+            final byte[] deflated = deflate(body);
+            if (deflated.length < body.length)
+            {
+                data = deflated;
+                compressed = true;
+            }
+        }
+
+        final StoredContent content = new StoredContent(data, compressed, body.length);
+        if (maxMemorySize > 0)
+        {
+            synchronized (this)
+            {
+                memoryContents.add(content);
+                memorySize += data.length;
+
+                spillIfNecessary();
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * Copies the file-backed body of the given response to the spill file without reading it into memory as a whole.
+     *
+     * @return the stored content, or <code>null</code> if the body cannot be copied
+     */
+    private StoredContent storeOnDisk(final WebResponse webResponse)
+    {
+        try (final InputStream in = webResponse.getContentAsStream())
+        {
+            synchronized (this)
+            {
+                final long offset = spillSize;
+                final long length = appendToSpillFile(in);
+
+                if (length > Integer.MAX_VALUE)
+                {
+                    throw new IOException("Response body too large: " + length);
+                }
+
+                final StoredContent content = new StoredContent((int) length, length);
+                content.spilled(offset);
+
+                return content;
+            }
+        }
+        catch (final IOException e)
+        {
+            XltLogger.runTimeLogger.warn("Failed to store response body for the request history", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes currently kept in memory.
+     *
+     * @return the memory size
+     */
+    synchronized long getMemorySize()
+    {
+        return memorySize;
+    }
+
+    /**
+     * Returns the number of bytes written to the spill file.
+     *
+     * @return the spill size
+     */
+    synchronized long getSpillSize()
+    {
+        return spillSize;
+    }
+
+    /**
+     * Discards all stored contents and deletes the spill file. Responses handed out before can no longer be read
+     * afterwards if their content was spilled.
+     */
+    synchronized void clear()
+    {
+        memoryContents.clear();
+        memorySize = 0;
+        spillSize = 0;
+
+        if (spillChannel != null)
+        {
+            try
+            {
+                spillChannel.close();
+                Files.deleteIfExists(spillFile);
+            }
+            catch (final IOException e)
+            {
+                XltLogger.runTimeLogger.warn("Failed to delete request history spill file: " + spillFile, e);
+            }
+
+            spillChannel = null;
+            spillFile = null;
+        }
+    }
+
+    /**
+     * Moves the oldest contents to the spill file until the memory limit is met again.
+     */
+    private void spillIfNecessary()
+    {
+        while (memorySize > maxMemorySize && !memoryContents.isEmpty())
+        {
+            final StoredContent content = memoryContents.poll();
+            final byte[] data = content.data;
+
+            try
+            {
+                final long offset = spillSize;
+                appendToSpillFile(new ByteArrayInputStream(data));
+                content.spilled(offset);
+            }
+            catch (final IOException e)
+            {
+                // keep it in memory then
+                XltLogger.runTimeLogger.warn("Failed to spill request history to disk", e);
+                memoryContents.addFirst(content);
+                return;
+            }
+
+            memorySize -= data.length;
+        }
+    }
+
+    /**
+     * Appends the given data to the spill file, creating the file if necessary. Called with the store's lock held.
+     *
+     * @return the number of bytes written
+     */
+    private long appendToSpillFile(final InputStream in) throws IOException
+    {
+        if (spillChannel == null)
+        {
+            spillFile = Files.createTempFile("xlt-history-", ".tmp");
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        final long offset = spillSize;
+        final byte[] chunk = new byte[8192];
+        long position = offset;
+        int n;
+        while ((n = in.read(chunk)) != -1)
+        {
+            final ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, n);
+            while (buffer.hasRemaining())
+            {
+                position += spillChannel.write(buffer, position);
+            }
+        }
+
+        spillSize = position;
+
+        return position - offset;
+    }
+
+    /**
+     * Opens a stream to read the given region of the spill file.
+     */
+    private synchronized InputStream openSpilled(final long offset, final int length) throws IOException
+    {
+        if (spillChannel == null)
+        {
+            throw new IOException("Request history spill file is not available anymore");
+        }
+
+        return new SpillFileInputStream(spillChannel, offset, length);
+    }
+
+    /**
+     * Compresses the given data.
+     */
+    private static byte[] deflate(final byte[] data)
+    {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, data.length / 4));
+
+        try (final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater))
+        {
+            deflaterOut.write(data);
+        }
+        catch (final IOException e)
+        {
+            // cannot happen with in-memory streams
+            return data;
+        }
+        finally
+        {
+            deflater.end();
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns whether content of the given type is worth compressing. Images, videos, fonts, and archives typically
+     * are compressed already.
+     *
+     * @param contentType
+     *            the content type
+     * @return whether the content is text-like
+     */
+    static boolean isCompressible(final String contentType)
+    {
+        if (StringUtils.isEmpty(contentType))
+        {
+            return false;
+        }
+
+        final String type = contentType.toLowerCase();
+
+        return type.startsWith("text/") || type.contains("json") || type.contains("javascript") || type.contains("xml") ||
+               type.contains("ecmascript") || type.contains("x-www-form-urlencoded");
+    }
+
+    /**
+     * A response body kept by the store, either in memory or in the spill file.
+     */
+    private final class StoredContent implements DownloadedContent
+    {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The (possibly compressed) data, or <code>null</code> once spilled.
+         */
+        private byte[] data;
+
+        /**
+         * The length of the (possibly compressed) data.
+         */
+        private final int storedLength;
+
+        /**
+         * The offset of the data in the spill file, or -1 if not spilled.
+         */
+        private long offset = -1;
+
+        /**
+         * Whether the data is compressed.
+         */
+        private final boolean compressed;
+
+        /**
+         * The length of the original body.
+         */
+        private final long length;
+
+        private StoredContent(final byte[] data, final boolean compressed, final long length)
+        {
+            this.data = data;
+            this.storedLength = data.length;
+            this.compressed = compressed;
+            this.length = length;
+        }
+
+        private StoredContent(final int storedLength, final long length)
+        {
+            this.storedLength = storedLength;
+            this.compressed = false;
+            this.length = length;
+        }
+
+        /**
+         * Marks this content as spilled to the given offset. Called with the store's lock held.
+         */
+        private void spilled(final long offset)
+        {
+            this.offset = offset;
+            this.data = null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public InputStream getInputStream() throws IOException
+        {
+            final InputStream in;
+            synchronized (ResponseContentStore.this)
+            {
+                in = data != null ? new ByteArrayInputStream(data) : openSpilled(offset, storedLength);
+            }
+
+            return compressed ? new InflaterInputStream(in) : in;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cleanUp()
+        {
+            // the store owns the data
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean isEmpty()
+        {
+            return length == 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long length()
+        {
+            return length;
+        }
+    }
+
+    /**
+     * Reads a region of the spill file using positional reads, so that multiple streams can be open at the same time.
+     */
+    private static final class SpillFileInputStream extends InputStream
+    {
+        private final FileChannel channel;
+
+        private long position;
+
+        private final long end;
+
+        private SpillFileInputStream(final FileChannel channel, final long offset, final int length)
+        {
+            this.channel = channel;
+            this.position = offset;
+            this.end = offset + length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException
+        {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException
+        {
+            if (position >= end)
+            {
+                return -1;
+            }
+
+            final int n = (int) Math.min(len, end - position);
+            final int read = channel.read(ByteBuffer.wrap(b, off, n), position);
+            if (read > 0)
+            {
+                position += read;
+            }
+
+            return read;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.htmlunit.util.NameValuePair;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Writes the data file of the result browser field by field from the transaction, action, and request information
+ * objects. These objects are still collected in memory by {@link RequestDataMgr} before the file is written, as they
+ * are needed for the HAR export as well. Response bodies are not part of the data, but are referenced by the name of
+ * the file they were dumped to.
+ * <p>
+ * The JSON structure matches what the result browser expects: object fields are written in declaration order, fields
+ * with a <code>null</code> value are omitted, and name/value pairs use the field names of {@link NameValuePair}.
+ */
+final class ResultBrowserDataWriter
+{
+    /**
+     * The JSON factory, which is thread-safe.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Default constructor. Declared private to prevent external instantiation.
+     */
+    private ResultBrowserDataWriter()
+    {
+    }
+
+    /**
+     * Writes the given transaction as JavaScript data file to the given writer.
+     *
+     * @param transaction
+     *            the transaction
+     * @param writer
+     *            the target writer, which is flushed but not closed
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    static void write(final TransactionInfo transaction, final Writer writer) throws IOException
+    {
+        writer.write("var jsonData = ");
+
+        try (final JsonGenerator gen = JSON_FACTORY.createGenerator(writer))
+        {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            writeTransaction(transaction, gen);
+        }
+
+        writer.flush();
+    }
+
+    private static void writeTransaction(final TransactionInfo transaction, final JsonGenerator gen) throws IOException
+    {
+        gen.writeStartObject();
+
+        writeString(gen, "user", transaction.user);
+        gen.writeNumberField("date", transaction.date);
+
+        gen.writeArrayFieldStart("actions");
+        for (final ActionInfo action : transaction.actions)
+        {
+            writeAction(action, gen);
+        }
+        gen.writeEndArray();
+
+        writeNameValuePairs(gen, "valueLog", transaction.valueLog);
+
+        gen.writeEndObject();
+    }
+
+    private static void writeAction(final ActionInfo action, final JsonGenerator gen) throws IOException
+    {
+        gen.writeStartObject();
+
+        writeString(gen, "fileName", action.fileName);
+        writeString(gen, "name", action.name);
+
+        gen.writeArrayFieldStart("requests");
+        for (final RequestInfo request : action.requests)
+        {
+            writeRequest(request, gen);
+        }
+        gen.writeEndArray();
+
+        gen.writeEndObject();
+    }
+
+    private static void writeRequest(final RequestInfo request, final JsonGenerator gen) throws IOException
+    {
+        gen.writeStartObject();
+
+        writeString(gen, "fileName", request.fileName);
+        gen.writeNumberField("startTime", request.startTime);
+        gen.writeNumberField("loadTime", request.loadTime);
+        writeString(gen, "mimeType", request.mimeType);
+        writeString(gen, "name", request.name);
+        writeNameValuePairs(gen, "requestHeaders", request.requestHeaders);
+        writeString(gen, "requestMethod", request.requestMethod);
+        writeNameValuePairs(gen, "requestParameters", request.requestParameters);
+        gen.writeNumberField("responseCode", request.responseCode);
+        writeNameValuePairs(gen, "responseHeaders", request.responseHeaders);
+        writeString(gen, "status", request.status);
+        writeString(gen, "url", request.url);
+        writeString(gen, "requestBodyRaw", request.requestBodyRaw);
+        writeString(gen, "protocol", request.protocol);
+        writeString(gen, "formDataEncoding", request.formDataEncoding);
+
+        gen.writeEndObject();
+    }
+
+    private static void writeNameValuePairs(final JsonGenerator gen, final String fieldName, final List<NameValuePair> pairs)
+        throws IOException
+    {
+        gen.writeArrayFieldStart(fieldName);
+        for (final NameValuePair pair : pairs)
+        {
+            gen.writeStartObject();
+            writeString(gen, "name_", pair.getName());
+            writeString(gen, "value_", pair.getValue());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Writes the given string field, but only if the value is not <code>null</code>.
+     */
+    private static void writeString(final JsonGenerator gen, final String fieldName, final String value) throws IOException
+    {
+        if (value != null)
+        {
+            gen.writeStringField(fieldName, value);
+        }
+    }
+}
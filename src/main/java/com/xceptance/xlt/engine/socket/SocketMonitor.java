@@ -15,6 +15,9 @@
  */
 package com.xceptance.xlt.engine.socket;
 
+import javax.net.ssl.SSLSession;
+
+import com.xceptance.xlt.api.engine.RequestData;
 import com.xceptance.xlt.engine.util.TimerUtils;
 
 /**
@@ -79,6 +82,18 @@ public class SocketMonitor
      */
     private long lastBytesSentTime;
 
+    /**
+     * The wall-clock time when starting connection establishment. Needed to compare it with the creation time of a TLS
+     * session.
+     */
+    private long connectStartTimestamp;
+
+    /**
+     * The kind of TLS handshake performed when establishing the connection, or <code>null</code> if no handshake took
+     * place.
+     */
+    private String tlsHandshake;
+
     /**
      * Standard setup
      */
@@ -111,6 +126,7 @@ public class SocketMonitor
     public void connectingStarted()
     {
         connectStartTime = connectEndTime = TIMER.getTime();
+        connectStartTimestamp = System.currentTimeMillis();
     }
 
     /**
@@ -171,7 +187,24 @@ public class SocketMonitor
         }
 
         return new SocketStatistics(dnsLookupTime, connectTime, sendTime, serverBusyTime, receiveTime, timeToFirst, timeToLast, bytesSent,
-                                    bytesReceived);
+                                    bytesReceived, tlsHandshake);
+    }
+
+    /**
+     * Records the TLS session used by the connection. If the connection was established during the current request,
+     * the kind of the TLS handshake performed is derived from the session: a resumed session was created before we
+     * started to connect, while a full handshake always creates a new session.
+     *
+     * @param session
+     *            the TLS session
+     */
+    public void tlsSessionUsed(final SSLSession session)
+    {
+        if (session != null && connectStartTimestamp > 0 && tlsHandshake == null)
+        {
+            tlsHandshake = session.getCreationTime() < connectStartTimestamp ? RequestData.TLS_HANDSHAKE_RESUMED
+                                                                             : RequestData.TLS_HANDSHAKE_FULL;
+        }
     }
 
     /**
@@ -204,6 +237,8 @@ public class SocketMonitor
 
         connectStartTime = 0;
         connectEndTime = 0;
+        connectStartTimestamp = 0;
+        tlsHandshake = null;
 
         firstBytesSentTime = 0;
         lastBytesSentTime = 0;
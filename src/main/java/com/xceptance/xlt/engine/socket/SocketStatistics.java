@@ -67,6 +67,11 @@ public class SocketStatistics
      */
     private final int timeToLastBytes;
 
+    /**
+     * The kind of TLS handshake performed, or <code>null</code> if there was none.
+     */
+    private final String tlsHandshake;
+
     /**
      * @param dnsLookupTime
      * @param connectTime
@@ -81,6 +86,26 @@ public class SocketStatistics
     public SocketStatistics(final int dnsLookupTime, final int connectTime, final int sendTime, final int serverBusyTime,
                             final int receiveTime, final int timeToFirstBytes, final int timeToLastBytes, final int bytesSent,
                             final int bytesReceived)
+    {
+        this(dnsLookupTime, connectTime, sendTime, serverBusyTime, receiveTime, timeToFirstBytes, timeToLastBytes, bytesSent, bytesReceived,
+             null);
+    }
+
+    /**
+     * @param dnsLookupTime
+     * @param connectTime
+     * @param sendTime
+     * @param serverBusyTime
+     * @param receiveTime
+     * @param timeToFirstBytes
+     * @param timeToLastBytes
+     * @param bytesSent
+     * @param bytesReceived
+     * @param tlsHandshake
+     */
+    public SocketStatistics(final int dnsLookupTime, final int connectTime, final int sendTime, final int serverBusyTime,
+                            final int receiveTime, final int timeToFirstBytes, final int timeToLastBytes, final int bytesSent,
+                            final int bytesReceived, final String tlsHandshake)
     {
         this.dnsLookupTime = dnsLookupTime;
         this.connectTime = connectTime;
@@ -91,6 +116,7 @@ public class SocketStatistics
         this.timeToLastBytes = timeToLastBytes;
         this.bytesSent = bytesSent;
         this.bytesReceived = bytesReceived;
+        this.tlsHandshake = tlsHandshake;
     }
 
     /**
@@ -185,14 +211,26 @@ public class SocketStatistics
         return timeToLastBytes;
     }
 
+    /**
+     * Returns the kind of TLS handshake performed when establishing the connection. Will always be <code>null</code>
+     * for keep-alive connections and plain connections.
+     * 
+     * @return the TLS handshake kind (see {@link com.xceptance.xlt.api.engine.RequestData#TLS_HANDSHAKE_FULL} and
+     *         {@link com.xceptance.xlt.api.engine.RequestData#TLS_HANDSHAKE_RESUMED}), or <code>null</code>
+     */
+    public String getTlsHandshake()
+    {
+        return tlsHandshake;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String toString()
     {
-        return String.format("%s{dnsLookupTime=%d, connectTime=%d, sendTime=%d, serverBusyTime=%d, receiveTime=%d, timeToFirstBytes=%d, timeToLastBytes=%d, bytesSent=%d, bytesReceived=%d}",
+        return String.format("%s{dnsLookupTime=%d, connectTime=%d, sendTime=%d, serverBusyTime=%d, receiveTime=%d, timeToFirstBytes=%d, timeToLastBytes=%d, bytesSent=%d, bytesReceived=%d, tlsHandshake=%s}",
                              getClass().getSimpleName(), dnsLookupTime, connectTime, sendTime, serverBusyTime, receiveTime,
-                             timeToFirstBytes, timeToLastBytes, bytesSent, bytesReceived);
+                             timeToFirstBytes, timeToLastBytes, bytesSent, bytesReceived, tlsHandshake);
     }
 }
@@ -28,6 +28,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -76,6 +77,11 @@ public class AgentControllerStatusUpdater
      */
     private final Map<AgentController, Future<?>> tasks;
 
+    /**
+     * The listener to notify after the status of an agent controller has been updated, may be <code>null</code>.
+     */
+    private final Consumer<Collection<AgentControllerStatusInfo>> statusListener;
+
     /**
      * Creates a new {@link AgentControllerStatusUpdater} and initializes it with the given executor service. The
      * settings of the executor service determine the degree of parallelism when querying the status from the agent
@@ -85,8 +91,24 @@ public class AgentControllerStatusUpdater
      *            the executor service
      */
     public AgentControllerStatusUpdater(final ExecutorService executor)
+    {
+        this(executor, null);
+    }
+
+    /**
+     * Creates a new {@link AgentControllerStatusUpdater} and initializes it with the given executor service and status
+     * listener. The listener is called with the current status of all agent controllers each time the status of an
+     * agent controller has been updated, independently of whether and how often the status is displayed.
+     *
+     * @param executor
+     *            the executor service
+     * @param statusListener
+     *            the listener to notify after each status update (may be <code>null</code>)
+     */
+    public AgentControllerStatusUpdater(final ExecutorService executor, final Consumer<Collection<AgentControllerStatusInfo>> statusListener)
     {
         this.executor = executor;
+        this.statusListener = statusListener;
 
         statusMap = new ConcurrentHashMap<>();
         unmodifiableStatusMap = Collections.unmodifiableMap(statusMap);
@@ -246,6 +268,18 @@ public class AgentControllerStatusUpdater
         final AgentControllerStatusInfo agentControllerStatusInfo = retrieveAgentControllerStatus(agentController,
                                                                                                   supportsNewStatusEndpoint);
 
+        if (agentControllerStatusInfo != null && statusListener != null)
+        {
+            try
+            {
+                statusListener.accept(unmodifiableStatusMap.values());
+            }
+            catch (final Exception e)
+            {
+                LOG.error("Failed to process status of " + agentController, e);
+            }
+        }
+
         // schedule this method to run again at a later time, but only if the agent controller still has running agents
         if (agentControllerStatusInfo != null && agentControllerStatusInfo.hasRunningAgents())
         {
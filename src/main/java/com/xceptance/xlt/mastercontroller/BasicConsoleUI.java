@@ -15,8 +15,10 @@
  */
 package com.xceptance.xlt.mastercontroller;
 
+import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.Formatter;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
@@ -33,9 +35,11 @@ import com.xceptance.common.util.ConsoleUiUtils;
 import com.xceptance.common.util.ProductInformation;
 import com.xceptance.xlt.agentcontroller.AgentController;
 import com.xceptance.xlt.agentcontroller.AgentStatusInfo;
+import com.xceptance.xlt.agentcontroller.IntervalStatistics;
 import com.xceptance.xlt.agentcontroller.ScenarioStatus;
 import com.xceptance.xlt.agentcontroller.TestResultAmount;
 import com.xceptance.xlt.agentcontroller.TestUserStatus;
+import com.xceptance.xlt.agentcontroller.TimerStatistics;
 import com.xceptance.xlt.util.AgentControllerException;
 import com.xceptance.xlt.util.AgentControllerInfo;
 import com.xceptance.xlt.util.FailedAgentControllerCollection;
@@ -344,6 +348,8 @@ public abstract class BasicConsoleUI implements MasterControllerUI
             System.out.println(buf);
         }
 
+        printIntervalStatistics(masterController.getIntervalStatistics(agentControllerStatusList));
+
         if (!failedAgentsByHost.isEmpty())
         {
             final StringBuilder sb = new StringBuilder();
@@ -366,6 +372,53 @@ public abstract class BasicConsoleUI implements MasterControllerUI
         }
     }
 
+    /**
+     * Prints the merged statistics of the latest interval to the console in a tabular format. The output contains one
+     * line per transaction and action.
+     *
+     * @param intervalStatistics
+     *            the interval statistics (may be <code>null</code>)
+     */
+    private void printIntervalStatistics(final IntervalStatistics intervalStatistics)
+    {
+        if (intervalStatistics == null || intervalStatistics.getTimerStatistics().isEmpty())
+        {
+            return;
+        }
+
+        // determine longest timer name
+        int maxNameLength = 4;
+        for (final TimerStatistics timerStatistics : intervalStatistics.getTimerStatistics())
+        {
+            maxNameLength = Math.max(maxNameLength, timerStatistics.getName().length());
+        }
+
+        final StringBuilder buf = new StringBuilder();
+        final Formatter formatter = new Formatter(buf);
+
+        final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+        formatter.format("Interval %s - %s\n\n", timeFormat.format(new Date(intervalStatistics.getStartTime())),
+                         timeFormat.format(new Date(intervalStatistics.getEndTime())));
+
+        final String headerFormat = "%-11s   %-" + maxNameLength + "s       Count    Count/s           Errors        P50        P95        P99\n";
+        formatter.format(headerFormat, "Type", "Name");
+
+        final String separatorLineFormat = "-----------   %s   ---------   --------   --------------   --------   --------   --------\n";
+        formatter.format(separatorLineFormat, StringUtils.repeat("-", maxNameLength));
+
+        final String format = "%-11s   %-" + maxNameLength + "s   %,9d   %,8.1f   %,6d %7s   %,5d ms   %,5d ms   %,5d ms\n";
+        for (final TimerStatistics timerStatistics : intervalStatistics.getTimerStatistics())
+        {
+            formatter.format(format, timerStatistics.getType(), timerStatistics.getName(), timerStatistics.getCount(),
+                             intervalStatistics.getThroughput(timerStatistics), timerStatistics.getErrors(),
+                             String.format("(%.1f%%)", timerStatistics.getErrorRate()), timerStatistics.getPercentile(50),
+                             timerStatistics.getPercentile(95), timerStatistics.getPercentile(99));
+        }
+
+        formatter.close();
+        System.out.println(buf);
+    }
+
     public void printLoadTestSettings()
     {
         // Get the current load profile.
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.mastercontroller;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.xceptance.xlt.agentcontroller.AgentStatusInfo;
+import com.xceptance.xlt.agentcontroller.IntervalStatistics;
+import com.xceptance.xlt.agentcontroller.TimerStatistics;
+
+/**
+ * Merges the interval statistics reported by all agents into statistics for the whole load test. Optionally, the
+ * merged statistics of each interval are appended to a CSV file.
+ * <p>
+ * Agents report the statistics of their most recently completed intervals. Since agents complete an interval at
+ * slightly different points in time, the latest interval to show is the newest one that all running agents have
+ * completed already.
+ */
+public class IntervalStatisticsAggregator
+{
+    private static final Logger LOG = LoggerFactory.getLogger(IntervalStatisticsAggregator.class);
+
+    /**
+     * The percentiles written to the output file.
+     */
+    static final double[] PERCENTILES =
+        {
+            50, 95, 99
+        };
+
+    /**
+     * The output file, may be <code>null</code>.
+     */
+    private final File outputFile;
+
+    /**
+     * The end time of the last interval written to the output file.
+     */
+    private long lastWrittenEndTime;
+
+    /**
+     * Constructor.
+     *
+     * @param outputFile
+     *            the file to append the merged statistics to (may be <code>null</code>)
+     */
+    public IntervalStatisticsAggregator(final File outputFile)
+    {
+        this.outputFile = outputFile;
+    }
+
+    /**
+     * Merges the statistics of the latest interval completed by all running agents and writes any interval not written
+     * yet to the output file.
+     *
+     * @param agentControllerStatusList
+     *            the current status of all agent controllers
+     * @return the merged statistics of the latest interval, or <code>null</code> if there are none
+     */
+    public synchronized IntervalStatistics aggregate(final List<AgentControllerStatusInfo> agentControllerStatusList)
+    {
+        // collect the agents that report statistics and determine the latest interval completed by all running agents
+        final List<AgentStatusInfo> reportingAgents = new ArrayList<>();
+        final TreeSet<Long> endTimes = new TreeSet<>();
+        long latestCommonEndTime = Long.MAX_VALUE;
+
+        for (final AgentControllerStatusInfo agentControllerStatus : agentControllerStatusList)
+        {
+            for (final AgentStatusInfo agentStatus : agentControllerStatus.getAgentStatusList())
+            {
+                final List<IntervalStatistics> intervalStatistics = agentStatus.getIntervalStatistics();
+                if (intervalStatistics != null && !intervalStatistics.isEmpty())
+                {
+                    reportingAgents.add(agentStatus);
+                    intervalStatistics.forEach(s -> endTimes.add(s.getEndTime()));
+
+                    if (agentStatus.isRunning())
+                    {
+                        final long endTime = intervalStatistics.get(intervalStatistics.size() - 1).getEndTime();
+                        latestCommonEndTime = Math.min(latestCommonEndTime, endTime);
+                    }
+                }
+            }
+        }
+
+        if (reportingAgents.isEmpty())
+        {
+            return null;
+        }
+
+        if (latestCommonEndTime == Long.MAX_VALUE)
+        {
+            // no agent is running anymore
+            latestCommonEndTime = endTimes.last();
+        }
+
+        // write any complete interval not written so far
+        if (outputFile != null)
+        {
+            for (final long endTime : endTimes.subSet(lastWrittenEndTime, false, latestCommonEndTime, false))
+            {
+                write(merge(reportingAgents, endTime));
+            }
+        }
+
+        final IntervalStatistics latest = merge(reportingAgents, latestCommonEndTime);
+        if (outputFile != null && latestCommonEndTime > lastWrittenEndTime)
+        {
+            write(latest);
+        }
+
+        return latest;
+    }
+
+    /**
+     * Merges the statistics of all agents for the interval with the given end time.
+     */
+    private static IntervalStatistics merge(final List<AgentStatusInfo> agents, final long endTime)
+    {
+        final List<IntervalStatistics> intervalStatistics = new ArrayList<>();
+
+        for (final AgentStatusInfo agentStatus : agents)
+        {
+            for (final IntervalStatistics stats : agentStatus.getIntervalStatistics())
+            {
+                if (stats.getEndTime() == endTime)
+                {
+                    intervalStatistics.add(stats);
+                }
+            }
+        }
+
+        return IntervalStatistics.merge(intervalStatistics);
+    }
+
+    /**
+     * Appends the given statistics to the output file, one line per timer.
+     */
+    private void write(final IntervalStatistics intervalStatistics)
+    {
+        lastWrittenEndTime = intervalStatistics.getEndTime();
+
+        try
+        {
+            final boolean writeHeader = !outputFile.exists() || outputFile.length() == 0;
+
+            try (final PrintWriter writer = new PrintWriter(Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8,
+                                                                                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)))
+            {
+                if (writeHeader)
+                {
+                    writer.println("StartTime,EndTime,Type,Name,Count,CountPerSecond,Errors,ErrorRate,P50,P95,P99");
+                }
+
+                for (final TimerStatistics stats : intervalStatistics.getTimerStatistics())
+                {
+                    writer.print(String.format(Locale.US, "%d,%d,%s,\"%s\",%d,%.2f,%d,%.2f", intervalStatistics.getStartTime(),
+                                               intervalStatistics.getEndTime(), stats.getType(), stats.getName().replace("\"", "\"\""),
+                                               stats.getCount(), intervalStatistics.getThroughput(stats), stats.getErrors(),
+                                               stats.getErrorRate()));
+                    for (final double percentile : PERCENTILES)
+                    {
+                        writer.print(',');
+                        writer.print(stats.getPercentile(percentile));
+                    }
+                    writer.println();
+                }
+            }
+        }
+        catch (final IOException e)
+        {
+            LOG.error("Failed to write interval statistics to file: " + outputFile, e);
+        }
+    }
+}
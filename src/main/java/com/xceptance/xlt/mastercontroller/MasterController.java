@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -53,6 +54,7 @@ import org.slf4j.LoggerFactory;
 
 import com.xceptance.common.util.ParameterCheckUtils;
 import com.xceptance.xlt.agentcontroller.AgentController;
+import com.xceptance.xlt.agentcontroller.IntervalStatistics;
 import com.xceptance.xlt.agentcontroller.TestResultAmount;
 import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
 import com.xceptance.xlt.api.util.XltLogger;
@@ -172,12 +174,43 @@ public class MasterController
      */
     private boolean compressedTimerFiles = false;
 
+    /**
+     * Stream results from the agent controllers instead of downloading archive files.
+     */
+    private final boolean streamingDownload;
+
+    /**
+     * The interval [ms] in which completed results are downloaded while the test is running, 0 if disabled.
+     */
+    private final long trickleDownloadInterval;
+
+    /**
+     * Keep the result archive of each agent instead of extracting the timer files.
+     */
+    private final boolean keepResultArchives;
+
+    /**
+     * Downloads completed results while the test is running, <code>null</code> if not active.
+     */
+    private TrickleDownloader trickleDownloader;
+
+    /**
+     * The amount of test result data to download while the test is running. Defaults to all results, since the amount
+     * to download finally may not be known before the test has finished.
+     */
+    private TestResultAmount trickleDownloadAmount = TestResultAmount.ALL;
+
     /**
      * The status update facility that periodically queries the status of all agent controllers while a load test is
      * running.
      */
     private final AgentControllerStatusUpdater agentControllerStatusUpdater;
 
+    /**
+     * Merges the interval statistics reported by the agents.
+     */
+    private final IntervalStatisticsAggregator intervalStatisticsAggregator;
+
     /**
      * Creates a new MasterController object.
      *
@@ -218,10 +251,14 @@ public class MasterController
 
         isEmbedded = config.isEmbedded();
         compressedTimerFiles = config.isCompressedTimerFiles();
+        streamingDownload = config.isStreamingDownload();
+        trickleDownloadInterval = config.getTrickleDownloadInterval();
+        keepResultArchives = config.isKeepResultArchives();
 
         checkTestPropertiesFileName();
 
-        agentControllerStatusUpdater = new AgentControllerStatusUpdater(defaultExecutor);
+        intervalStatisticsAggregator = new IntervalStatisticsAggregator(config.getIntervalStatisticsFile());
+        agentControllerStatusUpdater = new AgentControllerStatusUpdater(defaultExecutor, this::aggregateIntervalStatistics);
     }
 
     /**
@@ -286,11 +323,20 @@ public class MasterController
         }
 
         // If the test is still running we will tag the directory as "intermediate results"
+        Map<String, Map<String, Long>> receivedFiles = Map.of();
         if (!stoppedByUser && isAnyAgentRunning_SAFE())
         {
             final String intermediateResultsPath = currentTestResultsDir.getPath() + "-intermediate";
             currentTestResultsDir = new File(intermediateResultsPath);
         }
+        else if (trickleDownloader != null)
+        {
+            // continue where the trickle download has stopped
+            trickleDownloader.stop();
+            currentTestResultsDir = trickleDownloader.getTestResultsDir();
+            receivedFiles = trickleDownloader.getReceivedFiles();
+            trickleDownloader = null;
+        }
 
         final ArrayList<AgentController> agentControllers = new ArrayList<>(agentControllerMap.values());
         final int agentControllerSize = agentControllers.size();
@@ -308,7 +354,9 @@ public class MasterController
         // download results
         final ResultDownloader resultDownloader = new ResultDownloader(downloadExecutor, currentTestResultsDir, tempDirectory,
                                                                        agentControllers, progress);
-        final boolean downloadSuccess = resultDownloader.download(testResultAmount, compressedTimerFiles);
+        final boolean downloadSuccess = resultDownloader.download(testResultAmount, compressedTimerFiles,
+                                                                  streamingDownload || trickleDownloadInterval > 0, receivedFiles,
+                                                                  keepResultArchives);
 
         // inform user
         final FailedAgentControllerCollection failedAgentControllers = resultDownloader.getFailedAgentControllerCollection();
@@ -787,6 +835,7 @@ public class MasterController
         if (operationCompleted)
         {
             stoppedByUser = false;
+            startTrickleDownload();
         }
         return operationCompleted;
     }
@@ -1127,6 +1176,19 @@ public class MasterController
      * @param comment
      *            the test comment
      */
+    /**
+     * Sets the amount of test result data to download while the test is running. Should match the amount that will be
+     * downloaded when the test has finished, if known in advance. {@link TestResultAmount#CANCEL} disables the trickle
+     * download.
+     *
+     * @param testResultAmount
+     *            the amount of test result data
+     */
+    void setTrickleDownloadAmount(final TestResultAmount testResultAmount)
+    {
+        trickleDownloadAmount = testResultAmount;
+    }
+
     void setTestComment(final String comment)
     {
         if (comment != null)
@@ -1242,8 +1304,40 @@ public class MasterController
         }
     }
 
+    /**
+     * Starts downloading completed results periodically while the test is running, if so configured. Any previous
+     * trickle download is stopped.
+     */
+    private void startTrickleDownload()
+    {
+        stopTrickleDownload();
+
+        if (trickleDownloadInterval > 0 && trickleDownloadAmount != TestResultAmount.CANCEL)
+        {
+            final File testResultsDir = resultOutputDirectory != null ? resultOutputDirectory
+                                                                      : getTestResultsDirectory(testResultsRootDirectory, currentTestCaseName);
+
+            trickleDownloader = new TrickleDownloader(agentControllerMap.values(), testResultsDir, trickleDownloadAmount,
+                                                      compressedTimerFiles, trickleDownloadInterval);
+            trickleDownloader.start();
+        }
+    }
+
+    /**
+     * Stops the trickle download, if any.
+     */
+    private void stopTrickleDownload()
+    {
+        if (trickleDownloader != null)
+        {
+            trickleDownloader.stop();
+            trickleDownloader = null;
+        }
+    }
+
     public void shutdown()
     {
+        stopTrickleDownload();
         defaultExecutor.shutdownNow();
         uploadExecutor.shutdownNow();
         downloadExecutor.shutdownNow();
@@ -1450,6 +1544,36 @@ public class MasterController
         agentControllerStatusUpdater.stop();
     }
 
+    /**
+     * Merges the interval statistics reported so far, which writes any completed interval to the interval statistics
+     * file if so configured. Called after each agent controller status update, so the file is kept up to date no
+     * matter whether and how often the status is displayed.
+     *
+     * @param agentControllerStatuses
+     *            the current status of the agent controllers
+     */
+    private void aggregateIntervalStatistics(final Collection<AgentControllerStatusInfo> agentControllerStatuses)
+    {
+        // wait for the status of all agent controllers, otherwise intervals might be written without their data
+        if (agentControllerStatuses.size() >= agentControllerMap.size())
+        {
+            intervalStatisticsAggregator.aggregate(new ArrayList<>(agentControllerStatuses));
+        }
+    }
+
+    /**
+     * Merges the interval statistics contained in the given agent controller status list into statistics for the
+     * whole load test. If so configured, any interval not written yet is also written to a file.
+     *
+     * @param agentControllerStatusList
+     *            the agent controller status list
+     * @return the merged statistics of the latest interval, or <code>null</code> if the agents do not report any
+     */
+    public IntervalStatistics getIntervalStatistics(final List<AgentControllerStatusInfo> agentControllerStatusList)
+    {
+        return intervalStatisticsAggregator.aggregate(agentControllerStatusList);
+    }
+
     /**
      * Returns the status of each known agent controller.
      *
@@ -72,6 +72,8 @@ public class MasterControllerConfiguration extends AbstractConfiguration
 
     private static final String PROP_UI_STATUS_UPDATE_INTERVAL = PROP_UI_STATUS_PREFIX + "updateInterval";
 
+    private static final String PROP_UI_STATUS_INTERVAL_STATISTICS_FILE = PROP_UI_STATUS_PREFIX + "intervalStatistics.file";
+
     private static final String PROP_IGNORE_UNREACHABLE_AGENT_CONTROLLERS = PROP_PREFIX + "ignoreUnreachableAgentControllers";
 
     private static final String PROP_HTTPS_PROXY = PROP_PREFIX + "https.proxy";
@@ -108,6 +110,12 @@ public class MasterControllerConfiguration extends AbstractConfiguration
 
     private static final String PROP_DOWNLOAD_MAX_RETRIES = PROP_PREFIX + "download.maxRetries";
 
+    private static final String PROP_DOWNLOAD_STREAMING = PROP_PREFIX + "download.streaming";
+
+    private static final String PROP_DOWNLOAD_TRICKLE_INTERVAL = PROP_PREFIX + "download.trickle.interval";
+
+    private static final String PROP_DOWNLOAD_KEEP_ARCHIVES = PROP_PREFIX + "download.keepArchives";
+
     private final List<AgentControllerConnectionInfo> agentControllerConnectionInfos;
 
     private File agentFilesDirectory;
@@ -118,6 +126,8 @@ public class MasterControllerConfiguration extends AbstractConfiguration
 
     private final int statusListUpdateInterval;
 
+    private final File intervalStatisticsFile;
+
     private File testReportsRootDirectory;
 
     private File testResultsRootDirectory;
@@ -166,6 +176,12 @@ public class MasterControllerConfiguration extends AbstractConfiguration
 
     private final int downloadMaxRetries;
 
+    private final boolean streamingDownload;
+
+    private final long trickleDownloadInterval;
+
+    private final boolean keepResultArchives;
+
     /**
      * Creates a new MasterControllerConfiguration object.
      *
@@ -269,6 +285,7 @@ public class MasterControllerConfiguration extends AbstractConfiguration
 
         // other settings
         statusListUpdateInterval = getIntProperty(PROP_UI_STATUS_UPDATE_INTERVAL, 5);
+        intervalStatisticsFile = getFileProperty(PROP_UI_STATUS_INTERVAL_STATISTICS_FILE, null);
 
         isAgentControllerConnectionRelaxed = getBooleanProperty(PROP_IGNORE_UNREACHABLE_AGENT_CONTROLLERS, false);
 
@@ -289,6 +306,9 @@ public class MasterControllerConfiguration extends AbstractConfiguration
         // download options
         downloadChunkSize = Math.max(1000, getLongProperty(PROP_DOWNLOAD_CHUNK_SIZE, AgentControllerProxy.DEFAULT_DOWNLOAD_CHUNK_SIZE));
         downloadMaxRetries = Math.max(0, getIntProperty(PROP_DOWNLOAD_MAX_RETRIES, AgentControllerProxy.DEFAULT_DOWNLOAD_MAX_RETRIES));
+        streamingDownload = getBooleanProperty(PROP_DOWNLOAD_STREAMING, false);
+        trickleDownloadInterval = Math.max(0, getIntProperty(PROP_DOWNLOAD_TRICKLE_INTERVAL, 0)) * 1000L;
+        keepResultArchives = getBooleanProperty(PROP_DOWNLOAD_KEEP_ARCHIVES, false);
     }
 
     /**
@@ -444,6 +464,16 @@ public class MasterControllerConfiguration extends AbstractConfiguration
         return statusListUpdateInterval;
     }
 
+    /**
+     * Returns the file to which the merged interval statistics reported by the agents are to be appended.
+     *
+     * @return the file, or <code>null</code> if the statistics are not to be written to a file
+     */
+    public File getIntervalStatisticsFile()
+    {
+        return intervalStatisticsFile;
+    }
+
     /**
      * In case of initial connection problems with a agent controller the load of the test is distributed to the
      * remaining agent controllers if the connection is relaxed.
@@ -681,4 +711,36 @@ public class MasterControllerConfiguration extends AbstractConfiguration
     {
         return downloadMaxRetries;
     }
+
+    /**
+     * Returns whether test results are streamed from the agent controllers instead of being archived and downloaded as
+     * files.
+     *
+     * @return <code>true</code> if results are streamed, <code>false</code> otherwise
+     */
+    public boolean isStreamingDownload()
+    {
+        return streamingDownload;
+    }
+
+    /**
+     * Returns the interval in which completed test results are downloaded while the load test is still running.
+     *
+     * @return the interval [ms], or 0 if results are downloaded after the test only
+     */
+    public long getTrickleDownloadInterval()
+    {
+        return trickleDownloadInterval;
+    }
+
+    /**
+     * Returns whether the downloaded result archive of each agent is kept as is, so that the timer files need not be
+     * extracted, but are read directly from the archive when generating the report.
+     *
+     * @return <code>true</code> if result archives are kept, <code>false</code> if they are fully extracted
+     */
+    public boolean isKeepResultArchives()
+    {
+        return keepResultArchives;
+    }
 }
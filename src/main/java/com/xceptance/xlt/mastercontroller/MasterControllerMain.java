@@ -358,6 +358,7 @@ public class MasterControllerMain
         {
             ui = new FireAndForgetUI(masterController, sequentialMode, generateReport, noResults,
                                      config.getAgentControllerInitialResponseTimeout(), resultAmount);
+            masterController.setTrickleDownloadAmount(noResults ? TestResultAmount.CANCEL : resultAmount);
             masterController.setTestComment(commandLine.getOptionValue(XltConstants.COMMANDLINE_OPTION_COMMENT, (String) null));
         }
         else if (commandsMode)
@@ -365,6 +366,7 @@ public class MasterControllerMain
             final String commandList = commandLine.getOptionValue(OPTION_COMMANDS);
 
             ui = new NonInteractiveUI(masterController, commandList, config.getAgentControllerInitialResponseTimeout(), resultAmount);
+            masterController.setTrickleDownloadAmount(resultAmount);
             masterController.setTestComment(commandLine.getOptionValue(XltConstants.COMMANDLINE_OPTION_COMMENT, (String) null));
         }
         else
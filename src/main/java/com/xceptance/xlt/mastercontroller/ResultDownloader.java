@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,9 +30,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.vfs2.FileObject;
@@ -79,6 +83,22 @@ public class ResultDownloader
      * @progresscount 7 ac + 4
      */
     public boolean download(final TestResultAmount testResultAmount, final boolean compressedTimerFiles)
+    {
+        return download(testResultAmount, compressedTimerFiles, false, Map.of(), false);
+    }
+
+    /**
+     * @param streaming
+     *            whether to stream the results of each agent instead of downloading archives
+     * @param receivedFiles
+     *            the files received already in streaming mode, keyed by agent ID (see {@link TrickleDownloader})
+     * @param keepArchives
+     *            whether to keep the downloaded result archive of each agent instead of extracting the timer files (has
+     *            no effect in streaming mode)
+     * @progresscount 7 ac + 4
+     */
+    public boolean download(final TestResultAmount testResultAmount, final boolean compressedTimerFiles, final boolean streaming,
+                            final Map<String, Map<String, Long>> receivedFiles, final boolean keepArchives)
     {
         // download test configuration
         final boolean testConfigDownloaded = getRemoteTestConfig();
@@ -94,11 +114,20 @@ public class ResultDownloader
             }
         }
 
-        // archive results
-        archiveResults(testResultAmount);
+        final boolean resultsDownloaded;
+        if (streaming)
+        {
+            // stream and extract results
+            resultsDownloaded = streamResults(testResultAmount, compressedTimerFiles, receivedFiles);
+        }
+        else
+        {
+            // archive results
+            archiveResults(testResultAmount);
 
-        // download and unzip archives
-        final boolean resultsDownloaded = downloadResults(compressedTimerFiles);
+            // download and unzip archives
+            resultsDownloaded = downloadResults(compressedTimerFiles, keepArchives);
+        }
 
         // We have downloaded results from at least 1 agent controller.
         // AND
@@ -391,7 +420,7 @@ public class ResultDownloader
     /**
      * @progresscount 5 * ac
      */
-    private boolean downloadResults(final boolean compressedTimerFiles)
+    private boolean downloadResults(final boolean compressedTimerFiles, final boolean keepArchives)
     {
         LOG.debug("Download results");
         try
@@ -405,7 +434,7 @@ public class ResultDownloader
                     {
                         // download the archive
                         LOG.debug("Downloading results from " + agentController);
-                        downloadTestResults(agentController, compressedTimerFiles);
+                        downloadTestResults(agentController, compressedTimerFiles, keepArchives);
                         LOG.debug("Downloading results from " + agentController + " OK");
                         return true;
                     }
@@ -419,6 +448,122 @@ public class ResultDownloader
         }
     }
 
+    /**
+     * Streams the results of all agents from their agent controllers and extracts them on the fly. The results of
+     * different agents are downloaded in parallel. Files received already are skipped.
+     *
+     * @progresscount 6 * ac
+     */
+    private boolean streamResults(final TestResultAmount testResultAmount, final boolean compressedTimerFiles,
+                                  final Map<String, Map<String, Long>> receivedFiles)
+    {
+        LOG.info("Stream results");
+
+        // determine the agents of each agent controller
+        final Map<AgentController, Set<String>> agentIDsByAgentController = new ConcurrentHashMap<>();
+        final CountDownLatch queryLatch = new CountDownLatch(agentControllers.size());
+
+        for (final AgentController agentController : agentControllers)
+        {
+            downloadExecutor.execute(() -> {
+                try
+                {
+                    final Set<String> agentIDs = agentController.getAgentIDs();
+                    if (agentIDs == null || agentIDs.isEmpty())
+                    {
+                        LOG.warn(agentController + ": No agents known, so no results can be streamed");
+                    }
+
+                    agentIDsByAgentController.put(agentController, agentIDs != null ? agentIDs : Set.of());
+                }
+                catch (final Exception e)
+                {
+                    failedAgentControllers.add(agentController, e);
+                    LOG.error("Failed to query agents of " + agentController, e);
+                    progress.increaseCount(5);
+                }
+                finally
+                {
+                    progress.increaseCount();
+                    queryLatch.countDown();
+                }
+            });
+        }
+
+        boolean finished = awaitLatch(queryLatch, "Waiting for agent query has failed");
+
+        // now download the results of all agents in parallel
+        final int agentCount = agentIDsByAgentController.values().stream().mapToInt(Set::size).sum();
+        final CountDownLatch downloadLatch = new CountDownLatch(agentCount);
+
+        for (final Map.Entry<AgentController, Set<String>> entry : agentIDsByAgentController.entrySet())
+        {
+            final AgentController agentController = entry.getKey();
+            final Set<String> agentIDs = entry.getValue();
+
+            if (agentIDs.isEmpty())
+            {
+                progress.increaseCount(5);
+                continue;
+            }
+
+            final AtomicInteger remainingAgents = new AtomicInteger(agentIDs.size());
+            for (final String agentID : agentIDs)
+            {
+                downloadExecutor.execute(() -> {
+                    try
+                    {
+                        LOG.debug("Streaming results of agent " + agentID + " from " + agentController);
+                        final Map<String, Long> receivedAgentFiles = new ConcurrentHashMap<>(receivedFiles.getOrDefault(agentID, Map.of()));
+                        agentController.getFileManager().downloadAgentResults(agentID, testResultAmount, new File(testResultsDir, agentID),
+                                                                              compressedTimerFiles, receivedAgentFiles, false);
+                        LOG.debug("Streaming results of agent " + agentID + " from " + agentController + " OK");
+                    }
+                    catch (final Exception e)
+                    {
+                        failedAgentControllers.add(agentController, e);
+                        LOG.error("Failed to stream results of agent " + agentID + " from " + agentController, e);
+                    }
+                    finally
+                    {
+                        if (remainingAgents.decrementAndGet() == 0)
+                        {
+                            LOG.info("Finished streaming test results from " + agentController);
+                            progress.increaseCount(5);
+                        }
+
+                        downloadLatch.countDown();
+                    }
+                });
+            }
+        }
+
+        finished &= awaitLatch(downloadLatch, "Waiting for streaming of results has failed");
+
+        removeFailedControllers();
+
+        return finished;
+    }
+
+    /**
+     * Waits for the given latch to reach zero.
+     *
+     * @return <code>true</code> if the latch reached zero, <code>false</code> if the current thread was interrupted
+     */
+    private boolean awaitLatch(final CountDownLatch latch, final String errorMessage)
+    {
+        try
+        {
+            latch.await();
+            return true;
+        }
+        catch (final InterruptedException e)
+        {
+            LOG.error(errorMessage, e);
+            return false;
+        }
+    }
+
     /**
      * @progresscount ac + 1
      */
@@ -499,7 +644,8 @@ public class ResultDownloader
      *             if an I/O error occurs
      * @progresscount 4
      */
-    private void downloadTestResults(final AgentController agentController, final boolean compressedTimerFiles) throws IOException
+    private void downloadTestResults(final AgentController agentController, final boolean compressedTimerFiles, final boolean keepArchives)
+        throws IOException
     {
         /** agentID, downloadedZipFile */
         final Map<String, File> downloadedZipFiles = new HashMap<String, File>();
@@ -541,8 +687,24 @@ public class ResultDownloader
                 final File zipFile = downloadedZipFile.getValue();
 
                 final File agentResultsDir = new File(testResultsDir, agentID);
-                LOG.debug("Unzipping '" + zipFile + "' to '" + agentResultsDir + "' ...");
-                ZipUtils.unzipFile(zipFile, agentResultsDir, compressedTimerFiles);
+                if (keepArchives)
+                {
+                    // keep the archive in the agent's result directory and extract everything but the timer files, the
+                    // report generator reads the timer files directly from the archive
+                    final File archiveFile = new File(agentResultsDir, XltConstants.AGENT_RESULTS_ARCHIVE_FILENAME);
+                    LOG.debug("Moving '" + zipFile + "' to '" + archiveFile + "' ...");
+                    org.apache.commons.io.FileUtils.forceMkdir(agentResultsDir);
+                    Files.move(zipFile.toPath(), archiveFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+                    LOG.debug("Unzipping non-timer files of '" + archiveFile + "' to '" + agentResultsDir + "' ...");
+                    ZipUtils.unzipFile(archiveFile, agentResultsDir, compressedTimerFiles,
+                                       entryName -> !ZipUtils.isTimerFile(new File(entryName).getName()));
+                }
+                else
+                {
+                    LOG.debug("Unzipping '" + zipFile + "' to '" + agentResultsDir + "' ...");
+                    ZipUtils.unzipFile(zipFile, agentResultsDir, compressedTimerFiles);
+                }
             }
             progress.increaseCount();
         }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.mastercontroller;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.xceptance.common.util.concurrent.DaemonThreadFactory;
+import com.xceptance.xlt.agentcontroller.AgentController;
+import com.xceptance.xlt.agentcontroller.TestResultAmount;
+
+/**
+ * Periodically downloads those results from the agent controllers that will not change any longer while the load test
+ * is running, i.e. rotated timer files and result browser data. This way, most of the results are on the master
+ * controller already when the test has finished, and the final download only needs to fetch the remaining files.
+ * <p>
+ * For each agent, the sizes of the files received so far are tracked, so no file is transferred twice. Errors are
+ * logged only, since anything not received now will be received by the final download.
+ */
+public class TrickleDownloader
+{
+    private static final Logger LOG = LoggerFactory.getLogger(TrickleDownloader.class);
+
+    /**
+     * The agent controllers to download from.
+     */
+    private final List<AgentController> agentControllers;
+
+    /**
+     * The directory to store the results in.
+     */
+    private final File testResultsDir;
+
+    /**
+     * The amount of test result data to download.
+     */
+    private final TestResultAmount testResultAmount;
+
+    /**
+     * Whether to store timer files in compressed form.
+     */
+    private final boolean compressedTimerFiles;
+
+    /**
+     * The download interval [ms].
+     */
+    private final long interval;
+
+    /**
+     * The sizes of the files received so far, keyed by agent ID and relative file path.
+     */
+    private final Map<String, Map<String, Long>> receivedFiles = new ConcurrentHashMap<>();
+
+    /**
+     * The executor running the periodic downloads.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor.
+     *
+     * @param agentControllers
+     *            the agent controllers to download from
+     * @param testResultsDir
+     *            the directory to store the results in
+     * @param testResultAmount
+     *            the amount of test result data to download
+     * @param compressedTimerFiles
+     *            whether to store timer files in compressed form
+     * @param interval
+     *            the download interval [ms]
+     */
+    public TrickleDownloader(final Collection<AgentController> agentControllers, final File testResultsDir,
+                             final TestResultAmount testResultAmount, final boolean compressedTimerFiles, final long interval)
+    {
+        this.agentControllers = new ArrayList<>(agentControllers);
+        this.testResultsDir = testResultsDir;
+        this.testResultAmount = testResultAmount;
+        this.compressedTimerFiles = compressedTimerFiles;
+        this.interval = interval;
+    }
+
+    /**
+     * Starts downloading periodically.
+     */
+    public synchronized void start()
+    {
+        if (executor == null)
+        {
+            LOG.info("Start trickle download of results to " + testResultsDir);
+
+            executor = Executors.newSingleThreadScheduledExecutor(new DaemonThreadFactory("TrickleDownloader-"));
+            executor.scheduleWithFixedDelay(this::downloadCompletedResults, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops downloading and waits for a download in progress to finish, so the caller can continue with the final
+     * download afterwards.
+     */
+    public synchronized void stop()
+    {
+        if (executor != null)
+        {
+            executor.shutdown();
+            try
+            {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+            catch (final InterruptedException e)
+            {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+
+            executor = null;
+
+            LOG.info("Stopped trickle download of results to " + testResultsDir);
+        }
+    }
+
+    /**
+     * Returns the directory the results are stored in.
+     *
+     * @return the test results directory
+     */
+    public File getTestResultsDir()
+    {
+        return testResultsDir;
+    }
+
+    /**
+     * Returns the sizes of the files received so far, keyed by agent ID and relative file path.
+     *
+     * @return the received files
+     */
+    public Map<String, Map<String, Long>> getReceivedFiles()
+    {
+        return receivedFiles;
+    }
+
+    /**
+     * Downloads the completed results of all agents that were not received yet.
+     */
+    void downloadCompletedResults()
+    {
+        for (final AgentController agentController : agentControllers)
+        {
+            try
+            {
+                final Set<String> agentIDs = agentController.getAgentIDs();
+                if (agentIDs != null)
+                {
+                    for (final String agentID : agentIDs)
+                    {
+                        if (Thread.currentThread().isInterrupted())
+                        {
+                            return;
+                        }
+
+                        final Map<String, Long> receivedAgentFiles = receivedFiles.computeIfAbsent(agentID, k -> new ConcurrentHashMap<>());
+                        final int filesBefore = receivedAgentFiles.size();
+
+                        agentController.getFileManager().downloadAgentResults(agentID, testResultAmount, new File(testResultsDir, agentID),
+                                                                              compressedTimerFiles, receivedAgentFiles, true);
+
+                        LOG.debug("Trickle download from agent {} at {}: {} new files", agentID, agentController,
+                                  receivedAgentFiles.size() - filesBefore);
+                    }
+                }
+            }
+            catch (final Exception e)
+            {
+                LOG.warn("Trickle download from " + agentController + " failed", e);
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.commons.vfs2.FileObject;
 
 import com.xceptance.common.util.CsvLineDecoder;
+import com.xceptance.xlt.api.engine.AbstractData;
 import com.xceptance.xlt.api.engine.ActionData;
 import com.xceptance.xlt.api.engine.Data;
 import com.xceptance.xlt.api.engine.PageLoadTimingData;
@@ -35,6 +36,7 @@ import com.xceptance.xlt.api.util.SimpleArrayList;
 import com.xceptance.xlt.api.util.XltCharBuffer;
 import com.xceptance.xlt.report.mergerules.MergeRule;
 import com.xceptance.xlt.report.mergerules.MergeRuleProcessor;
+import com.xceptance.xlt.report.util.SymbolTable;
 import com.zaxxer.sparsebits.SparseBitSet;
 
 import it.unimi.dsi.util.FastRandom;
@@ -86,6 +88,11 @@ class DataParserThread implements Runnable
      */
     private final List<MergeRule> mergeRules;
 
+    /**
+     * The report-wide symbol table used to canonicalize names.
+     */
+    private final SymbolTable symbolTable;
+
     /**
      * Constructor.
      *
@@ -99,16 +106,19 @@ class DataParserThread implements Runnable
      *            the end time
      * @param config
      *            the report generator settings
+     * @param symbolTable
+     *            the report-wide symbol table
      */
     public DataParserThread(final Dispatcher dispatcher, final DataRecordFactory dataRecordFactory, 
                             final long fromTime, final long toTime,
-                            final ReportGeneratorConfiguration config)
+                            final ReportGeneratorConfiguration config, final SymbolTable symbolTable)
     {
         this.dataRecordFactory = dataRecordFactory;
         this.fromTime = fromTime;
         this.toTime = toTime;
         this.dispatcher = dispatcher;
         this.config = config;
+        this.symbolTable = symbolTable;
 
         // Get the rules now! 
         // Reason: If a rule is invalid, an exception is thrown from here, which will terminate the report generator correctly.
@@ -147,8 +157,9 @@ class DataParserThread implements Runnable
 
                 final List<XltCharBuffer> lines = chunk.getLines();
 
-                final String agentName = chunk.getAgentName();
-                final String testCaseName = chunk.getTestCaseName();
+                // share the names common to the whole chunk with all other records of the same agent/test case
+                final String agentName = symbolTable.intern(chunk.getAgentName());
+                final String testCaseName = symbolTable.intern(chunk.getTestCaseName());
                 final String userNumber = chunk.getUserNumber();
                 final boolean collectActionNames = chunk.getCollectActionNames();
                 final boolean adjustTimerName = chunk.getAdjustTimerNames();
@@ -246,14 +257,13 @@ class DataParserThread implements Runnable
                         final RequestData result = requestProcessing.postprocess((RequestData) data);
                         if (result != null)
                         {
+                            internName(result);
                             postProcessedData.add(result);
                         }
                     }
                     else
                     {
-                        // get us a hashcode for later while the cache is warm
-                        // for RequestData, we did that already
-                        data.getName().hashCode();
+                        internName(data);
                         postProcessedData.add(data);
                     }
 
@@ -271,6 +281,31 @@ class DataParserThread implements Runnable
         }
     }
 
+    /**
+     * Replaces the final name of the given data record with its canonical instance from the symbol table and assigns
+     * the name's ID, so the report providers can look up their per-name state by ID.
+     *
+     * @param data
+     *            the data record
+     */
+    private void internName(final Data data)
+    {
+        final String name = data.getName();
+        if (name != null)
+        {
+            final SymbolTable.Symbol symbol = symbolTable.get(name);
+
+            if (data instanceof AbstractData)
+            {
+                ((AbstractData) data).setName(symbol.value(), symbol.id());
+            }
+            else
+            {
+                data.setName(symbol.value());
+            }
+        }
+    }
+
     private Data applyDataAdjustments(final Data data, 
                                       final String userNumber,
                                       final boolean collectActionNames, final DataChunk lineChunk, 
@@ -16,21 +16,33 @@
 package com.xceptance.xlt.report;
 
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.apache.commons.lang3.function.FailableRunnable;
 import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.FileSystemManager;
 import org.apache.commons.vfs2.FileType;
+import org.apache.commons.vfs2.provider.local.LocalFileSystem;
 
 import com.xceptance.common.util.StringMatcher;
+import com.xceptance.common.util.SynchronizingCounter;
 import com.xceptance.common.util.concurrent.DaemonThreadFactory;
 import com.xceptance.xlt.agent.CustomSamplersRunner;
 import com.xceptance.xlt.agent.JvmResourceUsageDataGenerator;
 import com.xceptance.xlt.api.report.ReportProvider;
 import com.xceptance.xlt.api.util.XltLogger;
+import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.engine.util.TimerUtils;
+import com.xceptance.xlt.report.util.SymbolTable;
 
 /**
  * Processor for the chain file to log line to parsed log line via
@@ -64,6 +76,11 @@ public class DataProcessor
      */
     private final ExecutorService dataReaderExecutor;
 
+    /**
+     * The number of threads used to scan local input directories.
+     */
+    private final int crawlerThreadCount;
+
     /**
      * The dispatcher that coordinates all the reader/parser/processor threads.
      */
@@ -79,6 +96,11 @@ public class DataProcessor
      */
     private final AtomicLong totalLinesCounter = new AtomicLong();
 
+    /**
+     * The roots of the agent result archives opened for reading.
+     */
+    private final Queue<FileObject> openArchives = new ConcurrentLinkedQueue<>();
+
     /**
      * The filter to skip the results of certain test cases when reading.
      */
@@ -135,17 +157,22 @@ public class DataProcessor
         // create the reader executor
         dataReaderExecutor = Executors.newFixedThreadPool(config.readerThreadCount, new DaemonThreadFactory(i -> "DataReader-" + i, Thread.MAX_PRIORITY));
 
+        crawlerThreadCount = config.crawlerThreadCount;
+
         // create the data record parser threads
         dataParserExecutor = Executors.newFixedThreadPool(config.parserThreadCount, new DaemonThreadFactory(i -> "DataParser-" + i));
 
         // create the dispatcher
         dispatcher = new Dispatcher(config, statisticsProcessor);
 
+        // the names shared by all parser threads
+        final SymbolTable symbolTable = new SymbolTable();
+
         // start the threads
         for (int i = 0; i < config.parserThreadCount; i++)
         {
             dataParserExecutor.execute(
-                                       new DataParserThread(dispatcher, dataRecordFactory, fromTime, toTime, config));
+                                       new DataParserThread(dispatcher, dataRecordFactory, fromTime, toTime, config, symbolTable));
         }
 
         XltLogger.reportLogger.info(String.format("Input directory: %s", inputDir));
@@ -181,15 +208,24 @@ public class DataProcessor
             dispatcher.startProgress();
             final long start = TimerUtils.get().getStartTime();
 
-            for (final FileObject file : inputDir.getChildren())
+            if (inputDir.getFileSystem() instanceof LocalFileSystem)
+            {
+                // scan the directory tree in parallel using NIO
+                new LocalDirectoryCrawler().crawl(inputDir.getPath());
+            }
+            else
             {
-                if (file.getType() == FileType.FOLDER)
+                // remote directory or archive
+                for (final FileObject file : inputDir.getChildren())
                 {
-                    // Check if we need to process the current agent directory
-                    final String directoryName = file.getName().getBaseName();
-                    if (agentFilter.isAccepted(directoryName))
+                    if (file.getType() == FileType.FOLDER)
                     {
-                        readDataRecordsFromAgentDir(file);
+                        // Check if we need to process the current agent directory
+                        final String directoryName = file.getName().getBaseName();
+                        if (agentFilter.isAccepted(directoryName))
+                        {
+                            readDataRecordsFromAgentDir(file);
+                        }
                     }
                 }
             }
@@ -214,6 +250,13 @@ public class DataProcessor
             // stop background threads
             dataParserExecutor.shutdownNow();
             dataReaderExecutor.shutdownNow();
+
+            // release any result archives
+            FileObject archiveRoot;
+            while ((archiveRoot = openArchives.poll()) != null)
+            {
+                archiveRoot.getFileSystem().getFileSystemManager().closeFileSystem(archiveRoot.getFileSystem());
+            }
         }
     }
 
@@ -227,7 +270,52 @@ public class DataProcessor
      */
     private void readDataRecordsFromAgentDir(final FileObject agentDir) throws Exception
     {
-        for (final FileObject file : agentDir.getChildren())
+        final String agentName = agentDir.getName().getBaseName();
+
+        final FileObject archiveFile = agentDir.getChild(XltConstants.AGENT_RESULTS_ARCHIVE_FILENAME);
+        if (archiveFile != null && archiveFile.isFile())
+        {
+            readDataRecordsFromAgentArchive(archiveFile, agentName);
+        }
+        else
+        {
+            readDataRecordsFromTestCaseDirs(agentDir, agentName);
+        }
+    }
+
+    /**
+     * Reads the timer files directly from the given result archive of an agent. The archive is opened as a file system
+     * of its own, so only the archive's central directory is read up front, while the timer files are decompressed on
+     * demand by the reader threads.
+     *
+     * @param archiveFile
+     *            the result archive
+     * @param agentName
+     *            the associated agent
+     * @throws IOException
+     *             thrown on I/O-Error
+     */
+    private void readDataRecordsFromAgentArchive(final FileObject archiveFile, final String agentName) throws Exception
+    {
+        final FileObject archiveRoot = archiveFile.getFileSystem().getFileSystemManager().createFileSystem("zip", archiveFile);
+        openArchives.add(archiveRoot);
+
+        readDataRecordsFromTestCaseDirs(archiveRoot, agentName);
+    }
+
+    /**
+     * Reads the timer files from the test case directories found in the given directory.
+     *
+     * @param directory
+     *            the agent directory or the root of an agent's result archive
+     * @param agentName
+     *            the associated agent
+     * @throws IOException
+     *             thrown on I/O-Error
+     */
+    private void readDataRecordsFromTestCaseDirs(final FileObject directory, final String agentName) throws Exception
+    {
+        for (final FileObject file : directory.getChildren())
         {
             if (file.getType() == FileType.FOLDER)
             {
@@ -235,7 +323,7 @@ public class DataProcessor
                 final String directoryName = file.getName().getBaseName();
                 if (isSpecialDirectory(directoryName) || testCaseFilter.isAccepted(directoryName))
                 {
-                    readDataRecordsFromTestCaseDir(file, agentDir.getName().getBaseName());
+                    readDataRecordsFromTestCaseDir(file, agentName);
                 }
             }
         }
@@ -289,6 +377,139 @@ public class DataProcessor
         dataReaderExecutor.execute(reader);
     }
 
+    /**
+     * Scans a local input directory for test user directories with multiple threads and hands over each test user
+     * directory to the reader threads as soon as it is found. This way, reading data can start while the directory tree
+     * is still being scanned, which makes a big difference for huge result sets on network file systems.
+     */
+    class LocalDirectoryCrawler
+    {
+        /**
+         * The executor running the directory scan tasks.
+         */
+        private final ExecutorService executor = Executors.newFixedThreadPool(crawlerThreadCount,
+                                                                              new DaemonThreadFactory(i -> "DirectoryCrawler-" + i));
+
+        /**
+         * The number of scan tasks not yet finished.
+         */
+        private final SynchronizingCounter pendingTasks = new SynchronizingCounter();
+
+        /**
+         * The first exception that occurred while scanning.
+         */
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        /**
+         * Scans the given input directory and returns when all test user directories have been handed over to the
+         * reader threads.
+         *
+         * @param inputPath
+         *            the input directory
+         * @throws Exception
+         *             if any directory could not be scanned
+         */
+        void crawl(final Path inputPath) throws Exception
+        {
+            try
+            {
+                try (final DirectoryStream<Path> agentDirs = Files.newDirectoryStream(inputPath, Files::isDirectory))
+                {
+                    for (final Path agentDir : agentDirs)
+                    {
+                        // Check if we need to process the current agent directory
+                        if (agentFilter.isAccepted(agentDir.getFileName().toString()))
+                        {
+                            submit(() -> crawlAgentDir(agentDir));
+                        }
+                    }
+                }
+                finally
+                {
+                    pendingTasks.awaitZero();
+                }
+
+                if (failure.get() != null)
+                {
+                    throw failure.get();
+                }
+            }
+            finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        /**
+         * Scans the given agent directory.
+         */
+        private void crawlAgentDir(final Path agentDir) throws Exception
+        {
+            final String agentName = agentDir.getFileName().toString();
+
+            final Path archiveFile = agentDir.resolve(XltConstants.AGENT_RESULTS_ARCHIVE_FILENAME);
+            if (Files.isRegularFile(archiveFile))
+            {
+                final FileSystemManager fileSystemManager = inputDir.getFileSystem().getFileSystemManager();
+                readDataRecordsFromAgentArchive(fileSystemManager.toFileObject(archiveFile.toFile()), agentName);
+                return;
+            }
+
+            try (final DirectoryStream<Path> testCaseDirs = Files.newDirectoryStream(agentDir, Files::isDirectory))
+            {
+                for (final Path testCaseDir : testCaseDirs)
+                {
+                    // filter out certain directories if so configured
+                    final String directoryName = testCaseDir.getFileName().toString();
+                    if (isSpecialDirectory(directoryName) || testCaseFilter.isAccepted(directoryName))
+                    {
+                        submit(() -> crawlTestCaseDir(testCaseDir, agentName));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Scans the given test case directory and passes each test user directory found on to the readers.
+         */
+        private void crawlTestCaseDir(final Path testCaseDir, final String agentName) throws Exception
+        {
+            final String testCaseName = testCaseDir.getFileName().toString();
+            final FileSystemManager fileSystemManager = inputDir.getFileSystem().getFileSystemManager();
+
+            try (final DirectoryStream<Path> testUserDirs = Files.newDirectoryStream(testCaseDir, Files::isDirectory))
+            {
+                for (final Path testUserDir : testUserDirs)
+                {
+                    readDataRecordsFromTestUserDir(fileSystemManager.toFileObject(testUserDir.toFile()), agentName, testCaseName);
+                }
+            }
+        }
+
+        /**
+         * Submits a scan task. The first exception thrown by any task is remembered.
+         */
+        private void submit(final FailableRunnable<Exception> task)
+        {
+            pendingTasks.increment();
+
+            executor.execute(() -> {
+                try
+                {
+                    task.run();
+                }
+                catch (final Exception e)
+                {
+                    failure.compareAndSet(null, e);
+                }
+                finally
+                {
+                    pendingTasks.decrement();
+                }
+            });
+        }
+    }
+
     /**
      * Determines whether the given directory name denotes a special directory. Special directories are
      * "Agent-JVM-Monitor" and "CustomSampler".
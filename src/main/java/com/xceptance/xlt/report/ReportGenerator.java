@@ -24,6 +24,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
@@ -47,6 +50,7 @@ import com.xceptance.xlt.mastercontroller.TestLoadProfileConfiguration;
 import com.xceptance.xlt.report.external.ExternalReportGenerator;
 import com.xceptance.xlt.report.scorecard.Evaluator;
 import com.xceptance.xlt.report.scorecard.Scorecard;
+import com.xceptance.xlt.report.trendreport.ReportSummaryExtractor;
 import com.xceptance.xlt.report.util.ConcurrentUsersTable;
 import com.xceptance.xlt.report.util.JFreeChartUtils;
 import com.xceptance.xlt.report.util.ReportUtils;
@@ -77,6 +81,11 @@ public class ReportGenerator
 
     private final String agentExcludePatternList;
 
+    /**
+     * The in-memory model of the report just created. Kept for scorecard evaluation only.
+     */
+    private TestReport testReport;
+
     /**
      * @param inputDir
      * @param outputDir
@@ -559,7 +568,13 @@ public class ReportGenerator
         {
             TaskManager.getInstance().startProgress("Creating");
             final File xmlReport = new File(outputDir, XltConstants.LOAD_REPORT_XML_FILENAME);
-            xmlReportGenerator.createReport(xmlReport);
+            final TestReport report = xmlReportGenerator.createReport(xmlReport);
+
+            // keep the model to evaluate the scorecard without parsing the XML report again
+            testReport = getScorecardConfigFile() != null ? report : null;
+
+            // a compact summary for trend reports
+            createReportSummary(report, new File(outputDir, XltConstants.LOAD_REPORT_SUMMARY_FILENAME));
 
             return xmlReport;
         }
@@ -575,6 +590,27 @@ public class ReportGenerator
         }
     }
 
+    /**
+     * Extracts a compact summary from the given report model and writes it to the summary file. Failing to do so is not
+     * fatal as trend reports can still be created from the XML report.
+     *
+     * @param report
+     *            the report model
+     * @param summaryFile
+     *            the summary file
+     */
+    private void createReportSummary(final TestReport report, final File summaryFile)
+    {
+        try
+        {
+            ReportSummaryExtractor.extract(report).write(summaryFile);
+        }
+        catch (final Exception e)
+        {
+            XltLogger.reportLogger.warn("Failed to create report summary file '{}'", summaryFile, e);
+        }
+    }
+
     /**
      * Copies the configuration files.
      * <p>
@@ -794,10 +830,10 @@ public class ReportGenerator
      */
     private File evaluateReport(final File reportXMLFile)
     {
-        final String scorecardConfig = config.getStringProperty(XltConstants.SCORECARD_CONFIG_FILE_PROPERTY, null);
-        final File scorecardConfigFile = scorecardConfig != null ? new File(new File(outputDir, XltConstants.CONFIG_DIR_NAME),
-                                                                            scorecardConfig)
-                                                                 : null;
+        final TestReport report = testReport;
+        testReport = null;
+
+        final File scorecardConfigFile = getScorecardConfigFile();
         if (scorecardConfigFile != null)
         {
             XltLogger.reportLogger.debug("Evaluating test report using configuration file '{}'", scorecardConfigFile.getAbsolutePath());
@@ -807,7 +843,10 @@ public class ReportGenerator
             {
                 final File scorecardXMLFile = new File(outputDir, XltConstants.SCORECARD_REPORT_XML_FILENAME);
                 final Evaluator evaluator = new Evaluator(scorecardConfigFile);
-                final Scorecard outcome = evaluator.evaluate(reportXMLFile);
+
+                // use the in-memory report model if available
+                final Source reportSource = report != null ? XmlReportGenerator.createSource(report) : new StreamSource(reportXMLFile);
+                final Scorecard outcome = evaluator.evaluate(reportSource);
 
                 final String error = outcome.result.getError();
                 if (StringUtils.isNotBlank(error))
@@ -828,6 +867,19 @@ public class ReportGenerator
         return null;
     }
 
+    /**
+     * Returns the scorecard configuration file as configured via property
+     * {@value XltConstants#SCORECARD_CONFIG_FILE_PROPERTY}.
+     *
+     * @return the configuration file, or {@code null} if none is configured
+     */
+    private File getScorecardConfigFile()
+    {
+        final String scorecardConfig = config.getStringProperty(XltConstants.SCORECARD_CONFIG_FILE_PROPERTY, null);
+
+        return scorecardConfig != null ? new File(new File(outputDir, XltConstants.CONFIG_DIR_NAME), scorecardConfig) : null;
+    }
+
     /**
      * Transform the given scorecard XML file using the XSL stylesheet
      * {@value XltConstants#SCORECARD_REPORT_XSL_FILENAME} that is expected to reside in report generator's
@@ -78,6 +78,12 @@ import com.xceptance.xlt.report.mergerules.MergeRule.UrlText;
 import com.xceptance.xlt.report.mergerules.MergeRule.UrlTextExclude;
 import com.xceptance.xlt.report.providers.RequestTableColorization;
 import com.xceptance.xlt.report.providers.RequestTableColorization.ColorizationRule;
+import com.xceptance.xlt.report.util.KllPercentileCalculator;
+import com.xceptance.xlt.report.util.PercentileCalculator;
+import com.xceptance.xlt.report.util.ReqPercentileCalculator;
+import com.xceptance.xlt.report.util.RuntimeHistogram;
+import com.xceptance.xlt.report.util.RuntimeReservoir;
+import com.xceptance.xlt.report.util.RuntimeReservoirBudget;
 
 /**
  * The ReportGeneratorConfiguration is the central place where all configuration information for the report generator
@@ -97,6 +103,21 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
         LOGARITHMIC
     }
 
+    /**
+     * The supported methods to calculate run time percentiles.
+     */
+    public enum PercentileBackend
+    {
+        /** An exact histogram with a precision of 10 ms (default). */
+        HISTOGRAM,
+
+        /** A KLL sketch with a constant rank error. */
+        KLL,
+
+        /** A REQ sketch with a rank error that gets smaller towards the high percentiles. */
+        REQ
+    }
+
     /**
      * The settings describing how a chart is to be capped.
      */
@@ -149,6 +170,10 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
     private static final String PROP_RUNTIME_PERCENTILES = PROP_PREFIX + "runtimePercentiles";
 
+    private static final String PROP_RUNTIME_PERCENTILES_BACKEND = PROP_RUNTIME_PERCENTILES + ".backend";
+
+    private static final String PROP_RUNTIME_PERCENTILES_SKETCH_SIZE = PROP_RUNTIME_PERCENTILES + ".sketchSize";
+
     private static final String PROP_RUNTIME_INTERVAL_BOUNDARIES = PROP_PREFIX + "runtimeIntervalBoundaries";
 
     static final String PROP_REQUESTS_TABLE_COLORIZE = PROP_PREFIX + "requests.table.colorization";
@@ -206,12 +231,18 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
     private static final String PROP_READER_THREAD_COUNT = PROP_PREFIX + "reader.threads";
 
+    private static final String PROP_CRAWLER_THREAD_COUNT = PROP_PREFIX + "crawler.threads";
+
     private static final String PROP_THREAD_QUEUE_SIZE = PROP_PREFIX + "queue.bucketsize";
 
     private static final String PROP_THREAD_QUEUE_LENGTH = PROP_PREFIX + "queue.length";
 
     private static final String PROP_DATA_SAMPLE_FACTOR = PROP_PREFIX + "data.sampleFactor";
 
+    private static final String PROP_DATA_SAMPLING_RESERVOIR_SIZE = PROP_PREFIX + "data.sampling.reservoirSize";
+
+    private static final String PROP_DATA_SAMPLING_TOTAL_RESERVOIR_SIZE = PROP_PREFIX + "data.sampling.totalReservoirSize";
+
     private static final String PROP_TRANSFORMATIONS_PREFIX = PROP_PREFIX + "transformations.";
 
     private static final String PROP_TRANSFORMATIONS_STYLE_SHEET_FILE_SUFFIX = ".styleSheetFileName";
@@ -285,6 +316,10 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
     private final double[] runtimePercentiles;
 
+    private final PercentileBackend runtimePercentileBackend;
+
+    private final int runtimePercentileSketchSize;
+
     private final List<RequestTableColorization> requestTableColorization;
 
     private final int slowestRequestsPerBucket;
@@ -329,6 +364,8 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
     public final int readerThreadCount;
 
+    public final int crawlerThreadCount;
+
     public final int parserThreadCount;
 
     public final int threadQueueBucketSize;
@@ -337,6 +374,24 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
     public final int dataSampleFactor;
 
+    /**
+     * The maximum number of run time values sampled per timer to calculate percentiles from, or 0 if all values are
+     * used. Note that the reservoir sees the values repeated by the {@link #dataSampleFactor}, which would make the
+     * confidence intervals of the percentiles too narrow, so these are not stated if the sample factor is greater than 1.
+     */
+    public final int dataSamplingReservoirSize;
+
+    /**
+     * The maximum number of run time values sampled for all timers together.
+     */
+    public final long dataSamplingTotalReservoirSize;
+
+    /**
+     * The budget shared by the run time reservoirs of all timers, or <code>null</code> if run time values are not
+     * sampled.
+     */
+    private final RuntimeReservoirBudget runtimeReservoirBudget;
+
     private final ChartScale chartScaleMode;
 
     private final ChartCappingInfo transactionChartCappingInfo;
@@ -559,8 +614,14 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
         readerThreadCount = Math.max(1, getIntProperty(PROP_READER_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
         parserThreadCount = Math.max(1, getIntProperty(PROP_PARSER_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
+        crawlerThreadCount = Math.max(1, getIntProperty(PROP_CRAWLER_THREAD_COUNT, readerThreadCount));
 
         dataSampleFactor = Math.max(1, getIntProperty(PROP_DATA_SAMPLE_FACTOR, 1));
+        dataSamplingReservoirSize = Math.max(0, getIntProperty(PROP_DATA_SAMPLING_RESERVOIR_SIZE, 0));
+        dataSamplingTotalReservoirSize = Math.max(1, getLongProperty(PROP_DATA_SAMPLING_TOTAL_RESERVOIR_SIZE, 10_000_000L));
+        runtimeReservoirBudget = dataSamplingReservoirSize > 0 ? new RuntimeReservoirBudget(dataSamplingTotalReservoirSize,
+                                                                                            dataSamplingReservoirSize)
+                                                               : null;
 
         threadQueueBucketSize = Math.max(1, getIntProperty(PROP_THREAD_QUEUE_SIZE, Dispatcher.DEFAULT_QUEUE_CHUNK_SIZE));
         threadQueueLength = Math.max(1, getIntProperty(PROP_THREAD_QUEUE_LENGTH, Dispatcher.DEFAULT_QUEUE_LENGTH));
@@ -572,6 +633,10 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
 
         runtimeIntervalBoundaries = readRuntimeIntervalBoundaries();
         runtimePercentiles = readRuntimePercentiles();
+        runtimePercentileBackend = getEnumProperty(PercentileBackend.class, PROP_RUNTIME_PERCENTILES_BACKEND, PercentileBackend.HISTOGRAM);
+        runtimePercentileSketchSize = getIntProperty(PROP_RUNTIME_PERCENTILES_SKETCH_SIZE,
+                                                     runtimePercentileBackend == PercentileBackend.REQ ? ReqPercentileCalculator.DEFAULT_K
+                                                                                                       : KllPercentileCalculator.DEFAULT_K);
 
         requestTableColorization = readRequestTableColorization(runtimeIntervalBoundaries, runtimePercentiles);
 
@@ -893,6 +958,46 @@ public class ReportGeneratorConfiguration extends AbstractConfiguration implemen
         return runtimePercentiles;
     }
 
+    /**
+     * Returns the configured method to calculate run time percentiles.
+     *
+     * @return the percentile backend
+     */
+    public PercentileBackend getRuntimePercentileBackend()
+    {
+        return runtimePercentileBackend;
+    }
+
+    /**
+     * Creates a new calculator for run time percentiles as configured.
+     *
+     * @return the percentile calculator
+     */
+    public PercentileCalculator createRuntimePercentileCalculator()
+    {
+        switch (runtimePercentileBackend)
+        {
+            case KLL:
+                return new KllPercentileCalculator(runtimePercentileSketchSize);
+            case REQ:
+                return new ReqPercentileCalculator(runtimePercentileSketchSize);
+            default:
+                return new RuntimeHistogram(10);
+        }
+    }
+
+    /**
+     * Creates a new reservoir to sample run time values as configured. All reservoirs share the configured total size.
+     *
+     * @param seed
+     *            the seed of the reservoir's random number generator
+     * @return the reservoir, or <code>null</code> if run time values are not to be sampled
+     */
+    public RuntimeReservoir createRuntimeReservoir(final long seed)
+    {
+        return runtimeReservoirBudget != null ? runtimeReservoirBudget.createReservoir(seed) : null;
+    }
+
     public List<RequestTableColorization> getRequestTableColorizations()
     {
         return requestTableColorization;
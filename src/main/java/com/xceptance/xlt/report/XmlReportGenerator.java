@@ -23,12 +23,17 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.TimeZone;
 
+import javax.xml.transform.Source;
+import javax.xml.transform.sax.SAXSource;
+
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.basic.DateConverter;
+import com.thoughtworks.xstream.io.xml.TraxSource;
 import com.xceptance.xlt.api.report.ReportCreator;
 import com.xceptance.xlt.api.util.XltLogger;
 import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.report.util.xstream.SanitizingDomDriver;
+import com.xceptance.xlt.report.util.xstream.SanitizingXmlFilter;
 
 /**
  * Load test report generator.
@@ -39,7 +44,16 @@ public class XmlReportGenerator
 {
     private final List<ReportCreator> processors = new ArrayList<>();
 
-    public void createReport(final File xmlFile) throws IOException
+    /**
+     * Creates the test report from the fragments of all registered report creators and writes it to the given file.
+     *
+     * @param xmlFile
+     *            the target XML file
+     * @return the in-memory test report model
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public TestReport createReport(final File xmlFile) throws IOException
     {
         //
         final TestReport testReport = new TestReport();
@@ -61,6 +75,24 @@ public class XmlReportGenerator
         }
 
         saveTestReport(testReport, xmlFile);
+
+        return testReport;
+    }
+
+    /**
+     * Returns a source that generates the XML representation of the given test report on the fly. This way, the report
+     * can be processed as XML without having to parse the report file again.
+     *
+     * @param testReport
+     *            the test report model
+     * @return the source
+     */
+    public static Source createSource(final TestReport testReport)
+    {
+        final TraxSource source = new TraxSource(testReport, createXStream());
+
+        // sanitize the text the same way as when writing the report file
+        return new SAXSource(new SanitizingXmlFilter(source.getXMLReader()), source.getInputSource());
     }
 
     <T extends ReportCreator> void registerStatisticsProviders(final List<T> processors)
@@ -87,13 +119,18 @@ public class XmlReportGenerator
         {
             osw.write(XltConstants.XML_HEADER);
 
-            final XStream xstream = new XStream(new SanitizingDomDriver());
-            xstream.autodetectAnnotations(true);
-            xstream.registerConverter(new DateConverter("yyyy-MM-dd HH:mm:ss z", null, TimeZone.getDefault()));
-            xstream.aliasSystemAttribute(null, "class");
-            xstream.setMode(XStream.NO_REFERENCES);
-
-            xstream.toXML(testReport, osw);
+            createXStream().toXML(testReport, osw);
         }
     }
+
+    private static XStream createXStream()
+    {
+        final XStream xstream = new XStream(new SanitizingDomDriver());
+        xstream.autodetectAnnotations(true);
+        xstream.registerConverter(new DateConverter("yyyy-MM-dd HH:mm:ss z", null, TimeZone.getDefault()));
+        xstream.aliasSystemAttribute(null, "class");
+        xstream.setMode(XStream.NO_REFERENCES);
+
+        return xstream;
+    }
 }
@@ -15,22 +15,30 @@
  */
 package com.xceptance.xlt.report.diffreport;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -39,17 +47,17 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
 import com.xceptance.common.util.ProcessExitCodes;
 import com.xceptance.common.util.ProductInformation;
-import com.xceptance.common.xml.DomUtils;
+import com.xceptance.common.xml.XmlDomPrinter;
 import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.report.ReportTransformer;
 import com.xceptance.xlt.report.util.ElementSpecification;
@@ -63,6 +71,21 @@ public class DiffReportGeneratorMain
 {
     private static final Logger log = LoggerFactory.getLogger(DiffReportGeneratorMain.class);
 
+    /**
+     * The indentation of one level in the difference report XML file.
+     */
+    private static final String INDENTATION = "    ";
+
+    /**
+     * The printer used to write the elements of the difference report.
+     */
+    private static final IndentingXmlDomPrinter PRINTER = new IndentingXmlDomPrinter();
+
+    /**
+     * Orders element IDs the same way the report generator sorts them.
+     */
+    private static final Comparator<String> ID_COMPARATOR = Comparator.nullsFirst(Comparator.naturalOrder());
+
     public static void main(final String[] args)
     {
         Locale.setDefault(Locale.US);
@@ -92,12 +115,8 @@ public class DiffReportGeneratorMain
                 printUsageInfoAndExit(options);
             }
 
-            // read reports and create the difference report
             final File oldReportDir = new File(remainingArgs[0]);
-            final Document oldTestReport = readTestReport(oldReportDir);
-
             final File newReportDir = new File(remainingArgs[1]);
-            final Document newTestReport = readTestReport(newReportDir);
 
             // create the output directory
             final File outputDir;
@@ -118,11 +137,14 @@ public class DiffReportGeneratorMain
             System.out.println("Writing difference report to directory: " + outputDirPath);
 
             // create the difference report XML file
-            final Document diffReport = createDiffReport(oldTestReport, oldReportDir.getName(), newTestReport, newReportDir.getName(),
-                                                         config.getDiffElementSpecifications(), config.getCopyElementSpecifications());
-
             final File xmlFile = new File(outputDir, XltConstants.DIFF_REPORT_XML_FILENAME);
-            writeDiffReport(diffReport, xmlFile);
+            final String projectName;
+            try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(xmlFile), XltConstants.UTF8_ENCODING)))
+            {
+                projectName = createDiffReport(new File(oldReportDir, XltConstants.LOAD_REPORT_XML_FILENAME), oldReportDir.getName(),
+                                               new File(newReportDir, XltConstants.LOAD_REPORT_XML_FILENAME), newReportDir.getName(),
+                                               config.getDiffElementSpecifications(), config.getCopyElementSpecifications(), writer);
+            }
 
             // create the difference report HTML file
             System.out.println("Rendering the HTML difference report ...");
@@ -131,7 +153,7 @@ public class DiffReportGeneratorMain
             parameters.put("productName", ProductInformation.getProductInformation().getProductName());
             parameters.put("productVersion", ProductInformation.getProductInformation().getVersion());
             parameters.put("productUrl", ProductInformation.getProductInformation().getProductURL());
-            parameters.put("projectName", ReportUtils.obtainProjectName(Arrays.asList(oldTestReport, newTestReport)));
+            parameters.put("projectName", projectName);
 
             // get the configured output and style sheet file names
             final List<File> outputFiles = new ArrayList<File>();
@@ -182,26 +204,86 @@ public class DiffReportGeneratorMain
     }
 
 
-    private Element copyElements(final Document sourceDocument, final String tagName, final String reportName, final Document document,
-                                 final List<ElementSpecification> copyElementSpecs)
+    /**
+     * Scans the given test report in a single pass. Writes the elements to copy, wrapped into an element with the given
+     * tag name, to the difference report and determines for each section to compare whether its elements are strictly
+     * sorted by ID and in which order the sections appear in the report.
+     *
+     * @return the scan result
+     */
+    private ReportScan scanReport(final File reportFile, final String tagName, final String reportName,
+                                  final List<ElementSpecification> copyElementSpecs, final List<ElementSpecification> diffElementSpecs,
+                                  final Document document, final PrintWriter out)
+        throws IOException, XMLStreamException
     {
+        final int copySpecCount = copyElementSpecs.size();
+        final ReportScan scan = new ReportScan(diffElementSpecs.size());
+
+        // collect the elements per specification first as they may appear in a different order in the test report
+        final List<List<Element>> elementsBySpec = new ArrayList<>();
+        for (int i = 0; i < copySpecCount; i++)
+        {
+            elementsBySpec.add(new ArrayList<>());
+        }
+
+        final String[] lastIds = new String[diffElementSpecs.size()];
+        final boolean[] seen = new boolean[diffElementSpecs.size()];
+
+        final List<String> paths = getPaths(copyElementSpecs);
+        paths.addAll(getPaths(diffElementSpecs));
+
+        try (final ReportElementReader reader = new ReportElementReader(reportFile, paths, document))
+        {
+            Element element;
+            while ((element = reader.next()) != null)
+            {
+                final int pathIndex = reader.getPathIndex();
+                if (pathIndex < copySpecCount)
+                {
+                    elementsBySpec.get(pathIndex).add(element);
+
+                    if (copyElementSpecs.get(pathIndex).rootElementXpath.equals(ReportUtils.XPATH_PROJECT_NAME))
+                    {
+                        scan.projectName = element.getTextContent();
+                    }
+                }
+                else
+                {
+                    final int i = pathIndex - copySpecCount;
+                    final String id = getElementId(element, diffElementSpecs.get(i));
+
+                    if (!seen[i])
+                    {
+                        scan.sectionOrder.add(i);
+                    }
+                    else if (ID_COMPARATOR.compare(lastIds[i], id) >= 0)
+                    {
+                        scan.sorted[i] = false;
+                    }
+
+                    seen[i] = true;
+                    lastIds[i] = id;
+                    scan.counts[i]++;
+                }
+            }
+        }
+
         final Element rootElement = createElement(tagName, null, document);
 
         final Element nameElement = createElement("name", reportName, document);
         rootElement.appendChild(nameElement);
 
-        for (final ElementSpecification elementSpec : copyElementSpecs)
+        for (final List<Element> elements : elementsBySpec)
         {
-            final Map<String, Element> elementsById = ReportUtils.filterElements(sourceDocument, elementSpec);
-
-            for (final Element element : elementsById.values())
+            for (final Element element : elements)
             {
-                final Element copiedElement = (Element) DomUtils.cloneNode(element, document);
-                rootElement.appendChild(copiedElement);
+                rootElement.appendChild(element);
             }
         }
 
-        return rootElement;
+        PRINTER.print(rootElement, INDENTATION, out);
+
+        return scan;
     }
 
     private Element createChangeElement(final Element oldElement, final Element newElement, final Document document)
@@ -301,50 +383,196 @@ public class DiffReportGeneratorMain
         return options;
     }
 
-    private Document createDiffReport(final Document oldTestReport, final String oldTestReportName, final Document newTestReport,
-                                      final String newTestReportName, final List<ElementSpecification> diffElementSpecs,
-                                      final List<ElementSpecification> copyElementSpecs)
-        throws ParserConfigurationException
+    /**
+     * Creates the difference report from the given test report files and writes it to the passed writer.
+     * <p>
+     * The test reports are processed in a streaming fashion. The elements to compare are merge-joined by their ID,
+     * which relies on the elements being sorted by ID in both reports (as is the case for all timer sections). This way,
+     * only a single pair of elements needs to be held in memory at a time. Sections that are not sorted are compared in
+     * memory instead, one section at a time.
+     * <p>
+     * Each test report is read twice only. The first pass copies the general elements and checks which sections are
+     * sorted, which must be known before the merge can start. The second pass reads all sections to compare. The
+     * sections are compared in the order they appear in the reports, so hardly any elements need to be buffered.
+     *
+     * @return the project name
+     */
+    String createDiffReport(final File oldTestReportFile, final String oldTestReportName, final File newTestReportFile,
+                            final String newTestReportName, final List<ElementSpecification> diffElementSpecs,
+                            final List<ElementSpecification> copyElementSpecs, final Writer writer)
+        throws ParserConfigurationException, IOException, XMLStreamException
     {
         System.out.println("Creating the XML difference report ...");
 
-        final DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        final Document diffReport = builder.getDOMImplementation().createDocument(null, "testreport", null);
+        final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        final PrintWriter out = new PrintWriter(writer);
 
-        final Element root = diffReport.getDocumentElement();
+        out.print(XltConstants.XML_HEADER);
+        out.println("<testreport>");
 
-        final Element tr1 = copyElements(oldTestReport, "testReport1", oldTestReportName, diffReport, copyElementSpecs);
-        root.appendChild(tr1);
+        final ReportScan oldScan = scanReport(oldTestReportFile, "testReport1", oldTestReportName, copyElementSpecs, diffElementSpecs,
+                                              document, out);
+        final ReportScan newScan = scanReport(newTestReportFile, "testReport2", newTestReportName, copyElementSpecs, diffElementSpecs,
+                                              document, out);
 
-        final Element tr2 = copyElements(newTestReport, "testReport2", newTestReportName, diffReport, copyElementSpecs);
-        root.appendChild(tr2);
-
-        for (final ElementSpecification elementSpec : diffElementSpecs)
+        try (final SectionReader oldReader = new SectionReader(oldTestReportFile, diffElementSpecs, oldScan, document);
+             final SectionReader newReader = new SectionReader(newTestReportFile, diffElementSpecs, newScan, document))
         {
-            final Map<String, Element> oldElementsById = ReportUtils.filterElements(oldTestReport, elementSpec);
-            final Map<String, Element> newElementsById = ReportUtils.filterElements(newTestReport, elementSpec);
-
-            for (final Entry<String, Element> entry : oldElementsById.entrySet())
+            for (final int i : getSectionOrder(oldScan, newScan, diffElementSpecs.size()))
             {
-                final Element oldElement = entry.getValue();
-                final Element newElement = newElementsById.remove(entry.getKey());
+                final ElementSpecification elementSpec = diffElementSpecs.get(i);
+                final SectionWriter sectionWriter = new SectionWriter(elementSpec, out);
 
-                final Element diffElement = diffElementTree(oldElement, newElement, diffReport);
+                if (oldScan.sorted[i] && newScan.sorted[i])
+                {
+                    mergeSection(oldReader, newReader, i, elementSpec, document, sectionWriter);
+                }
+                else
+                {
+                    diffSection(oldReader, newReader, i, elementSpec, document, sectionWriter);
+                }
 
-                final Element parent = insertParentElements(oldElement, newElement, diffReport);
-                parent.appendChild(diffElement);
+                sectionWriter.close();
             }
+        }
 
-            for (final Element newElement : newElementsById.values())
+        out.println("</testreport>");
+        out.flush();
+
+        if (out.checkError())
+        {
+            throw new IOException("Failed to write the difference report");
+        }
+
+        return StringUtils.defaultString(StringUtils.isNotBlank(newScan.projectName) ? newScan.projectName
+                                                                                     : StringUtils.isNotBlank(oldScan.projectName) ? oldScan.projectName
+                                                                                                                                   : null);
+    }
+
+    /**
+     * Returns the indexes of the sections to compare in the order they appear in the test reports. Sections missing
+     * in both reports come last.
+     */
+    private static List<Integer> getSectionOrder(final ReportScan oldScan, final ReportScan newScan, final int sectionCount)
+    {
+        final Set<Integer> sectionOrder = new LinkedHashSet<>(oldScan.sectionOrder);
+        sectionOrder.addAll(newScan.sectionOrder);
+        for (int i = 0; i < sectionCount; i++)
+        {
+            sectionOrder.add(i);
+        }
+
+        return new ArrayList<>(sectionOrder);
+    }
+
+    /**
+     * Compares the elements of the given section by merge-joining the elements of both reports by their ID.
+     */
+    private void mergeSection(final SectionReader oldReader, final SectionReader newReader, final int sectionIndex,
+                              final ElementSpecification elementSpec, final Document document, final SectionWriter sectionWriter)
+        throws XMLStreamException
+    {
+        Element oldElement = oldReader.next(sectionIndex);
+        Element newElement = newReader.next(sectionIndex);
+
+        while (oldElement != null || newElement != null)
+        {
+            final int result;
+            if (oldElement == null)
+            {
+                result = 1;
+            }
+            else if (newElement == null)
+            {
+                result = -1;
+            }
+            else
             {
-                final Element diffElement = diffElementTree(null, newElement, diffReport);
+                result = ID_COMPARATOR.compare(getElementId(oldElement, elementSpec), getElementId(newElement, elementSpec));
+            }
 
-                final Element parent = insertParentElements(null, newElement, diffReport);
-                parent.appendChild(diffElement);
+            if (result < 0)
+            {
+                sectionWriter.write(diffElementTree(oldElement, null, document));
+                oldElement = oldReader.next(sectionIndex);
             }
+            else if (result > 0)
+            {
+                sectionWriter.write(diffElementTree(null, newElement, document));
+                newElement = newReader.next(sectionIndex);
+            }
+            else
+            {
+                sectionWriter.write(diffElementTree(oldElement, newElement, document));
+                oldElement = oldReader.next(sectionIndex);
+                newElement = newReader.next(sectionIndex);
+            }
+        }
+    }
+
+    /**
+     * Compares the elements of the given section by reading the section of both reports into memory. Used for
+     * sections that are not sorted by ID.
+     */
+    private void diffSection(final SectionReader oldReader, final SectionReader newReader, final int sectionIndex,
+                             final ElementSpecification elementSpec, final Document document, final SectionWriter sectionWriter)
+        throws XMLStreamException
+    {
+        final Map<String, Element> oldElementsById = readSection(oldReader, sectionIndex, elementSpec);
+        final Map<String, Element> newElementsById = readSection(newReader, sectionIndex, elementSpec);
+
+        for (final Entry<String, Element> entry : oldElementsById.entrySet())
+        {
+            final Element oldElement = entry.getValue();
+            final Element newElement = newElementsById.remove(entry.getKey());
+
+            sectionWriter.write(diffElementTree(oldElement, newElement, document));
+        }
+
+        for (final Element newElement : newElementsById.values())
+        {
+            sectionWriter.write(diffElementTree(null, newElement, document));
+        }
+    }
+
+    /**
+     * Reads the elements of the given section, keyed by their ID.
+     */
+    private Map<String, Element> readSection(final SectionReader reader, final int sectionIndex, final ElementSpecification elementSpec)
+        throws XMLStreamException
+    {
+        final Map<String, Element> elementsById = new LinkedHashMap<>();
+
+        Element element;
+        while ((element = reader.next(sectionIndex)) != null)
+        {
+            elementsById.put(getElementId(element, elementSpec), element);
         }
 
-        return diffReport;
+        return elementsById;
+    }
+
+    /**
+     * Returns the ID of the given element.
+     */
+    private static String getElementId(final Element element, final ElementSpecification elementSpec)
+    {
+        return elementSpec.idElementTagName == null ? element.getTagName()
+                                                    : ReportUtils.getChildElementText(element, elementSpec.idElementTagName);
+    }
+
+    /**
+     * Returns the paths of the given element specifications.
+     */
+    private static List<String> getPaths(final List<ElementSpecification> elementSpecs)
+    {
+        final List<String> paths = new ArrayList<>();
+        for (final ElementSpecification elementSpec : elementSpecs)
+        {
+            paths.add(elementSpec.rootElementXpath);
+        }
+
+        return paths;
     }
 
     private Element createElement(final String tagName, final String textContent, final Document document)
@@ -436,75 +664,195 @@ public class DiffReportGeneratorMain
         return diffElement;
     }
 
-    private Element insertParentElements(final Element element, final Document document)
+    /**
+     * Prints the usage information to stdout and quits.
+     */
+    private void printUsageInfoAndExit(final Options options)
+    {
+        System.out.println("\nCreates a difference report from two test reports.");
+
+        final HelpFormatter formatter = new HelpFormatter();
+        formatter.setSyntaxPrefix("Usage: ");
+        formatter.setWidth(79);
+
+        System.out.println();
+        formatter.printHelp(XltConstants.DIFF_REPORT_EXECUTABLE_NAME + " [options] <testReportDir_1> <testReportDir_2>", "\nOptions:",
+                            options, null);
+        System.out.println();
+
+        System.exit(ProcessExitCodes.PARAMETER_ERROR);
+    }
+
+    /**
+     * The result of the first pass over a test report.
+     */
+    private static class ReportScan
     {
-        if (element.getTagName().equals("testreport"))
+        /**
+         * The project name, or <code>null</code> if the report does not contain one.
+         */
+        private String projectName;
+
+        /**
+         * Whether the elements of a section are strictly sorted by ID, per section.
+         */
+        private final boolean[] sorted;
+
+        /**
+         * The number of elements, per section.
+         */
+        private final int[] counts;
+
+        /**
+         * The indexes of the sections in the order they first appear in the report.
+         */
+        private final List<Integer> sectionOrder = new ArrayList<>();
+
+        private ReportScan(final int sectionCount)
         {
-            return document.getDocumentElement();
+            sorted = new boolean[sectionCount];
+            Arrays.fill(sorted, true);
+
+            counts = new int[sectionCount];
         }
-        else
+    }
+
+    /**
+     * Reads the elements of all sections to compare from a test report in a single pass, but returns them section by
+     * section. Elements of other sections read in the meantime are buffered until their section is requested. Since the
+     * number of elements per section is known from the first pass, the reader never reads beyond the end of the
+     * requested section.
+     */
+    private static class SectionReader implements AutoCloseable
+    {
+        private final ReportElementReader reader;
+
+        /**
+         * The number of elements not returned yet, per section.
+         */
+        private final int[] remaining;
+
+        /**
+         * The elements read ahead, per section.
+         */
+        private final List<Deque<Element>> buffers = new ArrayList<>();
+
+        private SectionReader(final File testReportFile, final List<ElementSpecification> elementSpecs, final ReportScan scan,
+                              final Document document)
+            throws IOException
         {
-            final Element e = insertParentElements((Element) element.getParentNode(), document);
-            Element e2 = null;
+            reader = new ReportElementReader(testReportFile, getPaths(elementSpecs), document);
+            remaining = scan.counts.clone();
 
-            final NodeList elements = e.getElementsByTagName(element.getTagName());
-            if (elements.getLength() == 0)
+            for (int i = 0; i < elementSpecs.size(); i++)
             {
-                e2 = document.createElement(element.getTagName());
+                buffers.add(new ArrayDeque<>());
             }
-            else
+        }
+
+        /**
+         * Returns the next element of the given section.
+         *
+         * @return the element, or <code>null</code> if there are no more elements in this section
+         */
+        private Element next(final int sectionIndex) throws XMLStreamException
+        {
+            if (remaining[sectionIndex] == 0)
             {
-                e2 = (Element) elements.item(0);
+                return null;
             }
 
-            e.appendChild(e2);
+            remaining[sectionIndex]--;
 
-            return e2;
-        }
-    }
+            final Element buffered = buffers.get(sectionIndex).poll();
+            if (buffered != null)
+            {
+                return buffered;
+            }
 
-    private Element insertParentElements(final Element oldElement, final Element newElement, final Document document)
-    {
-        final Element sourceElement = (oldElement != null) ? oldElement : newElement;
+            Element element;
+            while ((element = reader.next()) != null)
+            {
+                final int pathIndex = reader.getPathIndex();
+                if (pathIndex == sectionIndex)
+                {
+                    return element;
+                }
 
-        return insertParentElements((Element) sourceElement.getParentNode(), document);
+                buffers.get(pathIndex).add(element);
+            }
+
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            reader.close();
+        }
     }
 
     /**
-     * Prints the usage information to stdout and quits.
+     * Writes the difference elements of a section to the difference report. The section's parent elements are written
+     * lazily, so nothing is written for empty sections.
      */
-    private void printUsageInfoAndExit(final Options options)
+    private static class SectionWriter
     {
-        System.out.println("\nCreates a difference report from two test reports.");
+        private final List<String> parentTagNames;
 
-        final HelpFormatter formatter = new HelpFormatter();
-        formatter.setSyntaxPrefix("Usage: ");
-        formatter.setWidth(79);
+        private final PrintWriter out;
 
-        System.out.println();
-        formatter.printHelp(XltConstants.DIFF_REPORT_EXECUTABLE_NAME + " [options] <testReportDir_1> <testReportDir_2>", "\nOptions:",
-                            options, null);
-        System.out.println();
+        private boolean open;
 
-        System.exit(ProcessExitCodes.PARAMETER_ERROR);
-    }
+        private SectionWriter(final ElementSpecification elementSpec, final PrintWriter out)
+        {
+            // the path steps between the root element and the section element
+            final String[] steps = elementSpec.rootElementXpath.substring(1).split("/");
+            parentTagNames = Arrays.asList(steps).subList(1, steps.length - 1);
 
-    private Document readTestReport(final File dir) throws ParserConfigurationException, SAXException, IOException
-    {
-        System.out.println("Reading test report from directory: " + dir);
+            this.out = out;
+        }
 
-        final File file = new File(dir, XltConstants.LOAD_REPORT_XML_FILENAME);
-        final DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        private void write(final Element element)
+        {
+            if (!open)
+            {
+                for (int i = 0; i < parentTagNames.size(); i++)
+                {
+                    out.println(INDENTATION.repeat(i + 1) + "<" + parentTagNames.get(i) + ">");
+                }
 
-        return documentBuilder.parse(file);
+                open = true;
+            }
+
+            PRINTER.print(element, INDENTATION.repeat(parentTagNames.size() + 1), out);
+        }
+
+        private void close()
+        {
+            if (open)
+            {
+                for (int i = parentTagNames.size() - 1; i >= 0; i--)
+                {
+                    out.println(INDENTATION.repeat(i + 1) + "</" + parentTagNames.get(i) + ">");
+                }
+            }
+        }
     }
 
-    private void writeDiffReport(final Document diffReport, final File file) throws IOException
+    /**
+     * An XML printer that can print a node at an arbitrary indentation level.
+     */
+    private static class IndentingXmlDomPrinter extends XmlDomPrinter
     {
-        try (final OutputStreamWriter osw = new OutputStreamWriter(new FileOutputStream(file), XltConstants.UTF8_ENCODING))
+        private IndentingXmlDomPrinter()
+        {
+            super(INDENTATION.length());
+        }
+
+        private void print(final Node node, final String indentation, final PrintWriter out)
         {
-            osw.write(XltConstants.XML_HEADER);
-            DomUtils.prettyPrintNode(diffReport, osw);
+            printNode(node, indentation, out);
         }
     }
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.diffreport;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Reads those elements from a test report XML file that match one of the given paths. The file is read in a streaming
+ * fashion and only the matching elements are materialized as (small) DOM trees, one after the other. This way, even
+ * huge reports can be processed with little memory.
+ * <p>
+ * A path is a simple absolute location path like "/testreport/actions/action". A step may be "*" to match any element.
+ */
+class ReportElementReader implements AutoCloseable
+{
+    /**
+     * The factory for StAX readers.
+     */
+    private static final XMLInputFactory XML_INPUT_FACTORY;
+
+    static
+    {
+        XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    /**
+     * The steps of each path.
+     */
+    private final List<String[]> paths = new ArrayList<>();
+
+    /**
+     * The document that owns the elements created.
+     */
+    private final Document document;
+
+    /**
+     * The underlying input stream.
+     */
+    private final InputStream in;
+
+    /**
+     * The underlying StAX reader.
+     */
+    private final XMLStreamReader reader;
+
+    /**
+     * The tag names of the currently open elements.
+     */
+    private final List<String> currentPath = new ArrayList<>();
+
+    /**
+     * The index of the path matched by the last element returned.
+     */
+    private int pathIndex = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param file
+     *            the test report XML file
+     * @param paths
+     *            the paths of the elements to read
+     * @param document
+     *            the document that will own the elements created
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    ReportElementReader(final File file, final List<String> paths, final Document document) throws IOException
+    {
+        for (final String path : paths)
+        {
+            this.paths.add(path.substring(1).split("/"));
+        }
+
+        this.document = document;
+
+        in = new BufferedInputStream(new FileInputStream(file));
+        try
+        {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        }
+        catch (final XMLStreamException e)
+        {
+            in.close();
+            throw new IOException("Failed to read test report: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the next element that matches one of the paths.
+     *
+     * @return the element, or <code>null</code> if there are no more matching elements
+     * @throws XMLStreamException
+     *             if the file cannot be parsed
+     */
+    Element next() throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                currentPath.add(reader.getLocalName());
+
+                pathIndex = getMatchingPathIndex();
+                if (pathIndex >= 0)
+                {
+                    return readElement();
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                currentPath.remove(currentPath.size() - 1);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the index of the path the element last returned by {@link #next()} matched.
+     *
+     * @return the path index
+     */
+    int getPathIndex()
+    {
+        return pathIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            reader.close();
+        }
+        catch (final XMLStreamException e)
+        {
+            // ignore
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
+    /**
+     * Returns the index of the path that matches the current element path, or -1 if there is none.
+     */
+    private int getMatchingPathIndex()
+    {
+        for (int i = 0; i < paths.size(); i++)
+        {
+            final String[] steps = paths.get(i);
+            if (steps.length == currentPath.size())
+            {
+                boolean matches = true;
+                for (int j = 0; j < steps.length && matches; j++)
+                {
+                    matches = steps[j].equals("*") || steps[j].equals(currentPath.get(j));
+                }
+
+                if (matches)
+                {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reads the current element and all its content into a DOM element. Afterwards, the reader is positioned at the
+     * end of the element.
+     */
+    private Element readElement() throws XMLStreamException
+    {
+        final Element root = createElement();
+
+        Node parent = root;
+        while (parent != null)
+        {
+            switch (reader.next())
+            {
+                case XMLStreamConstants.START_ELEMENT:
+                    parent = parent.appendChild(createElement());
+                    break;
+
+                case XMLStreamConstants.END_ELEMENT:
+                    parent = (parent == root) ? null : parent.getParentNode();
+                    break;
+
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    parent.appendChild(document.createTextNode(reader.getText()));
+                    break;
+
+                case XMLStreamConstants.CDATA:
+                    parent.appendChild(document.createCDATASection(reader.getText()));
+                    break;
+
+                default:
+                    // ignore comments and the like
+                    break;
+            }
+        }
+
+        currentPath.remove(currentPath.size() - 1);
+
+        return root;
+    }
+
+    /**
+     * Creates a DOM element from the current start element.
+     */
+    private Element createElement()
+    {
+        final Element element = document.createElement(reader.getLocalName());
+
+        for (int i = 0; i < reader.getAttributeCount(); i++)
+        {
+            element.setAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+
+        return element;
+    }
+}
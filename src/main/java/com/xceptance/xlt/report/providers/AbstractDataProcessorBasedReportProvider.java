@@ -17,11 +17,13 @@ package com.xceptance.xlt.report.providers;
 
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import com.xceptance.common.collection.FastHashMap;
+import com.xceptance.xlt.api.engine.AbstractData;
 import com.xceptance.xlt.api.engine.Data;
 import com.xceptance.xlt.api.report.AbstractReportProvider;
 
@@ -41,6 +43,12 @@ public abstract class AbstractDataProcessorBasedReportProvider<T extends Abstrac
      */
     private final FastHashMap<String, T> processors = new FastHashMap<String, T>(11, 0.5f);
 
+    /**
+     * The data processors indexed by the symbol table ID of the timer name (see {@link AbstractData#getNameId()}). Spares
+     * us hashing the name of each and every data record.
+     */
+    private Object[] processorsByNameId = new Object[64];
+
     /**
      * Creates a new {@link AbstractDataProcessorBasedReportProvider} instance.
      * 
@@ -58,10 +66,42 @@ public abstract class AbstractDataProcessorBasedReportProvider<T extends Abstrac
     @Override
     public void processDataRecord(final Data stat)
     {
-        final T processor = getProcessor(stat.getName());
+        final T processor = getProcessor(stat);
         processor.processDataRecord(stat);
     }
 
+    /**
+     * Returns the data processor responsible for the given data record, i.e. for timers with the record's name. Uses
+     * the ID of the name if one has been assigned.
+     * 
+     * @param data
+     *            the data record
+     * @return the data processor
+     */
+    @SuppressWarnings("unchecked")
+    protected T getProcessor(final Data data)
+    {
+        final int nameId = data instanceof AbstractData ? ((AbstractData) data).getNameId() : -1;
+        if (nameId < 0)
+        {
+            return getProcessor(data.getName());
+        }
+
+        if (nameId >= processorsByNameId.length)
+        {
+            processorsByNameId = Arrays.copyOf(processorsByNameId, Math.max(nameId + 1, 2 * processorsByNameId.length));
+        }
+
+        T processor = (T) processorsByNameId[nameId];
+        if (processor == null)
+        {
+            processor = getProcessor(data.getName());
+            processorsByNameId[nameId] = processor;
+        }
+
+        return processor;
+    }
+
     /**
      * Returns the data processor responsible for timers with the given name.
      * 
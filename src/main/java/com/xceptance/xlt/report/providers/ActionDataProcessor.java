@@ -81,6 +81,9 @@ public class ActionDataProcessor extends BasicTimerDataProcessor
 
         // apdex
         apdexCalculator.addSample(data.getRunTime(), data.hasFailed());
+
+        // corrected run times
+        addCorrectedRunTime(data.getRunTime(), data.getTime(), data.getScheduledStartTime());
     }
 
     /**
@@ -97,6 +100,9 @@ public class ActionDataProcessor extends BasicTimerDataProcessor
         timerReport.apdex.value = apdex.getValue();
         timerReport.apdex.longValue = apdex.getLongValue();
 
+        // corrected run times
+        timerReport.correctedRunTime = createCorrectedRunTimeReport();
+
         // apply labeling rules
         labelingRuleProcessor.process(timerReport);
 
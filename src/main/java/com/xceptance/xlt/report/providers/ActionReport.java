@@ -28,6 +28,12 @@ public class ActionReport extends TimerReport
      */
     public final ApdexReport apdex = new ApdexReport();
 
+    /**
+     * The run time statistics corrected for coordinated omission, or <code>null</code> if no action was scheduled by an
+     * arrival-rate timer.
+     */
+    public CorrectedRunTimeReport correctedRunTime;
+
     /**
      * {@inheritDoc}
      */
@@ -19,6 +19,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import org.jfree.chart.JFreeChart;
@@ -38,13 +39,15 @@ import com.xceptance.xlt.api.engine.TimerData;
 import com.xceptance.xlt.api.report.AbstractReportProvider;
 import com.xceptance.xlt.report.ReportGeneratorConfiguration;
 import com.xceptance.xlt.report.ReportGeneratorConfiguration.ChartScale;
+import com.xceptance.xlt.report.util.CorrectedRunTimeCalculator;
 import com.xceptance.xlt.report.util.FixedSizeHistogramValueSet;
 import com.xceptance.xlt.report.util.IntMinMaxTimeSeriesDataItem;
 import com.xceptance.xlt.report.util.IntMinMaxValueSet;
 import com.xceptance.xlt.report.util.IntSummaryStatistics;
 import com.xceptance.xlt.report.util.JFreeChartUtils;
+import com.xceptance.xlt.report.util.PercentileCalculator;
 import com.xceptance.xlt.report.util.ReportUtils;
-import com.xceptance.xlt.report.util.RuntimeHistogram;
+import com.xceptance.xlt.report.util.RuntimeReservoir;
 import com.xceptance.xlt.report.util.TaskManager;
 import com.xceptance.xlt.report.util.ValueSet;
 
@@ -66,10 +69,25 @@ public class BasicTimerDataProcessor extends AbstractDataProcessor
 
     private final IntSummaryStatistics runTimeStatistics = new IntSummaryStatistics();
 
-    private final RuntimeHistogram runTimeHistogram = new RuntimeHistogram(10);
+    /**
+     * The configured calculator for the run time percentiles, or <code>null</code> if run time values are sampled.
+     */
+    private final PercentileCalculator runTimePercentiles;
+
+    /**
+     * The sample of run time values to calculate the percentiles from, or <code>null</code> if the percentiles are
+     * calculated from all run time values.
+     */
+    private final RuntimeReservoir runTimeReservoir;
 
     private final double[] percentiles;
 
+    /**
+     * The calculator for the run times corrected for coordinated omission. Created not before the first value with a
+     * scheduled start time is seen, as most timers never have one.
+     */
+    private CorrectedRunTimeCalculator correctedRunTimeCalculator;
+
     private final IntMinMaxValueSet runTimeValueSet;
 
     private final FixedSizeHistogramValueSet histogramValueSet;
@@ -99,6 +117,11 @@ public class BasicTimerDataProcessor extends AbstractDataProcessor
 
         // get percentile configuration
         percentiles = ((ReportGeneratorConfiguration) getConfiguration()).getRuntimePercentiles();
+
+        // setup run time sampling if so configured, seeded by name to get the same sample for the same input
+        runTimeReservoir = ((ReportGeneratorConfiguration) getConfiguration()).createRuntimeReservoir(name.hashCode());
+        runTimePercentiles = runTimeReservoir != null ? null
+                                                      : ((ReportGeneratorConfiguration) getConfiguration()).createRuntimePercentileCalculator();
     }
 
     /**
@@ -121,13 +144,49 @@ public class BasicTimerDataProcessor extends AbstractDataProcessor
         timerReport.min = runTimeStatistics.getMinimum();
         timerReport.name = name;
         timerReport.deviation = ReportUtils.convertToBigDecimal(runTimeStatistics.getStandardDeviation());
-        timerReport.median = ReportUtils.convertToBigDecimal(runTimeHistogram.getMedianValue());
+        if (runTimeReservoir == null)
+        {
+            timerReport.median = ReportUtils.convertToBigDecimal(runTimePercentiles.getMedianValue());
 
-        // set the percentiles
-        for (final double percentile : percentiles)
+            // set the percentiles
+            for (final double percentile : percentiles)
+            {
+                timerReport.percentiles.put("p" + ReportUtils.formatValue(percentile),
+                                            ReportUtils.convertToBigDecimal(runTimePercentiles.getPercentile(percentile)));
+            }
+        }
+        else
         {
-            timerReport.percentiles.put("p" + ReportUtils.formatValue(percentile),
-                                        ReportUtils.convertToBigDecimal(runTimeHistogram.getPercentile(percentile)));
+            timerReport.median = ReportUtils.convertToBigDecimal(runTimeReservoir.getMedianValue());
+
+            // set the percentiles, and state their uncertainty if only a sample of the values is available
+            final boolean sampled = runTimeReservoir.isSampled();
+            if (sampled)
+            {
+                timerReport.sampleSize = runTimeReservoir.getSampleSize();
+            }
+
+            // the confidence intervals assume independent values, but with a sample factor greater than 1, the values
+            // read are repeated to make up for the values skipped, so the intervals would be too narrow -> omit them
+            final boolean withConfidenceIntervals = sampled && ((ReportGeneratorConfiguration) getConfiguration()).dataSampleFactor == 1;
+            if (withConfidenceIntervals)
+            {
+                timerReport.percentilesLowerBound = new LinkedHashMap<>();
+                timerReport.percentilesUpperBound = new LinkedHashMap<>();
+            }
+
+            for (final double percentile : percentiles)
+            {
+                final String key = "p" + ReportUtils.formatValue(percentile);
+                timerReport.percentiles.put(key, ReportUtils.convertToBigDecimal(runTimeReservoir.getPercentile(percentile)));
+
+                if (withConfidenceIntervals)
+                {
+                    final double[] bounds = runTimeReservoir.getConfidenceInterval(percentile);
+                    timerReport.percentilesLowerBound.put(key, ReportUtils.convertToBigDecimal(bounds[0]));
+                    timerReport.percentilesUpperBound.put(key, ReportUtils.convertToBigDecimal(bounds[1]));
+                }
+            }
         }
 
         // set the counts
@@ -222,7 +281,14 @@ public class BasicTimerDataProcessor extends AbstractDataProcessor
         final int runTime = timerStats.getRunTime();
 
         // update the stats
-        runTimeHistogram.addValue(runTime);
+        if (runTimeReservoir == null)
+        {
+            runTimePercentiles.addValue(runTime);
+        }
+        else
+        {
+            runTimeReservoir.addValue(runTime);
+        }
         runTimeStatistics.addValue(runTime);
 
         // update the time series
@@ -240,6 +306,60 @@ public class BasicTimerDataProcessor extends AbstractDataProcessor
         }
     }
 
+    /**
+     * Adds a run time value to the corrected run time statistics. Values without a scheduled start time are ignored.
+     *
+     * @param runTime
+     *            the measured run time
+     * @param startTime
+     *            the actual start time
+     * @param scheduledStartTime
+     *            the scheduled start time, or a negative value if not known
+     */
+    protected void addCorrectedRunTime(final int runTime, final long startTime, final long scheduledStartTime)
+    {
+        if (scheduledStartTime >= 0)
+        {
+            if (correctedRunTimeCalculator == null)
+            {
+                final ReportGeneratorConfiguration config = (ReportGeneratorConfiguration) getConfiguration();
+                correctedRunTimeCalculator = new CorrectedRunTimeCalculator(config.createRuntimePercentileCalculator());
+            }
+
+            correctedRunTimeCalculator.addValue(runTime, startTime, scheduledStartTime);
+        }
+    }
+
+    /**
+     * Creates the corrected run time report from the values added so far.
+     *
+     * @return the report, or <code>null</code> if none of the values had a scheduled start time
+     */
+    protected CorrectedRunTimeReport createCorrectedRunTimeReport()
+    {
+        final CorrectedRunTimeCalculator calculator = correctedRunTimeCalculator;
+        if (calculator == null || calculator.getScheduledCount() == 0)
+        {
+            return null;
+        }
+
+        final CorrectedRunTimeReport report = new CorrectedRunTimeReport();
+        report.count = calculator.getScheduledCount();
+        report.meanLag = ReportUtils.convertToBigDecimal(calculator.getMeanLag());
+        report.maxLag = calculator.getMaximumLag();
+        report.mean = ReportUtils.convertToBigDecimal(calculator.getMean());
+        report.max = calculator.getMaximum();
+        report.median = ReportUtils.convertToBigDecimal(calculator.getMedian());
+
+        for (final double percentile : percentiles)
+        {
+            report.percentiles.put("p" + ReportUtils.formatValue(percentile),
+                                   ReportUtils.convertToBigDecimal(calculator.getPercentile(percentile)));
+        }
+
+        return report;
+    }
+
     protected ValueSet getCountPerSecondValueSet()
     {
         return countPerSecondValueSet;
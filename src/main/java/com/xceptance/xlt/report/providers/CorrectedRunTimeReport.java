@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.providers;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.thoughtworks.xstream.annotations.XStreamConverter;
+import com.xceptance.xlt.report.util.CustomMapConverter;
+
+/**
+ * Represents the run time statistics of a timer corrected for coordinated omission, i.e. including the time the
+ * operations started later than scheduled by an arrival-rate timer.
+ */
+public class CorrectedRunTimeReport
+{
+    /**
+     * The number of values that had a scheduled start time.
+     */
+    public long count;
+
+    /**
+     * The mean time the operations started late.
+     */
+    public BigDecimal meanLag;
+
+    /**
+     * The maximum time the operations started late.
+     */
+    public int maxLag;
+
+    /**
+     * The mean of the corrected run times.
+     */
+    public BigDecimal mean;
+
+    /**
+     * The maximum of the corrected run times.
+     */
+    public int max;
+
+    /**
+     * The median of the corrected run times.
+     */
+    public BigDecimal median;
+
+    /**
+     * The configured percentiles of the corrected run times.
+     */
+    @XStreamConverter(CustomMapConverter.class)
+    public Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
+}
@@ -144,6 +144,16 @@ public class RequestDataProcessor extends BasicTimerDataProcessor
      */
     private final IntSummaryStatistics dnsTimeStatistics = new IntSummaryStatistics();
 
+    /**
+     * The number of full TLS handshakes.
+     */
+    private int fullTlsHandshakes;
+
+    /**
+     * The number of abbreviated TLS handshakes that resumed a previous session.
+     */
+    private int resumedTlsHandshakes;
+
     /**
      * Whether distinct URLs should be counted.
      */
@@ -293,6 +303,8 @@ public class RequestDataProcessor extends BasicTimerDataProcessor
         timerReport.receiveTime = createStatisticsReport(receiveTimeStatistics);
         timerReport.timeToFirstBytes = createStatisticsReport(timeToFirstBytesStatistics);
         timerReport.timeToLastBytes = createStatisticsReport(timeToLastBytesStatistics);
+        timerReport.fullTlsHandshakes = fullTlsHandshakes;
+        timerReport.resumedTlsHandshakes = resumedTlsHandshakes;
 
         // apply labeling rules
         labelingRuleProcessor.process(timerReport);
@@ -353,6 +365,15 @@ public class RequestDataProcessor extends BasicTimerDataProcessor
         receiveTimeStatistics.addValue(reqData.getReceiveTime());
         timeToFirstBytesStatistics.addValue(reqData.getTimeToFirstBytes());
         timeToLastBytesStatistics.addValue(reqData.getTimeToLastBytes());
+
+        if (reqData.isFullTlsHandshake())
+        {
+            fullTlsHandshakes++;
+        }
+        else if (reqData.isResumedTlsHandshake())
+        {
+            resumedTlsHandshakes++;
+        }
     }
 
     /**
@@ -70,6 +70,16 @@ public class RequestReport extends TimerReport
      */
     public StatisticsReport timeToLastBytes;
 
+    /**
+     * The number of requests that established a new connection with a full TLS handshake.
+     */
+    public int fullTlsHandshakes;
+
+    /**
+     * The number of requests that established a new connection by resuming a previous TLS session.
+     */
+    public int resumedTlsHandshakes;
+
     /**
      * The number of timer values per configured runtime interval.
      */
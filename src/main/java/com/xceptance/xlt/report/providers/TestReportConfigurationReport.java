@@ -26,6 +26,10 @@ public class TestReportConfigurationReport
 {
     public List<String> runtimePercentiles;
 
+    public String runtimePercentileBackend;
+
+    public String runtimePercentileAccuracy;
+
     public List<RuntimeInterval> runtimeIntervals;
     
     public List<RequestTableColorization> requestTableColorization;
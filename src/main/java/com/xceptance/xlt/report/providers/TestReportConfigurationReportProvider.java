@@ -38,12 +38,25 @@ public class TestReportConfigurationReportProvider extends AbstractReportProvide
         // set the configured percentiles
         configReport.runtimePercentiles = new ArrayList<>();
 
-        final double[] percentiles = ((ReportGeneratorConfiguration) getConfiguration()).getRuntimePercentiles();
+        final ReportGeneratorConfiguration config = (ReportGeneratorConfiguration) getConfiguration();
+        final double[] percentiles = config.getRuntimePercentiles();
         for (final double percentile : percentiles)
         {
             configReport.runtimePercentiles.add(ReportUtils.formatValue(percentile));
         }
 
+        // state how the percentiles have been calculated and how accurate they are
+        if (config.dataSamplingReservoirSize > 0)
+        {
+            configReport.runtimePercentileBackend = "reservoir";
+            configReport.runtimePercentileAccuracy = String.format("sample of up to %d values per timer", config.dataSamplingReservoirSize);
+        }
+        else
+        {
+            configReport.runtimePercentileBackend = config.getRuntimePercentileBackend().name().toLowerCase();
+            configReport.runtimePercentileAccuracy = config.createRuntimePercentileCalculator().getAccuracy();
+        }
+
         // add the configured runtime intervals used to segment the value range
         // (preprocessed for easier XSL transformation)
         final int[] boundaries = ((ReportGeneratorConfiguration) getConfiguration()).getRuntimeIntervalBoundaries();
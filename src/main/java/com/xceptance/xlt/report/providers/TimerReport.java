@@ -137,6 +137,26 @@ public class TimerReport
     @XStreamConverter(CustomMapConverter.class)
     public Map<String, BigDecimal> percentiles = new LinkedHashMap<>();
 
+    /**
+     * The number of runtime values the median and the percentiles have been calculated from if the runtime values have
+     * been sampled, <code>null</code> otherwise.
+     */
+    public Integer sampleSize;
+
+    /**
+     * The lower bounds of the 95% confidence intervals of the percentiles if the runtime values have been sampled and
+     * not repeated by a data sample factor greater than 1, <code>null</code> otherwise.
+     */
+    @XStreamConverter(CustomMapConverter.class)
+    public Map<String, BigDecimal> percentilesLowerBound;
+
+    /**
+     * The upper bounds of the 95% confidence intervals of the percentiles if the runtime values have been sampled and
+     * not repeated by a data sample factor greater than 1, <code>null</code> otherwise.
+     */
+    @XStreamConverter(CustomMapConverter.class)
+    public Map<String, BigDecimal> percentilesUpperBound;
+
     /**
      * Get the type code of this report.
      *
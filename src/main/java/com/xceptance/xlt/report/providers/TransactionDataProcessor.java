@@ -140,6 +140,7 @@ public class TransactionDataProcessor extends BasicTimerDataProcessor
         // create the standard timer report
         final TransactionReport transactionReport = (TransactionReport) super.createTimerReport(generateHistogram);
         transactionReport.events = numberOfEvents;
+        transactionReport.correctedRunTime = createCorrectedRunTimeReport();
 
         // apply labeling rules
         labelingRuleProcessor.process(transactionReport);
@@ -161,6 +162,9 @@ public class TransactionDataProcessor extends BasicTimerDataProcessor
         {
             super.processDataRecord(data);
 
+            final TransactionData transactionData = (TransactionData) data;
+            addCorrectedRunTime(transactionData.getRunTime(), transactionData.getTime(), transactionData.getScheduledStartTime());
+
             arrivalsPerHourPerSecond.addOrUpdateValue(data.getTime(), 3600);
         }
         else
@@ -29,6 +29,12 @@ public class TransactionReport extends TimerReport
      */
     public int events;
 
+    /**
+     * The run time statistics corrected for coordinated omission, or <code>null</code> if no transaction was scheduled by an
+     * arrival-rate timer.
+     */
+    public CorrectedRunTimeReport correctedRunTime;
+
     /**
      * {@inheritDoc}
      */
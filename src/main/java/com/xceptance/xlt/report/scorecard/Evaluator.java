@@ -27,11 +27,15 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+
 import org.apache.commons.lang3.StringUtils;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -51,6 +55,8 @@ import net.sf.saxon.s9api.Processor;
 import net.sf.saxon.s9api.SaxonApiException;
 import net.sf.saxon.s9api.UnprefixedElementMatchingPolicy;
 import net.sf.saxon.s9api.XPathCompiler;
+import net.sf.saxon.s9api.XPathExecutable;
+import net.sf.saxon.s9api.XPathSelector;
 import net.sf.saxon.s9api.XdmItem;
 import net.sf.saxon.s9api.XdmNode;
 import net.sf.saxon.s9api.XdmValue;
@@ -63,6 +69,11 @@ public class Evaluator
 
     private final Processor processor;
 
+    /**
+     * The parsed configuration together with its precompiled expressions. Created lazily on first use.
+     */
+    private CompiledConfiguration compiledConfig;
+
     /**
      * Creates a new evaluator instance that uses the given configuration JSON file.
      *
@@ -88,10 +99,25 @@ public class Evaluator
     {
         ParameterCheckUtils.isNotNull(documentFile, "documentFile");
 
+        return evaluate(new StreamSource(documentFile));
+    }
+
+    /**
+     * Evaluates the XML document provided by the given source. Use this method to evaluate a report without having to
+     * parse its XML file again, for example by passing a {@link javax.xml.transform.sax.SAXSource} that generates the document from the
+     * in-memory report model.
+     *
+     * @param documentSource
+     *            the source of the XML document to evaluate
+     * @return resulting scorecard
+     */
+    public Scorecard evaluate(final Source documentSource)
+    {
+        ParameterCheckUtils.isNotNull(documentSource, "documentSource");
+
         try
         {
-            final Configuration config = parseConfiguration();
-            return doEvaluate(config, documentFile);
+            return doEvaluate(getCompiledConfiguration(), documentSource);
         }
         catch (final Exception ex)
         {
@@ -100,6 +126,20 @@ public class Evaluator
 
     }
 
+    /**
+     * Returns the configuration with all its expressions compiled. The configuration is parsed and compiled only once
+     * per evaluator instance.
+     */
+    private synchronized CompiledConfiguration getCompiledConfiguration() throws ValidationException, IOException
+    {
+        if (compiledConfig == null)
+        {
+            compiledConfig = new CompiledConfiguration(parseConfiguration(), processor);
+        }
+
+        return compiledConfig;
+    }
+
     /**
      * Writes the given scorecard as serialized XML to the given output file.
      *
@@ -187,12 +227,32 @@ public class Evaluator
 
     }
 
+    /**
+     * Evaluates the given XML file against the given configuration.
+     *
+     * @param config
+     *            the configuration
+     * @param documentFile
+     *            the XML file to evaluate
+     * @return resulting scorecard
+     * @throws SaxonApiException
+     *             thrown if the XML file could not be parsed
+     * @deprecated Use {@link #doEvaluate(CompiledConfiguration, Source)} instead, which does not compile the expressions
+     *             of the configuration again for each evaluation.
+     */
+    @Deprecated
     protected Scorecard doEvaluate(final Configuration config, final File documentFile) throws SaxonApiException
     {
-        final XdmNode docNode = processor.newDocumentBuilder().build(documentFile);
-        final XPathCompiler xpathCompiler = processor.newXPathCompiler();
-        xpathCompiler.setUnprefixedElementMatchingPolicy(UnprefixedElementMatchingPolicy.DEFAULT_NAMESPACE);
-        xpathCompiler.setCaching(true);
+        return doEvaluate(new CompiledConfiguration(config, processor), new StreamSource(documentFile));
+    }
+
+    protected Scorecard doEvaluate(final CompiledConfiguration compiledConfig, final Source documentSource) throws SaxonApiException
+    {
+        final Configuration config = compiledConfig.getConfiguration();
+        final XdmNode docNode = processor.newDocumentBuilder().build(documentSource);
+
+        // selector results are shared by all checks using the same selector
+        final Map<String, SelectorResult> selectorResults = new HashMap<>();
 
         Integer points = 0, totalPoints = 0; // counters for achieved and achievable points
         boolean testFailed = false; // whether to mark test as failed
@@ -216,7 +276,7 @@ public class Evaluator
                 // create a rule result object
                 final Scorecard.Rule rule = new Scorecard.Rule(ruleDef, groupDef.isEnabled());
                 // evaluate the rule
-                evaluateRule(rule, xpathCompiler, docNode, config::getSelector);
+                evaluateRule(rule, compiledConfig, docNode, selectorResults);
 
                 // add rule result to group
                 group.addRule(rule);
@@ -291,15 +351,15 @@ public class Evaluator
         return scorecard;
     }
 
-    private void evaluateRule(final Scorecard.Rule rule, final XPathCompiler compiler, final XdmNode document,
-                              final Function<String, SelectorDefinition> selectorLookup)
+    private void evaluateRule(final Scorecard.Rule rule, final CompiledConfiguration compiledConfig, final XdmNode document,
+                              final Map<String, SelectorResult> selectorResults)
     {
         for (final RuleDefinition.Check check : rule.getDefinition().getChecks())
         {
             final Scorecard.Rule.Check ruleCheck = new Scorecard.Rule.Check(check, rule.isEnabled());
             if (ruleCheck.isEnabled())
             {
-                evaluateRuleCheck(ruleCheck, compiler, document, selectorLookup);
+                evaluateRuleCheck(ruleCheck, compiledConfig, document, selectorResults);
             }
             rule.addCheck(ruleCheck);
         }
@@ -307,27 +367,24 @@ public class Evaluator
         conclude(rule);
     }
 
-    private void evaluateRuleCheck(final Scorecard.Rule.Check check, final XPathCompiler compiler, final XdmNode document,
-                                   final Function<String, SelectorDefinition> selectorLookup)
+    private void evaluateRuleCheck(final Scorecard.Rule.Check check, final CompiledConfiguration compiledConfig, final XdmNode document,
+                                   final Map<String, SelectorResult> selectorResults)
     {
-        final String selector;
         // pick the right selector (specified directly or referenced by ID)
-        {
-            final String selectorId = check.getDefinition().getSelectorId();
-            if (selectorId != null)
-            {
-                selector = selectorLookup.apply(selectorId).getExpression();
-            }
-            else
-            {
-                selector = check.getDefinition().getSelector();
-            }
-        }
+        final String selector = compiledConfig.getSelectorExpression(check.getDefinition());
+
         Status status = Status.FAILED;
         String message = null, value = null;
         try
         {
-            final XdmValue result = compiler.evaluate(selector, document);
+            SelectorResult selectorResult = selectorResults.get(selector);
+            if (selectorResult == null)
+            {
+                selectorResult = evaluateSelector(compiledConfig.getSelector(selector), document);
+                selectorResults.put(selector, selectorResult);
+            }
+
+            final XdmValue result = selectorResult.get();
             if (result.isEmpty())
             {
                 status = Status.ERROR;
@@ -350,7 +407,7 @@ public class Evaluator
                 else
                 {
                     value = node.getStringValue();
-                    final boolean matches = evaluateConditionSafe(check.getDefinition().getCondition(), compiler, node);
+                    final boolean matches = evaluateConditionSafe(compiledConfig.getCondition(check.getDefinition().getCondition()), node);
                     if (matches)
                     {
                         status = Status.PASSED;
@@ -372,18 +429,29 @@ public class Evaluator
         }
     }
 
-    private boolean evaluateConditionSafe(final String condition, final XPathCompiler compiler, final XdmValue contextValue)
+    /**
+     * Evaluates the given compiled selector against the document.
+     */
+    private static SelectorResult evaluateSelector(final CompiledExpression selector, final XdmNode document)
     {
-        // strip any leading/trailing whitespace
-        String expr = StringUtils.strip(condition);
-        // if expression starts with a comparison operator, put a '.' in front of it
-        if (StringUtils.startsWithAny(expr, "=", "<", ">", "!="))
+        try
         {
-            expr = ". " + expr;
+            final XPathSelector xpathSelector = selector.get().load();
+            xpathSelector.setContextItem(document);
+
+            return new SelectorResult(xpathSelector.evaluate(), null);
         }
+        catch (final SaxonApiException e)
+        {
+            return new SelectorResult(null, e);
+        }
+    }
+
+    private boolean evaluateConditionSafe(final CompiledExpression condition, final XdmValue contextValue)
+    {
         try
         {
-            return contextValue.select(compiler.compile(expr).asStep()).asAtomic().getBooleanValue();
+            return contextValue.select(condition.get().asStep()).asAtomic().getBooleanValue();
         }
         catch (final ClassCastException | SaxonApiException e)
         {
@@ -595,4 +663,124 @@ public class Evaluator
         return denominator > 0 ? (Math.round((numerator * 1000.0) / denominator) / 10.0) : 0.0;
     }
 
+    /**
+     * The result of compiling an XPath expression, which is either the executable or the compilation error.
+     */
+    private record CompiledExpression(XPathExecutable executable, SaxonApiException error)
+    {
+        /**
+         * Returns the executable or throws the compilation error.
+         */
+        XPathExecutable get() throws SaxonApiException
+        {
+            if (error != null)
+            {
+                throw error;
+            }
+
+            return executable;
+        }
+    }
+
+    /**
+     * The result of evaluating a selector, which is either the selected value or the evaluation error.
+     */
+    private record SelectorResult(XdmValue value, SaxonApiException error)
+    {
+        /**
+         * Returns the selected value or throws the evaluation error.
+         */
+        XdmValue get() throws SaxonApiException
+        {
+            if (error != null)
+            {
+                throw error;
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * A configuration together with the compiled forms of all the selector and condition expressions used by its
+     * rules. Identical expressions are compiled only once.
+     */
+    protected static class CompiledConfiguration
+    {
+        private final Configuration config;
+
+        private final Map<String, CompiledExpression> selectors = new HashMap<>();
+
+        private final Map<String, CompiledExpression> conditions = new HashMap<>();
+
+        CompiledConfiguration(final Configuration config, final Processor processor)
+        {
+            this.config = config;
+
+            final XPathCompiler compiler = processor.newXPathCompiler();
+            compiler.setUnprefixedElementMatchingPolicy(UnprefixedElementMatchingPolicy.DEFAULT_NAMESPACE);
+
+            for (final RuleDefinition ruleDef : config.getRules())
+            {
+                for (final RuleDefinition.Check check : ruleDef.getChecks())
+                {
+                    selectors.computeIfAbsent(getSelectorExpression(check), expr -> compile(compiler, expr));
+                    conditions.computeIfAbsent(check.getCondition(), condition -> compile(compiler, toConditionExpression(condition)));
+                }
+            }
+        }
+
+        Configuration getConfiguration()
+        {
+            return config;
+        }
+
+        /**
+         * Returns the selector expression of the given check, which is either specified directly or referenced by ID.
+         */
+        String getSelectorExpression(final RuleDefinition.Check check)
+        {
+            final String selectorId = check.getSelectorId();
+
+            return selectorId != null ? config.getSelector(selectorId).getExpression() : check.getSelector();
+        }
+
+        CompiledExpression getSelector(final String expression)
+        {
+            return selectors.get(expression);
+        }
+
+        CompiledExpression getCondition(final String condition)
+        {
+            return conditions.get(condition);
+        }
+
+        /**
+         * Turns the given condition into an XPath expression.
+         */
+        private static String toConditionExpression(final String condition)
+        {
+            // strip any leading/trailing whitespace
+            String expr = StringUtils.strip(condition);
+            // if expression starts with a comparison operator, put a '.' in front of it
+            if (StringUtils.startsWithAny(expr, "=", "<", ">", "!="))
+            {
+                expr = ". " + expr;
+            }
+
+            return expr;
+        }
+
+        private static CompiledExpression compile(final XPathCompiler compiler, final String expression)
+        {
+            try
+            {
+                return new CompiledExpression(compiler.compile(expression), null);
+            }
+            catch (final SaxonApiException e)
+            {
+                return new CompiledExpression(null, e);
+            }
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.trendreport;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A compact summary of a load test report, holding just the data needed to create trend reports, i.e. the general
+ * report data and the statistics of each timer. The summary is stored as JSON next to the report's XML file, so trend
+ * reports can be created without parsing the (potentially huge) XML file again.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportSummary
+{
+    /**
+     * The format version of the summary. Summaries of other versions are ignored.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The shared object mapper (thread-safe once configured).
+     */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public int version = VERSION;
+
+    public String projectName;
+
+    public String startTime;
+
+    public String comment;
+
+    /**
+     * The timer statistics, keyed by tag name (e.g. "transaction" or "requests") and timer name.
+     */
+    public Map<String, Map<String, TimerSummary>> timers = new TreeMap<>();
+
+    /**
+     * Returns the statistics of the timer with the given tag name and timer name. The statistics are created if
+     * necessary.
+     *
+     * @param tagName
+     *            the tag name
+     * @param timerName
+     *            the timer name
+     * @return the timer statistics
+     */
+    public TimerSummary getOrCreateTimer(final String tagName, final String timerName)
+    {
+        return timers.computeIfAbsent(tagName, k -> new TreeMap<>()).computeIfAbsent(timerName, k -> new TimerSummary());
+    }
+
+    /**
+     * Writes this summary to the given file.
+     *
+     * @param file
+     *            the target file
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public void write(final File file) throws IOException
+    {
+        OBJECT_MAPPER.writeValue(file, this);
+    }
+
+    /**
+     * Reads a summary from the given file.
+     *
+     * @param file
+     *            the summary file
+     * @return the summary, or <code>null</code> if the file was written in another format version
+     * @throws IOException
+     *             if an I/O error occurs or the file is not a valid summary
+     */
+    public static ReportSummary read(final File file) throws IOException
+    {
+        final ReportSummary summary = OBJECT_MAPPER.readValue(file, ReportSummary.class);
+
+        return summary.version == VERSION ? summary : null;
+    }
+
+    /**
+     * The statistics of a single timer.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class TimerSummary
+    {
+        public long count;
+
+        public double countPerSecond;
+
+        public long errors;
+
+        public int min;
+
+        public int max;
+
+        public double median;
+
+        public double mean;
+
+        /**
+         * The runtime percentiles, keyed by name (e.g. "p95").
+         */
+        public Map<String, Double> percentiles = new TreeMap<>();
+    }
+}
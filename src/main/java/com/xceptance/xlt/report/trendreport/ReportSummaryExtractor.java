@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.trendreport;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.xceptance.xlt.common.XltConstants;
+import com.xceptance.xlt.report.TestReport;
+import com.xceptance.xlt.report.providers.ActionsReport;
+import com.xceptance.xlt.report.providers.ConfigurationReport;
+import com.xceptance.xlt.report.providers.CustomTimersReport;
+import com.xceptance.xlt.report.providers.GeneralReport;
+import com.xceptance.xlt.report.providers.PageLoadTimingsReport;
+import com.xceptance.xlt.report.providers.RequestsReport;
+import com.xceptance.xlt.report.providers.SummaryReport;
+import com.xceptance.xlt.report.providers.TimerReport;
+import com.xceptance.xlt.report.providers.TransactionsReport;
+import com.xceptance.xlt.report.trendreport.ReportSummary.TimerSummary;
+
+/**
+ * Extracts a {@link ReportSummary} from a load test report, either from the in-memory report model right after the
+ * report has been created, or from an existing report XML file. The file is read in a streaming fashion, so even huge
+ * reports can be processed quickly and with little memory.
+ */
+public final class ReportSummaryExtractor
+{
+    /**
+     * The paths of the elements holding timer statistics, mapped to the tag name used in the summary.
+     */
+    private static final Map<String, String> TIMER_PATHS = Map.of("/testreport/transactions/transaction", "transaction",
+                                                                  "/testreport/actions/action", "action", "/testreport/requests/request",
+                                                                  "request", "/testreport/pageLoadTimings/pageLoadTiming", "pageLoadTiming",
+                                                                  "/testreport/customTimers/customTimer", "customTimer",
+                                                                  "/testreport/summary/transactions", "transactions",
+                                                                  "/testreport/summary/actions", "actions", "/testreport/summary/requests",
+                                                                  "requests", "/testreport/summary/pageLoadTimings", "pageLoadTimings",
+                                                                  "/testreport/summary/customTimers", "customTimers");
+
+    /**
+     * The paths of the timer values of interest, relative to the timer element.
+     */
+    private static final Set<String> TIMER_VALUE_PATHS = Set.of("/name", "/count", "/countPerSecond", "/errors", "/min", "/max", "/median",
+                                                                "/mean");
+
+    private static final String PROJECT_NAME_PATH = "/testreport/configuration/projectName";
+
+    private static final String START_TIME_PATH = "/testreport/general/startTime";
+
+    private static final String COMMENT_PATH = "/testreport/configuration/comments/string";
+
+    private static final String PERCENTILES_PATH = "/percentiles/";
+
+    /**
+     * Default constructor. Declared private to prevent external instantiation.
+     */
+    private ReportSummaryExtractor()
+    {
+    }
+
+    /**
+     * Extracts the summary from the given in-memory report model. The result is the same as if extracted from the
+     * report XML file written for this model.
+     *
+     * @param testReport
+     *            the report model
+     * @return the summary
+     */
+    public static ReportSummary extract(final TestReport testReport)
+    {
+        final ReportSummary summary = new ReportSummary();
+
+        for (final Object fragment : testReport.getReportFragments())
+        {
+            if (fragment instanceof final TransactionsReport report)
+            {
+                addTimers(summary, "transaction", report.transactions);
+            }
+            else if (fragment instanceof final ActionsReport report)
+            {
+                addTimers(summary, "action", report.actions);
+            }
+            else if (fragment instanceof final RequestsReport report)
+            {
+                addTimers(summary, "request", report.requests);
+            }
+            else if (fragment instanceof final PageLoadTimingsReport report)
+            {
+                addTimers(summary, "pageLoadTiming", report.pageLoadTimings);
+            }
+            else if (fragment instanceof final CustomTimersReport report)
+            {
+                addTimers(summary, "customTimer", report.customTimers);
+            }
+            else if (fragment instanceof final SummaryReport report)
+            {
+                addTimer(summary, "transactions", report.transactions);
+                addTimer(summary, "actions", report.actions);
+                addTimer(summary, "requests", report.requests);
+                addTimer(summary, "pageLoadTimings", report.pageLoadTimings);
+                addTimer(summary, "customTimers", report.customTimers);
+            }
+            else if (fragment instanceof final GeneralReport report)
+            {
+                if (report.startTime != null)
+                {
+                    // the same format as used in the report XML file
+                    summary.startTime = new SimpleDateFormat(XltConstants.REPORT_DATE_FORMAT_WO_MSEC, Locale.ENGLISH).format(report.startTime);
+                }
+            }
+            else if (fragment instanceof final ConfigurationReport report)
+            {
+                summary.projectName = report.projectName != null ? report.projectName.trim() : null;
+                summary.comment = report.comments.isEmpty() ? null : report.comments.get(0).trim();
+            }
+        }
+
+        return summary;
+    }
+
+    /**
+     * Adds the statistics of the given timers to the summary.
+     */
+    private static void addTimers(final ReportSummary summary, final String tagName, final List<? extends TimerReport> timerReports)
+    {
+        for (final TimerReport timerReport : timerReports)
+        {
+            addTimer(summary, tagName, timerReport);
+        }
+    }
+
+    /**
+     * Adds the statistics of the given timer to the summary.
+     */
+    private static void addTimer(final ReportSummary summary, final String tagName, final TimerReport timerReport)
+    {
+        if (timerReport == null || timerReport.name == null)
+        {
+            return;
+        }
+
+        final TimerSummary timer = summary.getOrCreateTimer(tagName, timerReport.name);
+        timer.count = timerReport.count;
+        timer.countPerSecond = toDouble(timerReport.countPerSecond);
+        timer.errors = timerReport.errors;
+        timer.min = (int) timerReport.min;
+        timer.max = (int) timerReport.max;
+        timer.median = toDouble(timerReport.median);
+        timer.mean = toDouble(timerReport.mean);
+
+        for (final Map.Entry<String, BigDecimal> entry : timerReport.percentiles.entrySet())
+        {
+            timer.percentiles.put(entry.getKey(), toDouble(entry.getValue()));
+        }
+    }
+
+    /**
+     * Converts the given value, treating missing values as 0.
+     */
+    private static double toDouble(final BigDecimal value)
+    {
+        return value != null ? value.doubleValue() : 0;
+    }
+
+    /**
+     * Extracts the summary from the given report XML file.
+     *
+     * @param xmlFile
+     *            the report XML file
+     * @return the summary
+     * @throws IOException
+     *             if the file cannot be read or parsed
+     */
+    public static ReportSummary extract(final File xmlFile) throws IOException
+    {
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(xmlFile)))
+        {
+            final XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try
+            {
+                return extract(reader);
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        catch (final XMLStreamException e)
+        {
+            throw new IOException("Failed to parse report file: " + xmlFile, e);
+        }
+    }
+
+    /**
+     * Extracts the summary from the given XML stream.
+     */
+    private static ReportSummary extract(final XMLStreamReader reader) throws XMLStreamException
+    {
+        final ReportSummary summary = new ReportSummary();
+
+        // the path of the current element
+        final StringBuilder path = new StringBuilder();
+
+        // the state of the timer element currently processed, if any
+        String timerTagName = null;
+        int timerPathLength = 0;
+        Map<String, String> timerValues = null;
+
+        while (reader.hasNext())
+        {
+            final int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                path.append('/').append(reader.getLocalName());
+
+                if (timerValues != null)
+                {
+                    // inside a timer element, collect the values of interest only
+                    final String relativePath = path.substring(timerPathLength);
+                    if (relativePath.startsWith(PERCENTILES_PATH) || TIMER_VALUE_PATHS.contains(relativePath))
+                    {
+                        timerValues.put(relativePath, readElementText(reader, path));
+                    }
+                }
+                else
+                {
+                    final String currentPath = path.toString();
+
+                    final String tagName = TIMER_PATHS.get(currentPath);
+                    if (tagName != null)
+                    {
+                        timerTagName = tagName;
+                        timerPathLength = path.length();
+                        timerValues = new HashMap<>();
+                    }
+                    else if (currentPath.equals(PROJECT_NAME_PATH))
+                    {
+                        summary.projectName = readElementText(reader, path);
+                    }
+                    else if (currentPath.equals(START_TIME_PATH))
+                    {
+                        summary.startTime = readElementText(reader, path);
+                    }
+                    else if (currentPath.equals(COMMENT_PATH) && summary.comment == null)
+                    {
+                        summary.comment = readElementText(reader, path);
+                    }
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                if (timerValues != null && path.length() == timerPathLength)
+                {
+                    addTimer(summary, timerTagName, timerValues);
+                    timerValues = null;
+                }
+
+                path.setLength(path.lastIndexOf("/"));
+            }
+        }
+
+        return summary;
+    }
+
+    /**
+     * Reads the text of the current element, which also consumes the element's end tag.
+     */
+    private static String readElementText(final XMLStreamReader reader, final StringBuilder path) throws XMLStreamException
+    {
+        final String text = reader.getElementText();
+        path.setLength(path.lastIndexOf("/"));
+
+        return text.trim();
+    }
+
+    /**
+     * Adds the statistics of a timer to the summary.
+     */
+    private static void addTimer(final ReportSummary summary, final String tagName, final Map<String, String> values)
+    {
+        final String name = values.get("/name");
+        if (name == null)
+        {
+            return;
+        }
+
+        final TimerSummary timer = summary.getOrCreateTimer(tagName, name);
+        timer.count = (long) parseDouble(values.get("/count"));
+        timer.countPerSecond = parseDouble(values.get("/countPerSecond"));
+        timer.errors = (long) parseDouble(values.get("/errors"));
+        timer.min = (int) parseDouble(values.get("/min"));
+        timer.max = (int) parseDouble(values.get("/max"));
+        timer.median = parseDouble(values.get("/median"));
+        timer.mean = parseDouble(values.get("/mean"));
+
+        for (final Map.Entry<String, String> entry : values.entrySet())
+        {
+            if (entry.getKey().startsWith(PERCENTILES_PATH))
+            {
+                timer.percentiles.put(entry.getKey().substring(PERCENTILES_PATH.length()), parseDouble(entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Parses the given value, treating missing or invalid values as 0.
+     */
+    private static double parseDouble(final String value)
+    {
+        if (value != null)
+        {
+            try
+            {
+                return Double.parseDouble(value);
+            }
+            catch (final NumberFormatException e)
+            {
+                // fall through
+            }
+        }
+
+        return 0;
+    }
+}
@@ -20,15 +20,14 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -36,6 +35,10 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -48,6 +51,7 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.CategoryAxis;
 import org.jfree.chart.axis.CategoryLabelPositions;
@@ -61,15 +65,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.xml.sax.SAXException;
 
 import com.xceptance.common.util.ProcessExitCodes;
 import com.xceptance.common.util.ProductInformation;
+import com.xceptance.common.util.concurrent.DaemonThreadFactory;
 import com.xceptance.common.xml.DomUtils;
 import com.xceptance.xlt.common.XltConstants;
 import com.xceptance.xlt.report.ReportTransformer;
+import com.xceptance.xlt.report.trendreport.ReportSummary.TimerSummary;
 import com.xceptance.xlt.report.util.CategoryItemRenderer;
-import com.xceptance.xlt.report.util.ElementSpecification;
 import com.xceptance.xlt.report.util.JFreeChartUtils;
 import com.xceptance.xlt.report.util.NoOverlapCategoryAxis;
 import com.xceptance.xlt.report.util.ReportUtils;
@@ -100,6 +104,12 @@ public class TrendReportGeneratorMain
         main.run(args);
     }
 
+    /**
+     * The tag names of all timer types and summaries shown in the trend report.
+     */
+    private static final List<String> TIMER_TAG_NAMES = List.of("transaction", "action", "request", "pageLoadTiming", "customTimer",
+                                                                "transactions", "actions", "requests", "pageLoadTimings", "customTimers");
+
     /**
      * The configuration as read from "trendreportgenerator.properties".
      */
@@ -192,6 +202,36 @@ public class TrendReportGeneratorMain
         return options;
     }
 
+    /**
+     * Creates the initial trend values, one for each test report.
+     *
+     * @param reportSummaries
+     *            the report summaries keyed by the unique test report name
+     * @throws ParseException
+     *             if a report date cannot be parsed
+     */
+    private void createInitialTrendValues(final Map<String, ReportSummary> reportSummaries) throws ParseException
+    {
+        for (final Entry<String, ReportSummary> entry : reportSummaries.entrySet())
+        {
+            final ReportSummary reportSummary = entry.getValue();
+
+            // newer reports don't have msec anymore!
+            Date reportDate;
+            try
+            {
+                reportDate = new SimpleDateFormat(XltConstants.REPORT_DATE_FORMAT, Locale.ENGLISH).parse(reportSummary.startTime);
+            }
+            catch (final ParseException e)
+            {
+                reportDate = new SimpleDateFormat(XltConstants.REPORT_DATE_FORMAT_WO_MSEC, Locale.ENGLISH).parse(reportSummary.startTime);
+            }
+
+            // add a new trend value to the initial trend values
+            initialTrendValues.add(new TrendValue(null, null, null, null, entry.getKey(), reportDate, reportSummary.comment, null, null));
+        }
+    }
+
     /**
      * Creates a run time trend chart with the given title showing the specified data. The chart is stored as a PNG file
      * to the passed target directory.
@@ -219,115 +259,6 @@ public class TrendReportGeneratorMain
         JFreeChartUtils.saveChart(jfreeChart, timerName + "_Errors", outputDir, chartWidth, chartHeight);
     }
 
-    /**
-     * Creates an initial trend value set, which contains dummy values for each test report.
-     *
-     * @param directoryPathNames
-     *            the test report directories
-     * @throws ParseException
-     * @throws IOException
-     */
-    private void createInitialTrendValues(final String[] directoryPathNames) throws ParseException, IOException
-    {
-        // remember absolute paths of all report directories to detect repetitions in user input
-        final HashSet<String> reportDirs = new HashSet<String>();
-        // remember test report names to compute a unique one
-        final HashSet<String> reportNames = new HashSet<String>();
-        for (final String directoryPathName : directoryPathNames)
-        {
-            final File reportDir = new File(directoryPathName);
-            final String reportPath = reportDir.getAbsolutePath();
-            if (reportDirs.contains(reportPath))
-            {
-                continue;
-            }
-
-            reportDirs.add(reportPath);
-            // compute unique test report name
-            String key = reportDir.getName();
-            if (reportNames.contains(key))
-            {
-                key = computeNewKey(reportNames, key);
-            }
-            reportNames.add(key);
-            // get test report date and comment
-            Map<String, String> reportDateAndComment = getReportDateAndCommentFromFile(reportDir);
-            // create a new trend value if test report data are available
-            if (reportDateAndComment != null)
-            {
-                // newer reports don't have msec anymore!
-                Date reportDate;
-                try
-                {
-                    reportDate = new SimpleDateFormat(XltConstants.REPORT_DATE_FORMAT,
-                                                             Locale.ENGLISH).parse(reportDateAndComment.get("reportDate"));
-                }
-                catch(java.text.ParseException e)
-                {
-                    reportDate = new SimpleDateFormat(XltConstants.REPORT_DATE_FORMAT_WO_MSEC,
-                                                                 Locale.ENGLISH).parse(reportDateAndComment.get("reportDate"));
-                }
-
-                final String reportComment = reportDateAndComment.get("reportComment");
-                // add a new trend value to the initial trend values
-                initialTrendValues.add(new TrendValue(null, null, null, null, key, reportDate, reportComment, null, null));
-            }
-        }
-    }
-
-    /**
-     * Returns the test report date and the test report comment.
-     *
-     * @param dir
-     *            the directory of the test report
-     * @return the test report date and the test report comment
-     * @throws IOException
-     * @throws ParseException
-     */
-    private Map<String, String> getReportDateAndCommentFromFile(final File dir) throws IOException, ParseException
-    {
-        // the test report data
-        final Map<String, String> testReportData = new HashMap<String, String>();
-        // the test report XML file
-        final File file = new File(dir, XltConstants.LOAD_REPORT_XML_FILENAME);
-
-        if (file.isFile())
-        {
-            // the test report content
-            String fileContent = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
-            // get the test report date
-            testReportData.put("reportDate",
-                               fileContent.substring(fileContent.indexOf("<startTime>") + 11, fileContent.indexOf("</startTime>")));
-            // get the test report comment
-            testReportData.put("reportComment", parseCommentFromFileContent(fileContent));
-            return testReportData;
-        }
-        else
-        {
-            log.warn("The specified directory '" + dir + "' does not seem to be a valid test report directory. Skipping it.");
-            return null;
-        }
-    }
-
-    /**
-     * Returns the test report comment if it is set, otherwise {@code null}.
-     *
-     * @param fileContent
-     *            the string to get the test report comment from
-     * @return
-     */
-    private String parseCommentFromFileContent(String fileContent)
-    {
-        // no comment was set
-        if (fileContent.contains("<comments/>"))
-        {
-            return null;
-        }
-        String subStringComment = fileContent.substring(fileContent.indexOf("<comments>"), fileContent.indexOf("</comments>"));
-        // get comment from sub string
-        return subStringComment.substring(subStringComment.indexOf("<string>") + 8, subStringComment.indexOf("</string>"));
-    }
-
     /**
      * Creates a run time trend chart with the given title showing the specified data. The chart is stored as a PNG file
      * to the passed target directory.
@@ -487,54 +418,56 @@ public class TrendReportGeneratorMain
         }
     }
 
-    private void readDataFromTestReport(Map<String, Set<TrendValue>> trendValuesByTimerName, TestReportByName testReportByName,
-                                        String currentTagName, ElementSpecification elementSpec)
-        throws IOException, InterruptedException, ParseException
+    /**
+     * Read the test report data from the given report summary.
+     *
+     * @param trendValuesByTimerNameByTagName
+     *            the map to save the test report data
+     * @param reportName
+     *            the unique test report name
+     * @param reportSummary
+     *            the report summary
+     */
+    private void readDataFromTestReport(final Map<String, Map<String, Set<TrendValue>>> trendValuesByTimerNameByTagName,
+                                        final String reportName, final ReportSummary reportSummary)
     {
-        final String reportName = testReportByName.getReportName();
-        final Document testReport = testReportByName.getTestReport();
-
-        // get the interesting elements
-        final Map<String, Element> elementsByTimerName = ReportUtils.filterElements(testReport, elementSpec);
-        for (final Entry<String, Element> elementEntry : elementsByTimerName.entrySet())
+        for (final String tagName : TIMER_TAG_NAMES)
         {
-            final String timerName = elementEntry.getKey();
-            final Element element = elementEntry.getValue();
+            final Map<String, Set<TrendValue>> trendValuesByTimerName = getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName,
+                                                                                                            tagName);
 
-            // get/create the trend value set for this timer name
-            Set<TrendValue> trendValues = trendValuesByTimerName.get(timerName);
-            if (trendValues == null)
+            for (final Entry<String, TimerSummary> timerEntry : reportSummary.timers.getOrDefault(tagName, Map.of()).entrySet())
             {
-                trendValues = noSorting ? new LinkedHashSet<TrendValue>() : new TreeSet<TrendValue>();
-                for (TrendValue value : initialTrendValues)
+                final String timerName = timerEntry.getKey();
+                final TimerSummary timer = timerEntry.getValue();
+
+                // get/create the trend value set for this timer name
+                Set<TrendValue> trendValues = trendValuesByTimerName.get(timerName);
+                if (trendValues == null)
                 {
-                    trendValues.add(new TrendValue(null, null, null, null, value.reportName, value.reportDate, value.reportComment, null,
-                                                   null));
+                    trendValues = noSorting ? new LinkedHashSet<TrendValue>() : new TreeSet<TrendValue>();
+                    for (TrendValue value : initialTrendValues)
+                    {
+                        trendValues.add(new TrendValue(null, null, null, null, value.reportName, value.reportDate, value.reportComment, null,
+                                                       null));
+                    }
+                    trendValuesByTimerName.put(timerName, trendValues);
                 }
-                trendValuesByTimerName.put(timerName, trendValues);
-            }
-
-            // get the run time, error, and throughput statistics
-            final int min = ReportUtils.getChildElementTextAsInt(element, "min");
-            final int max = ReportUtils.getChildElementTextAsInt(element, "max");
-            final double median = ReportUtils.getChildElementTextAsDouble(element, "median");
-            final double mean = ReportUtils.getChildElementTextAsDouble(element, "mean");
-            final int errors = ReportUtils.getChildElementTextAsInt(element, "errors");
-            final double countPerSecond = ReportUtils.getChildElementTextAsDouble(element, "countPerSecond");
 
-            // lookup the empty/initial trend value for the current report and populate it
-            for (final TrendValue trendValue : trendValues)
-            {
-                if (trendValue.reportName.equals(reportName))
+                // lookup the empty/initial trend value for the current report and populate it
+                for (final TrendValue trendValue : trendValues)
                 {
-                    trendValue.minimum = min;
-                    trendValue.maximum = max;
-                    trendValue.median = median;
-                    trendValue.mean = mean;
-                    trendValue.errors = errors;
-                    trendValue.countPerSecond = countPerSecond;
-
-                    break;
+                    if (trendValue.reportName.equals(reportName))
+                    {
+                        trendValue.minimum = timer.min;
+                        trendValue.maximum = timer.max;
+                        trendValue.median = timer.median;
+                        trendValue.mean = timer.mean;
+                        trendValue.errors = timer.errors;
+                        trendValue.countPerSecond = timer.countPerSecond;
+
+                        break;
+                    }
                 }
             }
         }
@@ -642,143 +575,119 @@ public class TrendReportGeneratorMain
     }
 
     /**
-     * Reads the test report XML file contained in the given directory.
+     * Reads the summaries of all test reports in parallel. Each report directory is read only once, even if specified
+     * multiple times.
      *
-     * @param dir
-     *            the report directory
-     * @return the XML document just read, or <code>null</code> if the specified directory is not a valid test report
-     *         directory
-     * @throws ParserConfigurationException
-     * @throws SAXException
-     * @throws IOException
+     * @param directoryPathNames
+     *            the test report directories
+     * @return the report summaries keyed by a unique test report name, in the order given
+     * @throws InterruptedException
+     *             if interrupted while waiting for the summaries
      */
-    private Document readTestReport(final File dir) throws ParserConfigurationException, SAXException, IOException
+    private Map<String, ReportSummary> readReportSummaries(final String[] directoryPathNames) throws InterruptedException
     {
-        System.out.println("Reading report from directory: " + dir);
-
-        final File file = new File(dir, XltConstants.LOAD_REPORT_XML_FILENAME);
+        // compute a unique name for each distinct report directory
+        final Map<String, File> reportDirsByName = new LinkedHashMap<>();
+        final HashSet<String> reportDirs = new HashSet<String>();
+        for (final String directoryPathName : directoryPathNames)
+        {
+            final File reportDir = new File(directoryPathName);
+            if (reportDirs.add(reportDir.getAbsolutePath()))
+            {
+                String key = reportDir.getName();
+                if (reportDirsByName.containsKey(key))
+                {
+                    key = computeNewKey(reportDirsByName.keySet(), key);
+                }
+                reportDirsByName.put(key, reportDir);
+            }
+        }
 
-        if (file.isFile())
+        // read the summaries in parallel
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.getThreadCount()),
+                                                                       new DaemonThreadFactory("TrendReport-"));
+        try
         {
-            final DocumentBuilder documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            final Map<String, Future<ReportSummary>> futures = new LinkedHashMap<>();
+            for (final Entry<String, File> entry : reportDirsByName.entrySet())
+            {
+                futures.put(entry.getKey(), executor.submit(() -> readReportSummary(entry.getValue())));
+            }
 
-            return documentBuilder.parse(file);
+            final Map<String, ReportSummary> reportSummaries = new LinkedHashMap<>();
+            for (final Entry<String, Future<ReportSummary>> entry : futures.entrySet())
+            {
+                try
+                {
+                    final ReportSummary reportSummary = entry.getValue().get();
+                    if (reportSummary != null)
+                    {
+                        reportSummaries.put(entry.getKey(), reportSummary);
+                    }
+                }
+                catch (final ExecutionException e)
+                {
+                    log.error("Failed to read test report '" + reportDirsByName.get(entry.getKey()) + "'. Skipping it.", e.getCause());
+                }
+            }
+
+            return reportSummaries;
         }
-        else
+        finally
         {
-            log.warn("The specified directory '" + dir + "' does not seem to be a valid test report directory. Skipping it.");
-            return null;
+            executor.shutdownNow();
         }
     }
 
     /**
-     * Reads the test report XML file contained in the given directory.
+     * Reads the summary of the test report contained in the given directory. If the report comes with an up-to-date
+     * summary file, this file is read. Otherwise the summary is extracted from the test report XML file.
      *
-     * @param directoryPathName
-     *            the test report directory
-     * @param reportDirs
-     *            already read test report directories
-     * @param reportNames
-     *            already used test report names
-     * @return A test report document keyed by a unique test report name.
-     * @throws ParserConfigurationException
-     * @throws SAXException
+     * @param dir
+     *            the report directory
+     * @return the report summary, or <code>null</code> if the specified directory is not a valid test report directory
      * @throws IOException
+     *             if the report cannot be read
      */
-    private TestReportByName readTestReport(final String directoryPathName, final HashSet<String> reportDirs,
-                                            final HashSet<String> reportNames)
-        throws ParserConfigurationException, SAXException, IOException
+    private ReportSummary readReportSummary(final File dir) throws IOException
     {
-        final File reportDir = new File(directoryPathName);
-        final String reportPath = reportDir.getAbsolutePath();
-        // report directory was specified more than once
-        if (reportDirs.contains(reportPath))
+        final File xmlFile = new File(dir, XltConstants.LOAD_REPORT_XML_FILENAME);
+        final File summaryFile = new File(dir, XltConstants.LOAD_REPORT_SUMMARY_FILENAME);
+
+        ReportSummary reportSummary = null;
+        if (summaryFile.isFile() && (!xmlFile.isFile() || summaryFile.lastModified() >= xmlFile.lastModified()))
         {
-            return null;
+            System.out.println("Reading report summary from directory: " + dir);
+
+            try
+            {
+                reportSummary = ReportSummary.read(summaryFile);
+            }
+            catch (final IOException e)
+            {
+                log.warn("Failed to read report summary file '" + summaryFile + "'. Falling back to the XML report.", e);
+            }
         }
-        // add current report directory to the list
-        reportDirs.add(reportPath);
-        // compute the report name as unique identifier
-        String key = reportDir.getName();
-        if (reportNames.contains(key))
+
+        if (reportSummary == null)
         {
-            key = computeNewKey(reportNames, key);
-            reportNames.add(key);
+            if (!xmlFile.isFile())
+            {
+                log.warn("The specified directory '" + dir + "' does not seem to be a valid test report directory. Skipping it.");
+                return null;
+            }
+
+            System.out.println("Reading report from directory: " + dir);
+            reportSummary = ReportSummaryExtractor.extract(xmlFile);
         }
-        final Document testReport = readTestReport(reportDir);
-        if (testReport == null)
+
+        if (reportSummary.startTime == null)
         {
+            log.warn("The test report in directory '" + dir + "' does not specify a start time. Skipping it.");
             return null;
         }
-        return new TestReportByName(key, testReport);
-    }
 
-    /**
-     * Read the test report data from the given test report.
-     *
-     * @param trendValuesByTimerNameByTagName
-     *            the map to save the test report data
-     * @param testReportByName
-     *            the test report document keyed by the test report name
-     * @throws ParseException
-     * @throws InterruptedException
-     * @throws IOException
-     */
-    private void readDataFromTestReport(final Map<String, Map<String, Set<TrendValue>>> trendValuesByTimerNameByTagName,
-                                        final TestReportByName testReportByName)
-        throws IOException, InterruptedException, ParseException
-    {
-        // process the transaction nodes
-        String currentTagName = "transaction";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/transactions/transaction", "name"));
-
-        // process the action nodes
-        currentTagName = "action";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/actions/action", "name"));
-
-        // process the request nodes
-        currentTagName = "request";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/requests/request", "name"));
-
-        // process the page load timing nodes
-        currentTagName = "pageLoadTiming";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/pageLoadTimings/pageLoadTiming", "name"));
-
-        // process the customTimer nodes
-        currentTagName = "customTimer";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/customTimers/customTimer", "name"));
-
-        // process the summary nodes
-
-        // transactions summary
-        currentTagName = "transactions";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/summary/transactions", "name"));
-
-        // actions summary
-        currentTagName = "actions";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/summary/actions", "name"));
-
-        // requests summary
-        currentTagName = "requests";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/summary/requests", "name"));
-
-        // page load timings summary
-        currentTagName = "pageLoadTimings";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/summary/pageLoadTimings", "name"));
-
-        // custom timers summary
-        currentTagName = "customTimers";
-        readDataFromTestReport(getTrendValuesByTimerNameByTagName(trendValuesByTimerNameByTagName, currentTagName), testReportByName,
-                               currentTagName, new ElementSpecification("/testreport/summary/customTimers", "name"));
+        return reportSummary;
     }
 
     /**
@@ -853,7 +762,8 @@ public class TrendReportGeneratorMain
             // create initial trend values
             // either maintain the order of the reports as given on the command line or sort them by date
             initialTrendValues = noSorting ? new LinkedHashSet<TrendValue>() : new TreeSet<TrendValue>();
-            createInitialTrendValues(remainingArgs);
+            final Map<String, ReportSummary> reportSummaries = readReportSummaries(remainingArgs);
+            createInitialTrendValues(reportSummaries);
 
             // remember all necessary test report data to create a trend report
             // tag name : timer name : trend values
@@ -861,22 +771,16 @@ public class TrendReportGeneratorMain
             // timer names are e.g. 'TBrowse', 'OpenHomepage', 'OpenHomepage [200]', ...
             final Map<String, Map<String, Set<TrendValue>>> trendValuesByTimerNameByTagName = new HashMap<String, Map<String, Set<TrendValue>>>();
 
-            // remember absolute paths of all report directories to detect repetitions in user input
-            final HashSet<String> reportDirs = new HashSet<String>();
-            // remember test report names
-            final HashSet<String> reportNames = new HashSet<String>();
-            // remember the parsed documents
-            final LinkedList<Document> documents = new LinkedList<>();
-            // get each report one by one and add the data to the trendValuesByTimerNameByTagName map
-            for (String remainingArg : remainingArgs)
+            // add the data of each report to the trendValuesByTimerNameByTagName map
+            String projectName = null;
+            for (final Entry<String, ReportSummary> entry : reportSummaries.entrySet())
             {
-                // read the test report
-                final TestReportByName testReportByName = readTestReport(remainingArg, reportDirs, reportNames);
-                if (testReportByName != null)
+                readDataFromTestReport(trendValuesByTimerNameByTagName, entry.getKey(), entry.getValue());
+
+                // the last project name wins
+                if (StringUtils.isNotBlank(entry.getValue().projectName))
                 {
-                    // get the test report data
-                    readDataFromTestReport(trendValuesByTimerNameByTagName, testReportByName);
-                    documents.add(testReportByName.getTestReport());
+                    projectName = entry.getValue().projectName;
                 }
             }
 
@@ -895,7 +799,7 @@ public class TrendReportGeneratorMain
             parameters.put("productName", ProductInformation.getProductInformation().getProductName());
             parameters.put("productVersion", ProductInformation.getProductInformation().getVersion());
             parameters.put("productUrl", ProductInformation.getProductInformation().getProductURL());
-            parameters.put("projectName", ReportUtils.obtainProjectName(documents));
+            parameters.put("projectName", StringUtils.defaultString(projectName));
 
             // get the configured output and style sheet file names
             final List<File> outputFiles = new ArrayList<File>();
@@ -24,7 +24,7 @@ public class TrendValue implements Comparable<TrendValue>
 {
     public Double countPerSecond;
 
-    public Integer errors;
+    public Long errors;
 
     public Integer maximum;
 
@@ -49,7 +49,7 @@ public class TrendValue implements Comparable<TrendValue>
      * @param maximum
      */
     public TrendValue(final Double median, final Double mean, final Integer minimum, final Integer maximum, final String reportName,
-                      final Date reportDate, final String reportComment, final Integer errors, final Double countPerSecond)
+                      final Date reportDate, final String reportComment, final Long errors, final Double countPerSecond)
     {
         this.median = median;
         this.mean = mean;
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+/**
+ * Calculates run time statistics that are corrected for coordinated omission.
+ * <p>
+ * If a load test is driven by an arrival rate, an iteration may start later than scheduled because no test user was
+ * available in time, for example because the system under test stalled. The run time of the iteration does not include
+ * this waiting time, so the measured run times look better than what a real user arriving at the scheduled time would
+ * have experienced. The corrected run time is the run time plus the time the operation started late.
+ * <p>
+ * Since the scheduled start time is recorded with each value, the correction is exact and does not need to be
+ * approximated by back-filling synthetic values at the expected interval. Values without a scheduled start time are
+ * ignored, so the corrected statistics cover the scheduled operations only.
+ */
+public class CorrectedRunTimeCalculator
+{
+    /**
+     * The corrected run time values.
+     */
+    private final PercentileCalculator correctedRunTimes;
+
+    /**
+     * The statistics of the corrected run time values.
+     */
+    private final IntSummaryStatistics correctedRunTimeStatistics = new IntSummaryStatistics();
+
+    /**
+     * The statistics of the time the operations started late.
+     */
+    private final IntSummaryStatistics lagStatistics = new IntSummaryStatistics();
+
+    /**
+     * Constructor.
+     *
+     * @param percentileCalculator
+     *            the (empty) calculator to maintain the corrected run time values with
+     */
+    public CorrectedRunTimeCalculator(final PercentileCalculator percentileCalculator)
+    {
+        correctedRunTimes = percentileCalculator;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param runTime
+     *            the measured run time
+     * @param startTime
+     *            the actual start time
+     * @param scheduledStartTime
+     *            the scheduled start time, or a negative value if not known (the value is ignored then)
+     */
+    public void addValue(final int runTime, final long startTime, final long scheduledStartTime)
+    {
+        if (scheduledStartTime < 0)
+        {
+            return;
+        }
+
+        final int lag = (int) Math.min(Integer.MAX_VALUE, Math.max(0, startTime - scheduledStartTime));
+        lagStatistics.addValue(lag);
+
+        final int correctedRunTime = (int) Math.min(Integer.MAX_VALUE, (long) runTime + lag);
+
+        correctedRunTimes.addValue(correctedRunTime);
+        correctedRunTimeStatistics.addValue(correctedRunTime);
+    }
+
+    /**
+     * Returns the number of values that had a scheduled start time.
+     *
+     * @return the count
+     */
+    public long getScheduledCount()
+    {
+        return lagStatistics.getCount();
+    }
+
+    /**
+     * Returns the mean of the corrected run time values.
+     *
+     * @return the mean
+     */
+    public double getMean()
+    {
+        return correctedRunTimeStatistics.getMean();
+    }
+
+    /**
+     * Returns the maximum of the corrected run time values.
+     *
+     * @return the maximum
+     */
+    public int getMaximum()
+    {
+        return correctedRunTimeStatistics.getMaximum();
+    }
+
+    /**
+     * Returns the median of the corrected run time values.
+     *
+     * @return the median
+     */
+    public double getMedian()
+    {
+        return correctedRunTimes.getMedianValue();
+    }
+
+    /**
+     * Returns the p-th percentile of the corrected run time values.
+     *
+     * @param p
+     *            the percentile to calculate, a value in the range (0, 100]
+     * @return the p-th percentile
+     */
+    public double getPercentile(final double p)
+    {
+        return correctedRunTimes.getPercentile(p);
+    }
+
+    /**
+     * Returns the mean time the operations with a scheduled start time started late.
+     *
+     * @return the mean lag
+     */
+    public double getMeanLag()
+    {
+        return lagStatistics.getMean();
+    }
+
+    /**
+     * Returns the maximum time the operations with a scheduled start time started late.
+     *
+     * @return the maximum lag
+     */
+    public int getMaximumLag()
+    {
+        return lagStatistics.getMaximum();
+    }
+}
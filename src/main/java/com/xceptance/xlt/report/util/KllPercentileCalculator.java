@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.kll.KllSketch;
+import org.apache.datasketches.quantilescommon.QuantileSearchCriteria;
+
+/**
+ * A {@link PercentileCalculator} backed by a KLL sketch. The sketch needs only a few kilobytes regardless of the number
+ * and the range of the values added, but the percentiles are approximate. The error is bounded in terms of the rank,
+ * i.e. the value returned for the p-th percentile is the true value of a percentile close to p. The error is the same
+ * across the whole range of percentiles.
+ */
+public class KllPercentileCalculator implements PercentileCalculator
+{
+    /**
+     * The default size parameter of the sketch.
+     */
+    public static final int DEFAULT_K = KllSketch.DEFAULT_K;
+
+    /**
+     * The underlying sketch.
+     */
+    private final KllDoublesSketch sketch;
+
+    /**
+     * Constructor.
+     *
+     * @param k
+     *            the size parameter of the sketch, the larger the more accurate
+     */
+    public KllPercentileCalculator(final int k)
+    {
+        sketch = KllDoublesSketch.newHeapInstance(k);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addValue(final int value)
+    {
+        sketch.update(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPercentile(final double p)
+    {
+        PercentileCalculators.checkPercentile(p);
+
+        return sketch.isEmpty() ? 0.0 : sketch.getQuantile(p / 100.0, QuantileSearchCriteria.INCLUSIVE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void merge(final PercentileCalculator other)
+    {
+        if (!(other instanceof KllPercentileCalculator))
+        {
+            throw new IllegalArgumentException("Cannot merge with " + other.getClass().getName());
+        }
+
+        sketch.merge(((KllPercentileCalculator) other).sketch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAccuracy()
+    {
+        return PercentileCalculators.formatRankError(KllSketch.getNormalizedRankError(sketch.getK(), false));
+    }
+}
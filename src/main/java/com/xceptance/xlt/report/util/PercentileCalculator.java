@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+/**
+ * Calculates percentiles from the <code>int</code> values added. Implementations differ in accuracy and memory usage.
+ * Calculators of the same type and configuration can be merged, for example to combine the values collected by
+ * different threads.
+ */
+public interface PercentileCalculator
+{
+    /**
+     * Adds a value.
+     *
+     * @param value
+     *            the value
+     */
+    void addValue(int value);
+
+    /**
+     * Returns the p-th percentile of the values added so far.
+     *
+     * @param p
+     *            the percentile to calculate, a value in the range (0, 100]
+     * @return the p-th percentile, or 0 if no value has been added yet
+     */
+    double getPercentile(double p);
+
+    /**
+     * Returns the median of the values added so far.
+     *
+     * @return the median
+     */
+    default double getMedianValue()
+    {
+        return getPercentile(50.0);
+    }
+
+    /**
+     * Adds all the values of the given calculator to this calculator.
+     *
+     * @param other
+     *            the calculator to merge, must be of the same type and configuration as this calculator
+     * @throws IllegalArgumentException
+     *             if the other calculator cannot be merged
+     */
+    void merge(PercentileCalculator other);
+
+    /**
+     * Returns a short description of the accuracy of the percentiles calculated, for example "10 ms".
+     *
+     * @return the accuracy
+     */
+    String getAccuracy();
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import java.util.Locale;
+
+/**
+ * Helper methods shared by the {@link PercentileCalculator} implementations.
+ */
+final class PercentileCalculators
+{
+    /**
+     * Default constructor. Declared private to prevent external instantiation.
+     */
+    private PercentileCalculators()
+    {
+    }
+
+    /**
+     * Checks that the given percentile is in the range (0, 100].
+     *
+     * @param p
+     *            the percentile
+     * @throws IllegalArgumentException
+     *             if the percentile is out of range
+     */
+    static void checkPercentile(final double p)
+    {
+        if (p <= 0.0 || p > 100.0)
+        {
+            throw new IllegalArgumentException("Value of parameter 'p' must be in range (0, 100], but was " + p);
+        }
+    }
+
+    /**
+     * Formats the given normalized rank error as a percentage.
+     *
+     * @param rankError
+     *            the rank error (a fraction of 1)
+     * @return the formatted error
+     */
+    static String formatRankError(final double rankError)
+    {
+        return String.format(Locale.US, "%.2f%% rank error", rankError * 100.0);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import org.apache.datasketches.quantilescommon.QuantileSearchCriteria;
+import org.apache.datasketches.req.ReqSketch;
+
+/**
+ * A {@link PercentileCalculator} backed by a REQ ("relative error quantiles") sketch. Like a KLL sketch, it needs only
+ * little memory regardless of the number and the range of the values added, but its rank error is relative to the
+ * distance from the maximum. So the higher the percentile, the more accurate it is, which suits the percentiles
+ * typically shown for run times (p95, p99, p99.9).
+ */
+public class ReqPercentileCalculator implements PercentileCalculator
+{
+    /**
+     * The default size parameter of the sketch.
+     */
+    public static final int DEFAULT_K = 12;
+
+    /**
+     * The underlying sketch.
+     */
+    private final ReqSketch sketch;
+
+    /**
+     * Constructor.
+     *
+     * @param k
+     *            the size parameter of the sketch (an even number between 4 and 1024), the larger the more accurate
+     */
+    public ReqPercentileCalculator(final int k)
+    {
+        sketch = ReqSketch.builder().setK(k).setHighRankAccuracy(true).build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addValue(final int value)
+    {
+        sketch.update(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getPercentile(final double p)
+    {
+        PercentileCalculators.checkPercentile(p);
+
+        return sketch.isEmpty() ? 0.0 : sketch.getQuantile(p / 100.0, QuantileSearchCriteria.INCLUSIVE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void merge(final PercentileCalculator other)
+    {
+        if (!(other instanceof ReqPercentileCalculator))
+        {
+            throw new IllegalArgumentException("Cannot merge with " + other.getClass().getName());
+        }
+
+        sketch.merge(((ReqPercentileCalculator) other).sketch);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAccuracy()
+    {
+        // the rank error relative to the distance from the maximum, the same for any rank in high-rank accuracy mode
+        final double rank = 0.5;
+        final double relativeError = (ReqSketch.getRSE(sketch.getK(), rank, true, 1L << 40) - rank) / (1.0 - rank);
+
+        return PercentileCalculators.formatRankError(relativeError) + " (relative)";
+    }
+}
@@ -20,7 +20,7 @@ package com.xceptance.xlt.report.util;
  * other implementations, this class does not store any value added, but counts the occurrences of each value. This
  * approach saves memory if the values added are in roughly the same range.
  */
-public class RuntimeHistogram
+public class RuntimeHistogram implements PercentileCalculator
 {
     /**
      * The default precision.
@@ -77,6 +77,7 @@ public class RuntimeHistogram
      * @param value
      *            the value to add
      */
+    @Override
     public void addValue(final int value)
     {
         final int index = value / precision;
@@ -120,6 +121,7 @@ public class RuntimeHistogram
      *
      * @return the median value
      */
+    @Override
     public double getMedianValue()
     {
         return getPercentile(50.0);
@@ -132,6 +134,7 @@ public class RuntimeHistogram
      *            the p (0 &lt; p &le; 100)
      * @return the p-th percentile
      */
+    @Override
     public double getPercentile(final double p)
     {
         if (p <= 0.0 || p > 100.0)
@@ -201,6 +204,63 @@ public class RuntimeHistogram
         return (firstIndex + bucketIndex) * precision;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void merge(final PercentileCalculator other)
+    {
+        if (!(other instanceof RuntimeHistogram) || ((RuntimeHistogram) other).precision != precision)
+        {
+            throw new IllegalArgumentException("Cannot merge with " + other);
+        }
+
+        final RuntimeHistogram histogram = (RuntimeHistogram) other;
+        if (histogram.valueCount == 0)
+        {
+            return;
+        }
+
+        if (valueCount == 0)
+        {
+            countPerBucket = histogram.countPerBucket.clone();
+            firstIndex = histogram.firstIndex;
+            lastIndex = histogram.lastIndex;
+        }
+        else
+        {
+            // make sure we cover the value range of the other histogram
+            if (histogram.firstIndex < firstIndex)
+            {
+                grow(firstIndex - histogram.firstIndex, true);
+                firstIndex = histogram.firstIndex;
+            }
+            if (histogram.lastIndex > lastIndex)
+            {
+                grow(histogram.lastIndex - lastIndex, false);
+                lastIndex = histogram.lastIndex;
+            }
+
+            // add the counts
+            final int offset = histogram.firstIndex - firstIndex;
+            for (int i = 0; i < histogram.countPerBucket.length; i++)
+            {
+                countPerBucket[offset + i] += histogram.countPerBucket[i];
+            }
+        }
+
+        valueCount += histogram.valueCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAccuracy()
+    {
+        return precision + " ms";
+    }
+
     /**
      * Returns the number of allocated buckets.
      *
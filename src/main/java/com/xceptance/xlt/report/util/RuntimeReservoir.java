@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The {@link RuntimeReservoir} class maintains a uniform random sample of limited size ("reservoir") of the
+ * <code>int</code> values added, using Vitter's algorithm R. As long as no more values have been added than the
+ * reservoir can hold, all values are kept and any percentile is exact. Beyond that, each value added so far has the
+ * same probability to be part of the sample, so the percentiles calculated from the sample are unbiased estimates. In
+ * this case, a distribution-free confidence interval can be obtained for each percentile as well.
+ * <p>
+ * A reservoir may be subject to a {@link RuntimeReservoirBudget} shared with other reservoirs. If the budget reduces
+ * the capacity per reservoir, a random subset of the values sampled so far is kept, so the sample stays uniform.
+ * <p>
+ * Percentiles are calculated the same way as in {@link RuntimeHistogram}.
+ */
+public class RuntimeReservoir
+{
+    /**
+     * The quantile of the standard normal distribution for a two-sided 95% confidence level.
+     */
+    private static final double Z_95 = 1.959963984540054;
+
+    /**
+     * The initial size of the value array.
+     */
+    private static final int INITIAL_SIZE = 16;
+
+    /**
+     * The maximum number of values in the sample.
+     */
+    private int capacity;
+
+    /**
+     * The budget that limits the capacity of this reservoir, or <code>null</code> if there is none.
+     */
+    private final RuntimeReservoirBudget budget;
+
+    /**
+     * The random number generator used to select the values that make it into the sample.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The values in the sample. Grows up to the capacity as needed.
+     */
+    private int[] values;
+
+    /**
+     * The number of values in the sample.
+     */
+    private int sampleSize;
+
+    /**
+     * The number of values added so far.
+     */
+    private long valueCount;
+
+    /**
+     * The values in the sample in ascending order, or <code>null</code> if they need to be sorted (again).
+     */
+    private int[] sortedValues;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of values in the sample
+     * @param seed
+     *            the seed of the random number generator, so that the sample is reproducible for the same input
+     */
+    public RuntimeReservoir(final int capacity, final long seed)
+    {
+        this(capacity, null, seed);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity
+     *            the maximum number of values in the sample
+     * @param budget
+     *            the budget that limits the capacity further (may be <code>null</code>)
+     * @param seed
+     *            the seed of the random number generator, so that the sample is reproducible for the same input
+     */
+    RuntimeReservoir(final int capacity, final RuntimeReservoirBudget budget, final long seed)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Value of parameter 'capacity' must be greater than 0, but was " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.budget = budget;
+        random = new SplittableRandom(seed);
+        values = new int[Math.min(capacity, INITIAL_SIZE)];
+    }
+
+    /**
+     * Adds a value to this reservoir.
+     *
+     * @param value
+     *            the value
+     */
+    public void addValue(final int value)
+    {
+        if (budget != null && budget.getCapacity() < capacity)
+        {
+            limitCapacity(budget.getCapacity());
+        }
+
+        valueCount++;
+
+        if (sampleSize < capacity)
+        {
+            // the reservoir is not full yet -> keep any value
+            if (sampleSize == values.length)
+            {
+                values = Arrays.copyOf(values, (int) Math.min(capacity, 2L * values.length));
+            }
+
+            values[sampleSize++] = value;
+        }
+        else
+        {
+            // replace a random value with a probability of capacity / valueCount
+            final long index = random.nextLong(valueCount);
+            if (index < capacity)
+            {
+                values[(int) index] = value;
+            }
+            else
+            {
+                // sample unchanged
+                return;
+            }
+        }
+
+        sortedValues = null;
+    }
+
+    /**
+     * Reduces the maximum number of values in the sample. If the sample holds more values than that, a random subset of
+     * them is kept. Since a random subset of a uniform random sample is a uniform random sample as well, all values
+     * added so far still have the same probability to be part of the sample.
+     *
+     * @param maxCapacity
+     *            the new maximum number of values in the sample, ignored if not less than the current capacity
+     */
+    public void limitCapacity(final int maxCapacity)
+    {
+        if (maxCapacity < 1)
+        {
+            throw new IllegalArgumentException("Value of parameter 'maxCapacity' must be greater than 0, but was " + maxCapacity);
+        }
+
+        if (maxCapacity >= capacity)
+        {
+            return;
+        }
+
+        if (sampleSize > maxCapacity)
+        {
+            // move a random subset of the values to the front (partial Fisher-Yates shuffle)
+            for (int i = 0; i < maxCapacity; i++)
+            {
+                final int j = i + random.nextInt(sampleSize - i);
+
+                final int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+            }
+
+            sampleSize = maxCapacity;
+            sortedValues = null;
+        }
+
+        capacity = maxCapacity;
+        values = Arrays.copyOf(values, Math.min(values.length, capacity));
+    }
+
+    /**
+     * Returns the maximum number of values in the sample.
+     *
+     * @return the capacity
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns the total number of values added so far.
+     *
+     * @return the value count
+     */
+    public long getValueCount()
+    {
+        return valueCount;
+    }
+
+    /**
+     * Returns the number of values in the sample.
+     *
+     * @return the sample size
+     */
+    public int getSampleSize()
+    {
+        return sampleSize;
+    }
+
+    /**
+     * Returns whether the sample holds only a part of the values added so far.
+     *
+     * @return <code>true</code> if values have been sampled, <code>false</code> if all values are kept
+     */
+    public boolean isSampled()
+    {
+        return valueCount > sampleSize;
+    }
+
+    /**
+     * Returns the median of the values in the sample.
+     *
+     * @return the median
+     */
+    public double getMedianValue()
+    {
+        return getPercentile(50.0);
+    }
+
+    /**
+     * Returns the p-th percentile of the values in the sample.
+     *
+     * @param p
+     *            the percentile to calculate, a value in the range (0, 100]
+     * @return the p-th percentile
+     */
+    public double getPercentile(final double p)
+    {
+        PercentileCalculators.checkPercentile(p);
+
+        if (sampleSize == 0)
+        {
+            return 0.0;
+        }
+
+        final int[] sorted = getSortedValues();
+
+        if (p == 100.0)
+        {
+            return sorted[sampleSize - 1];
+        }
+
+        // see https://de.wikipedia.org/wiki/Quantil#Berechnung_empirischer_Quantile
+        final double np = sampleSize * p / 100.0;
+
+        if (np % 1.0 == 0.0)
+        {
+            // n*p is integral -> take the mean of the two adjacent values
+            final int i = (int) np;
+
+            return (sorted[i - 1] + sorted[Math.min(i, sampleSize - 1)]) / 2.0;
+        }
+        else
+        {
+            // n*p is fractional -> "ceil" the index
+            return sorted[(int) Math.ceil(np) - 1];
+        }
+    }
+
+    /**
+     * Returns the bounds of the 95% confidence interval of the p-th percentile. The interval is calculated from the
+     * order statistics of the sample (using the normal approximation of the binomial distribution), so it does not
+     * make any assumption about the distribution of the values. If the sample holds all values, the interval consists
+     * of the percentile only.
+     *
+     * @param p
+     *            the percentile, a value in the range (0, 100]
+     * @return the lower and the upper bound of the confidence interval
+     */
+    public double[] getConfidenceInterval(final double p)
+    {
+        PercentileCalculators.checkPercentile(p);
+
+        if (!isSampled())
+        {
+            final double percentile = getPercentile(p);
+
+            return new double[]
+                {
+                    percentile, percentile
+                };
+        }
+
+        final int[] sorted = getSortedValues();
+
+        final double q = p / 100.0;
+        final double np = sampleSize * q;
+        final double delta = Z_95 * Math.sqrt(np * (1.0 - q));
+
+        // the 1-based ranks of the bounds
+        final int lowerRank = (int) Math.max(1, Math.floor(np - delta));
+        final int upperRank = (int) Math.min(sampleSize, Math.ceil(np + delta) + 1);
+
+        return new double[]
+            {
+                sorted[lowerRank - 1], sorted[upperRank - 1]
+            };
+    }
+
+    /**
+     * Returns the values in the sample in ascending order.
+     */
+    private int[] getSortedValues()
+    {
+        if (sortedValues == null)
+        {
+            sortedValues = Arrays.copyOf(values, sampleSize);
+            Arrays.sort(sortedValues);
+        }
+
+        return sortedValues;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+/**
+ * The {@link RuntimeReservoirBudget} limits the total number of run time values held by all the
+ * {@link RuntimeReservoir} instances created from it. Since there is one reservoir per timer and the number of timers
+ * is not known in advance, the budget is split evenly among all reservoirs created so far. Each new reservoir thus
+ * reduces the capacity of all the others, which shrink their sample the next time a value is added. The capacity per
+ * reservoir never drops below a minimum, so the percentiles of each timer remain meaningful even for a huge number of
+ * timers.
+ * <p>
+ * Note: This class is thread-safe.
+ */
+public class RuntimeReservoirBudget
+{
+    /**
+     * The minimum capacity per reservoir.
+     */
+    static final int MIN_CAPACITY = 1000;
+
+    /**
+     * The maximum number of values held by all reservoirs together.
+     */
+    private final long totalCapacity;
+
+    /**
+     * The maximum capacity of a single reservoir.
+     */
+    private final int maxCapacity;
+
+    /**
+     * The number of reservoirs created so far.
+     */
+    private int reservoirCount;
+
+    /**
+     * The current capacity per reservoir.
+     */
+    private volatile int capacity;
+
+    /**
+     * Constructor.
+     *
+     * @param totalCapacity
+     *            the maximum number of values held by all reservoirs together
+     * @param maxCapacity
+     *            the maximum capacity of a single reservoir
+     */
+    public RuntimeReservoirBudget(final long totalCapacity, final int maxCapacity)
+    {
+        if (maxCapacity < 1)
+        {
+            throw new IllegalArgumentException("Value of parameter 'maxCapacity' must be greater than 0, but was " + maxCapacity);
+        }
+
+        this.totalCapacity = totalCapacity;
+        this.maxCapacity = maxCapacity;
+        capacity = maxCapacity;
+    }
+
+    /**
+     * Creates a new reservoir that is subject to this budget.
+     *
+     * @param seed
+     *            the seed of the reservoir's random number generator
+     * @return the reservoir
+     */
+    public synchronized RuntimeReservoir createReservoir(final long seed)
+    {
+        reservoirCount++;
+
+        final long share = Math.max(MIN_CAPACITY, totalCapacity / reservoirCount);
+        capacity = (int) Math.min(maxCapacity, share);
+
+        return new RuntimeReservoir(capacity, this, seed);
+    }
+
+    /**
+     * Returns the current capacity per reservoir.
+     *
+     * @return the capacity
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A report-wide table of symbols, i.e. strings that occur over and over again in the data records, such as timer
+ * names, agent names, and test case names. Each distinct string is mapped to a canonical {@link String} instance and
+ * to a dense <code>int</code> ID, starting at 0. Data records referring to the canonical instances share them instead
+ * of keeping copies of their own, and consumers can use the IDs to index plain arrays instead of hashing the strings
+ * again and again.
+ * <p>
+ * Symbols are never removed, so only strings with a limited number of distinct values belong here. URLs, for example,
+ * do not: they often contain session IDs or cache busters, so the table would grow with every data record read.
+ * <p>
+ * Note: This class is thread-safe. Looking up an existing symbol does not lock.
+ */
+public class SymbolTable
+{
+    /**
+     * A symbol, i.e. the canonical string instance together with its ID.
+     *
+     * @param id
+     *            the ID
+     * @param value
+     *            the canonical string
+     */
+    public record Symbol(int id, String value)
+    {
+    }
+
+    /**
+     * The symbols keyed by their string value.
+     */
+    private final ConcurrentHashMap<String, Symbol> symbols = new ConcurrentHashMap<>();
+
+    /**
+     * The symbol strings indexed by ID.
+     */
+    private volatile String[] values = new String[64];
+
+    /**
+     * The number of symbols.
+     */
+    private volatile int size;
+
+    /**
+     * Returns the symbol for the given string. Adds a new symbol if the string is not known yet.
+     *
+     * @param s
+     *            the string
+     * @return the symbol
+     */
+    public Symbol get(final String s)
+    {
+        final Symbol symbol = symbols.get(s);
+
+        return symbol != null ? symbol : add(s);
+    }
+
+    /**
+     * Returns the canonical instance of the given string. Adds a new symbol if the string is not known yet.
+     *
+     * @param s
+     *            the string, may be <code>null</code>
+     * @return the canonical string, or <code>null</code> if the string was <code>null</code>
+     */
+    public String intern(final String s)
+    {
+        return s == null ? null : get(s).value();
+    }
+
+    /**
+     * Returns the string with the given ID.
+     *
+     * @param id
+     *            the ID
+     * @return the string
+     * @throws IndexOutOfBoundsException
+     *             if there is no symbol with this ID
+     */
+    public String getValue(final int id)
+    {
+        if (id < 0 || id >= size)
+        {
+            throw new IndexOutOfBoundsException("No symbol with ID " + id);
+        }
+
+        return values[id];
+    }
+
+    /**
+     * Returns the number of symbols in this table. The IDs of all symbols are less than this number.
+     *
+     * @return the number of symbols
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Adds a new symbol for the given string unless another thread has just done so.
+     */
+    private synchronized Symbol add(final String s)
+    {
+        Symbol symbol = symbols.get(s);
+        if (symbol == null)
+        {
+            final int id = size;
+            if (id == values.length)
+            {
+                values = Arrays.copyOf(values, 2 * id);
+            }
+            values[id] = s;
+
+            symbol = new Symbol(id, s);
+            symbols.put(s, symbol);
+
+            size = id + 1;
+        }
+
+        return symbol;
+    }
+}
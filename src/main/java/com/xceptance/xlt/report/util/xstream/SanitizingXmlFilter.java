@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util.xstream;
+
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.XMLFilterImpl;
+
+/**
+ * A custom {@link XMLFilterImpl} that silently removes invalid XML 1.0 characters from text nodes, just like the
+ * {@link SanitizingWriter} does when writing an XML file. Meant to wrap the SAX reader of XStream's
+ * {@link com.thoughtworks.xstream.io.xml.TraxSource}.
+ * <p>
+ * Since XStream's reader rejects any unknown SAX property (such as a lexical handler), this filter ignores them
+ * instead.
+ */
+public class SanitizingXmlFilter extends XMLFilterImpl
+{
+    public SanitizingXmlFilter(final XMLReader parent)
+    {
+        super(parent);
+    }
+
+    @Override
+    public void setProperty(final String name, final Object value) throws SAXNotRecognizedException, SAXNotSupportedException
+    {
+        try
+        {
+            super.setProperty(name, value);
+        }
+        catch (final SAXNotRecognizedException e)
+        {
+            // ignore
+        }
+    }
+
+    @Override
+    public void characters(final char[] ch, final int start, final int length) throws SAXException
+    {
+        final int end = start + length;
+
+        // fast path: nothing to remove
+        int i = start;
+        while (i < end && isValid(ch, i, end))
+        {
+            i++;
+        }
+
+        if (i == end)
+        {
+            super.characters(ch, start, length);
+            return;
+        }
+
+        // remove invalid chars
+        final char[] sanitized = new char[length];
+        int sanitizedLength = i - start;
+        System.arraycopy(ch, start, sanitized, 0, sanitizedLength);
+
+        for (; i < end; i++)
+        {
+            if (isValid(ch, i, end))
+            {
+                sanitized[sanitizedLength++] = ch[i];
+            }
+        }
+
+        super.characters(sanitized, 0, sanitizedLength);
+    }
+
+    /**
+     * Checks whether the char at the given index is allowed in XML 1.0. Surrogates are valid only if they are part of a
+     * surrogate pair.
+     */
+    private static boolean isValid(final char[] ch, final int i, final int end)
+    {
+        final char c = ch[i];
+
+        if (c < 0x20)
+        {
+            return c == '\t' || c == '\n' || c == '\r';
+        }
+        else if (Character.isHighSurrogate(c))
+        {
+            return i + 1 < end && Character.isLowSurrogate(ch[i + 1]);
+        }
+        else if (Character.isLowSurrogate(c))
+        {
+            return i > 0 && Character.isHighSurrogate(ch[i - 1]);
+        }
+        else
+        {
+            return c != 0xFFFE && c != 0xFFFF;
+        }
+    }
+}
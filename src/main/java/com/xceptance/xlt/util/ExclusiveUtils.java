@@ -15,8 +15,11 @@
  */
 package com.xceptance.xlt.util;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.junit.Assert;
 
@@ -39,6 +42,22 @@ public class ExclusiveUtils<T>
         return getExclusivePart(data, totalAgentcount, currentAgentNumber);
     }
 
+    /**
+     * Get the exclusive part of the data for the current agent as a view on the given data, i.e. without copying the
+     * data. This is the preferred way to partition large lists that provide their elements on demand.
+     * 
+     * @param data
+     *            All global available data to partition, which should support fast random access
+     * @return exclusive partition (unmodifiable)
+     */
+    public static <T>List<T> getExclusiveAgentPartView(final List<T> data)
+    {
+        final int totalAgentcount = Session.getCurrent().getTotalAgentCount();
+        final int currentAgentNumber = Session.getCurrent().getAgentNumber();
+
+        return getExclusivePartView(data, totalAgentcount, currentAgentNumber);
+    }
+
     /**
      * Get the exclusive part of the data for the given stockholders index.
      * 
@@ -51,51 +70,79 @@ public class ExclusiveUtils<T>
      * @return
      */
     public static <T>List<T> getExclusivePart(final List<T> data, final int numberOfParties, final int currentPartyIndex)
+    {
+        final List<T> partition = getExclusivePartView(data, numberOfParties, currentPartyIndex);
+
+        // If there's only 1 party we don't have to copy anything
+        return numberOfParties == 1 ? data : new ArrayList<T>(partition);
+    }
+
+    /**
+     * Get the exclusive part of the data for the given stockholders index as a view on the given data, i.e. without
+     * copying the data.
+     * 
+     * @param data
+     *            All global available data to partition, which should support fast random access
+     * @param numberOfParties
+     *            total number of parties
+     * @param currentPartyIndex
+     *            index of the current party
+     * @return exclusive partition (unmodifiable)
+     */
+    public static <T>List<T> getExclusivePartView(final List<T> data, final int numberOfParties, final int currentPartyIndex)
     {
         // Precheck the parameters
         Assert.assertNotNull("Data must not be <null>.", data);
         Assert.assertFalse("There must be at least one party.", numberOfParties < 1);
         Assert.assertFalse("Current party index out of range.", currentPartyIndex < 0 || currentPartyIndex >= numberOfParties);
 
-        // Get data size
-        final int dataSize = data.size();
-
         // Stop if we do not have at least 1 date for each party
-        Assert.assertTrue("Not enough data available.", dataSize >= numberOfParties);
+        Assert.assertTrue("Not enough data available.", data.size() >= numberOfParties);
+
+        return new PartitionView<T>(data, numberOfParties, currentPartyIndex);
+    }
+
+    /**
+     * A view on the data of a party. The data is partitioned into blocks of one element per party, and the party gets
+     * its piece of each block.
+     */
+    private static final class PartitionView<T> extends AbstractList<T> implements RandomAccess
+    {
+        private final List<T> data;
 
-        // If there's only 1 party we don't have to compute anything
-        if (numberOfParties == 1)
+        private final int numberOfParties;
+
+        private final int partyIndex;
+
+        private final int size;
+
+        private PartitionView(final List<T> data, final int numberOfParties, final int partyIndex)
         {
-            return data;
+            this.data = data;
+            this.numberOfParties = numberOfParties;
+            this.partyIndex = partyIndex;
+
+            size = (data.size() - partyIndex + numberOfParties - 1) / numberOfParties;
         }
-        else
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public T get(final int index)
+        {
+            Objects.checkIndex(index, size);
+
+            return data.get(index * numberOfParties + partyIndex);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size()
         {
-            // Contains all data for the current party
-            final List<T> partition = new ArrayList<T>();
-
-            // Compute the block numbers
-            final int blockSize = numberOfParties;
-            final int completeBlocks = (dataSize / blockSize);
-
-            // Check for remainder
-            final int mod = dataSize % blockSize;
-            final int blocks = completeBlocks + (mod > 0 ? 1 : 0);
-
-            // To get the partition data, fetch the current party's piece from each block
-            for (int blockIndex = 0; blockIndex < blocks; blockIndex++)
-            {
-                final int dataIndex = (blockIndex * blockSize) + currentPartyIndex;
-                if (dataIndex < dataSize)
-                {
-                    partition.add(data.get(dataIndex));
-                }
-                else
-                {
-                    break;
-                }
-            }
-
-            return partition;
+            return size;
         }
     }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.util;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * An immutable view of the properties as seen by a certain test user, i.e. by a certain combination of test case class
+ * name and user name. For each bare key that has a value for this user, the view holds the result of the effective-key
+ * lookup with all variables already substituted and the value already parsed as boolean, int, and long. This way,
+ * looking up a property via the view requires neither any string concatenation nor any variable substitution.
+ * <p>
+ * Values that contain Groovy expressions (directly or indirectly) are not precomputed, as the expression might yield a
+ * different result each time it is evaluated. These values are resolved again on each lookup.
+ * <p>
+ * A view reflects the state of the properties at the time it was created. {@link XltPropertiesImpl} takes care to
+ * update the view once the properties have changed.
+ */
+public final class ResolvedPropertyView
+{
+    /**
+     * The resolved values, keyed by bare property key.
+     */
+    private final Map<String, Value> values;
+
+    /**
+     * The properties to resolve dynamic values from.
+     */
+    private final Properties properties;
+
+    /**
+     * The modification count of the properties at the time this view was created.
+     */
+    private final long modCount;
+
+    /**
+     * Whether any of the values references other properties and might therefore be affected by any change.
+     */
+    private final boolean hasReferences;
+
+    /**
+     * Constructor.
+     *
+     * @param values
+     *            the resolved values, keyed by bare property key
+     * @param properties
+     *            the properties to resolve dynamic values from
+     * @param modCount
+     *            the modification count of the properties when the values were resolved
+     * @param hasReferences
+     *            whether any of the values references other properties
+     */
+    ResolvedPropertyView(final Map<String, Value> values, final Properties properties, final long modCount,
+                         final boolean hasReferences)
+    {
+        this.values = values;
+        this.properties = properties;
+        this.modCount = modCount;
+        this.hasReferences = hasReferences;
+    }
+
+    /**
+     * Returns the modification count of the properties at the time this view was created.
+     *
+     * @return the modification count
+     */
+    long getModCount()
+    {
+        return modCount;
+    }
+
+    /**
+     * Returns whether any of the values references other properties.
+     *
+     * @return whether there are references
+     */
+    boolean hasReferences()
+    {
+        return hasReferences;
+    }
+
+    /**
+     * Returns the resolved values, keyed by bare property key.
+     *
+     * @return the values
+     */
+    Map<String, Value> getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Returns the value of the property with the given key.
+     *
+     * @param key
+     *            the bare property key
+     * @return the value of the key as optional or an empty optional otherwise
+     */
+    public Optional<String> getProperty(final String key)
+    {
+        final Value value = values.get(key);
+        if (value == null)
+        {
+            return Optional.empty();
+        }
+
+        return value.isDynamic() ? Optional.ofNullable(properties.getProperty(value.effectiveKey)) : value.stringValue;
+    }
+
+    /**
+     * Returns the value of the property with the given key as boolean, or the default value if the property is not set.
+     *
+     * @param key
+     *            the bare property key
+     * @param defaultValue
+     *            the default value
+     * @return the value of the key as a boolean
+     */
+    public boolean getProperty(final String key, final boolean defaultValue)
+    {
+        final Value value = values.get(key);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        else if (value.isDynamic())
+        {
+            final String s = properties.getProperty(value.effectiveKey);
+            return s != null ? Boolean.parseBoolean(s) : defaultValue;
+        }
+
+        return value.booleanValue;
+    }
+
+    /**
+     * Returns the value of the property with the given key as int, or the default value if the property is not set or
+     * its value is not a valid int.
+     *
+     * @param key
+     *            the bare property key
+     * @param defaultValue
+     *            the default value
+     * @return the value of the key as an int
+     */
+    public int getProperty(final String key, final int defaultValue)
+    {
+        final Value value = values.get(key);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        else if (value.isDynamic())
+        {
+            final Value v = Value.of(value.effectiveKey, properties.getProperty(value.effectiveKey));
+            return v.isInt ? v.intValue : defaultValue;
+        }
+
+        return value.isInt ? value.intValue : defaultValue;
+    }
+
+    /**
+     * Returns the value of the property with the given key as long, or the default value if the property is not set or
+     * its value is not a valid long.
+     *
+     * @param key
+     *            the bare property key
+     * @param defaultValue
+     *            the default value
+     * @return the value of the key as a long
+     */
+    public long getProperty(final String key, final long defaultValue)
+    {
+        final Value value = values.get(key);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        else if (value.isDynamic())
+        {
+            final Value v = Value.of(value.effectiveKey, properties.getProperty(value.effectiveKey));
+            return v.isLong ? v.longValue : defaultValue;
+        }
+
+        return value.isLong ? value.longValue : defaultValue;
+    }
+
+    /**
+     * Returns the value of the property with the given key, or the default value if the property is not set.
+     *
+     * @param key
+     *            the bare property key
+     * @param defaultValue
+     *            the default value
+     * @return the value of the key
+     */
+    public String getProperty(final String key, final String defaultValue)
+    {
+        return getProperty(key).orElse(defaultValue);
+    }
+
+    /**
+     * Returns the number of keys in this view.
+     *
+     * @return the number of keys
+     */
+    public int size()
+    {
+        return values.size();
+    }
+
+    /**
+     * A resolved property value together with its pre-parsed representations.
+     */
+    static final class Value
+    {
+        /**
+         * The effective key the value was resolved from.
+         */
+        final String effectiveKey;
+
+        /**
+         * The resolved value, or <code>null</code> if the value is dynamic and must be resolved on each lookup.
+         */
+        final Optional<String> stringValue;
+
+        final boolean booleanValue;
+
+        final boolean isInt;
+
+        final int intValue;
+
+        final boolean isLong;
+
+        final long longValue;
+
+        private Value(final String effectiveKey, final String value)
+        {
+            this.effectiveKey = effectiveKey;
+
+            if (value == null)
+            {
+                stringValue = null;
+                booleanValue = false;
+                isInt = isLong = false;
+                intValue = 0;
+                longValue = 0;
+            }
+            else
+            {
+                stringValue = Optional.of(value);
+                booleanValue = Boolean.parseBoolean(value);
+
+                Long l = null;
+                try
+                {
+                    l = Long.parseLong(value);
+                }
+                catch (final NumberFormatException e)
+                {
+                }
+
+                isLong = l != null;
+                longValue = isLong ? l : 0;
+                isInt = isLong && l == l.intValue();
+                intValue = isInt ? l.intValue() : 0;
+            }
+        }
+
+        /**
+         * Creates a static value from the given resolved value.
+         *
+         * @param effectiveKey
+         *            the effective key
+         * @param value
+         *            the resolved value
+         * @return the value
+         */
+        static Value of(final String effectiveKey, final String value)
+        {
+            return new Value(effectiveKey, value);
+        }
+
+        /**
+         * Creates a dynamic value, i.e. a value that must be resolved on each lookup.
+         *
+         * @param effectiveKey
+         *            the effective key
+         * @return the value
+         */
+        static Value dynamic(final String effectiveKey)
+        {
+            return new Value(effectiveKey, null);
+        }
+
+        /**
+         * Returns whether this value must be resolved on each lookup.
+         *
+         * @return whether the value is dynamic
+         */
+        boolean isDynamic()
+        {
+            return stringValue == null;
+        }
+    }
+}
@@ -176,6 +176,7 @@ public final class StatusUtils
             // convert and remember the agent status
             final AgentStatusInfo agentStatusInfo = new AgentStatusInfo(agentStatus.getAgentID(), agentStatus.getHostName(), true,
                                                                         agentStatus.getErrorExitCode());
+            agentStatusInfo.setIntervalStatistics(agentStatus.getIntervalStatistics());
 
             agentStatusInfoList.add(agentStatusInfo);
 
@@ -19,13 +19,19 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -65,10 +71,20 @@ import com.xceptance.xlt.engine.util.PropertyIncludeResolver.PropertyIncludeResu
  */
 public class XltPropertiesImpl extends XltProperties
 {
+    /**
+     * The number of modifications made to the merged properties so far. Used to detect outdated resolved views.
+     */
+    private final AtomicLong modCount = new AtomicLong();
+
+    /**
+     * The resolved property views, keyed by test case class name and user name.
+     */
+    private final Map<String, Map<String, ResolvedPropertyView>> resolvedViews = new ConcurrentHashMap<>();
+
     /**
      * The properties object holding the current configuration. This is a merged version of the buckets.
      */
-    private final VarSubstitutionSupportedProperties mergedProperties = new VarSubstitutionSupportedProperties();
+    private final VarSubstitutionSupportedProperties mergedProperties = new VarSubstitutionSupportedProperties(modCount);
 
     /**
      * Holding all properties by source, so we can later expose this to callers to add properties at a certain position
@@ -856,6 +872,197 @@ public class XltPropertiesImpl extends XltProperties
         return getProperty(session.getTestCaseClassName(), session.getUserName(), key);
     }
 
+    /**
+     * Returns the resolved property view for the test user represented by the given session.
+     *
+     * @param session
+     *            the session
+     * @return the view, or <code>null</code> if there is no session or the session lacks class or user name
+     * @see #getResolvedView(String, String)
+     */
+    public ResolvedPropertyView getResolvedView(final Session session)
+    {
+        return session == null ? null : getResolvedView(session.getTestCaseClassName(), session.getUserName());
+    }
+
+    /**
+     * Returns the resolved property view for the given combination of test case class name and user name. The view is
+     * created on first access and reused as long as the properties are not modified.
+     *
+     * @param testCaseClassName
+     *            the test class'es name
+     * @param userName
+     *            the session user name
+     * @return the view, or <code>null</code> if any of the names is <code>null</code>
+     */
+    public ResolvedPropertyView getResolvedView(final String testCaseClassName, final String userName)
+    {
+        if (testCaseClassName == null || userName == null)
+        {
+            return null;
+        }
+
+        final Map<String, ResolvedPropertyView> viewsByUserName = resolvedViews.computeIfAbsent(testCaseClassName,
+                                                                                                k -> new ConcurrentHashMap<>());
+
+        ResolvedPropertyView view = viewsByUserName.get(userName);
+        if (view == null || view.getModCount() != modCount.get())
+        {
+            // create/update the view under the lock of its key, so concurrent callers do the work only once
+            view = viewsByUserName.compute(userName, (k, v) -> v == null ? createResolvedView(testCaseClassName, userName)
+                                                                         : updateResolvedView(v, testCaseClassName, userName));
+        }
+
+        return view;
+    }
+
+    /**
+     * Brings the given resolved view up-to-date. If possible, only the bare keys affected by the properties changed
+     * since the view was created are resolved again. Otherwise, the view is created anew.
+     */
+    private ResolvedPropertyView updateResolvedView(final ResolvedPropertyView view, final String testCaseClassName,
+                                                    final String userName)
+    {
+        if (view.getModCount() == modCount.get())
+        {
+            // another thread was faster
+            return view;
+        }
+
+        // values that reference other properties might be affected by any change
+        final List<String> changedKeys = new ArrayList<>();
+        final long currentModCount = view.hasReferences() ? -1 : mergedProperties.getChangedKeys(view.getModCount(), changedKeys);
+        if (currentModCount < 0)
+        {
+            return createResolvedView(testCaseClassName, userName);
+        }
+
+        // determine the bare keys that might be affected by the changes
+        final String userNamePrefix = userName + ".";
+        final String classNamePrefix = testCaseClassName + ".";
+        final Set<String> bareKeys = new HashSet<>();
+        for (final String changedKey : changedKeys)
+        {
+            collectBareKeys(bareKeys, changedKey, userNamePrefix, classNamePrefix);
+        }
+
+        // resolve the affected bare keys again
+        final Map<String, ResolvedPropertyView.Value> values = new HashMap<>(view.getValues());
+        for (final String bareKey : bareKeys)
+        {
+            if (resolveValue(values, testCaseClassName, userName, bareKey, false))
+            {
+                // the value now references other properties
+                return createResolvedView(testCaseClassName, userName);
+            }
+        }
+
+        return new ResolvedPropertyView(values, mergedProperties, currentModCount, false);
+    }
+
+    /**
+     * Creates a new resolved property view for the given combination of test case class name and user name.
+     */
+    private ResolvedPropertyView createResolvedView(final String testCaseClassName, final String userName)
+    {
+        // remember the state of the properties the view is based on
+        final long currentModCount = modCount.get();
+
+        // determine all bare keys that might produce a value for this user
+        final String userNamePrefix = userName + ".";
+        final String classNamePrefix = testCaseClassName + ".";
+        final Set<String> bareKeys = new HashSet<>();
+        boolean hasGroovyExpressions = false;
+
+        for (final Entry<Object, Object> entry : mergedProperties.entrySet())
+        {
+            hasGroovyExpressions |= ((String) entry.getValue()).contains("#{");
+            collectBareKeys(bareKeys, (String) entry.getKey(), userNamePrefix, classNamePrefix);
+        }
+
+        // resolve the value of each bare key
+        final Map<String, ResolvedPropertyView.Value> values = new HashMap<>();
+        boolean hasReferences = false;
+        for (final String bareKey : bareKeys)
+        {
+            hasReferences |= resolveValue(values, testCaseClassName, userName, bareKey, hasGroovyExpressions);
+        }
+
+        return new ResolvedPropertyView(values, mergedProperties, currentModCount, hasReferences);
+    }
+
+    /**
+     * Adds all bare keys to the given set that might be looked up for the given user and that might yield the value of
+     * the given property key.
+     */
+    private void collectBareKeys(final Set<String> bareKeys, final String key, final String userNamePrefix,
+                                 final String classNamePrefix)
+    {
+        for (final String candidate : new String[]
+            {
+                key, getNonPrefixedKey(key)
+            })
+        {
+            addBareKeys(bareKeys, candidate);
+
+            if (candidate.startsWith(userNamePrefix))
+            {
+                addBareKeys(bareKeys, candidate.substring(userNamePrefix.length()));
+            }
+            if (candidate.startsWith(classNamePrefix))
+            {
+                addBareKeys(bareKeys, candidate.substring(classNamePrefix.length()));
+            }
+        }
+    }
+
+    /**
+     * Resolves the value of the given bare key for the given user and puts it into (or removes it from) the values.
+     *
+     * @return whether the raw value references other properties or contains Groovy expressions
+     */
+    private boolean resolveValue(final Map<String, ResolvedPropertyView.Value> values, final String testCaseClassName,
+                                 final String userName, final String bareKey, final boolean hasGroovyExpressions)
+    {
+        final String effectiveKey = getEffectiveKey(testCaseClassName, userName, bareKey);
+        final String rawValue = (String) mergedProperties.get(effectiveKey);
+        if (rawValue == null)
+        {
+            values.remove(bareKey);
+            return false;
+        }
+
+        // Groovy expressions might produce a different value each time, so resolve these on lookup
+        if (rawValue.contains("#{") || (hasGroovyExpressions && rawValue.contains("${")))
+        {
+            values.put(bareKey, ResolvedPropertyView.Value.dynamic(effectiveKey));
+            return true;
+        }
+
+        try
+        {
+            values.put(bareKey, ResolvedPropertyView.Value.of(effectiveKey, mergedProperties.getProperty(effectiveKey)));
+        }
+        catch (final IllegalArgumentException e)
+        {
+            // malformed value, let the lookup report the problem
+            values.put(bareKey, ResolvedPropertyView.Value.dynamic(effectiveKey));
+        }
+
+        return rawValue.contains("${");
+    }
+
+    /**
+     * Adds the given key both in its public and in its secret form.
+     */
+    private void addBareKeys(final Set<String> bareKeys, final String key)
+    {
+        final String nonPrefixedKey = getNonPrefixedKey(key);
+
+        bareKeys.add(nonPrefixedKey);
+        bareKeys.add(XltConstants.SECRET_PREFIX + nonPrefixedKey);
+    }
+
     /**
      * Looks up a key in the properties without a sessin context but still with paying attention to secure keys.
      *
@@ -895,6 +1102,13 @@ public class XltPropertiesImpl extends XltProperties
      */
     public Optional<String> getProperty(final String testCaseClassName, final String userName, final String key)
     {
+        // use the precompiled view if possible
+        final ResolvedPropertyView view = getResolvedView(testCaseClassName, userName);
+        if (view != null)
+        {
+            return view.getProperty(key);
+        }
+
         // get value of property and return it
         final String effectiveKey = getEffectiveKey(testCaseClassName, userName, key);
 
@@ -914,6 +1128,12 @@ public class XltPropertiesImpl extends XltProperties
     @Override
     public boolean getProperty(final String key, final boolean defaultValue)
     {
+        final ResolvedPropertyView view = getResolvedView(Session.getCurrent());
+        if (view != null)
+        {
+            return view.getProperty(key, defaultValue);
+        }
+
         // get value of property
         final String valueString = getProperty(key);
         // if property is set, parse its boolean value and return it
@@ -939,6 +1159,12 @@ public class XltPropertiesImpl extends XltProperties
     @Override
     public int getProperty(final String key, final int defaultValue)
     {
+        final ResolvedPropertyView view = getResolvedView(Session.getCurrent());
+        if (view != null)
+        {
+            return view.getProperty(key, defaultValue);
+        }
+
         // get property value
         final String valueString = getProperty(key);
         // if property is set, parse its integer value and return it
@@ -971,6 +1197,12 @@ public class XltPropertiesImpl extends XltProperties
     @Override
     public long getProperty(final String key, final long defaultValue)
     {
+        final ResolvedPropertyView view = getResolvedView(Session.getCurrent());
+        if (view != null)
+        {
+            return view.getProperty(key, defaultValue);
+        }
+
         // get property value
         final String valueString = getProperty(key);
         // if property is set, parse its long value and return it
@@ -1145,6 +1377,46 @@ public class XltPropertiesImpl extends XltProperties
          */
         private static final long serialVersionUID = -9202819207114231133L;
 
+        /**
+         * The number of recent changes to remember.
+         */
+        private static final int CHANGE_LOG_SIZE = 256;
+
+        /**
+         * The modification counter to increment on each change.
+         */
+        private final transient AtomicLong modCount;
+
+        /**
+         * The keys of the most recent changes, indexed by modification count modulo {@link #CHANGE_LOG_SIZE}. Also
+         * serves as the lock for updating the change log.
+         */
+        private final transient String[] changedKeys = new String[CHANGE_LOG_SIZE];
+
+        /**
+         * The modification count of the last call to {@link #clear()}.
+         */
+        private transient long clearModCount;
+
+        /**
+         * Constructor.
+         */
+        VarSubstitutionSupportedProperties()
+        {
+            this(new AtomicLong());
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param modCount
+         *            the modification counter to increment on each change
+         */
+        VarSubstitutionSupportedProperties(final AtomicLong modCount)
+        {
+            this.modCount = modCount;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -1162,6 +1434,10 @@ public class XltPropertiesImpl extends XltProperties
         public synchronized void clear()
         {
             super.clear();
+            synchronized (changedKeys)
+            {
+                clearModCount = modCount.incrementAndGet();
+            }
             GroovyPropertyEvaluator.clearCache();
         }
 
@@ -1177,7 +1453,62 @@ public class XltPropertiesImpl extends XltProperties
                 return null;
             }
 
-            return super.put(key, ((String) value).trim());
+            final Object oldValue = super.put(key, ((String) value).trim());
+            recordChange(key);
+
+            return oldValue;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object remove(final Object key)
+        {
+            final Object oldValue = super.remove(key);
+            recordChange(key);
+
+            return oldValue;
+        }
+
+        /**
+         * Increments the modification counter and remembers the changed key.
+         */
+        private void recordChange(final Object key)
+        {
+            synchronized (changedKeys)
+            {
+                changedKeys[(int) (modCount.incrementAndGet() % CHANGE_LOG_SIZE)] = String.valueOf(key);
+            }
+        }
+
+        /**
+         * Collects the keys changed since the given modification count.
+         *
+         * @param sinceModCount
+         *            the modification count
+         * @param keys
+         *            the collection to add the changed keys to
+         * @return the current modification count, or -1 if the changes are not known anymore (too many changes or a
+         *         clear in between)
+         */
+        long getChangedKeys(final long sinceModCount, final Collection<String> keys)
+        {
+            synchronized (changedKeys)
+            {
+                final long currentModCount = modCount.get();
+                if (sinceModCount < clearModCount || currentModCount - sinceModCount > CHANGE_LOG_SIZE)
+                {
+                    return -1;
+                }
+
+                for (long i = sinceModCount + 1; i <= currentModCount; i++)
+                {
+                    keys.add(changedKeys[(int) (i % CHANGE_LOG_SIZE)]);
+                }
+
+                return currentModCount;
+            }
         }
 
         /**
@@ -473,5 +473,16 @@ public class WebResponse implements Serializable {
     {
         this.protocolVersion = protocolVersion;
     }
+
+    /**
+     * Returns whether the content of this response is kept in a file rather than in memory.
+     * @return whether the content is file-backed
+     * @deprecated For internal use only.
+     */
+    @Deprecated
+    public boolean isContentOnFile()
+    {
+        return responseData_ != null && responseData_.isContentOnFile();
+    }
     // XC end
 }
@@ -253,4 +253,17 @@ public class WebResponseData implements Serializable {
     public void cleanUp() {
         downloadedContent_.cleanUp();
     }
+
+    // XC start
+    /**
+     * Returns whether the content is kept in a file rather than in memory.
+     * @return whether the content is file-backed
+     * @deprecated For internal use only.
+     */
+    @Deprecated
+    public boolean isContentOnFile()
+    {
+        return downloadedContent_ instanceof DownloadedContent.OnFile;
+    }
+    // XC end
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.common.util.ssl;
+
+import java.security.KeyStore;
+
+import javax.net.ssl.SSLSessionContext;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the implementation of {@link SharedSSLContextCache}.
+ */
+public class SharedSSLContextCacheTest
+{
+    @Test
+    public void contextsAreSharedPerConfiguration() throws Exception
+    {
+        final SharedSSLContextCache cache = new SharedSSLContextCache(100, 300);
+
+        final SharedSSLContextCache.Context insecure1 = cache.getInsecureContext("TLS", null, null);
+        final SharedSSLContextCache.Context insecure2 = cache.getInsecureContext("TLS", null, null);
+        final SharedSSLContextCache.Context secure1 = cache.getContext(null, null, null);
+        final SharedSSLContextCache.Context secure2 = cache.getContext(null, null, null);
+
+        Assert.assertSame(insecure1, insecure2);
+        Assert.assertSame(secure1, secure2);
+        Assert.assertNotSame(insecure1, secure1);
+
+        // the socket factory is created only once, so HTTP clients can reuse pooled connections
+        Assert.assertNotNull(insecure1.getSocketFactory());
+        Assert.assertSame(insecure1.getSocketFactory(), insecure2.getSocketFactory());
+
+        // a different trust store results in a different context
+        final KeyStore trustStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        trustStore.load(null, null);
+        Assert.assertNotSame(secure1, cache.getContext(null, null, trustStore));
+    }
+
+    @Test
+    public void sessionCacheIsConfigured() throws Exception
+    {
+        final SharedSSLContextCache cache = new SharedSSLContextCache(100, 300);
+
+        final SSLSessionContext sessionContext = cache.getInsecureContext("TLS", null, null).getSSLContext().getClientSessionContext();
+
+        Assert.assertEquals(100, sessionContext.getSessionCacheSize());
+        Assert.assertEquals(300, sessionContext.getSessionTimeout());
+    }
+}
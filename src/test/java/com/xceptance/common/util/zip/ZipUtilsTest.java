@@ -269,6 +269,34 @@ public class ZipUtilsTest extends AbstractXLTTestCase
         testZipUnzip(filter, true);
     }
 
+    /**
+     * Test unzipping only the entries accepted by an entry filter.
+     */
+    @Test
+    public void testUnzipFile_EntryFilter() throws IOException
+    {
+        ZipUtils.zipDirectory(testDir, testZipFile);
+        ZipUtils.unzipFile(testZipFile, destDir, false, entryName -> !entryName.endsWith(".bin"));
+
+        Assert.assertTrue(new File(destDir, "test.txt").isFile());
+        Assert.assertTrue(new File(destDir, testSubDirName + "/test.txt").isFile());
+        Assert.assertFalse(new File(destDir, "test.bin").exists());
+    }
+
+    /**
+     * Test the recognition of timer file names.
+     */
+    @Test
+    public void testIsTimerFile()
+    {
+        Assert.assertTrue(ZipUtils.isTimerFile("timers.csv"));
+        Assert.assertTrue(ZipUtils.isTimerFile("timers.csv.gz"));
+        Assert.assertTrue(ZipUtils.isTimerFile("timers.csv.2024-01-31"));
+        Assert.assertTrue(ZipUtils.isTimerFile("timer-wd-1234.csv"));
+        Assert.assertFalse(ZipUtils.isTimerFile("results.zip"));
+        Assert.assertFalse(ZipUtils.isTimerFile("timers.csv.bak"));
+    }
+
     /**
      * Test zipping and unzipping using the given file filter.
      * 
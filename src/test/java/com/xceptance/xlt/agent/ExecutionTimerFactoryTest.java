@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.xceptance.xlt.agent.PeriodicExecutionTimer.ArrivalDistribution;
+import com.xceptance.xlt.api.util.XltException;
+
+public class ExecutionTimerFactoryTest
+{
+    @Test
+    public void parseArrivalDistribution()
+    {
+        assertEquals(ArrivalDistribution.BURST, ExecutionTimerFactory.parseArrivalDistribution("BURST"));
+        assertEquals(ArrivalDistribution.EVEN, ExecutionTimerFactory.parseArrivalDistribution("even"));
+        assertEquals(ArrivalDistribution.POISSON, ExecutionTimerFactory.parseArrivalDistribution(" Poisson "));
+    }
+
+    @Test
+    public void parseArrivalDistribution_Invalid()
+    {
+        try
+        {
+            ExecutionTimerFactory.parseArrivalDistribution("uniform");
+            fail("XltException expected");
+        }
+        catch (final XltException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().contains("com.xceptance.xlt.arrivalRate.distribution"));
+            assertTrue(e.getMessage(), e.getMessage().contains("[BURST, EVEN, POISSON]"));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.xceptance.common.lang.ReflectionUtils;
+import com.xceptance.xlt.agentcontroller.TestUserConfiguration;
+import com.xceptance.xlt.agentcontroller.TestUserStatus;
+import com.xceptance.xlt.engine.SessionImpl;
+import com.xceptance.xlt.engine.XltThreadFactory;
+
+public class OpenModelLoadTestRunnerTest
+{
+    private static final AtomicInteger executions = new AtomicInteger();
+
+    private static final Set<Integer> absoluteUserNumbers = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicInteger duplicateAbsoluteUserNumbers = new AtomicInteger();
+
+    private static volatile CountDownLatch release;
+
+    @Before
+    public void setUp()
+    {
+        executions.set(0);
+        absoluteUserNumbers.clear();
+        duplicateAbsoluteUserNumbers.set(0);
+        release = new CountDownLatch(1);
+    }
+
+    @Test
+    public void arrivalsAreDroppedIfAllUsersAreBusy() throws Exception
+    {
+        final OpenModelLoadTestRunner runner = createRunner(2, 5, true);
+
+        runner.start();
+        waitForExecutions(2);
+        release.countDown();
+        runner.join();
+
+        assertEquals(2, executions.get());
+        for (final TestUserStatus status : runner.getTestUserStatusList())
+        {
+            assertEquals(TestUserStatus.State.Finished, status.getState());
+        }
+
+        // the missed arrivals have been logged
+        final Queue<?> missedArrivals = ReflectionUtils.readInstanceField(runner, "missedArrivals");
+        assertTrue(missedArrivals.isEmpty());
+
+        // the users do not have a thread of their own
+        final List<LoadTestRunner> runners = ReflectionUtils.readInstanceField(runner, "runners");
+        for (final LoadTestRunner user : runners)
+        {
+            assertNull(user.getThread());
+        }
+    }
+
+    @Test
+    public void additionalUsersAreCreatedIfNotLimited() throws Exception
+    {
+        final OpenModelLoadTestRunner runner = createRunner(2, 5, false);
+
+        runner.start();
+        waitForExecutions(5);
+        release.countDown();
+        runner.join();
+
+        assertEquals(5, executions.get());
+        assertEquals(2, runner.getTestUserStatusList().size());
+    }
+
+    @Test
+    public void additionalUsersHaveUniqueAbsoluteUserNumbersAcrossUserTypes() throws Exception
+    {
+        final OpenModelLoadTestRunner runner1 = createRunner("TOpenModel", 0, 2, 5, false);
+        final OpenModelLoadTestRunner runner2 = createRunner("TOtherOpenModel", 2, 2, 5, false);
+
+        runner1.start();
+        runner2.start();
+        waitForExecutions(10);
+        release.countDown();
+        runner1.join();
+        runner2.join();
+
+        assertEquals(10, executions.get());
+        assertEquals(10, absoluteUserNumbers.size());
+        assertEquals(0, duplicateAbsoluteUserNumbers.get());
+        assertFalse(absoluteUserNumbers.stream().anyMatch(number -> number < 0));
+    }
+
+    private static void waitForExecutions(final int count) throws InterruptedException
+    {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (executions.get() < count && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(10);
+        }
+
+        // give surplus arrivals a chance to show up
+        Thread.sleep(100);
+    }
+
+    private static OpenModelLoadTestRunner createRunner(final int users, final int arrivals, final boolean limitUsers)
+    {
+        return createRunner("TOpenModel", 0, users, arrivals, limitUsers);
+    }
+
+    private static OpenModelLoadTestRunner createRunner(final String userName, final int firstAbsoluteUserNumber, final int users,
+                                                        final int arrivals, final boolean limitUsers)
+    {
+        final List<TestUserConfiguration> configs = new ArrayList<>();
+        for (int i = 0; i < users; i++)
+        {
+            final TestUserConfiguration config = new TestUserConfiguration();
+            config.setTestCaseClassName(BlockingTest.class.getName());
+            config.setUserName(userName);
+            config.setNumberOfUsers(users);
+            config.setInstance(i);
+            config.setAbsoluteUserNumber(firstAbsoluteUserNumber + i);
+            config.setTotalUserCount(4);
+            configs.add(config);
+        }
+
+        return new OpenModelLoadTestRunner(configs, new AgentInfo("agentID", null), new FixedArrivalsTimer(arrivals), limitUsers,
+                                           new XltThreadFactory(true));
+    }
+
+    /**
+     * Releases a fixed number of arrivals at once, then stops.
+     */
+    private static class FixedArrivalsTimer extends AbstractExecutionTimer
+    {
+        private final AtomicInteger remainingArrivals;
+
+        FixedArrivalsTimer(final int arrivals)
+        {
+            super("TOpenModel", 0, 0, 0);
+            remainingArrivals = new AtomicInteger(arrivals);
+        }
+
+        @Override
+        protected long executeWait() throws InterruptedException
+        {
+            if (remainingArrivals.getAndDecrement() > 0)
+            {
+                return NO_SCHEDULED_START;
+            }
+
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+     * A test that blocks until released.
+     */
+    public static class BlockingTest
+    {
+        @org.junit.Test
+        public void test() throws InterruptedException
+        {
+            if (!absoluteUserNumbers.add(SessionImpl.getCurrent().getAbsoluteUserNumber()))
+            {
+                duplicateAbsoluteUserNumbers.incrementAndGet();
+            }
+
+            executions.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.xceptance.xlt.agent.PeriodicExecutionTimer.Arrival;
+import com.xceptance.xlt.agent.PeriodicExecutionTimer.ArrivalDistribution;
+import com.xceptance.xlt.agent.PeriodicExecutionTimer.ArrivalRateControllerTimerTask;
+import com.xceptance.xlt.api.engine.GlobalClock;
+
+public class PeriodicExecutionTimerTest
+{
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void burstOffsets()
+    {
+        final long[] offsets = ArrivalRateControllerTimerTask.computeArrivalOffsets(ArrivalDistribution.BURST, 5, new SplittableRandom(1));
+
+        assertEquals(5, offsets.length);
+        for (final long offset : offsets)
+        {
+            assertEquals(0, offset);
+        }
+    }
+
+    @Test
+    public void evenOffsets()
+    {
+        final long[] offsets = ArrivalRateControllerTimerTask.computeArrivalOffsets(ArrivalDistribution.EVEN, 4, new SplittableRandom(1));
+
+        assertEquals(4, offsets.length);
+        assertEquals(0, offsets[0]);
+        assertEquals(SECOND / 4, offsets[1]);
+        assertEquals(SECOND / 2, offsets[2]);
+        assertEquals(3 * SECOND / 4, offsets[3]);
+
+        assertEquals(0, ArrivalRateControllerTimerTask.computeArrivalOffsets(ArrivalDistribution.EVEN, 0, new SplittableRandom(1)).length);
+    }
+
+    @Test
+    public void poissonOffsets()
+    {
+        final long[] offsets = ArrivalRateControllerTimerTask.computeArrivalOffsets(ArrivalDistribution.POISSON, 1000,
+                                                                                    new SplittableRandom(42));
+
+        assertEquals(1000, offsets.length);
+
+        int firstHalf = 0;
+        for (int i = 0; i < offsets.length; i++)
+        {
+            assertTrue(offsets[i] >= 0 && offsets[i] < SECOND);
+            if (i > 0)
+            {
+                assertTrue(offsets[i - 1] <= offsets[i]);
+            }
+            if (offsets[i] < SECOND / 2)
+            {
+                firstHalf++;
+            }
+        }
+
+        // roughly uniform
+        assertTrue(firstHalf > 400 && firstHalf < 600);
+    }
+
+    @Test
+    public void arrivalsAreTakenInOrderOfDeadline() throws InterruptedException
+    {
+        final long now = System.nanoTime();
+        final Arrival early = new Arrival(now - 2_000_000, 1000);
+        final Arrival late = new Arrival(now - 1_000_000, 1001);
+
+        final DelayQueue<Arrival> queue = new DelayQueue<>();
+        queue.add(new Arrival(now + 10 * SECOND, 11000));
+        queue.add(late);
+        queue.add(early);
+
+        assertSame(early, queue.take());
+        assertSame(late, queue.take());
+        assertEquals(null, queue.poll());
+
+        assertEquals(1000, early.getScheduledTime());
+    }
+
+    @Test
+    public void burstArrivalsAreScheduledForTheReleasingSecond()
+    {
+        final PeriodicExecutionTimer timer = Mockito.mock(PeriodicExecutionTimer.class);
+        Mockito.when(timer.getThreads()).thenReturn(Collections.<Thread>emptySet());
+
+        final int[][] arrivalRates =
+            {
+                {
+                    0, 3600
+                }
+            };
+        final ArrivalRateControllerTimerTask task = new ArrivalRateControllerTimerTask(arrivalRates, 0, new double[]
+            {
+                1.0
+            }, timer, 0, ArrivalDistribution.BURST);
+
+        final long before = GlobalClock.millis();
+        task.run();
+        final long after = GlobalClock.millis();
+
+        final long scheduledTime = task.takeReleasedSlot();
+        assertTrue(scheduledTime >= before && scheduledTime <= after);
+        assertEquals(AbstractExecutionTimer.NO_SCHEDULED_START, task.takeReleasedSlot());
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agentcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ResultStreamUtilsTest
+{
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void roundTrip() throws IOException
+    {
+        final File resultsDir = createResults();
+        final List<String> fileNames = ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL);
+
+        assertEquals(List.of("TOrder/0/timers.csv", "TOrder/1/timers.csv", "config/default.properties"), fileNames);
+
+        final File targetDir = tempFolder.newFolder("target");
+        final AtomicInteger entries = new AtomicInteger();
+        extract(resultsDir, fileNames, targetDir, entries);
+
+        assertEquals(3, entries.get());
+        for (final String fileName : fileNames)
+        {
+            assertEquals(fileName, FileUtils.readFileToString(new File(targetDir, fileName), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void resumeWithManifest() throws IOException
+    {
+        final File resultsDir = createResults();
+        final Map<String, Long> receivedFiles = new HashMap<>();
+        receivedFiles.put("TOrder/0/timers.csv", 19L);
+        receivedFiles.put("TOrder/1/timers.csv", 19L);
+
+        // a file that has appeared since the interrupted transfer started is sent as well
+        FileUtils.writeStringToFile(new File(resultsDir, "TOrder/0/timers.csv.1000"), "segment", StandardCharsets.UTF_8);
+
+        final List<String> fileNames = ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL, receivedFiles, false,
+                                                                         System.currentTimeMillis());
+        assertEquals(List.of("TOrder/0/timers.csv.1000", "config/default.properties"), fileNames);
+
+        final File targetDir = tempFolder.newFolder("target");
+        final AtomicInteger entries = new AtomicInteger();
+        extract(resultsDir, fileNames, targetDir, entries);
+
+        assertEquals(2, entries.get());
+        assertFalse(new File(targetDir, "TOrder/0/timers.csv").exists());
+        assertTrue(new File(targetDir, "TOrder/0/timers.csv.1000").isFile());
+        assertTrue(new File(targetDir, "config/default.properties").isFile());
+    }
+
+    @Test
+    public void skipReceivedAndIncompleteFiles() throws IOException
+    {
+        final File resultsDir = createResults();
+        FileUtils.writeStringToFile(new File(resultsDir, "TOrder/0/timers.csv.1000"), "segment", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(resultsDir, "TOrder/0/output/1/index.html"), "dump", StandardCharsets.UTF_8);
+
+        final long now = new File(resultsDir, "TOrder/0/output/1/index.html").lastModified();
+        final Map<String, Long> receivedFiles = new HashMap<>();
+
+        // the active timer files and fresh result browser files may still change
+        assertEquals(List.of("TOrder/0/timers.csv.1000"),
+                     ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL, receivedFiles, true, now));
+        assertEquals(List.of("TOrder/0/output/1/index.html", "TOrder/0/timers.csv.1000"),
+                     ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL, receivedFiles, true, now + 60_000));
+
+        // files received already are skipped unless their size has changed
+        receivedFiles.put("TOrder/0/timers.csv.1000", 7L);
+        receivedFiles.put("TOrder/0/timers.csv", 1L);
+        assertEquals(List.of("TOrder/0/output/1/index.html", "TOrder/0/timers.csv", "TOrder/1/timers.csv", "config/default.properties"),
+                     ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL, receivedFiles, false, now));
+    }
+
+    @Test
+    public void linkedResultBrowserFilesAreSentOnce() throws IOException
+    {
+        final File resultsDir = createResults();
+        final File blob = new File(resultsDir, ".blobs/ab/abcdef");
+        FileUtils.writeStringToFile(blob, "var a = 1;", StandardCharsets.UTF_8);
+        for (final String fileName : new String[]
+            {
+                "TOrder/0/output/1/responses/0001-app.js", "TOrder/1/output/2/responses/0005-app.js"
+            })
+        {
+            final File file = new File(resultsDir, fileName);
+            file.getParentFile().mkdirs();
+            Files.createLink(file.toPath(), blob.toPath());
+        }
+
+        final List<String> fileNames = ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL);
+        assertFalse(fileNames.stream().anyMatch(fileName -> fileName.startsWith(".blobs")));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResultStreamUtils.writeArchive(resultsDir, fileNames, out);
+
+        final File targetDir = tempFolder.newFolder("target");
+        final Map<String, Long> receivedFiles = new HashMap<>();
+        ResultStreamUtils.extractArchive(new ByteArrayInputStream(out.toByteArray()), targetDir, false,
+                                         entry -> receivedFiles.put(entry.getName(), entry.getSize()));
+
+        assertEquals(10L, (long) receivedFiles.get("TOrder/0/output/1/responses/0001-app.js"));
+        assertEquals(10L, (long) receivedFiles.get("TOrder/1/output/2/responses/0005-app.js"));
+        assertEquals("var a = 1;", FileUtils.readFileToString(new File(targetDir, "TOrder/1/output/2/responses/0005-app.js"),
+                                                              StandardCharsets.UTF_8));
+
+        // when resuming with the first file received already, the second one is sent with its content as the link
+        // target is not part of the new archive
+        final File linkedFile = new File(targetDir, "TOrder/1/output/2/responses/0005-app.js");
+        linkedFile.delete();
+        receivedFiles.remove("TOrder/1/output/2/responses/0005-app.js");
+
+        final List<String> remainingFileNames = ResultStreamUtils.listResultFiles(resultsDir, TestResultAmount.ALL, receivedFiles, false,
+                                                                                  System.currentTimeMillis());
+        assertEquals(List.of("TOrder/1/output/2/responses/0005-app.js"), remainingFileNames);
+
+        final ByteArrayOutputStream resumed = new ByteArrayOutputStream();
+        ResultStreamUtils.writeArchive(resultsDir, remainingFileNames, resumed);
+        FileUtils.writeStringToFile(new File(targetDir, "TOrder/0/output/1/responses/0001-app.js"), "received", StandardCharsets.UTF_8);
+        ResultStreamUtils.extractArchive(new ByteArrayInputStream(resumed.toByteArray()), targetDir, false, entry -> {
+        });
+
+        assertEquals("var a = 1;", FileUtils.readFileToString(linkedFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void manifestRoundTrip() throws IOException
+    {
+        final Map<String, Long> receivedFiles = Map.of("TOrder/0/timers.csv.1000", 7L, "TOrder/0/output/1/my page.html", 0L);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResultStreamUtils.writeManifest(receivedFiles, out);
+
+        assertEquals(receivedFiles, ResultStreamUtils.readManifest(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test(expected = IOException.class)
+    public void manifestInvalid() throws IOException
+    {
+        ResultStreamUtils.readManifest(new ByteArrayInputStream("abc TOrder/0/timers.csv".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private File createResults() throws IOException
+    {
+        final File resultsDir = tempFolder.newFolder("results");
+        for (final String fileName : new String[]
+            {
+                "config/default.properties", "TOrder/1/timers.csv", "TOrder/0/timers.csv"
+            })
+        {
+            FileUtils.writeStringToFile(new File(resultsDir, fileName), fileName, StandardCharsets.UTF_8);
+        }
+
+        return resultsDir;
+    }
+
+    private static void extract(final File resultsDir, final List<String> fileNames, final File targetDir, final AtomicInteger entries)
+        throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ResultStreamUtils.writeArchive(resultsDir, fileNames, out);
+
+        ResultStreamUtils.extractArchive(new ByteArrayInputStream(out.toByteArray()), targetDir, false, entry -> entries.incrementAndGet());
+    }
+}
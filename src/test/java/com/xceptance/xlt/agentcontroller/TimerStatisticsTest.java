@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.agentcontroller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.xceptance.xlt.engine.metrics.ValueHistogram;
+
+public class TimerStatisticsTest
+{
+    private static TimerStatistics create(final String name, final long errors, final int... values)
+    {
+        final ValueHistogram histogram = new ValueHistogram();
+        for (final int value : values)
+        {
+            histogram.update(value);
+        }
+
+        return new TimerStatistics("Action", name, errors, histogram.getCountsAndClear());
+    }
+
+    @Test
+    public void testPercentiles()
+    {
+        final TimerStatistics stats = create("A", 1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertEquals(10, stats.getCount());
+        assertEquals(10.0, stats.getErrorRate(), 0.0);
+        assertEquals(5, stats.getPercentile(50));
+        assertEquals(10, stats.getPercentile(95));
+        assertEquals(1, stats.getPercentile(0));
+    }
+
+    @Test
+    public void testEmpty()
+    {
+        final TimerStatistics stats = create("A", 0);
+
+        assertEquals(0, stats.getCount());
+        assertEquals(0.0, stats.getErrorRate(), 0.0);
+        assertEquals(0, stats.getPercentile(99));
+    }
+
+    @Test
+    public void testMerge()
+    {
+        final TimerStatistics stats = create("A", 1, 1, 3, 3, 1000);
+        stats.merge(create("A", 2, 2, 3, 5000, 5000));
+
+        // merging is exact, so the result equals the statistics created from all values at once
+        final TimerStatistics expected = create("A", 3, 1, 2, 3, 3, 3, 1000, 5000, 5000);
+
+        assertEquals(expected.getCount(), stats.getCount());
+        assertEquals(expected.getErrors(), stats.getErrors());
+        for (final double p : new double[]
+            {
+                10, 25, 50, 60, 75, 90, 100
+            })
+        {
+            assertEquals(expected.getPercentile(p), stats.getPercentile(p));
+        }
+    }
+
+    @Test
+    public void testMergeIntervals()
+    {
+        final IntervalStatistics agent1 = new IntervalStatistics(0, 5000, List.of(create("A", 0, 10, 20), create("B", 0, 30)));
+        final IntervalStatistics agent2 = new IntervalStatistics(0, 5000, List.of(create("B", 1, 40)));
+
+        final IntervalStatistics merged = IntervalStatistics.merge(List.of(agent1, agent2));
+
+        assertEquals(0, merged.getStartTime());
+        assertEquals(5000, merged.getEndTime());
+        assertEquals(2, merged.getTimerStatistics().size());
+
+        final TimerStatistics a = merged.getTimerStatistics().get(0);
+        final TimerStatistics b = merged.getTimerStatistics().get(1);
+        assertEquals("A", a.getName());
+        assertEquals(2, a.getCount());
+        assertEquals(0.4, merged.getThroughput(a), 0.0);
+        assertEquals("B", b.getName());
+        assertEquals(2, b.getCount());
+        assertEquals(1, b.getErrors());
+
+        // the source statistics remain untouched
+        assertEquals(1, agent1.getTimerStatistics().get(1).getCount());
+    }
+}
@@ -15,6 +15,11 @@
  */
 package com.xceptance.xlt.api.data;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -290,4 +295,43 @@ public class DataPoolTest
         dataPool.setMax(Integer.MIN_VALUE);
         Assert.assertEquals("Wrong max", 1, dataPool.getMax());
     }
+
+    /**
+     * Test concurrent adding and getting of data
+     */
+    @Test
+    public void testConcurrentAccess() throws InterruptedException
+    {
+        final DataPool<Integer> dataPool = new DataPool<Integer>(100, 0);
+        final AtomicInteger taken = new AtomicInteger();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++)
+        {
+            executor.execute(() -> {
+                for (int i = 0; i < 10000; i++)
+                {
+                    dataPool.add(i);
+                    if (dataPool.getDataElement() != null)
+                    {
+                        taken.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // the size is consistent with the content and within its limit
+        final int size = dataPool.getSize();
+        Assert.assertTrue("Too many elements: " + size, size <= 100);
+
+        int remaining = 0;
+        while (dataPool.getDataElement() != null)
+        {
+            remaining++;
+        }
+        Assert.assertEquals(size, remaining);
+        Assert.assertEquals(0, dataPool.getSize());
+    }
 }
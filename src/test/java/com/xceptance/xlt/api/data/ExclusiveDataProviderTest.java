@@ -20,8 +20,15 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import com.xceptance.xlt.common.XltConstants;
 import org.apache.commons.io.FileUtils;
@@ -545,6 +552,147 @@ public class ExclusiveDataProviderTest
         Assert.assertEquals(origSize, provider.size());
     }
 
+    /**
+     * Concurrent users must never get the same item.
+     */
+    @Test
+    public void isExclusive_concurrentAccess() throws Exception
+    {
+        final ExclusiveDataProvider<String> provider = ExclusiveDataProvider.getNewInstance(defaultFile);
+        getAllExclusiveData(provider);
+
+        final int itemCount = 10000;
+        for (int i = 0; i < itemCount; i++)
+        {
+            provider.add("item" + i);
+        }
+
+        final Set<String> takenItems = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++)
+        {
+            final boolean random = t % 2 == 0;
+            executor.execute(() -> {
+                String item;
+                while ((item = random ? provider.getRandom() : provider.get()) != null)
+                {
+                    Assert.assertTrue("Item taken twice: " + item, takenItems.add(item));
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assert.assertEquals(itemCount, takenItems.size());
+        Assert.assertEquals(0, provider.size());
+        Assert.assertNull(provider.getRandom());
+    }
+
+    /**
+     * Equal items must be handed out as the distinct items they are, each of them exactly once.
+     */
+    @Test
+    public void duplicateItems_concurrentAccess() throws Exception
+    {
+        final ExclusiveDataProvider<String> provider = ExclusiveDataProvider.getNewInstance(defaultFile);
+        getAllExclusiveData(provider);
+
+        final int itemCount = 10000;
+        for (int i = 0; i < itemCount; i++)
+        {
+            provider.add(new String(i % 2 == 0 ? "even" : "odd"));
+        }
+
+        final Set<String> takenItems = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++)
+        {
+            final boolean random = t % 2 == 0;
+            executor.execute(() -> {
+                String item;
+                while ((item = random ? provider.getRandom() : provider.get()) != null)
+                {
+                    Assert.assertTrue("Item taken twice: " + item, takenItems.add(item));
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assert.assertEquals(itemCount, takenItems.size());
+        Assert.assertEquals(0, provider.size());
+
+        // the same item can be released and taken again
+        final String item = takenItems.iterator().next();
+        provider.add(item);
+        provider.add(item);
+        Assert.assertSame(item, provider.getRandom());
+        Assert.assertSame(item, provider.getRandom());
+        Assert.assertNull(provider.getRandom());
+    }
+
+    /**
+     * Items must be handed out in the order they were added or released, even if random items were taken in between.
+     */
+    @Test
+    public void get_inOrderOfAddition() throws Exception
+    {
+        final ExclusiveDataProvider<String> provider = ExclusiveDataProvider.getNewInstance(defaultFile);
+        getAllExclusiveData(provider);
+
+        final List<String> expectedItems = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+        {
+            provider.add("item" + i);
+            expectedItems.add("item" + i);
+        }
+
+        final String randomItem1 = provider.getRandom();
+        final String randomItem2 = provider.getRandom();
+        provider.add(randomItem1);
+
+        expectedItems.remove(randomItem1);
+        expectedItems.remove(randomItem2);
+        expectedItems.add(randomItem1);
+
+        Assert.assertEquals(expectedItems, getAllExclusiveData(provider));
+    }
+
+    /**
+     * Random items must be picked with the same probability, even if the items are not spread evenly over the internal
+     * segments.
+     */
+    @Test
+    public void getRandom_uniform() throws Exception
+    {
+        final ExclusiveDataProvider<String> provider = ExclusiveDataProvider.getNewInstance(defaultFile);
+        getAllExclusiveData(provider);
+
+        // one more item than segments, so the first and the last item share a segment
+        final Field segmentsField = ExclusiveDataProvider.class.getDeclaredField("segments");
+        segmentsField.setAccessible(true);
+        final int itemCount = ((Object[]) segmentsField.get(provider)).length + 1;
+
+        final int[] counts = new int[itemCount];
+        final int trials = 50000;
+        for (int i = 0; i < trials; i++)
+        {
+            for (int j = 0; j < itemCount; j++)
+            {
+                provider.add(String.valueOf(j));
+            }
+
+            counts[Integer.parseInt(provider.getRandom())]++;
+            getAllExclusiveData(provider);
+        }
+
+        final double expectedCount = (double) trials / itemCount;
+        for (int j = 0; j < itemCount; j++)
+        {
+            Assert.assertEquals("Item " + j, expectedCount, counts[j], expectedCount * 0.1);
+        }
+    }
+
     /**
      * Checks for exclusiveness of elements by comparing two lists.
      *
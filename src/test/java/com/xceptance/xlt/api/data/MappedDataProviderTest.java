@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.api.data;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.xceptance.xlt.engine.SessionImpl;
+import com.xceptance.xlt.util.ExclusiveUtils;
+
+/**
+ * Tests the implementation of {@link MappedDataProvider}.
+ */
+public class MappedDataProviderTest
+{
+    private static final String CONTENT = "# header\n" + "row1\r\n" + "  # indented comment\n" + "\n" + " row 3 \n" + "äöü€\n" +
+                                          "row5 # no comment\n" + "row6";
+
+    private static final List<String> EXPECTED_ROWS = Arrays.asList("row1", "", " row 3 ", "äöü€", "row5 # no comment",
+                                                                    "row6");
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @After
+    public void after()
+    {
+        SessionImpl.getCurrent().setAgentNumber(0);
+        SessionImpl.getCurrent().setTotalAgentCount(1);
+    }
+
+    @Test
+    public void rowsAreReadLikeDataProvider() throws IOException
+    {
+        final MappedDataProvider provider = createProvider(CONTENT, 1 << 20);
+
+        Assert.assertEquals(EXPECTED_ROWS.size(), provider.getSize());
+        Assert.assertEquals(EXPECTED_ROWS, provider.getAllRows());
+        Assert.assertEquals("row3", provider.getRow(true, 2));
+        Assert.assertNull(provider.getRow(-1));
+        Assert.assertNull(provider.getRow(EXPECTED_ROWS.size()));
+    }
+
+    @Test
+    public void rowsSpanningMappedRegions() throws IOException
+    {
+        for (int segmentSize = 1; segmentSize < 12; segmentSize++)
+        {
+            Assert.assertEquals("Segment size: " + segmentSize, EXPECTED_ROWS, createProvider(CONTENT, segmentSize).getAllRows());
+        }
+    }
+
+    @Test
+    public void commentLinesAreKeptWithoutMarker() throws IOException
+    {
+        final File file = tempFolder.newFile();
+        FileUtils.writeStringToFile(file, "#a\nb\n", StandardCharsets.UTF_8);
+
+        final MappedDataProvider provider = new MappedDataProvider(file, "UTF-8", null, 1 << 20);
+        Assert.assertEquals(Arrays.asList("#a", "b"), provider.getAllRows());
+    }
+
+    @Test
+    public void emptyFile() throws IOException
+    {
+        final MappedDataProvider provider = createProvider("", 1 << 20);
+
+        Assert.assertEquals(0, provider.getSize());
+        Assert.assertNull(provider.getRandomRow());
+        Assert.assertNull(provider.getNextRow());
+    }
+
+    @Test
+    public void sequentialAccessStartsOver() throws IOException
+    {
+        final MappedDataProvider provider = createProvider("a\nb\nc\n", 1 << 20);
+
+        Assert.assertEquals("a", provider.getNextRow());
+        Assert.assertEquals("b", provider.getNextRow());
+        Assert.assertEquals("c", provider.getNextRow());
+        Assert.assertEquals("a", provider.getNextRow());
+    }
+
+    @Test
+    public void randomAccess() throws IOException
+    {
+        final MappedDataProvider provider = createProvider(CONTENT, 1 << 20);
+
+        for (int i = 0; i < 100; i++)
+        {
+            Assert.assertTrue(EXPECTED_ROWS.contains(provider.getRandomRow()));
+        }
+    }
+
+    @Test
+    public void exclusiveAgentPart() throws IOException
+    {
+        final MappedDataProvider provider = createProvider(CONTENT, 1 << 20);
+
+        SessionImpl.getCurrent().setTotalAgentCount(4);
+        for (int agent = 0; agent < 4; agent++)
+        {
+            SessionImpl.getCurrent().setAgentNumber(agent);
+
+            final MappedDataProvider agentPart = provider.getExclusiveAgentPart();
+            Assert.assertEquals(ExclusiveUtils.getExclusivePart(EXPECTED_ROWS, 4, agent), agentPart.getAllRows());
+            Assert.assertEquals(EXPECTED_ROWS.get(agent), agentPart.getNextRow());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedEncoding() throws IOException
+    {
+        final File file = tempFolder.newFile();
+        FileUtils.writeStringToFile(file, "a\nb\n", StandardCharsets.UTF_16);
+
+        new MappedDataProvider(file, "UTF-16", "#", 1 << 20);
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void missingFile() throws IOException
+    {
+        new MappedDataProvider(new File(tempFolder.getRoot(), "missing.txt"), "UTF-8", "#", 1 << 20);
+    }
+
+    private MappedDataProvider createProvider(final String content, final int segmentSize) throws IOException
+    {
+        final File file = tempFolder.newFile();
+        FileUtils.writeStringToFile(file, content, StandardCharsets.UTF_8);
+
+        return new MappedDataProvider(file, DataProvider.DEFAULT_FILE_ENCODING, DataProvider.DEFAULT_LINE_COMMENT_MARKER, segmentSize);
+    }
+}
@@ -15,10 +15,15 @@
  */
 package com.xceptance.xlt.api.engine;
 
+import java.util.List;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.xceptance.xlt.api.util.XltCharBuffer;
+import com.xceptance.xlt.api.util.XltCharBufferUtil;
+
 /**
  * Tests the implementation of {@link ActionData}.
  *
@@ -49,6 +54,30 @@ public class ActionDataTest extends TimerDataTest
         Assert.assertEquals(instance.toList().get(0), String.valueOf(instance.getTypeCode()));
     }
 
+    /**
+     * Tests that the scheduled start time is written only if known and read back correctly.
+     */
+    @Test
+    public void testScheduledStartTime()
+    {
+        instance.setTime(1000L);
+        instance.setRunTime(200);
+        Assert.assertEquals(-1, instance.getScheduledStartTime());
+        Assert.assertEquals(5, instance.toList().size());
+
+        instance.setScheduledStartTime(900L);
+        final List<String> values = instance.toList();
+        Assert.assertEquals(6, values.size());
+        Assert.assertEquals("900", values.get(5));
+
+        final ActionData copy = new ActionData();
+        final List<XltCharBuffer> list = XltCharBufferUtil.toList(values);
+        copy.setBaseValues(list);
+        copy.setRemainingValues(list);
+        Assert.assertEquals(900L, copy.getScheduledStartTime());
+        Assert.assertEquals(200, copy.getRunTime());
+    }
+
     @Test
     public void testDefaultConstructor()
     {
@@ -349,7 +349,7 @@ public class RequestDataTest extends TimerDataTest
         // construct CSV string
         final String csvLine = StringUtils.join(new Object[]
             {
-                commonCSV, bytesSent, bytesReceived, responseCode, "", "", 0, 0, 0, 0, 0, 0, "", "", "", "", 0, "", "", ""
+                commonCSV, bytesSent, bytesReceived, responseCode, "", "", 0, 0, 0, 0, 0, 0, "", "", "", "", 0, "", "", "", ""
             }, CsvUtils.COMMA);
 
         // read in CSV string
@@ -371,7 +371,7 @@ public class RequestDataTest extends TimerDataTest
         // construct CSV string
         final String csvLine = StringUtils.join(new Object[]
             {
-                commonCSV, bytesSent, bytesReceived, responseCode, "", contentType, 0, 0, 0, 0, 0, 0, "", "", "", "", 0, "", "", ""
+                commonCSV, bytesSent, bytesReceived, responseCode, "", contentType, 0, 0, 0, 0, 0, 0, "", "", "", "", 0, "", "", "", ""
             }, CsvUtils.COMMA);
 
         // read in CSV string
@@ -393,7 +393,7 @@ public class RequestDataTest extends TimerDataTest
         // construct CSV string
         final String csvLine = StringUtils.join(new Object[]
             {
-                commonCSV, bytesSent, bytesReceived, responseCode, url, "", 0, 0, 0, 0, 0, 0, "", "", "", "", 0, "", "", ""
+                commonCSV, bytesSent, bytesReceived, responseCode, url, "", 0, 0, 0, 0, 0, 0, "", "", "", "", 0, "", "", "", ""
             }, CsvUtils.COMMA);
 
         // read in CSV string
@@ -429,7 +429,7 @@ public class RequestDataTest extends TimerDataTest
         Assert.assertEquals(0, instance.getTimeToLastBytes());
 
         // validate output of toCSV()
-        Assert.assertEquals(csvLine + ",0,0,0,0,0,0,,,,,0,,,", toCsv(instance));
+        Assert.assertEquals(csvLine + ",0,0,0,0,0,0,,,,,0,,,,", toCsv(instance));
     }
 
     /**
@@ -452,7 +452,7 @@ public class RequestDataTest extends TimerDataTest
         validateBeforeXLT4_6_6_RequestData(instance, false);
 
         // validate output of toCSV()
-        Assert.assertEquals(csvLine + ",,,,0,,,", toCsv(instance));
+        Assert.assertEquals(csvLine + ",,,,0,,,,", toCsv(instance));
     }
 
     /**
@@ -475,7 +475,7 @@ public class RequestDataTest extends TimerDataTest
         validateBeforeXLT4_6_6_RequestData(instance, true);
 
         // validate output of toCSV()
-        Assert.assertEquals(csvLine + ",0,,,", toCsv(instance));
+        Assert.assertEquals(csvLine + ",0,,,,", toCsv(instance));
     }
 
     /**
@@ -498,7 +498,7 @@ public class RequestDataTest extends TimerDataTest
         validateXLT4_6_6_RequestData(instance, false);
 
         // validate output of toCSV()
-        Assert.assertEquals(csvLine + ",0,,,", toCsv(instance));
+        Assert.assertEquals(csvLine + ",0,,,,", toCsv(instance));
     }
 
     /**
@@ -521,7 +521,7 @@ public class RequestDataTest extends TimerDataTest
         validateXLT4_6_6_RequestData(instance, true);
 
         // validate output of toCSV()
-        Assert.assertEquals(csvLine + ",0,,,", toCsv(instance));
+        Assert.assertEquals(csvLine + ",0,,,,", toCsv(instance));
     }
 
     /**
@@ -544,7 +544,7 @@ public class RequestDataTest extends TimerDataTest
         validateXLT4_7_0_RequestData(instance);
 
         // validate output of toCSV()
-        Assert.assertEquals(csvLine + ",,,", toCsv(instance));
+        Assert.assertEquals(csvLine + ",,,,", toCsv(instance));
     }
 
     /**
@@ -558,7 +558,31 @@ public class RequestDataTest extends TimerDataTest
         var instance = fromCsv(csvLine);
         validateXLT4_12_0_RequestData(instance);
 
-        Assert.assertEquals(csvLine + ",", toCsv(instance));
+        Assert.assertEquals(csvLine + ",,", toCsv(instance));
+    }
+
+    /**
+     * Tests that the TLS handshake kind survives a round-trip through CSV.
+     */
+    @Test
+    public void testTlsHandshake()
+    {
+        final RequestData data = new RequestData(name);
+        data.setTime(time);
+        data.setTlsHandshake(RequestData.TLS_HANDSHAKE_RESUMED);
+
+        final String csvLine = toCsv(data);
+        Assert.assertTrue(csvLine.endsWith("," + RequestData.TLS_HANDSHAKE_RESUMED));
+
+        final RequestData instance = fromCsv(csvLine);
+        Assert.assertTrue(instance.isResumedTlsHandshake());
+        Assert.assertFalse(instance.isFullTlsHandshake());
+
+        // no handshake at all
+        data.setTlsHandshake("");
+        final RequestData instance2 = fromCsv(toCsv(data));
+        Assert.assertNull(instance2.getTlsHandshake());
+        Assert.assertFalse(instance2.isResumedTlsHandshake());
     }
 
     /**
@@ -208,6 +208,37 @@ public class TransactionDataTest extends TimerDataTest
         Assert.assertEquals(dumpDirectoryPath, instance.getDumpDirectoryPath());
     }
 
+    /**
+     * Tests that the scheduled start time survives a round trip and is optional when reading.
+     */
+    @Test
+    public void testScheduledStartTime()
+    {
+        final List<String> elements = new ArrayList<String>();
+        elements.addAll(commonValues);
+        elements.add(stackTraceWithoutDirectoryHintEncoded);
+        elements.add(failedActionName);
+        elements.add(testUserNumber);
+        elements.add(directoryName);
+
+        // not present
+        var list = XltCharBufferUtil.toList(elements);
+        instance.setBaseValues(list);
+        instance.setRemainingValues(list);
+        Assert.assertEquals(-1, instance.getScheduledStartTime());
+        Assert.assertEquals(elements, instance.toList());
+
+        // present
+        elements.add("50");
+
+        final TransactionData other = new TransactionData();
+        list = XltCharBufferUtil.toList(elements);
+        other.setBaseValues(list);
+        other.setRemainingValues(list);
+        Assert.assertEquals(50, other.getScheduledStartTime());
+        Assert.assertEquals(elements, other.toList());
+    }
+
     /**
      * Tests the implementation of {@link TransactionData#toCSV()}.
      */
@@ -394,6 +394,71 @@ public class DataManagerImplTest
                    ));
     }
 
+    /**
+     * Timer file rotation
+     */
+    @Test
+    public void timerFileRotation() throws IOException
+    {
+        var session = new TestSession("TName");
+        var dm = new DataManagerImpl(session, () -> metrics, 1000L);
+
+        GlobalClock.installFixed(10_100L);
+        dm.logEvent("First", "Just a message1");
+
+        GlobalClock.installFixed(10_900L);
+        dm.logEvent("Second", "Just a message1");
+
+        // interval elapsed
+        GlobalClock.installFixed(11_050L);
+        dm.logEvent("Third", "Just a message1");
+
+        verify(dm.getTimerFile().resolveSibling("timers.csv.11050"),
+               2,
+               List.of(
+                       "E,First,10100,TName,Just a message1",
+                       "E,Second,10900,TName,Just a message1"
+                   ));
+        verify(dm.getTimerFile(),
+               1,
+               List.of(
+                       "E,Third,11050,TName,Just a message1"
+                   ));
+        assertEquals(3, dm.getNumberOfEvents());
+    }
+
+    /**
+     * Timer file rotation when each session has its own data manager, as with the open workload model
+     */
+    @Test
+    public void timerFileRotation_newDataManagerPerSession() throws IOException
+    {
+        var session = new TestSession("TName");
+
+        GlobalClock.installFixed(20_100L);
+        new DataManagerImpl(session, () -> metrics, 1000L).logEvent("First", "Just a message1");
+
+        GlobalClock.installFixed(20_900L);
+        new DataManagerImpl(session, () -> metrics, 1000L).logEvent("Second", "Just a message1");
+
+        // interval elapsed, the rotation deadline has been set by the previous data managers
+        GlobalClock.installFixed(21_050L);
+        var dm = new DataManagerImpl(session, () -> metrics, 1000L);
+        dm.logEvent("Third", "Just a message1");
+
+        verify(dm.getTimerFile().resolveSibling("timers.csv.21050"),
+               2,
+               List.of(
+                       "E,First,20100,TName,Just a message1",
+                       "E,Second,20900,TName,Just a message1"
+                   ));
+        verify(dm.getTimerFile(),
+               1,
+               List.of(
+                       "E,Third,21050,TName,Just a message1"
+                   ));
+    }
+
     /**
      * Test replace of line seperators
      */
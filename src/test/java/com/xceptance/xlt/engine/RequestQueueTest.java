@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the implementation of {@link RequestQueue}.
+ */
+public class RequestQueueTest
+{
+    @Test
+    public void multiplexedModeLimitsConcurrentRequestsPerHost() throws Exception
+    {
+        final Map<String, AtomicInteger> current = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        final AtomicInteger loaded = new AtomicInteger();
+
+        final XltWebClient webClient = Mockito.mock(XltWebClient.class);
+        Mockito.when(webClient.loadStaticContentFromUrl(Mockito.any(), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            final String host = ((URL) invocation.getArgument(0)).getHost();
+
+            final int n = current.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+            peak.computeIfAbsent(host, h -> new AtomicInteger()).accumulateAndGet(n, Math::max);
+            Thread.sleep(20);
+            current.get(host).decrementAndGet();
+            loaded.incrementAndGet();
+
+            return null;
+        });
+
+        final RequestQueue queue = new RequestQueue(webClient, 1, true, 3);
+        try
+        {
+            Assert.assertTrue(queue.isMultiplexed());
+            Assert.assertTrue(queue.isParallelModeEnabled());
+
+            for (int i = 0; i < 20; i++)
+            {
+                queue.addRequest(new URL("https://a.example.com/" + i), null, null);
+                queue.addRequest(new URL("https://b.example.com/" + i), null, null);
+            }
+            queue.waitForCompletion();
+
+            Assert.assertEquals(40, loaded.get());
+            Assert.assertTrue(peak.get("a.example.com").get() > 1);
+            Assert.assertTrue(peak.get("a.example.com").get() <= 3);
+            Assert.assertTrue(peak.get("b.example.com").get() > 1);
+            Assert.assertTrue(peak.get("b.example.com").get() <= 3);
+        }
+        finally
+        {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    public void fixedThreadPoolByDefault()
+    {
+        final RequestQueue queue = new RequestQueue(Mockito.mock(XltWebClient.class), 1, false);
+        try
+        {
+            Assert.assertFalse(queue.isMultiplexed());
+            Assert.assertFalse(queue.isParallelModeEnabled());
+        }
+        finally
+        {
+            queue.shutdown();
+        }
+    }
+}
@@ -213,6 +213,11 @@ public class ClientPerformanceTest
             dataRecords.add(data);
         }
 
+        @Override
+        public void reportGauge(final String name, final double value)
+        {
+        }
+
         public void checkExpectations()
         {
             int requestsToIgnore = WARM_UP_REQUESTS;
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.htmlunit.okhttp3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.htmlunit.ProxyConfig;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.xceptance.xlt.api.engine.Session;
+import com.xceptance.xlt.engine.htmlunit.okhttp3.ConnectionPoolManager.ConnectionReuseListener;
+import com.xceptance.xlt.engine.htmlunit.okhttp3.ConnectionPoolManager.PoolResources;
+import com.xceptance.xlt.util.XltPropertiesImpl;
+
+public class ConnectionPoolManagerTest
+{
+    private static final CredentialsProvider CREDENTIALS = new BasicCredentialsProvider();
+
+    private static Session mockSession(final String userName, final int userNumber)
+    {
+        final Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getUserName()).thenReturn(userName);
+        Mockito.when(session.getUserNumber()).thenReturn(userNumber);
+        Mockito.when(session.getUserID()).thenReturn(userName + "-" + userNumber);
+
+        return session;
+    }
+
+    private static CredentialsProvider proxyCredentials(final String userName, final String password)
+    {
+        final BasicCredentialsProvider credentialsProvider = new BasicCredentialsProvider();
+        credentialsProvider.setCredentials(new AuthScope("proxy", 8080), new UsernamePasswordCredentials(userName, password));
+
+        return credentialsProvider;
+    }
+
+    @Test
+    public void privatePoolsByDefault()
+    {
+        final ConnectionPoolManager manager = new ConnectionPoolManager(new XltPropertiesImpl());
+
+        final PoolResources r1 = manager.acquire(mockSession("TOrder", 0), CREDENTIALS, null);
+        final PoolResources r2 = manager.acquire(mockSession("TOrder", 0), CREDENTIALS, null);
+
+        assertFalse(r1.isShared());
+        assertNotSame(r1.getConnectionPool(), r2.getConnectionPool());
+        assertNotSame(r1.getDispatcher(), r2.getDispatcher());
+        assertNotSame(r1.getDns(), r2.getDns());
+        assertEquals(64, r1.getDispatcher().getMaxRequests());
+        assertEquals(6, r1.getDispatcher().getMaxRequestsPerHost());
+
+        manager.release(r1);
+        assertTrue(r1.getDispatcher().executorService().isShutdown());
+        assertFalse(r2.getDispatcher().executorService().isShutdown());
+    }
+
+    @Test
+    public void sharedPoolsPerCohort()
+    {
+        final XltPropertiesImpl props = new XltPropertiesImpl();
+        props.setProperty("com.xceptance.xlt.http.client.okhttp3.connectionPool.shared", "true");
+        props.setProperty("com.xceptance.xlt.http.client.okhttp3.connectionPool.shared.usersPerCohort", "10");
+        props.setProperty("com.xceptance.xlt.http.client.okhttp3.dispatcher.maxRequestsPerHost", "12");
+
+        final ConnectionPoolManager manager = new ConnectionPoolManager(props);
+
+        final PoolResources r1 = manager.acquire(mockSession("TOrder", 0), CREDENTIALS, null);
+        final PoolResources r2 = manager.acquire(mockSession("TOrder", 9), CREDENTIALS, null);
+        final PoolResources r3 = manager.acquire(mockSession("TOrder", 10), CREDENTIALS, null);
+        final PoolResources r4 = manager.acquire(mockSession("TBrowse", 0), CREDENTIALS, null);
+
+        assertTrue(r1.isShared());
+        assertSame(r1, r2);
+        assertNotSame(r1, r3);
+        assertNotSame(r1, r4);
+        assertEquals(12, r1.getDispatcher().getMaxRequestsPerHost());
+
+        // shared resources survive a release
+        manager.release(r1);
+        assertFalse(r2.getDispatcher().executorService().isShutdown());
+
+        // but not a shutdown
+        manager.shutdown();
+        assertTrue(r1.getDispatcher().executorService().isShutdown());
+        assertTrue(r4.getDispatcher().executorService().isShutdown());
+        assertFalse(manager.isReportingMetrics());
+    }
+
+    @Test
+    public void connectionRelevantComponentsAreSharedPerCohort() throws Exception
+    {
+        final XltPropertiesImpl props = new XltPropertiesImpl();
+        props.setProperty("com.xceptance.xlt.http.client.okhttp3.connectionPool.shared", "true");
+
+        final ConnectionPoolManager manager = new ConnectionPoolManager(props);
+
+        final PoolResources r1 = manager.acquire(mockSession("TOrder", 0), CREDENTIALS, null);
+        final PoolResources r2 = manager.acquire(mockSession("TOrder", 1), new BasicCredentialsProvider(), null);
+
+        assertSame(r1.getDns(), r2.getDns());
+        assertSame(r1.getProxyAuthenticator(), r2.getProxyAuthenticator());
+        assertSame(r1.getDefaultTls().socketFactory(), r2.getDefaultTls().socketFactory());
+        assertSame(r1.getDefaultTls(), r1.getDefaultTls());
+    }
+
+    @Test
+    public void poolsAreNotSharedAcrossDifferentProxyCredentials()
+    {
+        final XltPropertiesImpl props = new XltPropertiesImpl();
+        props.setProperty("com.xceptance.xlt.http.client.okhttp3.connectionPool.shared", "true");
+
+        final ConnectionPoolManager manager = new ConnectionPoolManager(props);
+        final ProxyConfig proxyConfig = new ProxyConfig("proxy", 8080, "http");
+
+        final PoolResources r1 = manager.acquire(mockSession("TOrder", 0), proxyCredentials("alice", "secret"), proxyConfig);
+        final PoolResources r2 = manager.acquire(mockSession("TOrder", 1), proxyCredentials("alice", "secret"), proxyConfig);
+        final PoolResources r3 = manager.acquire(mockSession("TOrder", 2), proxyCredentials("bob", "secret"), proxyConfig);
+        final PoolResources r4 = manager.acquire(mockSession("TOrder", 3), new BasicCredentialsProvider(), proxyConfig);
+
+        assertSame(r1, r2);
+        assertTrue(r1.isShared());
+        assertEquals("alice", r1.getProxyCredentials().getUserPrincipal().getName());
+
+        assertNotSame(r1, r3);
+        assertFalse(r3.isShared());
+        assertNotSame(r1.getProxyAuthenticator(), r3.getProxyAuthenticator());
+
+        assertNotSame(r1, r4);
+        assertFalse(r4.isShared());
+
+        manager.shutdown();
+    }
+
+    @Test
+    public void reuseRatio()
+    {
+        final ConnectionReuseListener listener = new ConnectionReuseListener();
+        assertEquals(-1, listener.getReuseRatioAndClear(), 0.0);
+
+        for (int i = 0; i < 4; i++)
+        {
+            listener.connectionAcquired(null, null);
+        }
+        listener.connectEnd(null, null, null, null);
+
+        assertEquals(0.75, listener.getReuseRatioAndClear(), 0.0);
+        assertEquals(-1, listener.getReuseRatioAndClear(), 0.0);
+    }
+}
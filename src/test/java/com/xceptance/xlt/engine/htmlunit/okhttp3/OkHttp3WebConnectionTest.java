@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.htmlunit.okhttp3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.htmlunit.WebClient;
+import org.htmlunit.WebRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.sun.net.httpserver.HttpServer;
+import com.xceptance.common.util.ssl.SharedSSLContextCache;
+import com.xceptance.xlt.engine.XltWebClient;
+import com.xceptance.xlt.util.XltPropertiesImpl;
+
+import okhttp3.Address;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class OkHttp3WebConnectionTest
+{
+    private HttpServer server;
+
+    private URL url;
+
+    @Before
+    public void startServer() throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            final byte[] body = "OK".getBytes(StandardCharsets.US_ASCII);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream out = exchange.getResponseBody())
+            {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        url = new URL("http://localhost:" + server.getAddress().getPort() + "/");
+    }
+
+    @After
+    public void stopServer()
+    {
+        server.stop(0);
+    }
+
+    @Test
+    public void requestsOfOneUserReuseConnection() throws Exception
+    {
+        final ConnectionPoolManager manager = new ConnectionPoolManager(new XltPropertiesImpl());
+
+        try (final WebClient webClient = new WebClient())
+        {
+            final OkHttp3WebConnection connection = new OkHttp3WebConnection(webClient, false, false, manager);
+
+            execute(connection, webClient);
+            execute(connection, webClient);
+
+            assertEquals(1, connection.getPoolResources().getConnectionPool().connectionCount());
+            assertEquals(0.5, connection.getPoolResources().getStatistics().getReuseRatioAndClear(), 0.0);
+        }
+        finally
+        {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void usersOfCohortReuseConnections() throws Exception
+    {
+        final XltPropertiesImpl props = new XltPropertiesImpl();
+        props.setProperty("com.xceptance.xlt.http.client.okhttp3.connectionPool.shared", "true");
+
+        final ConnectionPoolManager manager = new ConnectionPoolManager(props);
+
+        try (final WebClient webClient1 = new WebClient(); final WebClient webClient2 = new WebClient())
+        {
+            final OkHttp3WebConnection connection1 = new OkHttp3WebConnection(webClient1, false, false, manager);
+            final OkHttp3WebConnection connection2 = new OkHttp3WebConnection(webClient2, false, false, manager);
+
+            execute(connection1, webClient1);
+            execute(connection2, webClient2);
+
+            assertSame(connection1.getPoolResources(), connection2.getPoolResources());
+            assertEquals(1, connection1.getPoolResources().getConnectionPool().connectionCount());
+            assertEquals(0.5, connection1.getPoolResources().getStatistics().getReuseRatioAndClear(), 0.0);
+        }
+        finally
+        {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    public void sameAddressWithSharedSslContext() throws Exception
+    {
+        final ConnectionPoolManager manager = new ConnectionPoolManager(new XltPropertiesImpl());
+        final SharedSSLContextCache.Context sharedContext = new SharedSSLContextCache(0, 0).getInsecureContext("TLS", null, null);
+
+        try (final XltWebClient webClient = Mockito.spy(new XltWebClient()))
+        {
+            Mockito.doReturn(sharedContext).when(webClient).getSharedSSLContext();
+
+            final OkHttp3WebConnection connection = new OkHttp3WebConnection(webClient, false, false, manager);
+            final WebRequest webRequest = new WebRequest(new URL("https://localhost/"));
+
+            final OkHttpClient client1 = connection.createHttpClient(webClient, webRequest);
+            final OkHttpClient client2 = connection.createHttpClient(webClient, webRequest);
+
+            // pooled connections are reused only for equal addresses
+            assertSame(sharedContext.getSocketFactory(), client1.sslSocketFactory());
+            assertEquals(createAddress(client1), createAddress(client2));
+        }
+        finally
+        {
+            manager.shutdown();
+        }
+    }
+
+    private void execute(final OkHttp3WebConnection connection, final WebClient webClient) throws Exception
+    {
+        final OkHttpClient client = connection.createHttpClient(webClient, new WebRequest(url));
+        try (final Response response = client.newCall(new Request.Builder().url(url).build()).execute())
+        {
+            assertEquals("OK", response.body().string());
+        }
+    }
+
+    /**
+     * Creates the address for an HTTPS request in the same way as OkHttp does internally.
+     */
+    private static Address createAddress(final OkHttpClient client)
+    {
+        return new Address("localhost", 443, client.dns(), client.socketFactory(), client.sslSocketFactory(), client.hostnameVerifier(),
+                           client.certificatePinner(), client.proxyAuthenticator(), client.proxy(), client.protocols(),
+                           client.connectionSpecs(), client.proxySelector());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import com.xceptance.xlt.agentcontroller.IntervalStatistics;
+import com.xceptance.xlt.agentcontroller.TimerStatistics;
+import com.xceptance.xlt.api.engine.ActionData;
+import com.xceptance.xlt.api.engine.RequestData;
+import com.xceptance.xlt.api.engine.TransactionData;
+
+public class IntervalStatisticsCollectorTest
+{
+    private static ActionData action(final String name, final long time, final int runTime, final boolean failed)
+    {
+        final ActionData data = new ActionData(name);
+        data.setTime(time);
+        data.setRunTime(runTime);
+        data.setFailed(failed);
+
+        return data;
+    }
+
+    @Test
+    public void testIntervals()
+    {
+        final IntervalStatisticsCollector collector = new IntervalStatisticsCollector(true, 5000);
+
+        // the first call starts the first interval
+        assertTrue(collector.getIntervalStatistics(12_000).isEmpty());
+
+        collector.reportMetrics(action("Login", 12_000, 100, false));
+        collector.reportMetrics(action("Login", 12_500, 300, true));
+
+        final TransactionData transaction = new TransactionData("TOrder");
+        transaction.setTime(12_000);
+        collector.reportMetrics(transaction);
+
+        collector.reportMetrics(new RequestData("Login.1"));
+
+        // still in the same interval
+        assertTrue(collector.getIntervalStatistics(14_999).isEmpty());
+
+        List<IntervalStatistics> intervals = collector.getIntervalStatistics(15_000);
+        assertEquals(1, intervals.size());
+
+        final IntervalStatistics interval = intervals.get(0);
+        assertEquals(10_000, interval.getStartTime());
+        assertEquals(15_000, interval.getEndTime());
+        assertEquals(2, interval.getTimerStatistics().size());
+
+        final TimerStatistics login = interval.getTimerStatistics().stream().filter(s -> s.getName().equals("Login")).findFirst().get();
+        assertEquals("Action", login.getType());
+        assertEquals(2, login.getCount());
+        assertEquals(1, login.getErrors());
+
+        // empty intervals carry no timer statistics, and only the most recent intervals are kept
+        for (int i = 1; i <= IntervalStatisticsCollector.HISTORY_SIZE; i++)
+        {
+            intervals = collector.getIntervalStatistics(15_000 + i * 5000);
+        }
+
+        assertEquals(IntervalStatisticsCollector.HISTORY_SIZE, intervals.size());
+        assertEquals(30_000, intervals.get(intervals.size() - 1).getEndTime());
+        assertTrue(intervals.get(0).getTimerStatistics().isEmpty());
+    }
+
+    @Test
+    public void testIntervalsCompletedByRecords()
+    {
+        final IntervalStatisticsCollector collector = new IntervalStatisticsCollector(true, 5000);
+
+        // the first record starts the first interval
+        collector.reportMetrics(action("Login", 11_000, 500, false));
+        collector.reportMetrics(action("Login", 13_000, 1500, false));
+
+        // a record that ends in the next interval completes the first one, no matter when the statistics are queried
+        collector.reportMetrics(action("Login", 14_000, 2000, false));
+        collector.reportMetrics(action("Login", 16_000, 500, false));
+
+        // a late record of the first interval is counted in the current one
+        collector.reportMetrics(action("Login", 12_000, 100, false));
+
+        List<IntervalStatistics> intervals = collector.getIntervalStatistics(16_500);
+        assertEquals(1, intervals.size());
+        assertEquals(10_000, intervals.get(0).getStartTime());
+        assertEquals(15_000, intervals.get(0).getEndTime());
+        assertEquals(2, intervals.get(0).getTimerStatistics().get(0).getCount());
+
+        collector.reportMetrics(action("Login", 21_000, 100, false));
+
+        intervals = collector.getIntervalStatistics(21_500);
+        assertEquals(2, intervals.size());
+        assertEquals(15_000, intervals.get(1).getStartTime());
+        assertEquals(20_000, intervals.get(1).getEndTime());
+        assertEquals(3, intervals.get(1).getTimerStatistics().get(0).getCount());
+    }
+
+    @Test
+    public void testCountsAreConservedUnderConcurrentUpdates() throws Exception
+    {
+        // keep all intervals, so the counts can be summed up at the end
+        final IntervalStatisticsCollector collector = new IntervalStatisticsCollector(true, 1, Integer.MAX_VALUE);
+
+        final int threadCount = 8;
+        final int recordsPerThread = 20_000;
+        final AtomicBoolean done = new AtomicBoolean();
+
+        // keep completing intervals while the records come in
+        final Thread queryThread = new Thread(() -> {
+            long now = 0;
+            while (!done.get())
+            {
+                collector.getIntervalStatistics(now++);
+            }
+        });
+        queryThread.start();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        for (int t = 0; t < threadCount; t++)
+        {
+            executor.execute(() -> {
+                for (int i = 0; i < recordsPerThread; i++)
+                {
+                    // every new end time completes the current interval
+                    collector.reportMetrics(action("Login", i, 0, false));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        done.set(true);
+        queryThread.join();
+
+        final long count = collector.getIntervalStatistics(Long.MAX_VALUE / 2).stream().flatMap(s -> s.getTimerStatistics().stream())
+                                    .mapToLong(TimerStatistics::getCount).sum();
+        assertEquals(threadCount * recordsPerThread, count);
+    }
+
+    @Test
+    public void testDisabled()
+    {
+        final IntervalStatisticsCollector collector = new IntervalStatisticsCollector(false, 5000);
+
+        collector.getIntervalStatistics(0);
+        collector.reportMetrics(action("Login", 1000, 100, false));
+
+        assertTrue(collector.getIntervalStatistics(60_000).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.metrics;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xceptance.xlt.engine.metrics.ValueMetric.Snapshot;
+
+/**
+ * Tests the implementation of {@link ValueMetric} and {@link ValueHistogram}.
+ */
+public class ValueMetricTest
+{
+    @Test
+    public void snapshot()
+    {
+        final ValueMetric metric = new ValueMetric();
+        metric.update(10);
+        metric.update(30);
+        metric.update(20);
+
+        Snapshot snapshot = metric.getSnapshotAndClear();
+        Assert.assertEquals(3, snapshot.getCount());
+        Assert.assertEquals(10, snapshot.getMinimum());
+        Assert.assertEquals(30, snapshot.getMaximum());
+        Assert.assertEquals(60, snapshot.getSum());
+        Assert.assertEquals(20.0, snapshot.getMean(), 0.0);
+        Assert.assertFalse(snapshot.hasPercentiles());
+
+        // cleared
+        snapshot = metric.getSnapshotAndClear();
+        Assert.assertEquals(0, snapshot.getCount());
+        Assert.assertEquals(0, snapshot.getMinimum());
+        Assert.assertEquals(0, snapshot.getMaximum());
+    }
+
+    @Test
+    public void percentiles()
+    {
+        final ValueMetric metric = new ValueMetric(true);
+        for (int i = 1; i <= 1000; i++)
+        {
+            metric.update(i);
+        }
+
+        final Snapshot snapshot = metric.getSnapshotAndClear();
+        Assert.assertTrue(snapshot.hasPercentiles());
+        assertWithinRelativeError(500, snapshot.getPercentile(50));
+        assertWithinRelativeError(950, snapshot.getPercentile(95));
+        assertWithinRelativeError(990, snapshot.getPercentile(99));
+        assertWithinRelativeError(1000, snapshot.getPercentile(100));
+
+        Assert.assertFalse(metric.getSnapshotAndClear().hasPercentiles());
+    }
+
+    @Test
+    public void histogramBuckets()
+    {
+        // small values are exact
+        for (int i = 0; i < 16; i++)
+        {
+            Assert.assertEquals(i, ValueHistogram.getHighestValueInBucket(ValueHistogram.getBucketIndex(i)));
+        }
+
+        // larger values are mapped to a bucket covering them
+        for (final int value : new int[]
+            {
+                16, 17, 31, 32, 33, 1000, 65535, 65536, Integer.MAX_VALUE
+            })
+        {
+            final int index = ValueHistogram.getBucketIndex(value);
+            Assert.assertTrue(index < ValueHistogram.BUCKET_COUNT);
+            Assert.assertTrue(ValueHistogram.getHighestValueInBucket(index) >= value);
+            if (index > 0)
+            {
+                Assert.assertTrue(ValueHistogram.getHighestValueInBucket(index - 1) < value);
+            }
+        }
+    }
+
+    @Test
+    public void concurrentUpdatesAreNotLost() throws Exception
+    {
+        final ValueMetric metric = new ValueMetric(true);
+        final CounterMetric counter = new CounterMetric();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++)
+        {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++)
+                {
+                    metric.update(i % 100);
+                    counter.update(1);
+                }
+            });
+        }
+
+        executor.shutdown();
+
+        // take snapshots while updates are running
+        long count = 0;
+        long sum = 0;
+        long counterSum = 0;
+        boolean done = false;
+        while (!done)
+        {
+            done = executor.awaitTermination(1, TimeUnit.MILLISECONDS);
+
+            final Snapshot snapshot = metric.getSnapshotAndClear();
+            count += snapshot.getCount();
+            sum += snapshot.getSum();
+
+            final Long c = counter.getCountAndClear();
+            counterSum += (c == null) ? 0 : c;
+        }
+
+        Assert.assertEquals(80_000, count);
+        Assert.assertEquals(8 * 100 * 4950, sum);
+        Assert.assertEquals(80_000, counterSum);
+    }
+
+    private static void assertWithinRelativeError(final int expected, final int actual)
+    {
+        Assert.assertTrue("expected about " + expected + ", but was " + actual, actual >= expected && actual <= expected * 1.0625);
+    }
+}
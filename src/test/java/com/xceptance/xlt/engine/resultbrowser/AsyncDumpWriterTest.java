@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import com.xceptance.xlt.api.engine.CustomValue;
+import com.xceptance.xlt.engine.DataManagerImpl;
+import com.xceptance.xlt.engine.SessionImpl;
+
+public class AsyncDumpWriterTest
+{
+    private SessionImpl session;
+
+    private DataManagerImpl dataManager;
+
+    @Before
+    public void setUp()
+    {
+        dataManager = Mockito.mock(DataManagerImpl.class);
+
+        session = Mockito.mock(SessionImpl.class);
+        Mockito.when(session.getDataManager()).thenReturn(dataManager);
+        Mockito.when(session.isLoadTest()).thenReturn(true);
+    }
+
+    @Test
+    public void enabledForLoadTestsOnly()
+    {
+        final AsyncDumpWriter writer = new AsyncDumpWriter(true, 1, 1, false, 0);
+        assertTrue(writer.isEnabled(session));
+
+        Mockito.when(session.isLoadTest()).thenReturn(false);
+        assertFalse(writer.isEnabled(session));
+
+        assertFalse(new AsyncDumpWriter(false, 1, 1, false, 0).isEnabled());
+    }
+
+    @Test
+    public void dropWhenFull() throws Exception
+    {
+        final AsyncDumpWriter writer = new AsyncDumpWriter(true, 1, 1, false, 0);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger written = new AtomicInteger();
+
+        // occupy the worker and fill the queue
+        assertTrue(writer.submit(() -> {
+            started.countDown();
+            await(release);
+            written.incrementAndGet();
+            return 100;
+        }, session));
+        started.await();
+        assertTrue(writer.submit(() -> {
+            written.incrementAndGet();
+            return 50;
+        }, session));
+
+        // no room left
+        assertFalse(writer.submit(() -> {
+            written.incrementAndGet();
+            return 0;
+        }, session));
+
+        release.countDown();
+        writer.shutdown(10_000);
+
+        assertEquals(2, written.get());
+        assertEquals(2, writer.getWrittenDumps());
+        assertEquals(1, writer.getDroppedDumps());
+        assertEquals(150, writer.getDiskUsage());
+        Mockito.verify(dataManager).logDataRecord(ArgumentMatchers.argThat(data -> data instanceof CustomValue &&
+                                                                                   data.getName().equals(AsyncDumpWriter.DROPPED_DUMP_VALUE_NAME)));
+    }
+
+    @Test
+    public void blockWhenFull() throws Exception
+    {
+        final AsyncDumpWriter writer = new AsyncDumpWriter(true, 1, 1, true, 0);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        writer.submit(() -> {
+            started.countDown();
+            await(release);
+            return 0;
+        }, session);
+        started.await();
+        writer.submit(() -> 0, session);
+
+        // release the worker a bit later, so the next submit has to wait
+        new Thread(() -> {
+            sleep(300);
+            release.countDown();
+        }).start();
+
+        assertTrue(writer.submit(() -> 0, session));
+        writer.shutdown(10_000);
+
+        assertEquals(3, writer.getWrittenDumps());
+        assertEquals(0, writer.getDroppedDumps());
+        assertEquals(1, writer.getBlockedDumps());
+        Mockito.verify(dataManager).logDataRecord(ArgumentMatchers.argThat(data -> data instanceof CustomValue &&
+                                                                                   data.getName().equals(AsyncDumpWriter.BLOCKED_DUMP_VALUE_NAME)));
+    }
+
+    @Test
+    public void diskBudget() throws Exception
+    {
+        final AsyncDumpWriter writer = new AsyncDumpWriter(true, 1, 10, false, 1000);
+
+        assertTrue(writer.submit(() -> 1000, session));
+        while (writer.getWrittenDumps() == 0)
+        {
+            Thread.sleep(10);
+        }
+
+        // the budget is exhausted
+        assertFalse(writer.submit(() -> 0, session));
+        writer.shutdown(10_000);
+
+        assertEquals(1, writer.getWrittenDumps());
+        assertEquals(1, writer.getDroppedDumps());
+    }
+
+    @Test
+    public void writeDirectlyAfterShutdown()
+    {
+        final AsyncDumpWriter writer = new AsyncDumpWriter(true, 1, 10, false, 0);
+        writer.shutdown(10_000);
+
+        final AtomicInteger written = new AtomicInteger();
+        assertFalse(writer.isEnabled(session));
+        assertTrue(writer.submit(() -> written.incrementAndGet(), session));
+        assertEquals(1, written.get());
+    }
+
+    @Test
+    public void discardPendingDumpsAfterTimeout() throws Exception
+    {
+        final AsyncDumpWriter writer = new AsyncDumpWriter(true, 1, 1, false, 0);
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger discarded = new AtomicInteger();
+
+        // occupy the worker until the shutdown gives up, and fill the queue
+        writer.submit(() -> {
+            started.countDown();
+            await(release);
+            return 0;
+        }, session);
+        started.await();
+        assertTrue(writer.submit(new AsyncDumpWriter.DumpTask()
+        {
+            @Override
+            public long write()
+            {
+                return 0;
+            }
+
+            @Override
+            public void discard()
+            {
+                discarded.incrementAndGet();
+            }
+        }, session));
+
+        // the stop task does not fit into the queue, but the shutdown must not wait longer than allowed
+        final long start = System.currentTimeMillis();
+        writer.shutdown(200);
+        assertTrue(System.currentTimeMillis() - start < 5_000);
+
+        assertEquals(1, discarded.get());
+        assertEquals(1, writer.getDroppedDumps());
+        assertFalse(writer.isEnabled(session));
+    }
+
+    private static void await(final CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(final long millis)
+    {
+        try
+        {
+            Thread.sleep(millis);
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ContentBlobStoreTest
+{
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void sameContentIsStoredOnce() throws IOException
+    {
+        final Path root = tempFolder.getRoot().toPath();
+        final ContentBlobStore store = new ContentBlobStore(root.resolve(".blobs"));
+
+        final Path file1 = root.resolve("TOrder/0/output/1/responses/0001-app.js");
+        final Path file2 = root.resolve("TOrder/1/output/2/responses/0003-app.js");
+        final Path file3 = root.resolve("TOrder/1/output/2/responses/0004-other.js");
+
+        assertEquals(10, store.store(stream("var a = 1;"), file1));
+        assertEquals(0, store.store(stream("var a = 1;"), file2));
+        assertEquals(10, store.store(stream("var b = 2;"), file3));
+
+        assertEquals("var a = 1;", Files.readString(file1));
+        assertEquals("var a = 1;", Files.readString(file2));
+        assertEquals("var b = 2;", Files.readString(file3));
+
+        assertEquals(2, store.getStoredBlobs());
+        assertEquals(1, store.getReusedBlobs());
+        assertEquals(2, countBlobs(root.resolve(".blobs")));
+        assertTrue(Files.isSameFile(file1, file2));
+    }
+
+    @Test
+    public void existingLinkIsReplacedNotOverwritten() throws IOException
+    {
+        final Path root = tempFolder.getRoot().toPath();
+        final ContentBlobStore store = new ContentBlobStore(root.resolve(".blobs"));
+
+        final Path file1 = root.resolve("a/cache/1");
+        final Path file2 = root.resolve("b/cache/1");
+
+        store.store(stream("old"), file1);
+        store.store(stream("old"), file2);
+        store.store(stream("new"), file2);
+
+        assertEquals("old", Files.readString(file1));
+        assertEquals("new", Files.readString(file2));
+    }
+
+    @Test
+    public void newGenerationIsStartedIfBlobIsFull() throws IOException
+    {
+        final Path root = tempFolder.getRoot().toPath();
+        final Map<Path, Integer> links = new HashMap<>();
+
+        // allow only two links per blob
+        final ContentBlobStore store = new ContentBlobStore(root.resolve(".blobs"))
+        {
+            @Override
+            void createLink(final Path link, final Path blob) throws IOException
+            {
+                if (links.merge(blob, 1, Integer::sum) > 2)
+                {
+                    throw new FileSystemException(link.toString(), blob.toString(), "Too many links");
+                }
+
+                super.createLink(link, blob);
+            }
+        };
+
+        long written = 0;
+        for (int i = 0; i < 5; i++)
+        {
+            written += store.store(stream("var a = 1;"), root.resolve("TOrder/" + i + "/app.js"));
+        }
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertEquals("var a = 1;", Files.readString(root.resolve("TOrder/" + i + "/app.js")));
+        }
+
+        assertTrue(Files.isSameFile(root.resolve("TOrder/0/app.js"), root.resolve("TOrder/1/app.js")));
+        assertTrue(Files.isSameFile(root.resolve("TOrder/2/app.js"), root.resolve("TOrder/3/app.js")));
+        assertFalse(Files.isSameFile(root.resolve("TOrder/1/app.js"), root.resolve("TOrder/2/app.js")));
+        assertEquals(3, countBlobs(root.resolve(".blobs")));
+        assertEquals(30, written);
+        assertEquals(1, store.getStoredBlobs());
+        assertEquals(4, store.getReusedBlobs());
+    }
+
+    @Test
+    public void purgeUnreferenced() throws IOException
+    {
+        final Path root = tempFolder.getRoot().toPath();
+        final ContentBlobStore store = new ContentBlobStore(root.resolve(".blobs"));
+
+        final Path file1 = root.resolve("a/1");
+        final Path file2 = root.resolve("b/2");
+
+        store.store(stream("one"), file1);
+        store.store(stream("two"), file2);
+        Files.delete(file1);
+
+        store.purgeUnreferenced();
+
+        assertEquals(1, countBlobs(root.resolve(".blobs")));
+        assertEquals("two", Files.readString(file2));
+
+        store.delete();
+
+        assertFalse(Files.exists(root.resolve(".blobs")));
+        assertEquals("two", Files.readString(file2));
+    }
+
+    private static ByteArrayInputStream stream(final String content)
+    {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long countBlobs(final Path directory) throws IOException
+    {
+        try (final Stream<Path> files = Files.walk(directory))
+        {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
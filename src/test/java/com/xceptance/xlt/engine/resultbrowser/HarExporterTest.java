@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.htmlunit.util.NameValuePair;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class HarExporterTest
+{
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void bodiesAreReferencedOnly() throws IOException
+    {
+        final JsonNode log = export(0).get("log");
+
+        assertEquals("1.2", log.get("version").asText());
+        assertEquals(1, log.get("pages").size());
+        assertEquals("page_0", log.get("pages").get(0).get("id").asText());
+        assertEquals(3, log.get("entries").size());
+
+        final JsonNode content = log.get("entries").get(0).get("response").get("content");
+        assertEquals("responses/0001.html", content.get("_file").asText());
+        assertEquals(13, content.get("size").asLong());
+        assertFalse(content.has("text"));
+    }
+
+    @Test
+    public void textBodiesAreIncludedAndTruncated() throws IOException
+    {
+        final JsonNode entries = export(5).get("log").get("entries");
+
+        final JsonNode htmlContent = entries.get(0).get("response").get("content");
+        assertEquals("<html", htmlContent.get("text").asText());
+        assertEquals("truncated", htmlContent.get("comment").asText());
+
+        // binary bodies are never included
+        final JsonNode imageContent = entries.get(1).get("response").get("content");
+        assertEquals("responses/0002.png", imageContent.get("_file").asText());
+        assertFalse(imageContent.has("text"));
+    }
+
+    @Test
+    public void shortTextBodiesAreNotTruncated() throws IOException
+    {
+        final JsonNode content = export(100).get("log").get("entries").get(0).get("response").get("content");
+
+        assertEquals("<html/>äöü", content.get("text").asText());
+        assertFalse(content.has("comment"));
+    }
+
+    @Test
+    public void textBodiesAreDecodedWithTheResponseCharset() throws IOException
+    {
+        final JsonNode content = export(100).get("log").get("entries").get(2).get("response").get("content");
+
+        assertEquals("p:after{content:'äöü'}", content.get("text").asText());
+    }
+
+    private JsonNode export(final int maxBodySize) throws IOException
+    {
+        final File dumpDirectory = tempFolder.newFolder();
+        FileUtils.writeStringToFile(new File(dumpDirectory, "responses/0001.html"), "<html/>äöü", StandardCharsets.UTF_8);
+        FileUtils.writeByteArrayToFile(new File(dumpDirectory, "responses/0002.png"), new byte[]
+            {
+                (byte) 0x89, 'P', 'N', 'G'
+            });
+        FileUtils.writeStringToFile(new File(dumpDirectory, "responses/0003.css"), "p:after{content:'äöü'}", StandardCharsets.ISO_8859_1);
+
+        final TransactionInfo transaction = new TransactionInfo();
+        final ActionInfo action = new ActionInfo();
+        action.name = "Homepage";
+        transaction.actions.add(action);
+
+        action.requests.add(createRequest("https://localhost/", "text/html", "responses/0001.html"));
+        action.requests.add(createRequest("https://localhost/logo.png", "image/png", "responses/0002.png"));
+
+        final RequestInfo cssRequest = createRequest("https://localhost/style.css", "text/css", "responses/0003.css");
+        cssRequest.responseHeaders.add(new NameValuePair("Content-Type", "text/css; charset=ISO-8859-1"));
+        action.requests.add(cssRequest);
+
+        final File harFile = new File(dumpDirectory, "data.har");
+        new HarExporter(transaction, dumpDirectory, maxBodySize).exportToHAR(harFile);
+
+        final JsonNode har = new ObjectMapper().readTree(harFile);
+        assertTrue(har.has("log"));
+
+        return har;
+    }
+
+    private static RequestInfo createRequest(final String url, final String mimeType, final String fileName)
+    {
+        final RequestInfo request = new RequestInfo();
+        request.url = url;
+        request.mimeType = mimeType;
+        request.fileName = fileName;
+        request.startTime = 1000L;
+        request.requestMethod = "GET";
+        request.responseCode = 200;
+        request.status = "200 - OK";
+
+        return request;
+    }
+}
@@ -33,6 +33,7 @@ import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import com.xceptance.common.lang.ReflectionUtils;
 import com.xceptance.xlt.api.engine.Data;
 import com.xceptance.xlt.api.htmlunit.LightWeightPage;
 import com.xceptance.xlt.common.XltConstants;
@@ -555,4 +556,14 @@ public class RequestHistoryTest
 
         Mockito.verify(history.getDumpManager(), Mockito.never()).dump((Page) ArgumentMatchers.any());
     }
+
+    /**
+     * Tests that no response body is copied by default, not even if dumps may be written in the background.
+     */
+    @Test
+    public void responsesAreNotStoredByDefault()
+    {
+        final RequestHistory history = getRequestHistory();
+        Assert.assertNull(ReflectionUtils.readInstanceField(history, "responseContentStore"));
+    }
 }
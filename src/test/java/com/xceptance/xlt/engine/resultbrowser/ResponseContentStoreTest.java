@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.htmlunit.DownloadedContent;
+import org.htmlunit.HttpMethod;
+import org.htmlunit.HttpWebConnection;
+import org.htmlunit.WebResponse;
+import org.htmlunit.WebResponseData;
+import org.htmlunit.util.NameValuePair;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the implementation of {@link ResponseContentStore}.
+ */
+public class ResponseContentStoreTest
+{
+    private static WebResponse createResponse(final String body, final String contentType) throws Exception
+    {
+        final List<NameValuePair> headers = new ArrayList<>();
+        headers.add(new NameValuePair("Content-Type", contentType));
+
+        final WebResponseData data = new WebResponseData(body.getBytes(StandardCharsets.UTF_8), 200, "OK", headers);
+
+        return new WebResponse(data, new URL("http://localhost/"), HttpMethod.GET, 42);
+    }
+
+    @Test
+    public void textIsCompressed() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(true, 0);
+        final String body = StringUtils.repeat("<p>Hello World</p>", 1000);
+
+        final WebResponse original = createResponse(body, "text/html");
+        final WebResponse stored = store.store(original);
+
+        Assert.assertNotSame(original, stored);
+        Assert.assertEquals(body, stored.getContentAsString());
+        Assert.assertEquals(body.length(), stored.getContentLength());
+        Assert.assertEquals(200, stored.getStatusCode());
+        Assert.assertEquals("text/html", stored.getContentType());
+        Assert.assertEquals(42, stored.getLoadTime());
+    }
+
+    @Test
+    public void binaryIsKeptAsIs() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(true, 0);
+
+        final WebResponse original = createResponse("PNG", "image/png");
+        Assert.assertSame(original, store.store(original));
+    }
+
+    @Test
+    public void oldestContentsAreSpilled() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(false, 100);
+
+        final List<WebResponse> stored = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            stored.add(store.store(createResponse(StringUtils.repeat(String.valueOf(i), 60), "image/png")));
+        }
+
+        // only the latest body fits into memory
+        Assert.assertEquals(60, store.getMemorySize());
+        Assert.assertEquals(240, store.getSpillSize());
+
+        for (int i = 0; i < 5; i++)
+        {
+            Assert.assertEquals(StringUtils.repeat(String.valueOf(i), 60), stored.get(i).getContentAsString());
+        }
+
+        store.clear();
+        Assert.assertEquals(0, store.getMemorySize());
+        Assert.assertEquals(0, store.getSpillSize());
+    }
+
+    @Test
+    public void compressedContentsAreSpilled() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(true, 1);
+        final String body = StringUtils.repeat("{\"key\": \"value\"}", 500);
+
+        final WebResponse stored = store.store(createResponse(body, "application/json"));
+
+        Assert.assertEquals(0, store.getMemorySize());
+        Assert.assertTrue(store.getSpillSize() > 0);
+        Assert.assertTrue(store.getSpillSize() < body.length());
+        Assert.assertEquals(body, stored.getContentAsString());
+
+        store.clear();
+    }
+
+    @Test
+    public void smallTextIsKeptAsIs() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(true, 0);
+
+        final WebResponse original = createResponse("<p>Hello World</p>", "text/html");
+        Assert.assertSame(original, store.store(original));
+    }
+
+    @Test
+    public void fileBackedContentIsKeptAsIs() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(true, 100);
+        final String body = StringUtils.repeat("<p>Hello World</p>", 1000);
+
+        final WebResponse original = createFileBackedResponse(body, "text/html");
+        Assert.assertTrue(original.isContentOnFile());
+        Assert.assertSame(original, store.store(original));
+        Assert.assertEquals(0, store.getMemorySize());
+
+        original.cleanUp();
+    }
+
+    @Test
+    public void fileBackedContentIsCopiedToSpillFileWhenDetached() throws Exception
+    {
+        final ResponseContentStore store = new ResponseContentStore(false, 0);
+        final String body = StringUtils.repeat("<p>Hello World</p>", 1000);
+
+        final WebResponse original = createFileBackedResponse(body, "text/html");
+        Assert.assertSame(original, store.store(original));
+
+        final WebResponse stored = store.detach(original);
+
+        // the original file may go away now
+        original.cleanUp();
+
+        Assert.assertNotSame(original, stored);
+        Assert.assertEquals(0, store.getMemorySize());
+        Assert.assertEquals(body.length(), store.getSpillSize());
+        Assert.assertEquals(body.length(), stored.getContentLength());
+        Assert.assertEquals(body, stored.getContentAsString());
+
+        store.clear();
+    }
+
+    private static WebResponse createFileBackedResponse(final String body, final String contentType) throws Exception
+    {
+        final List<NameValuePair> headers = new ArrayList<>();
+        headers.add(new NameValuePair("Content-Type", contentType));
+
+        final DownloadedContent content = HttpWebConnection.downloadContent(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                                                                            10, null);
+        final WebResponseData data = new WebResponseData(content, 200, "OK", headers);
+
+        return new WebResponse(data, new URL("http://localhost/"), HttpMethod.GET, 42);
+    }
+
+    @Test
+    public void compressibleContentTypes()
+    {
+        Assert.assertTrue(ResponseContentStore.isCompressible("text/html"));
+        Assert.assertTrue(ResponseContentStore.isCompressible("application/json"));
+        Assert.assertTrue(ResponseContentStore.isCompressible("application/javascript"));
+        Assert.assertTrue(ResponseContentStore.isCompressible("image/svg+xml"));
+        Assert.assertFalse(ResponseContentStore.isCompressible("image/png"));
+        Assert.assertFalse(ResponseContentStore.isCompressible("font/woff2"));
+        Assert.assertFalse(ResponseContentStore.isCompressible(""));
+    }
+}
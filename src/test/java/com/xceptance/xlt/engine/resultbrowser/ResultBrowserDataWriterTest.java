@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.engine.resultbrowser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.htmlunit.util.NameValuePair;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.json.AbstractJsonWriter;
+import com.thoughtworks.xstream.io.json.JsonHierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.json.JsonWriter;
+
+public class ResultBrowserDataWriterTest
+{
+    private static final String PREFIX = "var jsonData = ";
+
+    @Test
+    public void sameDataAsXStream() throws IOException
+    {
+        final TransactionInfo transaction = createTransaction();
+
+        final String expected = writeWithXStream(transaction);
+        final String actual = write(transaction);
+
+        assertTrue(actual.startsWith(PREFIX));
+
+        final ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(StringUtils.removeStart(expected, PREFIX)), mapper.readTree(StringUtils.removeStart(actual, PREFIX)));
+    }
+
+    @Test
+    public void nullValuesAreOmitted() throws IOException
+    {
+        final TransactionInfo transaction = new TransactionInfo();
+        final ActionInfo action = new ActionInfo();
+        action.name = "Homepage";
+        action.requests.add(new RequestInfo());
+        transaction.actions.add(action);
+
+        final JsonNode json = new ObjectMapper().readTree(StringUtils.removeStart(write(transaction), PREFIX));
+
+        assertFalse(json.has("user"));
+        assertTrue(json.get("valueLog").isArray());
+
+        final JsonNode actionJson = json.get("actions").get(0);
+        assertFalse(actionJson.has("fileName"));
+        assertEquals("Homepage", actionJson.get("name").asText());
+
+        final JsonNode requestJson = actionJson.get("requests").get(0);
+        assertFalse(requestJson.has("url"));
+        assertEquals(0, requestJson.get("responseCode").asInt());
+        assertEquals(0, requestJson.get("requestHeaders").size());
+    }
+
+    private static TransactionInfo createTransaction()
+    {
+        final TransactionInfo transaction = new TransactionInfo();
+        transaction.user = "TOrder";
+        transaction.date = 1234567890L;
+        transaction.valueLog.add(new NameValuePair("email", "joe@example.org"));
+
+        final ActionInfo action = new ActionInfo();
+        action.fileName = "0001-Homepage.html";
+        action.name = "Homepage";
+        action.events.add(new ActionInfo.PageLoadEventInfo("LoadEventEnd", 1L, 2L));
+        transaction.actions.add(action);
+
+        final RequestInfo request = new RequestInfo();
+        request.fileName = "responses/0001.html";
+        request.startTime = 1234567891L;
+        request.loadTime = 42;
+        request.mimeType = "text/html";
+        request.name = "index.html";
+        request.requestHeaders.add(new NameValuePair("Accept", "text/html"));
+        request.requestMethod = "POST";
+        request.requestParameters.add(new NameValuePair("q", "\"quoted\" \\ <script>ä"));
+        request.responseCode = 200;
+        request.responseHeaders.add(new NameValuePair("Content-Type", "text/html; charset=UTF-8"));
+        request.status = "200 - OK";
+        request.url = "https://localhost/index.html?q=1";
+        request.protocol = "HTTP/2";
+        request.formDataEncoding = "application/x-www-form-urlencoded";
+        action.requests.add(request);
+
+        final RequestInfo request2 = new RequestInfo();
+        request2.name = "app.js";
+        request2.url = "https://localhost/app.js";
+        request2.requestBodyRaw = "line1\nline2\ttab";
+        action.requests.add(request2);
+
+        return transaction;
+    }
+
+    private static String write(final TransactionInfo transaction) throws IOException
+    {
+        final StringWriter writer = new StringWriter();
+        ResultBrowserDataWriter.write(transaction, writer);
+
+        return writer.toString();
+    }
+
+    /**
+     * The way the data file was generated before.
+     */
+    private static String writeWithXStream(final TransactionInfo transaction)
+    {
+        final XStream xstream = new XStream(new JsonHierarchicalStreamDriver()
+        {
+            @Override
+            public HierarchicalStreamWriter createWriter(final Writer writer)
+            {
+                return new JsonWriter(writer, AbstractJsonWriter.DROP_ROOT_MODE);
+            }
+        });
+        xstream.setMode(XStream.NO_REFERENCES);
+
+        return PREFIX + xstream.toXML(transaction);
+    }
+}
@@ -21,9 +21,13 @@ import java.util.Arrays;
 import java.util.Deque;
 import java.util.List;
 
+import javax.net.ssl.SSLSession;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
+import com.xceptance.xlt.api.engine.RequestData;
 import com.xceptance.xlt.engine.util.TimerUtils;
 
 /**
@@ -50,6 +54,40 @@ public class SocketStatisticsTest
         Assert.assertEquals(0, s.getTimeToLastBytes());
     }
 
+    @Test
+    public final void testTlsHandshake()
+    {
+        final SocketMonitor mon = new SocketMonitor(MockTimerUtils.get(10000L, 10100L, 10200L, 10300L));
+
+        // keep-alive connection -> no handshake at all
+        mon.tlsSessionUsed(mockSession(System.currentTimeMillis()));
+        Assert.assertNull(mon.getSocketStatistics().getTlsHandshake());
+
+        // new connection with new session -> full handshake
+        mon.connectingStarted();
+        mon.connected();
+        mon.tlsSessionUsed(mockSession(System.currentTimeMillis() + 1));
+        Assert.assertEquals(RequestData.TLS_HANDSHAKE_FULL, mon.getSocketStatistics().getTlsHandshake());
+
+        // new connection with previously established session -> resumed handshake
+        mon.reset();
+        mon.connectingStarted();
+        mon.connected();
+        mon.tlsSessionUsed(mockSession(System.currentTimeMillis() - 60_000));
+        Assert.assertEquals(RequestData.TLS_HANDSHAKE_RESUMED, mon.getSocketStatistics().getTlsHandshake());
+
+        mon.reset();
+        Assert.assertNull(mon.getSocketStatistics().getTlsHandshake());
+    }
+
+    private static SSLSession mockSession(final long creationTime)
+    {
+        final SSLSession session = Mockito.mock(SSLSession.class);
+        Mockito.when(session.getCreationTime()).thenReturn(creationTime);
+
+        return session;
+    }
+
     @Test
     public final void testDnsLookUp()
     {
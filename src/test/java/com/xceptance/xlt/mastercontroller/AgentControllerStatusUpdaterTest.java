@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.mastercontroller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.xceptance.xlt.agentcontroller.AgentController;
+import com.xceptance.xlt.agentcontroller.AgentControllerStatus;
+
+/**
+ * Tests the implementation of {@link AgentControllerStatusUpdater}.
+ */
+public class AgentControllerStatusUpdaterTest
+{
+    /**
+     * The status listener must be called with the status of all agent controllers after each status update.
+     */
+    @Test
+    public void statusListenerIsNotifiedAfterUpdate() throws Exception
+    {
+        final AgentController agentController = Mockito.mock(AgentController.class);
+        Mockito.when(agentController.getName()).thenReturn("ac1");
+        Mockito.when(agentController.getStatus()).thenReturn(new AgentControllerStatus(List.of(), List.of()));
+
+        final BlockingQueue<List<AgentControllerStatusInfo>> notifications = new LinkedBlockingQueue<>();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            final AgentControllerStatusUpdater updater = new AgentControllerStatusUpdater(executor,
+                                                                                          statuses -> notifications.add(new ArrayList<>(statuses)));
+            updater.start(List.of(agentController), 1000);
+
+            final List<AgentControllerStatusInfo> statuses = notifications.poll(10, TimeUnit.SECONDS);
+            Assert.assertNotNull("Listener not notified", statuses);
+            Assert.assertEquals(1, statuses.size());
+            Assert.assertSame(updater.getAgentControllerStatusMap().get("ac1"), statuses.get(0));
+
+            updater.stop();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
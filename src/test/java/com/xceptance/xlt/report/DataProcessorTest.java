@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.vfs2.FileObject;
+import org.apache.commons.vfs2.VFS;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.xceptance.common.lang.ReflectionUtils;
+import com.xceptance.xlt.api.engine.Data;
+import com.xceptance.xlt.api.engine.TransactionData;
+import com.xceptance.xlt.api.report.AbstractReportProvider;
+import com.xceptance.xlt.common.XltConstants;
+
+/**
+ * Tests the parallel scan of local input directories by {@link DataProcessor}.
+ */
+public class DataProcessorTest extends ReportGeneratorConfigurationTestBase
+{
+    private static final int RECORDS_PER_USER = 10;
+
+    private File inputDir;
+
+    private ReportGeneratorConfiguration config;
+
+    @Before
+    public void createInputDir() throws IOException
+    {
+        appendPropertyToFile("com.xceptance.xlt.reportgenerator.crawler.threads", "3");
+        appendPropertyToFile("com.xceptance.xlt.reportgenerator.dataRecords.T", TransactionData.class.getName());
+        config = readReportGeneratorProperties();
+
+        inputDir = tempFolder.newFolder("results");
+
+        // two plain agent directories and one agent with a result archive
+        for (final String agent : List.of("ac001_00", "ac002_00"))
+        {
+            for (final String testCase : List.of("TBrowse", "TOrder"))
+            {
+                for (int user = 0; user < 3; user++)
+                {
+                    final File timerFile = new File(inputDir, agent + "/" + testCase + "/" + user + "/timers.csv");
+                    FileUtils.writeStringToFile(timerFile, timerLines(testCase), StandardCharsets.UTF_8);
+                }
+            }
+        }
+
+        final File archiveFile = new File(inputDir, "ac003_00/" + XltConstants.AGENT_RESULTS_ARCHIVE_FILENAME);
+        archiveFile.getParentFile().mkdirs();
+        try (final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archiveFile)))
+        {
+            for (int user = 0; user < 2; user++)
+            {
+                out.putNextEntry(new ZipEntry("TSearch/" + user + "/timers.csv"));
+                out.write(timerLines("TSearch").getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void allRecordsAreReadAndArchivesReleased() throws Exception
+    {
+        final CountingReportProvider provider = new CountingReportProvider();
+        final DataProcessor dataProcessor = createDataProcessor(provider);
+
+        dataProcessor.readDataRecords();
+
+        // 2 agents * 2 test cases * 3 users + 2 users in the archive
+        final Dispatcher dispatcher = ReflectionUtils.readInstanceField(dataProcessor, "dispatcher");
+        Assert.assertEquals(14, dispatcher.getTotalDirectoryCount());
+        Assert.assertEquals(0, dispatcher.getRemainingDirectoryCount());
+        Assert.assertEquals(14 * RECORDS_PER_USER, provider.count.get());
+
+        final Collection<FileObject> openArchives = ReflectionUtils.readInstanceField(dataProcessor, "openArchives");
+        Assert.assertTrue(openArchives.isEmpty());
+    }
+
+    @Test(timeout = 30000)
+    public void firstFailureIsPropagated() throws Exception
+    {
+        // a broken result archive makes the scan of its agent directory fail
+        final File brokenArchiveFile = new File(inputDir, "ac004_00/" + XltConstants.AGENT_RESULTS_ARCHIVE_FILENAME);
+        FileUtils.writeStringToFile(brokenArchiveFile, "not a zip file", StandardCharsets.UTF_8);
+
+        final DataProcessor dataProcessor = createDataProcessor(new CountingReportProvider());
+
+        try
+        {
+            dataProcessor.new LocalDirectoryCrawler().crawl(inputDir.toPath());
+            Assert.fail("Exception expected");
+        }
+        catch (final Exception e)
+        {
+            // expected
+        }
+
+        // the scan of all other directories has finished nevertheless
+        final Dispatcher dispatcher = ReflectionUtils.readInstanceField(dataProcessor, "dispatcher");
+        Assert.assertEquals(14, dispatcher.getTotalDirectoryCount());
+    }
+
+    private DataProcessor createDataProcessor(final CountingReportProvider provider) throws Exception
+    {
+        final FileObject inputDirObject = VFS.getManager().resolveFile(inputDir.getAbsolutePath());
+        final DataRecordFactory dataRecordFactory = new DataRecordFactory(config.getDataRecordClasses());
+
+        return new DataProcessor(config, inputDirObject, dataRecordFactory, 0, Long.MAX_VALUE, List.of(provider), null, null, null,
+                                 null);
+    }
+
+    private static String timerLines(final String testCase)
+    {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < RECORDS_PER_USER; i++)
+        {
+            final TransactionData data = new TransactionData(testCase);
+            data.setTime(1_000_000L + i * 1000);
+            data.setRunTime(100);
+
+            sb.append(String.join(",", data.toList())).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Counts the data records processed.
+     */
+    private static class CountingReportProvider extends AbstractReportProvider
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void processDataRecord(final Data data)
+        {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public Object createReportFragment()
+        {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.diffreport;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import com.xceptance.xlt.report.util.ElementSpecification;
+
+public class DiffReportGeneratorMainTest
+{
+    private static final List<ElementSpecification> DIFF_SPECS = List.of(new ElementSpecification("/testreport/actions/action", "name"),
+                                                                          new ElementSpecification("/testreport/summary/*", "name"));
+
+    private static final List<ElementSpecification> COPY_SPECS = List.of(new ElementSpecification("/testreport/general", null),
+                                                                          new ElementSpecification("/testreport/configuration/projectName",
+                                                                                                   null));
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void sortedSections() throws Exception
+    {
+        final File oldReport = writeReport("old.xml", "Old", action("A", 10), action("B", 20), action("D", 40));
+        final File newReport = writeReport("new.xml", "New", action("B", 30), action("C", 5), action("D", 40));
+
+        final Document diff = createDiffReport(oldReport, newReport);
+        final XPath xpath = XPathFactory.newInstance().newXPath();
+
+        assertEquals("old", xpath.evaluate("normalize-space(/testreport/testReport1/name)", diff));
+        assertEquals("42", xpath.evaluate("normalize-space(/testreport/testReport2/general/duration)", diff));
+
+        // merged in ID order
+        assertEquals("4", xpath.evaluate("count(/testreport/actions/action)", diff));
+        assertEquals("A", xpath.evaluate("normalize-space(/testreport/actions/action[1]/name)", diff));
+        assertEquals("C", xpath.evaluate("normalize-space(/testreport/actions/action[3]/name)", diff));
+
+        assertEquals("10", xpath.evaluate("normalize-space(/testreport/actions/action[1]/count/oldValue)", diff));
+        assertEquals("", xpath.evaluate("normalize-space(/testreport/actions/action[1]/count/newValue)", diff));
+        assertEquals("10", xpath.evaluate("normalize-space(/testreport/actions/action[2]/count/absoluteDifference)", diff));
+        assertEquals("50", xpath.evaluate("normalize-space(/testreport/actions/action[2]/count/relativeDifference)", diff));
+        assertEquals("5", xpath.evaluate("normalize-space(/testreport/actions/action[3]/count/newValue)", diff));
+        assertEquals("0", xpath.evaluate("normalize-space(/testreport/actions/action[4]/count/absoluteDifference)", diff));
+
+        assertEquals("All Actions", xpath.evaluate("normalize-space(/testreport/summary/actions/name)", diff));
+    }
+
+    @Test
+    public void unsortedSection() throws Exception
+    {
+        final File oldReport = writeReport("old.xml", "Old", action("B", 20), action("A", 10));
+        final File newReport = writeReport("new.xml", "New", action("A", 15), action("C", 5));
+
+        final Document diff = createDiffReport(oldReport, newReport);
+        final XPath xpath = XPathFactory.newInstance().newXPath();
+
+        // old order first, then the new elements
+        assertEquals("3", xpath.evaluate("count(/testreport/actions/action)", diff));
+        assertEquals("B", xpath.evaluate("normalize-space(/testreport/actions/action[1]/name)", diff));
+        assertEquals("5", xpath.evaluate("normalize-space(/testreport/actions/action[2]/count/absoluteDifference)", diff));
+        assertEquals("C", xpath.evaluate("normalize-space(/testreport/actions/action[3]/name)", diff));
+    }
+
+    private Document createDiffReport(final File oldReport, final File newReport) throws Exception
+    {
+        final StringWriter writer = new StringWriter();
+        final String projectName = new DiffReportGeneratorMain().createDiffReport(oldReport, "old", newReport, "new", DIFF_SPECS, COPY_SPECS,
+                                                                                  writer);
+        assertEquals("New", projectName);
+
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(writer.toString())));
+    }
+
+    private File writeReport(final String fileName, final String projectName, final String... actions) throws IOException
+    {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testreport>\n");
+        sb.append("  <summary>\n    <actions><name>All Actions</name><count>1</count></actions>\n  </summary>\n");
+        sb.append("  <actions>\n");
+        for (final String action : actions)
+        {
+            sb.append(action);
+        }
+        sb.append("  </actions>\n");
+        sb.append("  <general><duration>42</duration></general>\n");
+        sb.append("  <configuration><projectName>").append(projectName).append("</projectName></configuration>\n");
+        sb.append("</testreport>\n");
+
+        final File file = tempFolder.newFile(fileName);
+        FileUtils.writeStringToFile(file, sb.toString(), StandardCharsets.UTF_8);
+
+        return file;
+    }
+
+    private static String action(final String name, final int count)
+    {
+        return "    <action><name>" + name + "</name><count>" + count + "</count></action>\n";
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.scorecard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.xceptance.xlt.report.TestReport;
+import com.xceptance.xlt.report.XmlReportGenerator;
+import com.xceptance.xlt.report.providers.RequestsReport;
+import com.xceptance.xlt.report.providers.TimerReport;
+
+public class EvaluatorTest
+{
+    private static final String CONFIG = String.join("\n", //
+                                                     "{", //
+                                                     "  \"version\": 2,", //
+                                                     "  \"selectors\": [ { \"id\": \"homeCount\", \"expression\": \"//requests/timer[name = 'Home']/count\" } ],", //
+                                                     "  \"rules\": [", //
+                                                     "    { \"id\": \"r1\", \"points\": 2, \"checks\": [ { \"selectorId\": \"homeCount\", \"condition\": \"> 5\" },", //
+                                                     "                                           { \"selector\": \"//requests/timer[name = 'Home']/mean\", \"condition\": \"< 100\" } ] },", //
+                                                     "    { \"id\": \"r2\", \"points\": 1, \"checks\": [ { \"selectorId\": \"homeCount\", \"condition\": \"< 5\" } ] },", //
+                                                     "    { \"id\": \"r3\", \"points\": 1, \"checks\": [ { \"selectorId\": \"homeCount\", \"condition\": \"> > 5\" } ] }", //
+                                                     "  ],", //
+                                                     "  \"groups\": [ { \"id\": \"g1\", \"mode\": \"allPassed\", \"rules\": [ \"r1\", \"r2\", \"r3\" ] } ],", //
+                                                     "  \"ratings\": [ { \"id\": \"ok\", \"value\": 100.0 } ]", //
+                                                     "}");
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Evaluator evaluator;
+
+    private TestReport testReport;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        final File configFile = tempFolder.newFile("scorecard.json");
+        FileUtils.writeStringToFile(configFile, CONFIG, StandardCharsets.UTF_8);
+
+        evaluator = new Evaluator(configFile);
+
+        final TimerReport timerReport = new TimerReport();
+        timerReport.name = "Home";
+        timerReport.count = 10;
+        timerReport.mean = new BigDecimal("42.5");
+
+        final RequestsReport requestsReport = new RequestsReport();
+        requestsReport.requests.add(timerReport);
+
+        testReport = new TestReport();
+        testReport.addReportFragment(requestsReport);
+    }
+
+    @Test
+    public void evaluateFile() throws IOException
+    {
+        final File reportFile = tempFolder.newFile("testreport.xml");
+        final XmlReportGenerator xmlReportGenerator = new XmlReportGenerator();
+        xmlReportGenerator.registerStatisticsProvider(() -> testReport.getReportFragments().get(0));
+        xmlReportGenerator.createReport(reportFile);
+
+        validate(evaluator.evaluate(reportFile));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void evaluateFileWithDeprecatedMethod() throws Exception
+    {
+        final File reportFile = tempFolder.newFile("testreport.xml");
+        final XmlReportGenerator xmlReportGenerator = new XmlReportGenerator();
+        xmlReportGenerator.registerStatisticsProvider(() -> testReport.getReportFragments().get(0));
+        xmlReportGenerator.createReport(reportFile);
+
+        validate(evaluator.doEvaluate(evaluator.parseConfiguration(), reportFile));
+    }
+
+    @Test
+    public void evaluateInMemoryModel()
+    {
+        validate(evaluator.evaluate(XmlReportGenerator.createSource(testReport)));
+
+        // the evaluator can be reused
+        validate(evaluator.evaluate(XmlReportGenerator.createSource(testReport)));
+    }
+
+    private static void validate(final Scorecard scorecard)
+    {
+        assertNull(scorecard.result.getError());
+
+        final List<Scorecard.Rule> rules = scorecard.result.getGroups().get(0).getRules();
+        assertEquals(Status.PASSED, rules.get(0).getStatus());
+        assertEquals("10", rules.get(0).getChecks().get(0).getValue());
+        assertEquals("42.5", rules.get(0).getChecks().get(1).getValue());
+        assertEquals(Status.FAILED, rules.get(1).getStatus());
+        assertEquals("10", rules.get(1).getChecks().get(0).getValue());
+
+        // an invalid condition does not match
+        assertEquals(Status.FAILED, rules.get(2).getStatus());
+
+        assertEquals(Integer.valueOf(2), scorecard.result.getPoints());
+        assertEquals(Integer.valueOf(4), scorecard.result.getTotalPoints());
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.trendreport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.xceptance.xlt.report.TestReport;
+import com.xceptance.xlt.report.XmlReportGenerator;
+import com.xceptance.xlt.report.providers.ConfigurationReport;
+import com.xceptance.xlt.report.providers.GeneralReport;
+import com.xceptance.xlt.report.providers.RequestReport;
+import com.xceptance.xlt.report.providers.RequestsReport;
+import com.xceptance.xlt.report.providers.SummaryReport;
+import com.xceptance.xlt.report.trendreport.ReportSummary.TimerSummary;
+
+public class ReportSummaryExtractorTest
+{
+    private static final String REPORT = String.join("\n", //
+                                                     "<?xml version=\"1.0\" encoding=\"UTF-8\"?>", //
+                                                     "<testreport>", //
+                                                     "  <configuration>", //
+                                                     "    <comments>", //
+                                                     "      <string>Run &amp; compare</string>", //
+                                                     "      <string>Second comment</string>", //
+                                                     "    </comments>", //
+                                                     "    <projectName>MyProject</projectName>", //
+                                                     "  </configuration>", //
+                                                     "  <general>", //
+                                                     "    <startTime>2024-06-21 10:09:11 CEST</startTime>", //
+                                                     "  </general>", //
+                                                     "  <requests>", //
+                                                     "    <request>", //
+                                                     "      <name>Home [200]</name>", //
+                                                     "      <count>230</count>", //
+                                                     "      <countPerSecond>3.898</countPerSecond>", //
+                                                     "      <errors>2</errors>", //
+                                                     "      <min>4</min>", //
+                                                     "      <max>151</max>", //
+                                                     "      <median>35.000</median>", //
+                                                     "      <mean>39.083</mean>", //
+                                                     "      <percentiles>", //
+                                                     "        <p50>35.000</p50>", //
+                                                     "        <p95>90.000</p95>", //
+                                                     "      </percentiles>", //
+                                                     "      <bytesSent>", //
+                                                     "        <min>309</min>", //
+                                                     "        <max>321</max>", //
+                                                     "      </bytesSent>", //
+                                                     "    </request>", //
+                                                     "  </requests>", //
+                                                     "  <summary>", //
+                                                     "    <requests>", //
+                                                     "      <name>All Requests</name>", //
+                                                     "      <count>230</count>", //
+                                                     "      <min>4</min>", //
+                                                     "    </requests>", //
+                                                     "  </summary>", //
+                                                     "</testreport>");
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void extract() throws IOException
+    {
+        final ReportSummary summary = ReportSummaryExtractor.extract(writeReport());
+
+        assertEquals("MyProject", summary.projectName);
+        assertEquals("2024-06-21 10:09:11 CEST", summary.startTime);
+        assertEquals("Run & compare", summary.comment);
+        assertEquals(2, summary.timers.size());
+
+        final TimerSummary request = summary.timers.get("request").get("Home [200]");
+        assertEquals(230, request.count);
+        assertEquals(3.898, request.countPerSecond, 0.0);
+        assertEquals(2, request.errors);
+        assertEquals(4, request.min);
+        assertEquals(151, request.max);
+        assertEquals(35.0, request.median, 0.0);
+        assertEquals(39.083, request.mean, 0.0);
+        assertEquals(Map.of("p50", 35.0, "p95", 90.0), request.percentiles);
+
+        final TimerSummary allRequests = summary.timers.get("requests").get("All Requests");
+        assertEquals(230, allRequests.count);
+        assertEquals(4, allRequests.min);
+        assertEquals(0, allRequests.max);
+    }
+
+    @Test
+    public void extractFromModel() throws Exception
+    {
+        final TestReport testReport = createTestReport();
+
+        // the summary of the model must match the summary of the XML report written for that model
+        final File reportFile = tempFolder.newFile("testreport.xml");
+        TransformerFactory.newInstance().newTransformer().transform(XmlReportGenerator.createSource(testReport),
+                                                                    new StreamResult(reportFile));
+
+        final File summaryFromModel = tempFolder.newFile("model.json");
+        ReportSummaryExtractor.extract(testReport).write(summaryFromModel);
+
+        final File summaryFromXml = tempFolder.newFile("xml.json");
+        ReportSummaryExtractor.extract(reportFile).write(summaryFromXml);
+
+        assertEquals(FileUtils.readFileToString(summaryFromXml, StandardCharsets.UTF_8),
+                     FileUtils.readFileToString(summaryFromModel, StandardCharsets.UTF_8));
+
+        final ReportSummary summary = ReportSummary.read(summaryFromModel);
+        assertEquals("MyProject", summary.projectName);
+        assertEquals("Run & compare", summary.comment);
+        assertEquals(3, summary.timers.get("request").get("Home [200]").errors);
+        assertEquals(Map.of("p95", 90.5), summary.timers.get("request").get("Home [200]").percentiles);
+        assertEquals(230, summary.timers.get("requests").get("All Requests").count);
+    }
+
+    @Test
+    public void writeAndRead() throws IOException
+    {
+        final ReportSummary summary = ReportSummaryExtractor.extract(writeReport());
+
+        final File summaryFile = tempFolder.newFile("summary.json");
+        summary.write(summaryFile);
+
+        final ReportSummary readSummary = ReportSummary.read(summaryFile);
+        assertEquals(summary.startTime, readSummary.startTime);
+        assertEquals(summary.comment, readSummary.comment);
+        assertEquals(summary.timers.keySet(), readSummary.timers.keySet());
+        assertEquals(summary.timers.get("request").get("Home [200]").percentiles,
+                     readSummary.timers.get("request").get("Home [200]").percentiles);
+
+        // summaries of other versions are ignored
+        FileUtils.writeStringToFile(summaryFile, "{\"version\":0}", StandardCharsets.UTF_8);
+        assertNull(ReportSummary.read(summaryFile));
+    }
+
+    private static TestReport createTestReport()
+    {
+        final ConfigurationReport configurationReport = new ConfigurationReport();
+        configurationReport.projectName = "MyProject";
+        configurationReport.comments.add("Run & compare");
+        configurationReport.comments.add("Second comment");
+
+        // not needed here, and cannot be marshaled without opening java.util to XStream
+        configurationReport.properties = null;
+
+        final GeneralReport generalReport = new GeneralReport();
+        generalReport.startTime = new Date(1718957351000L);
+
+        final RequestReport request = new RequestReport();
+        request.name = "Home [200]";
+        request.count = 230;
+        request.countPerSecond = new BigDecimal("3.898");
+        request.errors = 3;
+        request.min = 4;
+        request.max = 151;
+        request.median = new BigDecimal("35.000");
+        request.mean = new BigDecimal("39.083");
+        request.percentiles.put("p95", new BigDecimal("90.500"));
+
+        final RequestsReport requestsReport = new RequestsReport();
+        requestsReport.requests.add(request);
+
+        final RequestReport allRequests = new RequestReport();
+        allRequests.name = "All Requests";
+        allRequests.count = 230;
+
+        final SummaryReport summaryReport = new SummaryReport();
+        summaryReport.requests = allRequests;
+
+        final TestReport testReport = new TestReport();
+        testReport.addReportFragment(configurationReport);
+        testReport.addReportFragment(generalReport);
+        testReport.addReportFragment(requestsReport);
+        testReport.addReportFragment(summaryReport);
+
+        return testReport;
+    }
+
+    private File writeReport() throws IOException
+    {
+        final File reportFile = tempFolder.newFile("testreport.xml");
+        FileUtils.writeStringToFile(reportFile, REPORT, StandardCharsets.UTF_8);
+
+        return reportFile;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the implementation of {@link CorrectedRunTimeCalculator}.
+ */
+public class CorrectedRunTimeCalculatorTest
+{
+    @Test
+    public void noScheduledStartTime()
+    {
+        final CorrectedRunTimeCalculator calculator = new CorrectedRunTimeCalculator(new RuntimeHistogram());
+        calculator.addValue(100, 1000, -1);
+        calculator.addValue(300, 2000, -1);
+
+        Assert.assertEquals(0, calculator.getScheduledCount());
+        Assert.assertEquals(0, calculator.getMaximum());
+    }
+
+    @Test
+    public void lateStartsAreAdded()
+    {
+        final CorrectedRunTimeCalculator calculator = new CorrectedRunTimeCalculator(new RuntimeHistogram());
+
+        // on time, late by 900 ms, and early (counts as on time)
+        calculator.addValue(100, 1000, 1000);
+        calculator.addValue(100, 2000, 1100);
+        calculator.addValue(100, 3000, 3050);
+
+        Assert.assertEquals(3, calculator.getScheduledCount());
+        Assert.assertEquals(300.0, calculator.getMeanLag(), 0.0);
+        Assert.assertEquals(900, calculator.getMaximumLag());
+        Assert.assertEquals(400.0, calculator.getMean(), 0.0);
+        Assert.assertEquals(1000, calculator.getMaximum());
+        Assert.assertEquals(100.0, calculator.getMedian(), 0.0);
+        Assert.assertEquals(1000.0, calculator.getPercentile(100), 0.0);
+    }
+
+    @Test
+    public void mixedValues()
+    {
+        final CorrectedRunTimeCalculator calculator = new CorrectedRunTimeCalculator(new RuntimeHistogram());
+        calculator.addValue(100, 1000, -1);
+        calculator.addValue(100, 2000, 1500);
+
+        Assert.assertEquals(1, calculator.getScheduledCount());
+        Assert.assertEquals(600.0, calculator.getMean(), 0.0);
+        Assert.assertEquals(600, calculator.getMaximum());
+    }
+}
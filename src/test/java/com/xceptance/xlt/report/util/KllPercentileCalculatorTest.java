@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link KllPercentileCalculator} class.
+ */
+public class KllPercentileCalculatorTest
+{
+    @Test
+    public void testEmpty()
+    {
+        Assert.assertEquals(0.0, new KllPercentileCalculator(KllPercentileCalculator.DEFAULT_K).getPercentile(50), 0.0);
+    }
+
+    @Test
+    public void testAccuracyAndMerge()
+    {
+        final KllPercentileCalculator calculator = new KllPercentileCalculator(KllPercentileCalculator.DEFAULT_K);
+        final KllPercentileCalculator other = new KllPercentileCalculator(KllPercentileCalculator.DEFAULT_K);
+
+        // a long-tail distribution, split across two calculators
+        final Random random = new Random(42);
+        final int[] values = new int[200_000];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = (int) (100 * Math.exp(random.nextGaussian()));
+            (i % 2 == 0 ? calculator : other).addValue(values[i]);
+        }
+        calculator.merge(other);
+
+        final RuntimeHistogram histogram = new RuntimeHistogram();
+        for (final int value : values)
+        {
+            histogram.addValue(value);
+        }
+
+        // the rank of the estimated percentile must be within the sketch's normalized rank error (~1.65% for k=200)
+        for (final double p : new double[]
+            {
+                50, 95, 99, 99.9
+            })
+        {
+            final double estimate = calculator.getPercentile(p);
+            final double lowerValue = histogram.getPercentile(Math.max(0.01, p - 2));
+            final double upperValue = histogram.getPercentile(Math.min(100, p + 2));
+
+            Assert.assertTrue("p" + p + ": " + estimate, lowerValue <= estimate && estimate <= upperValue);
+        }
+
+        Assert.assertTrue(calculator.getAccuracy(), calculator.getAccuracy().contains("rank error"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentType()
+    {
+        new KllPercentileCalculator(KllPercentileCalculator.DEFAULT_K).merge(new RuntimeHistogram());
+    }
+}
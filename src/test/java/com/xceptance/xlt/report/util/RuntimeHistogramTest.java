@@ -26,6 +26,58 @@ import org.junit.Test;
  */
 public class RuntimeHistogramTest
 {
+    @Test
+    public void testMerge()
+    {
+        final RuntimeHistogram merged = new RuntimeHistogram();
+        final RuntimeHistogram all = new RuntimeHistogram();
+        final Random random = new Random(42);
+
+        // merge into an empty histogram, then extend the range to both sides
+        final int[][] ranges =
+            {
+                {
+                    100, 200
+                },
+                {
+                    50, 300
+                },
+                {
+                    120, 130
+                }
+            };
+
+        for (final int[] range : ranges)
+        {
+            final RuntimeHistogram part = new RuntimeHistogram();
+            for (int i = 0; i < 1000; i++)
+            {
+                final int value = range[0] + random.nextInt(range[1] - range[0]);
+                part.addValue(value);
+                all.addValue(value);
+            }
+
+            merged.merge(part);
+        }
+
+        for (final double p : new double[]
+            {
+                0.1, 1, 25, 50, 75, 99, 99.9, 100
+            })
+        {
+            Assert.assertEquals(all.getPercentile(p), merged.getPercentile(p), 0.0);
+        }
+
+        merged.merge(new RuntimeHistogram());
+        Assert.assertEquals(all.getMedianValue(), merged.getMedianValue(), 0.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMerge_DifferentPrecision()
+    {
+        new RuntimeHistogram(1).merge(new RuntimeHistogram(10));
+    }
+
     @Test
     public void testBasics()
     {
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link RuntimeReservoir} class.
+ */
+public class RuntimeReservoirTest
+{
+    @Test
+    public void testExactIfNotFull()
+    {
+        final RuntimeReservoir reservoir = new RuntimeReservoir(100, 42);
+        final RuntimeHistogram histogram = new RuntimeHistogram();
+
+        Assert.assertEquals(0.0, reservoir.getPercentile(50), 0.0);
+
+        for (int i = 1; i <= 100; i++)
+        {
+            final int value = (i * 37) % 101;
+            reservoir.addValue(value);
+            histogram.addValue(value);
+        }
+
+        Assert.assertFalse(reservoir.isSampled());
+        Assert.assertEquals(100, reservoir.getSampleSize());
+
+        for (final double p : new double[]
+            {
+                1, 10, 33.3, 50, 90, 95, 99, 100
+            })
+        {
+            Assert.assertEquals("p" + p, histogram.getPercentile(p), reservoir.getPercentile(p), 0.0);
+
+            final double[] bounds = reservoir.getConfidenceInterval(p);
+            Assert.assertEquals(reservoir.getPercentile(p), bounds[0], 0.0);
+            Assert.assertEquals(reservoir.getPercentile(p), bounds[1], 0.0);
+        }
+    }
+
+    @Test
+    public void testSampled()
+    {
+        final RuntimeReservoir reservoir = new RuntimeReservoir(10_000, 42);
+
+        // uniform values 0..9999, each 100 times
+        for (int i = 0; i < 1_000_000; i++)
+        {
+            reservoir.addValue(i % 10_000);
+        }
+
+        Assert.assertTrue(reservoir.isSampled());
+        Assert.assertEquals(1_000_000, reservoir.getValueCount());
+        Assert.assertEquals(10_000, reservoir.getSampleSize());
+
+        for (final double p : new double[]
+            {
+                10, 50, 90, 99
+            })
+        {
+            final double expected = p * 100;
+            final double[] bounds = reservoir.getConfidenceInterval(p);
+
+            Assert.assertTrue("p" + p, bounds[0] <= reservoir.getPercentile(p));
+            Assert.assertTrue("p" + p, bounds[1] >= reservoir.getPercentile(p));
+            Assert.assertTrue("p" + p + ": " + bounds[0] + " - " + bounds[1], bounds[0] <= expected && expected <= bounds[1]);
+            Assert.assertEquals("p" + p, expected, reservoir.getPercentile(p), 300);
+        }
+    }
+
+    @Test
+    public void testReproducible()
+    {
+        final RuntimeReservoir reservoir1 = new RuntimeReservoir(50, 7);
+        final RuntimeReservoir reservoir2 = new RuntimeReservoir(50, 7);
+
+        for (int i = 0; i < 10_000; i++)
+        {
+            reservoir1.addValue(i);
+            reservoir2.addValue(i);
+        }
+
+        Assert.assertEquals(reservoir1.getPercentile(90), reservoir2.getPercentile(90), 0.0);
+    }
+
+    @Test
+    public void testLimitCapacity()
+    {
+        final RuntimeReservoir reservoir = new RuntimeReservoir(10_000, 42);
+
+        for (int i = 0; i < 1_000_000; i++)
+        {
+            reservoir.addValue(i % 10_000);
+
+            // shrink the sample half-way, it remains a uniform sample of all values
+            if (i == 500_000)
+            {
+                reservoir.limitCapacity(5_000);
+                Assert.assertEquals(5_000, reservoir.getSampleSize());
+            }
+        }
+
+        Assert.assertEquals(5_000, reservoir.getCapacity());
+        Assert.assertEquals(5_000, reservoir.getSampleSize());
+        Assert.assertEquals(1_000_000, reservoir.getValueCount());
+        Assert.assertEquals(5_000, reservoir.getPercentile(50), 400);
+        Assert.assertEquals(9_000, reservoir.getPercentile(90), 400);
+
+        // a larger capacity is ignored
+        reservoir.limitCapacity(20_000);
+        Assert.assertEquals(5_000, reservoir.getCapacity());
+    }
+
+    @Test
+    public void testBudget()
+    {
+        final RuntimeReservoirBudget budget = new RuntimeReservoirBudget(20_000, 15_000);
+
+        final RuntimeReservoir reservoir1 = budget.createReservoir(1);
+        Assert.assertEquals(15_000, reservoir1.getCapacity());
+
+        for (int i = 0; i < 100_000; i++)
+        {
+            reservoir1.addValue(i);
+        }
+        Assert.assertEquals(15_000, reservoir1.getSampleSize());
+
+        // the second reservoir halves the share of the first one, which shrinks with the next value
+        final RuntimeReservoir reservoir2 = budget.createReservoir(2);
+        Assert.assertEquals(10_000, reservoir2.getCapacity());
+
+        reservoir1.addValue(0);
+        Assert.assertEquals(10_000, reservoir1.getCapacity());
+        Assert.assertEquals(10_000, reservoir1.getSampleSize());
+
+        // but never below the minimum
+        for (int i = 0; i < 100; i++)
+        {
+            budget.createReservoir(i);
+        }
+        Assert.assertEquals(RuntimeReservoirBudget.MIN_CAPACITY, budget.getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile()
+    {
+        new RuntimeReservoir(10, 0).getPercentile(0);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.xceptance.xlt.report.util.SymbolTable.Symbol;
+
+/**
+ * Tests the {@link SymbolTable} class.
+ */
+public class SymbolTableTest
+{
+    @Test
+    public void testCanonicalInstancesAndDenseIds()
+    {
+        final SymbolTable table = new SymbolTable();
+
+        final Symbol foo = table.get(new String("foo"));
+        final Symbol bar = table.get("bar");
+
+        Assert.assertEquals(0, foo.id());
+        Assert.assertEquals(1, bar.id());
+        Assert.assertEquals(2, table.size());
+
+        // equal strings map to the same symbol and canonical instance
+        Assert.assertSame(foo, table.get(new String("foo")));
+        Assert.assertSame(foo.value(), table.intern(new String("foo")));
+        Assert.assertEquals("bar", table.getValue(1));
+
+        Assert.assertNull(table.intern(null));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testUnknownId()
+    {
+        new SymbolTable().getValue(0);
+    }
+
+    @Test
+    public void testConcurrentAccess() throws InterruptedException
+    {
+        final SymbolTable table = new SymbolTable();
+        final Set<Symbol> symbols = ConcurrentHashMap.newKeySet();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++)
+        {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++)
+                {
+                    symbols.add(table.get("name-" + i));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        // each string got exactly one symbol, and the IDs are dense
+        Assert.assertEquals(1000, symbols.size());
+        Assert.assertEquals(1000, table.size());
+        for (final Symbol symbol : symbols)
+        {
+            Assert.assertSame(symbol.value(), table.getValue(symbol.id()));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.report.util.xstream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.xml.sax.helpers.DefaultHandler;
+
+public class SanitizingXmlFilterTest
+{
+    @Test
+    public void invalidCharsAreRemoved() throws Exception
+    {
+        Assert.assertEquals("abc", sanitize("a\u0000b\u001Fc"));
+        Assert.assertEquals("ab", sanitize("a\uFFFEb\uFFFF"));
+        Assert.assertEquals("ab", sanitize("a\uD800b"));
+        Assert.assertEquals("ab", sanitize("a\uDC00b"));
+    }
+
+    @Test
+    public void validCharsAreKept() throws Exception
+    {
+        final String text = "tab\t, line\r\n, umlaut \u00E4, emoji \uD83D\uDE00";
+        Assert.assertEquals(text, sanitize(text));
+
+        // only the passed range is processed
+        final StringBuilder sb = new StringBuilder();
+        final SanitizingXmlFilter filter = createFilter(sb);
+        filter.characters("\u0000x\u0000y\u0000".toCharArray(), 1, 3);
+        Assert.assertEquals("xy", sb.toString());
+    }
+
+    private static String sanitize(final String text) throws Exception
+    {
+        final StringBuilder sb = new StringBuilder();
+        createFilter(sb).characters(text.toCharArray(), 0, text.length());
+
+        return sb.toString();
+    }
+
+    private static SanitizingXmlFilter createFilter(final StringBuilder sb)
+    {
+        final SanitizingXmlFilter filter = new SanitizingXmlFilter(null);
+        filter.setContentHandler(new DefaultHandler()
+        {
+            @Override
+            public void characters(final char[] ch, final int start, final int length)
+            {
+                sb.append(ch, start, length);
+            }
+        });
+
+        return filter;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2005-2026 Xceptance Software Technologies GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.xceptance.xlt.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResolvedPropertyViewTest
+{
+    private static final String CLASS_NAME = "posters.loadtest.tests.TOrder";
+
+    private static final String USER_NAME = "TOrder";
+
+    private XltPropertiesImpl props;
+
+    @Before
+    public void setUp()
+    {
+        props = new XltPropertiesImpl();
+        props.setProperty("host", "example.org");
+        props.setProperty("url", "https://${host}/shop");
+        props.setProperty("count", "10");
+        props.setProperty("big", "10000000000");
+        props.setProperty("flag", "true");
+        props.setProperty("TOrder.count", "20");
+        props.setProperty(CLASS_NAME + ".flag", "false");
+        props.setProperty("TBrowse.count", "30");
+        props.setProperty("password", "public");
+        props.setProperty("secret.password", "hidden");
+        props.setProperty("secret.TOrder.pin", "1234");
+        props.setProperty("sum", "#{ 1 + 1 }");
+    }
+
+    @Test
+    public void sameResultsAsEffectiveKeyLookup()
+    {
+        final ResolvedPropertyView view = props.getResolvedView(CLASS_NAME, USER_NAME);
+
+        for (final String key : new String[]
+            {
+                "host", "url", "count", "big", "flag", "password", "secret.password", "pin", "secret.pin", "sum", "unknown",
+                "TBrowse.count", "secret.unknown"
+            })
+        {
+            final String effectiveKey = props.getEffectiveKey(CLASS_NAME, USER_NAME, key);
+            assertEquals(key, Optional.ofNullable(props.getProperties().getProperty(effectiveKey)), view.getProperty(key));
+        }
+    }
+
+    @Test
+    public void valuesAreResolvedAndParsed()
+    {
+        final ResolvedPropertyView view = props.getResolvedView(CLASS_NAME, USER_NAME);
+
+        assertEquals("https://example.org/shop", view.getProperty("url", "none"));
+        assertEquals("none", view.getProperty("unknown", "none"));
+        assertEquals("hidden", view.getProperty("password", "none"));
+        assertEquals("1234", view.getProperty("pin", "none"));
+        assertEquals("2", view.getProperty("sum", "none"));
+
+        assertEquals(20, view.getProperty("count", 0));
+        assertEquals(20L, view.getProperty("count", 0L));
+        assertEquals(-1, view.getProperty("big", -1));
+        assertEquals(10000000000L, view.getProperty("big", -1L));
+        assertEquals(-1, view.getProperty("url", -1));
+        assertEquals(2, view.getProperty("sum", 0));
+        assertEquals(7, view.getProperty("unknown", 7));
+
+        assertFalse(view.getProperty("flag", true));
+        assertEquals(true, view.getProperty("unknown", true));
+    }
+
+    @Test
+    public void viewIsReusedUntilPropertiesChange()
+    {
+        final ResolvedPropertyView view = props.getResolvedView(CLASS_NAME, USER_NAME);
+        assertSame(view, props.getResolvedView(CLASS_NAME, USER_NAME));
+        assertNotSame(view, props.getResolvedView(CLASS_NAME, "TBrowse"));
+
+        // set
+        props.setProperty("host", "example.com");
+        final ResolvedPropertyView view2 = props.getResolvedView(CLASS_NAME, USER_NAME);
+        assertNotSame(view, view2);
+        assertEquals("https://example.com/shop", view2.getProperty("url", "none"));
+        assertEquals(Optional.of("https://example.com/shop"), props.getProperty(CLASS_NAME, USER_NAME, "url"));
+
+        // remove
+        props.removeProperty("TOrder.count");
+        assertEquals(10, props.getResolvedView(CLASS_NAME, USER_NAME).getProperty("count", 0));
+
+        // clear
+        props.clear();
+        assertEquals(0, props.getResolvedView(CLASS_NAME, USER_NAME).size());
+    }
+
+    @Test
+    public void viewIsUpdatedIncrementally()
+    {
+        final XltPropertiesImpl plainProps = new XltPropertiesImpl();
+        plainProps.setProperty("count", "10");
+        plainProps.setProperty("flag", "true");
+
+        final ResolvedPropertyView view = plainProps.getResolvedView(CLASS_NAME, USER_NAME);
+        assertFalse(view.hasReferences());
+
+        // user-specific override
+        plainProps.setProperty("TOrder.count", "20");
+        final ResolvedPropertyView view2 = plainProps.getResolvedView(CLASS_NAME, USER_NAME);
+        assertNotSame(view, view2);
+        assertEquals(20, view2.getProperty("count", 0));
+        assertSame(view.getValues().get("flag"), view2.getValues().get("flag"));
+
+        // a new value referencing another property results in a full rebuild
+        plainProps.setProperty("text", "${count} items");
+        assertEquals("10 items", plainProps.getResolvedView(CLASS_NAME, USER_NAME).getProperty("text", "none"));
+        assertTrue(plainProps.getResolvedView(CLASS_NAME, USER_NAME).hasReferences());
+
+        // changing the referenced property and removing the override
+        plainProps.setProperty("count", "30");
+        plainProps.removeProperty("TOrder.count");
+        assertEquals("30 items", plainProps.getResolvedView(CLASS_NAME, USER_NAME).getProperty("text", "none"));
+        assertEquals(30, plainProps.getResolvedView(CLASS_NAME, USER_NAME).getProperty("count", 0));
+    }
+
+    @Test
+    public void noViewWithoutNames()
+    {
+        assertEquals(null, props.getResolvedView(null, USER_NAME));
+        assertEquals(null, props.getResolvedView(CLASS_NAME, null));
+        assertEquals(Optional.of("10"), props.getProperty(null, null, "count"));
+    }
+}